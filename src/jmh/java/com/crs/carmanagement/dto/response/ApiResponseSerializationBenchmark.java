@@ -0,0 +1,89 @@
+package com.crs.carmanagement.dto.response;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the ApiResponse envelope around a single vehicle and around a
+ * listing page, with the same ObjectMapper settings as the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class ApiResponseSerializationBenchmark {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Param({"1", "50"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<VehicleResponse>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = objectMapper.writer();
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<VehicleResponse> vehicles = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            vehicles.add(vehicle(i + 1, random));
+        }
+        response = ApiResponse.<List<VehicleResponse>>builder()
+                .success(true)
+                .message("Retrieved " + pageSize + " vehicles")
+                .data(vehicles)
+                .timestamp(TIMESTAMP)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    private static VehicleResponse vehicle(long id, SplittableRandom random) {
+        return VehicleResponse.builder()
+                .id(id)
+                .plateNumber("51K-" + (10_000 + id))
+                .color("White")
+                .status(VehicleStatus.values()[random.nextInt(VehicleStatus.values().length)])
+                .isVirtual(true)
+                .odometerKm(random.nextDouble() * 20_000)
+                .fleetHubName("Hub District 1")
+                .model(VehicleResponse.ModelInfo.builder().id(1L).name("VF 8").brand("VinFast").build())
+                .currentState(VehicleResponse.StateInfo.builder()
+                        .latitude(10.6 + random.nextDouble() * 0.3)
+                        .longitude(106.5 + random.nextDouble() * 0.4)
+                        .batteryLevel(random.nextInt(101))
+                        .isCharging(random.nextBoolean())
+                        .speedKmh(random.nextDouble() * 80)
+                        .lastUpdatedAt(TIMESTAMP)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.entity.VehicleEventLog;
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.repository.VehicleEventLogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * logEvent with a typical STATE_UPDATED payload: JSON serialization of the change
+ * map and building the event entity. The repository is a stub-only mock, so the
+ * numbers exclude the INSERT itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m", "-XX:+EnableDynamicAgentLoading"})
+public class VehicleEventLogBenchmark {
+
+    private VehicleEventLogService eventLogService;
+    private Map<String, Object> changes;
+
+    @Setup
+    public void setUp() {
+        VehicleEventLogRepository repository = mock(VehicleEventLogRepository.class, withSettings().stubOnly());
+        when(repository.save(any(VehicleEventLog.class))).then(returnsFirstArg());
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        eventLogService = new VehicleEventLogService(repository, objectMapper, null);
+
+        changes = new HashMap<>();
+        changes.put("latitude", Map.of("old", 10.762622, "new", 10.763401));
+        changes.put("longitude", Map.of("old", 106.660172, "new", 106.660955));
+        changes.put("batteryLevel", Map.of("old", 81, "new", 80));
+        changes.put("odometerKm", Map.of("old", 1250.5, "new", 1250.61));
+        changes.put("dataSource", "VIRTUAL_CAR");
+        changes.put("messageSequence", 125L);
+    }
+
+    @Benchmark
+    public void logStateUpdated() {
+        eventLogService.logEvent(1L, EventType.STATE_UPDATED, changes);
+    }
+}
@@ -0,0 +1,126 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.request.VehicleSearchCriteria;
+import com.crs.carmanagement.dto.response.VehicleDetailResponse;
+import com.crs.carmanagement.dto.response.VehicleResponse;
+import com.crs.carmanagement.entity.FleetHub;
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleEventLog;
+import com.crs.carmanagement.entity.VehicleModel;
+import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.enums.DataSource;
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.repository.VehicleRepository;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Entity to DTO mapping of the vehicle read endpoints: buildDetailResponse through
+ * getVehicleById (state and the last five events) and buildSummaryResponse through a
+ * 50 vehicle searchVehicles page (states loaded with one query). Repositories are
+ * stub-only mocks, so each result includes two or three mock invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m", "-XX:+EnableDynamicAgentLoading"})
+public class VehicleResponseMappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    private VehicleServiceImpl vehicleService;
+    private VehicleSearchCriteria criteria;
+    private Pageable pageable;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        FleetHub hub = FleetHub.builder().id(1L).name("Hub District 1").location("District 1").build();
+        VehicleModel model = VehicleModel.builder().id(1L).modelId("VF8").modelName("VF 8").brand("VinFast")
+                .specs("{\"range_km\": 471}").batteryCapacityKwh(87.7).build();
+
+        List<Vehicle> vehicles = new ArrayList<>(PAGE_SIZE);
+        List<VehicleState> states = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Vehicle vehicle = Vehicle.builder().id(id).model(model).fleetHub(hub)
+                    .plateNumber("51K-" + (10_000 + id)).vin(String.format("VF8BENCH%09d", id)).color("White")
+                    .manufactureYear(2024).status(VehicleStatus.AVAILABLE).odometerKm(random.nextDouble() * 20_000)
+                    .createdAt(TIMESTAMP).updatedAt(TIMESTAMP).build();
+            vehicles.add(vehicle);
+            states.add(VehicleState.builder().id(id).vehicle(vehicle)
+                    .latitude(10.6 + random.nextDouble() * 0.3).longitude(106.5 + random.nextDouble() * 0.4)
+                    .batteryLevel(random.nextInt(101)).isCharging(false).speedKmh(0.0)
+                    .odometerKm(vehicle.getOdometerKm()).lastUpdatedAt(TIMESTAMP)
+                    .dataSource(DataSource.VIRTUAL_CAR).messageSequence(id).build());
+        }
+        List<VehicleEventLog> events = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            events.add(VehicleEventLog.builder().id(id).vehicleId(1L).eventType(EventType.STATE_UPDATED)
+                    .eventData("{\"batteryLevel\":{\"old\":81,\"new\":80},\"dataSource\":\"VIRTUAL_CAR\"}")
+                    .occurredAt(TIMESTAMP).build());
+        }
+
+        pageable = PageRequest.of(0, PAGE_SIZE);
+        criteria = new VehicleSearchCriteria();
+        Page<Vehicle> page = new PageImpl<>(vehicles, pageable, 10_000);
+
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class, withSettings().stubOnly());
+        when(vehicleRepository.findByIdWithModel(1L)).thenReturn(Optional.of(vehicles.get(0)));
+        when(vehicleRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+        VehicleStateRepository vehicleStateRepository = mock(VehicleStateRepository.class,
+                withSettings().stubOnly());
+        when(vehicleStateRepository.findByVehicleId(1L)).thenReturn(Optional.of(states.get(0)));
+        when(vehicleStateRepository.findByVehicleIdIn(anyCollection())).thenReturn(states);
+        VehicleEventLogService eventLogService = mock(VehicleEventLogService.class, withSettings().stubOnly());
+        when(eventLogService.getVehicleEvents(anyLong(), anyInt())).thenReturn(events);
+
+        // Collaborators left null are not used on the read paths
+        vehicleService = new VehicleServiceImpl(vehicleRepository, null, vehicleStateRepository, null, null, null,
+                eventLogService, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public VehicleDetailResponse detail() {
+        return vehicleService.getVehicleById(1L);
+    }
+
+    @Benchmark
+    public Page<VehicleResponse> summaryPage() {
+        return vehicleService.searchVehicles(criteria, pageable);
+    }
+}
@@ -0,0 +1,138 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.alert.AlertRuleEngine;
+import com.crs.carmanagement.alert.BatteryThresholdRule;
+import com.crs.carmanagement.alert.OdometerJumpRule;
+import com.crs.carmanagement.alert.SpeedSpikeRule;
+import com.crs.carmanagement.alert.TeleportRule;
+import com.crs.carmanagement.config.AlertRuleConfig;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.VehicleStateResponse;
+import com.crs.carmanagement.entity.FleetHub;
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleEventLog;
+import com.crs.carmanagement.entity.VehicleModel;
+import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.enums.DataSource;
+import com.crs.carmanagement.fleet.FleetAggregates;
+import com.crs.carmanagement.geofence.GeofenceEngine;
+import com.crs.carmanagement.repository.VehicleEventLogRepository;
+import com.crs.carmanagement.repository.VehicleRepository;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.crs.carmanagement.spatial.VehicleSpatialIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * updateVehicleState outside of the database: change detection, the STATE_UPDATED
+ * event payload and the in-memory views (spatial index, fleet aggregates, geofence
+ * and alert engines). Repositories are stub-only mocks returning one managed vehicle.
+ *
+ * With changed=true every call moves the vehicle and drains a battery percent, so a
+ * change map is built and serialized; with changed=false the same fix is repeated and
+ * only the state fields are copied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx512m", "-XX:+EnableDynamicAgentLoading"})
+public class VehicleStateUpdateBenchmark {
+
+    private static final Long VEHICLE_ID = 1L;
+
+    @Param({"true", "false"})
+    private boolean changed;
+
+    private VehicleStateServiceImpl vehicleStateService;
+    private UpdateVehicleStateRequest[] requests;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        FleetHub hub = FleetHub.builder().id(1L).name("Hub District 1").build();
+        VehicleModel model = VehicleModel.builder().id(1L).modelId("VF8").modelName("VF 8").brand("VinFast").build();
+        Vehicle vehicle = Vehicle.builder().id(VEHICLE_ID).model(model).fleetHub(hub)
+                .plateNumber("51K-10001").odometerKm(1250.0).build();
+        VehicleState state = VehicleState.builder().id(1L).vehicle(vehicle)
+                .latitude(10.762622).longitude(106.660172).batteryLevel(100).isCharging(false)
+                .speedKmh(0.0).odometerKm(1250.0).dataSource(DataSource.VIRTUAL_CAR).messageSequence(0L)
+                .build();
+
+        VehicleRepository vehicleRepository = mock(VehicleRepository.class, withSettings().stubOnly());
+        when(vehicleRepository.findById(VEHICLE_ID)).thenReturn(Optional.of(vehicle));
+        VehicleStateRepository vehicleStateRepository = mock(VehicleStateRepository.class,
+                withSettings().stubOnly());
+        when(vehicleStateRepository.findByVehicleId(VEHICLE_ID)).thenReturn(Optional.of(state));
+        when(vehicleStateRepository.save(any(VehicleState.class))).then(returnsFirstArg());
+        VehicleEventLogRepository eventLogRepository = mock(VehicleEventLogRepository.class,
+                withSettings().stubOnly());
+        when(eventLogRepository.save(any(VehicleEventLog.class))).then(returnsFirstArg());
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        VehicleEventLogService eventLogService = new VehicleEventLogService(eventLogRepository, objectMapper, null);
+        AlertRuleConfig alerts = new AlertRuleConfig();
+        AlertRuleEngine alertRuleEngine = new AlertRuleEngine(alerts, eventLogService);
+        long cooldownMillis = alerts.getAnomalyCooldownSeconds() * 1000;
+        alertRuleEngine.registerRules(List.of(
+                new BatteryThresholdRule("LOW_BATTERY", 20, 25),
+                new SpeedSpikeRule(alerts.getSpeedSpikeDeltaKmh(), alerts.getSpeedSpikeWindowSeconds() * 1000,
+                        cooldownMillis),
+                new TeleportRule(alerts.getTeleportMaxSpeedKmh(), alerts.getTeleportMinDistanceKm(), cooldownMillis),
+                new OdometerJumpRule(alerts.getOdometerMaxSpeedKmh(), alerts.getOdometerMinJumpKm(),
+                        cooldownMillis)));
+        vehicleStateService = new VehicleStateServiceImpl(vehicleRepository, vehicleStateRepository,
+                eventLogService, new VehicleSpatialIndex(), new GeofenceEngine(eventLogService, objectMapper),
+                alertRuleEngine, new FleetAggregates());
+
+        // Alternate between two fixes; the unchanged case repeats the stored one
+        requests = new UpdateVehicleStateRequest[]{
+                fix(changed ? 10.763401 : 10.762622, changed ? 106.660955 : 106.660172, changed ? 99 : 100),
+                fix(10.762622, 106.660172, 100)
+        };
+        next = 0;
+    }
+
+    @Benchmark
+    public VehicleStateResponse updateVehicleState() {
+        UpdateVehicleStateRequest request = requests[next];
+        next ^= 1;
+        return vehicleStateService.updateVehicleState(VEHICLE_ID, request);
+    }
+
+    private static UpdateVehicleStateRequest fix(double latitude, double longitude, int batteryLevel) {
+        return UpdateVehicleStateRequest.builder()
+                .latitude(latitude)
+                .longitude(longitude)
+                .batteryLevel(batteryLevel)
+                .isCharging(false)
+                .speedKmh(42.0)
+                .dataSource(DataSource.VIRTUAL_CAR)
+                .build();
+    }
+}
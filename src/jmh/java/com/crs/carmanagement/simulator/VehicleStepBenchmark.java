@@ -0,0 +1,70 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.enums.VehicleStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulator step for a single vehicle: the movement / battery rules of
+ * VehicleDynamics followed by the delta that would be sent for it.
+ * The fleet is re-created from a fixed seed at every iteration, so vehicles never
+ * drift into a different status mix between runs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class VehicleStepBenchmark {
+
+    private static final int FLEET_SIZE = 1024;
+    private static final long HEARTBEAT_INTERVAL_MS = 30_000;
+
+    @Param({"IN_USE", "CHARGING", "AVAILABLE"})
+    private VehicleStatus status;
+
+    private VirtualVehicle[] fleet;
+    private SplittableRandom random;
+    private long now;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void createFleet() {
+        SplittableRandom seeds = new SplittableRandom(42);
+        fleet = new VirtualVehicle[FLEET_SIZE];
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            fleet[i] = new VirtualVehicle(new SimulatedVehicle((long) i + 1, "BENCH-" + i, status,
+                    10.6 + seeds.nextDouble() * 0.3, 106.5 + seeds.nextDouble() * 0.4,
+                    30 + seeds.nextInt(70), status == VehicleStatus.CHARGING, 0.0,
+                    seeds.nextDouble() * 10_000, 0L), 0);
+        }
+        random = new SplittableRandom(7);
+        now = 0;
+        next = 0;
+    }
+
+    @Benchmark
+    public UpdateVehicleStateRequest step(Blackhole blackhole) {
+        VirtualVehicle vehicle = fleet[next];
+        next = (next + 1) & (FLEET_SIZE - 1);
+        now += 5;
+        blackhole.consume(VehicleDynamics.step(vehicle, random));
+        return vehicle.takeDelta(now, HEARTBEAT_INTERVAL_MS);
+    }
+}
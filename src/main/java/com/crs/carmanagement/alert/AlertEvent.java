@@ -0,0 +1,11 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.enums.EventType;
+
+import java.util.Map;
+
+/**
+ * Alert raised by a rule for one fix
+ */
+public record AlertEvent(String rule, EventType eventType, Map<String, Object> data) {
+}
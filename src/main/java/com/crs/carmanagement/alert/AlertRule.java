@@ -0,0 +1,34 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.enums.EventType;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incremental alert rule evaluated on the state ingestion path
+ */
+public interface AlertRule {
+
+    /**
+     * Unique rule name (also the key of the per-vehicle rule state)
+     */
+    String name();
+
+    /**
+     * Fix fields the rule needs; the engine skips the rule for fixes without them
+     */
+    Set<FixField> inputs();
+
+    /**
+     * Event type raised when the rule fires
+     */
+    EventType eventType();
+
+    /**
+     * Evaluate the fix against the vehicle's previous values.
+     *
+     * @return event data when the rule fires (the engine adds the rule name), null otherwise
+     */
+    Map<String, Object> evaluate(StateFix fix, VehicleAlertState state);
+}
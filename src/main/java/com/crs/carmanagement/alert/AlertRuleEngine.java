@@ -0,0 +1,133 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.config.AlertRuleConfig;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.crs.carmanagement.transaction.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Incremental alert rule engine on the state ingestion path.
+ * Rules are indexed by the fix field they depend on, so a fix only runs the
+ * rules whose inputs it carries. Previous readings and rule state live in
+ * memory per vehicle - no database polling.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRuleEngine {
+
+    private final AlertRuleConfig config;
+    private final VehicleEventLogService eventLogService;
+
+    private final Map<Long, VehicleAlertState> states = new ConcurrentHashMap<>();
+    private volatile Map<FixField, List<AlertRule>> rulesByField = Map.of();
+
+    @PostConstruct
+    void init() {
+        long cooldownMillis = config.getAnomalyCooldownSeconds() * 1000;
+
+        List<AlertRule> rules = new ArrayList<>();
+        config.getBatteryThresholds().forEach(threshold -> rules.add(
+                new BatteryThresholdRule(threshold.getName(), threshold.getLevel(), threshold.getClearLevel())));
+        rules.add(new SpeedSpikeRule(config.getSpeedSpikeDeltaKmh(),
+                config.getSpeedSpikeWindowSeconds() * 1000, cooldownMillis));
+        rules.add(new TeleportRule(config.getTeleportMaxSpeedKmh(),
+                config.getTeleportMinDistanceKm(), cooldownMillis));
+        rules.add(new OdometerJumpRule(config.getOdometerMaxSpeedKmh(),
+                config.getOdometerMinJumpKm(), cooldownMillis));
+
+        registerRules(rules);
+    }
+
+    /**
+     * Replace the evaluated rules.
+     * Each rule is indexed under its first input field and only runs when the fix
+     * carries all of its inputs.
+     */
+    public void registerRules(List<AlertRule> rules) {
+        Map<FixField, List<AlertRule>> index = new EnumMap<>(FixField.class);
+        for (AlertRule rule : rules) {
+            FixField primary = Arrays.stream(FixField.values())
+                    .filter(rule.inputs()::contains)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Rule " + rule.name() + " has no inputs"));
+            index.computeIfAbsent(primary, field -> new ArrayList<>()).add(rule);
+        }
+        index.replaceAll((field, list) -> List.copyOf(list));
+        rulesByField = index;
+        log.info("Alert rule engine loaded {} rules", rules.size());
+    }
+
+    /**
+     * Evaluate a fix and log the raised alerts as vehicle events
+     */
+    public void onStateUpdate(StateFix fix) {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        for (AlertEvent alert : evaluate(fix)) {
+            Map<String, Object> eventData = new HashMap<>(alert.data());
+            eventData.put("rule", alert.rule());
+            eventLogService.logEvent(fix.vehicleId(), alert.eventType(), eventData);
+            log.warn("{} for vehicle {}: {}", alert.eventType(), fix.vehicleId(), alert.data());
+        }
+    }
+
+    /**
+     * Run the rules matching the fix fields against the vehicle's previous values.
+     * Inside a transaction the rule state is restored on rollback, so hysteresis and
+     * cooldowns do not advance for alerts whose events were never written.
+     */
+    public List<AlertEvent> evaluate(StateFix fix) {
+        Map<FixField, List<AlertRule>> rules = rulesByField;
+        VehicleAlertState state = states.computeIfAbsent(fix.vehicleId(), id -> new VehicleAlertState());
+        List<AlertEvent> alerts = new ArrayList<>(1);
+
+        VehicleAlertState before;
+        long revision;
+        synchronized (state) {
+            before = state.copy();
+            for (Map.Entry<FixField, List<AlertRule>> entry : rules.entrySet()) {
+                if (!fix.has(entry.getKey())) {
+                    continue;
+                }
+                for (AlertRule rule : entry.getValue()) {
+                    if (rule.inputs().size() > 1 && !rule.inputs().stream().allMatch(fix::has)) {
+                        continue;
+                    }
+                    Map<String, Object> data = rule.evaluate(fix, state);
+                    if (data != null) {
+                        alerts.add(new AlertEvent(rule.name(), rule.eventType(), data));
+                    }
+                }
+            }
+            state.remember(fix);
+            revision = state.getRevision();
+        }
+        AfterCommit.onRollback(() -> {
+            synchronized (state) {
+                state.restore(before, revision);
+            }
+        });
+        return alerts;
+    }
+
+    /**
+     * Drop the rule state of a deleted vehicle
+     */
+    public void forgetVehicle(Long vehicleId) {
+        states.remove(vehicleId);
+    }
+}
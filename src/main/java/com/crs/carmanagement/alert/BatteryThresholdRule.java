@@ -0,0 +1,54 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.enums.EventType;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Raises LOW_BATTERY_ALERT once when the battery drops to the threshold and
+ * re-arms only after it recovers to the clear level
+ */
+public class BatteryThresholdRule implements AlertRule {
+
+    private final String name;
+    private final int level;
+    private final int clearLevel;
+
+    public BatteryThresholdRule(String name, int level, int clearLevel) {
+        this.name = "BATTERY_" + name;
+        this.level = level;
+        this.clearLevel = Math.max(level, clearLevel);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Set<FixField> inputs() {
+        return Set.of(FixField.BATTERY);
+    }
+
+    @Override
+    public EventType eventType() {
+        return EventType.LOW_BATTERY_ALERT;
+    }
+
+    @Override
+    public Map<String, Object> evaluate(StateFix fix, VehicleAlertState state) {
+        int battery = fix.batteryLevel();
+        if (state.isActive(name)) {
+            if (battery >= clearLevel) {
+                state.setActive(name, false);
+            }
+            return null;
+        }
+        if (battery <= level) {
+            state.setActive(name, true);
+            return Map.of("batteryLevel", battery, "threshold", level);
+        }
+        return null;
+    }
+}
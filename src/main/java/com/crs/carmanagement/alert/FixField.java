@@ -0,0 +1,11 @@
+package com.crs.carmanagement.alert;
+
+/**
+ * State fields an alert rule depends on; rules are only evaluated for fixes carrying them
+ */
+public enum FixField {
+    POSITION,
+    BATTERY,
+    SPEED,
+    ODOMETER
+}
@@ -0,0 +1,60 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.enums.EventType;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Raises ANOMALY_DETECTED when the odometer grows faster than the vehicle can drive
+ */
+public class OdometerJumpRule implements AlertRule {
+
+    private final double maxSpeedKmh;
+    private final double minJumpKm;
+    private final long cooldownMillis;
+
+    public OdometerJumpRule(double maxSpeedKmh, double minJumpKm, long cooldownMillis) {
+        this.maxSpeedKmh = maxSpeedKmh;
+        this.minJumpKm = minJumpKm;
+        this.cooldownMillis = cooldownMillis;
+    }
+
+    @Override
+    public String name() {
+        return "ODOMETER_JUMP";
+    }
+
+    @Override
+    public Set<FixField> inputs() {
+        return Set.of(FixField.ODOMETER);
+    }
+
+    @Override
+    public EventType eventType() {
+        return EventType.ANOMALY_DETECTED;
+    }
+
+    @Override
+    public Map<String, Object> evaluate(StateFix fix, VehicleAlertState state) {
+        if (state.getOdometerKm() == null) {
+            return null;
+        }
+        double jumpKm = fix.odometerKm() - state.getOdometerKm();
+        if (jumpKm <= minJumpKm) {
+            return null;
+        }
+        long elapsedMillis = fix.timestampMillis() - state.getOdometerAt();
+        if (elapsedMillis < 0) {
+            // Stamped before the previous reading (another sender's clock), no speed to derive
+            return null;
+        }
+        double hours = Math.max(elapsedMillis, 1) / 3_600_000.0;
+        double impliedSpeed = jumpKm / hours;
+        if (impliedSpeed <= maxSpeedKmh || !state.tryFire(name(), fix.timestampMillis(), cooldownMillis)) {
+            return null;
+        }
+        return Map.of("anomaly", name(), "previousOdometerKm", state.getOdometerKm(),
+                "odometerKm", fix.odometerKm(), "impliedSpeedKmh", impliedSpeed);
+    }
+}
@@ -0,0 +1,52 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.enums.EventType;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Raises ANOMALY_DETECTED when speed changes by more than the allowed delta
+ * between two close consecutive fixes
+ */
+public class SpeedSpikeRule implements AlertRule {
+
+    private final double maxDeltaKmh;
+    private final long windowMillis;
+    private final long cooldownMillis;
+
+    public SpeedSpikeRule(double maxDeltaKmh, long windowMillis, long cooldownMillis) {
+        this.maxDeltaKmh = maxDeltaKmh;
+        this.windowMillis = windowMillis;
+        this.cooldownMillis = cooldownMillis;
+    }
+
+    @Override
+    public String name() {
+        return "SPEED_SPIKE";
+    }
+
+    @Override
+    public Set<FixField> inputs() {
+        return Set.of(FixField.SPEED);
+    }
+
+    @Override
+    public EventType eventType() {
+        return EventType.ANOMALY_DETECTED;
+    }
+
+    @Override
+    public Map<String, Object> evaluate(StateFix fix, VehicleAlertState state) {
+        long elapsedMillis = fix.timestampMillis() - state.getSpeedAt();
+        if (state.getSpeedKmh() == null || elapsedMillis < 0 || elapsedMillis > windowMillis) {
+            return null;
+        }
+        double delta = Math.abs(fix.speedKmh() - state.getSpeedKmh());
+        if (delta <= maxDeltaKmh || !state.tryFire(name(), fix.timestampMillis(), cooldownMillis)) {
+            return null;
+        }
+        return Map.of("anomaly", name(), "previousSpeedKmh", state.getSpeedKmh(),
+                "speedKmh", fix.speedKmh(), "deltaKmh", delta);
+    }
+}
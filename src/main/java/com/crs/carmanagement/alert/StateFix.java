@@ -0,0 +1,24 @@
+package com.crs.carmanagement.alert;
+
+/**
+ * One incoming state update as seen by the alert rules.
+ * Fields not sent by the client are null.
+ */
+public record StateFix(
+        Long vehicleId,
+        Double latitude,
+        Double longitude,
+        Integer batteryLevel,
+        Double speedKmh,
+        Double odometerKm,
+        long timestampMillis) {
+
+    boolean has(FixField field) {
+        return switch (field) {
+            case POSITION -> latitude != null && longitude != null;
+            case BATTERY -> batteryLevel != null;
+            case SPEED -> speedKmh != null;
+            case ODOMETER -> odometerKm != null;
+        };
+    }
+}
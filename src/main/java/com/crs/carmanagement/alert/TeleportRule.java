@@ -0,0 +1,62 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.spatial.GeoUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Raises ANOMALY_DETECTED when two consecutive GPS fixes imply an impossible speed
+ */
+public class TeleportRule implements AlertRule {
+
+    private final double maxSpeedKmh;
+    private final double minDistanceKm;
+    private final long cooldownMillis;
+
+    public TeleportRule(double maxSpeedKmh, double minDistanceKm, long cooldownMillis) {
+        this.maxSpeedKmh = maxSpeedKmh;
+        this.minDistanceKm = minDistanceKm;
+        this.cooldownMillis = cooldownMillis;
+    }
+
+    @Override
+    public String name() {
+        return "GPS_TELEPORT";
+    }
+
+    @Override
+    public Set<FixField> inputs() {
+        return Set.of(FixField.POSITION);
+    }
+
+    @Override
+    public EventType eventType() {
+        return EventType.ANOMALY_DETECTED;
+    }
+
+    @Override
+    public Map<String, Object> evaluate(StateFix fix, VehicleAlertState state) {
+        if (state.getLatitude() == null || state.getLongitude() == null) {
+            return null;
+        }
+        double distanceKm = GeoUtils.distanceKm(state.getLatitude(), state.getLongitude(),
+                fix.latitude(), fix.longitude());
+        if (distanceKm < minDistanceKm) {
+            return null;
+        }
+        long elapsedMillis = fix.timestampMillis() - state.getPositionAt();
+        if (elapsedMillis < 0) {
+            // Stamped before the previous fix (another sender's clock), no speed to derive
+            return null;
+        }
+        double hours = Math.max(elapsedMillis, 1) / 3_600_000.0;
+        double impliedSpeed = distanceKm / hours;
+        if (impliedSpeed <= maxSpeedKmh || !state.tryFire(name(), fix.timestampMillis(), cooldownMillis)) {
+            return null;
+        }
+        return Map.of("anomaly", name(), "distanceKm", distanceKm, "impliedSpeedKmh", impliedSpeed,
+                "latitude", fix.latitude(), "longitude", fix.longitude());
+    }
+}
@@ -0,0 +1,118 @@
+package com.crs.carmanagement.alert;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-vehicle memory of the alert engine: previous readings plus rule state
+ * (active hysteresis rules and last firing time for de-duplication).
+ * Always accessed while holding the instance monitor.
+ */
+@Getter
+public class VehicleAlertState {
+
+    private Double latitude;
+    private Double longitude;
+    private long positionAt;
+
+    private Double speedKmh;
+    private long speedAt;
+
+    private Double odometerKm;
+    private long odometerAt;
+
+    private final Set<String> activeRules = new HashSet<>();
+    private final Map<String, Long> lastFiredAt = new HashMap<>();
+
+    // Bumped by every remembered fix, so a rollback only undoes the latest evaluation
+    private long revision;
+
+    public boolean isActive(String rule) {
+        return activeRules.contains(rule);
+    }
+
+    public void setActive(String rule, boolean active) {
+        if (active) {
+            activeRules.add(rule);
+        } else {
+            activeRules.remove(rule);
+        }
+    }
+
+    /**
+     * Record a firing unless the same rule fired within the cooldown
+     *
+     * @return true if the alert should be emitted
+     */
+    public boolean tryFire(String rule, long nowMillis, long cooldownMillis) {
+        Long last = lastFiredAt.get(rule);
+        if (last != null && nowMillis - last < cooldownMillis) {
+            return false;
+        }
+        lastFiredAt.put(rule, nowMillis);
+        return true;
+    }
+
+    /**
+     * Remember the readings of a fix once all rules have seen it
+     */
+    void remember(StateFix fix) {
+        if (fix.has(FixField.POSITION)) {
+            latitude = fix.latitude();
+            longitude = fix.longitude();
+            positionAt = fix.timestampMillis();
+        }
+        if (fix.has(FixField.SPEED)) {
+            speedKmh = fix.speedKmh();
+            speedAt = fix.timestampMillis();
+        }
+        if (fix.has(FixField.ODOMETER)) {
+            odometerKm = fix.odometerKm();
+            odometerAt = fix.timestampMillis();
+        }
+        revision++;
+    }
+
+    /**
+     * Copy of the readings and rule state, taken before a fix is evaluated
+     */
+    VehicleAlertState copy() {
+        VehicleAlertState copy = new VehicleAlertState();
+        copy.latitude = latitude;
+        copy.longitude = longitude;
+        copy.positionAt = positionAt;
+        copy.speedKmh = speedKmh;
+        copy.speedAt = speedAt;
+        copy.odometerKm = odometerKm;
+        copy.odometerAt = odometerAt;
+        copy.activeRules.addAll(activeRules);
+        copy.lastFiredAt.putAll(lastFiredAt);
+        copy.revision = revision;
+        return copy;
+    }
+
+    /**
+     * Put back a copy taken before a rolled back fix, unless a later fix has been remembered since
+     */
+    void restore(VehicleAlertState before, long expectedRevision) {
+        if (revision != expectedRevision) {
+            return;
+        }
+        latitude = before.latitude;
+        longitude = before.longitude;
+        positionAt = before.positionAt;
+        speedKmh = before.speedKmh;
+        speedAt = before.speedAt;
+        odometerKm = before.odometerKm;
+        odometerAt = before.odometerAt;
+        activeRules.clear();
+        activeRules.addAll(before.activeRules);
+        lastFiredAt.clear();
+        lastFiredAt.putAll(before.lastFiredAt);
+        revision = before.revision;
+    }
+}
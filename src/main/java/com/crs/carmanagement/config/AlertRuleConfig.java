@@ -0,0 +1,80 @@
+package com.crs.carmanagement.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for the alert rule engine
+ * (LOW_BATTERY_ALERT and ANOMALY_DETECTED on the state ingestion path)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "alerts")
+@Data
+public class AlertRuleConfig {
+
+    /**
+     * Enable/disable alert evaluation
+     */
+    private boolean enabled = true;
+
+    /**
+     * Battery thresholds. An alert fires when the level drops to or below
+     * level and re-arms only once it climbs back to clearLevel (hysteresis)
+     */
+    private List<BatteryThreshold> batteryThresholds = new ArrayList<>(List.of(
+            new BatteryThreshold("LOW", 20, 25),
+            new BatteryThreshold("CRITICAL", 5, 10)));
+
+    /**
+     * Speed change between two consecutive fixes considered a spike (km/h)
+     */
+    private double speedSpikeDeltaKmh = 60;
+
+    /**
+     * Consecutive speed readings further apart than this are not compared (seconds)
+     */
+    private long speedSpikeWindowSeconds = 10;
+
+    /**
+     * GPS jump whose implied speed exceeds this is reported as teleport (km/h)
+     */
+    private double teleportMaxSpeedKmh = 250;
+
+    /**
+     * GPS jumps shorter than this are ignored as jitter (km)
+     */
+    private double teleportMinDistanceKm = 0.5;
+
+    /**
+     * Odometer increase whose implied speed exceeds this is reported as a jump (km/h)
+     */
+    private double odometerMaxSpeedKmh = 250;
+
+    /**
+     * Odometer increases up to this are never reported (km)
+     */
+    private double odometerMinJumpKm = 1;
+
+    /**
+     * The same anomaly is not reported again for a vehicle within this period (seconds)
+     */
+    private long anomalyCooldownSeconds = 300;
+
+    /**
+     * Battery threshold definition
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatteryThreshold {
+        private String name;
+        private int level;
+        private int clearLevel;
+    }
+}
@@ -0,0 +1,28 @@
+package com.crs.carmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ setup for vehicle state ingestion.
+ * Messages are JSON; the queue is declared on the first broker connection, so the
+ * application still starts without a broker when AMQP ingestion is disabled.
+ */
+@Configuration
+public class AmqpConfig {
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public Queue vehicleStateQueue(@Value("${ingestion.amqp.queue:vehicle.state}") String queueName) {
+        return new Queue(queueName, true);
+    }
+}
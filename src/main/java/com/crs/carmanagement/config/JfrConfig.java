@@ -0,0 +1,42 @@
+package com.crs.carmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for Java Flight Recorder recordings of the ingest path
+ * (IngestStage / EventLogWrite events next to the JDK's own events)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "jfr")
+@Data
+public class JfrConfig {
+
+    /**
+     * Start a recording when the application is ready and keep it running
+     */
+    private boolean alwaysOn = false;
+
+    /**
+     * JDK settings of the recording: "default" (always-on, ~1% overhead) or "profile"
+     */
+    private String settings = "default";
+
+    /**
+     * Ring buffer bounds: data older than max-age or beyond max-size is discarded
+     */
+    private long maxAgeSeconds = 600;
+
+    private long maxSizeMb = 64;
+
+    /**
+     * Ingest stages and event log writes faster than this are not recorded (0 = all)
+     */
+    private long stageThresholdMs = 1;
+
+    /**
+     * Directory the recordings are dumped to
+     */
+    private String dumpDir = "recordings/jfr";
+}
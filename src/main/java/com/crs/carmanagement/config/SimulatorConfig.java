@@ -1,11 +1,13 @@
 package com.crs.carmanagement.config;
 
+import com.crs.carmanagement.simulator.TickOverrunPolicy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Configuration properties for Virtual Car Simulator
@@ -31,11 +33,97 @@ public class SimulatorConfig {
     private long statusChangeIntervalMs = 30000;
 
     /**
-     * List of vehicle IDs to simulate
+     * What to do when a tick takes longer than the update interval (default: SKIP missed ticks)
+     */
+    private TickOverrunPolicy overrunPolicy = TickOverrunPolicy.SKIP;
+
+    /**
+     * Most ticks run back to back to catch up with the CATCH_UP policy
+     */
+    private int maxCatchUpTicks = 3;
+
+    /**
+     * How often the simulator logs a tick summary (ticks, throughput, overruns)
+     */
+    private long summaryLogIntervalMs = 60000;
+
+    /**
+     * Number of shards the simulated fleet is split into (by vehicle ID).
+     * Each shard runs on its own virtual thread with its own random generator.
+     */
+    private int shards = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * State updates persisted per transaction within a shard
+     */
+    private int batchSize = 500;
+
+    /**
+     * Unchanged vehicles (e.g. parked) send an empty update at most this often,
+     * refreshing their last update time
+     */
+    private long heartbeatIntervalMs = 60000;
+
+    /**
+     * Reload the in-memory world from the database this often (0 = only on demand),
+     * picking up vehicles and status changes made outside the simulator
+     */
+    private long resyncIntervalMs = 300000;
+
+    /**
+     * Fixed random seed for a deterministic run (null = random seed).
+     * With a seed, a run starting from the same database state produces the same
+     * fix stream: time is the logical tick clock and periodic resync is disabled.
+     */
+    private Long seed;
+
+    /**
+     * Directory for recorded fix streams (see /api/v1/simulator/recording)
+     */
+    private String recordingDir = "recordings";
+
+    /**
+     * Multi-node ownership of the simulated vehicles
+     */
+    private Cluster cluster = new Cluster();
+
+    /**
+     * Set of vehicle IDs to simulate
      * If empty, all virtual vehicles will be simulated
      * If specified, only these vehicles will be simulated
+     * (concurrent set: read by the simulator shards while the API edits it)
+     */
+    private volatile Set<Long> vehicleIds = new ConcurrentSkipListSet<>();
+
+    public void setVehicleIds(Collection<Long> vehicleIds) {
+        Set<Long> ids = new ConcurrentSkipListSet<>();
+        if (vehicleIds != null) {
+            ids.addAll(vehicleIds);
+        }
+        this.vehicleIds = ids;
+    }
+
+    /**
+     * Add a vehicle to the whitelist
+     *
+     * @return true if it was not whitelisted yet
+     */
+    public boolean addVehicle(Long vehicleId) {
+        return vehicleIds.add(vehicleId);
+    }
+
+    /**
+     * Remove a vehicle from the whitelist
+     *
+     * @return true if it was whitelisted
      */
-    private List<Long> vehicleIds = new ArrayList<>();
+    public boolean removeVehicle(Long vehicleId) {
+        return vehicleIds.remove(vehicleId);
+    }
+
+    public boolean isDeterministic() {
+        return seed != null;
+    }
 
     /**
      * Check if a specific vehicle should be simulated
@@ -46,11 +134,46 @@ public class SimulatorConfig {
         }
 
         // If no specific IDs configured, simulate all
-        if (vehicleIds == null || vehicleIds.isEmpty()) {
+        Set<Long> ids = vehicleIds;
+        if (ids.isEmpty()) {
             return true;
         }
 
         // Only simulate if in the whitelist
-        return vehicleIds.contains(vehicleId);
+        return ids.contains(vehicleId);
+    }
+
+    /**
+     * Nested class for multi-node simulator settings.
+     * With several instances against one database, vehicles are split into partitions
+     * (id mod partitions) and each node simulates only the partitions it leases.
+     */
+    @Data
+    public static class Cluster {
+
+        /**
+         * Coordinate partition ownership through the database (off = simulate everything)
+         */
+        private boolean enabled = false;
+
+        /**
+         * Node id (default: host name and process id); must be unique per instance
+         */
+        private String nodeId;
+
+        /**
+         * Number of vehicle partitions; must be the same on every node
+         */
+        private int partitions = 64;
+
+        /**
+         * A lease (and a node heartbeat) expires this long after its last renewal
+         */
+        private long leaseTtlMs = 15000;
+
+        /**
+         * How often leases are renewed and partitions rebalanced
+         */
+        private long renewIntervalMs = 5000;
     }
 }
@@ -0,0 +1,49 @@
+package com.crs.carmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the reactive NDJSON ingestion server
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ingestion.stream")
+@Data
+public class StreamIngestConfig {
+
+    /**
+     * Start the Reactor Netty ingestion server next to the MVC API
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port of the ingestion server (0 = random free port)
+     */
+    private int port = 8082;
+
+    /**
+     * Fixes written together through the batch state update (max 5000)
+     */
+    private int batchSize = 500;
+
+    /**
+     * A partial batch is written after this delay, so slow streams are not held back
+     */
+    private long maxBatchDelayMs = 100;
+
+    /**
+     * Vehicle partitions (vehicle id mod writer-threads), each written by one thread in fix order
+     */
+    private int writerThreads = 4;
+
+    /**
+     * Fixes read ahead per connection; at most max-connections x prefetch fixes wait in memory
+     */
+    private int connectionPrefetch = 8;
+
+    /**
+     * Connections read concurrently; further connections wait unread until one ends
+     */
+    private int maxConnections = 10000;
+}
@@ -0,0 +1,73 @@
+package com.crs.carmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the local span exporters and JDBC spans
+ * (sampling and propagation are under management.tracing.*)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tracing")
+@Data
+public class TracingConfig {
+
+    private Jdbc jdbc = new Jdbc();
+    private Collector collector = new Collector();
+    private File file = new File();
+
+    /**
+     * One span per JDBC statement executed inside a traced request or service call
+     */
+    @Data
+    public static class Jdbc {
+
+        private boolean enabled = true;
+
+        /**
+         * SQL longer than this is truncated in the db.statement tag
+         */
+        private int maxStatementLength = 500;
+
+        /**
+         * Statements slower than this are logged and get a slow-query span event
+         */
+        private long slowQueryMs = 200;
+    }
+
+    /**
+     * In-memory collector behind /api/v1/diagnostics/traces
+     */
+    @Data
+    public static class Collector {
+
+        private boolean enabled = true;
+
+        /**
+         * Most recent traces kept (oldest evicted first)
+         */
+        private int maxTraces = 200;
+
+        /**
+         * Spans kept per trace; the rest are counted as dropped
+         */
+        private int maxSpansPerTrace = 500;
+
+        /**
+         * Same statement executed this often in one trace is reported as a suspected N+1
+         */
+        private int repeatedStatementThreshold = 5;
+    }
+
+    /**
+     * JSON-lines file exporter, one finished span per line
+     */
+    @Data
+    public static class File {
+
+        private boolean enabled = false;
+
+        private String path = "traces/spans.jsonl";
+    }
+}
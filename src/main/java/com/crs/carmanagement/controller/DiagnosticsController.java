@@ -0,0 +1,115 @@
+package com.crs.carmanagement.controller;
+
+import com.crs.carmanagement.dto.request.JfrRecordingRequest;
+import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.JfrRecordingResponse;
+import com.crs.carmanagement.dto.response.TraceResponse;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.service.JfrRecordingService;
+import com.crs.carmanagement.tracing.InMemorySpanCollector;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for runtime diagnostics (Java Flight Recorder, collected traces)
+ */
+@RestController
+@RequestMapping("/api/v1/diagnostics")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Diagnostics", description = "Flight recordings of the ingest path and recently sampled traces")
+public class DiagnosticsController {
+
+    private final JfrRecordingService jfrRecordingService;
+    private final ObjectProvider<InMemorySpanCollector> spanCollector;
+
+    /**
+     * Start a flight recording
+     */
+    @PostMapping("/jfr")
+    @Operation(summary = "Start flight recording", description = "Start a JFR recording with the ingest events, "
+            + "kept in a ring buffer bounded by max age and max size")
+    public ResponseEntity<ApiResponse<JfrRecordingResponse>> startRecording(
+            @Valid @RequestBody(required = false) JfrRecordingRequest request) {
+        log.info("REST request to start flight recording: {}", request);
+        JfrRecordingResponse response = jfrRecordingService.startRecording(
+                request != null ? request : new JfrRecordingRequest());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(response, "Flight recording started"));
+    }
+
+    /**
+     * Get the current flight recording
+     */
+    @GetMapping("/jfr")
+    @Operation(summary = "Get flight recording", description = "State and limits of the current flight recording")
+    public ResponseEntity<ApiResponse<JfrRecordingResponse>> getRecording() {
+        return ResponseEntity.ok(ApiResponse.success(jfrRecordingService.getRecording(),
+                "Flight recording retrieved"));
+    }
+
+    /**
+     * Dump the ring buffer without stopping
+     */
+    @PostMapping("/jfr/dump")
+    @Operation(summary = "Dump flight recording", description = "Write the ring buffer to a .jfr file in the dump "
+            + "directory and keep recording")
+    public ResponseEntity<ApiResponse<JfrRecordingResponse>> dumpRecording() {
+        log.info("REST request to dump flight recording");
+        return ResponseEntity.ok(ApiResponse.success(jfrRecordingService.dumpRecording(),
+                "Flight recording dumped"));
+    }
+
+    /**
+     * Stop the flight recording
+     */
+    @DeleteMapping("/jfr")
+    @Operation(summary = "Stop flight recording", description = "Dump the ring buffer, then stop the recording")
+    public ResponseEntity<ApiResponse<JfrRecordingResponse>> stopRecording() {
+        log.info("REST request to stop flight recording");
+        return ResponseEntity.ok(ApiResponse.success(jfrRecordingService.stopRecording(),
+                "Flight recording stopped"));
+    }
+
+    /**
+     * List recently sampled traces
+     */
+    @GetMapping("/traces")
+    @Operation(summary = "List traces", description = "Summaries of the most recent sampled traces, newest first, "
+            + "with their JDBC statement count and most repeated statement (suspected N+1)")
+    public ResponseEntity<ApiResponse<List<TraceResponse>>> getTraces(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "0") double minDurationMs) {
+        List<TraceResponse> traces = collector().getTraces(limit, minDurationMs);
+        return ResponseEntity.ok(ApiResponse.success(traces, "Found " + traces.size() + " traces"));
+    }
+
+    /**
+     * Get one trace with its spans
+     */
+    @GetMapping("/traces/{traceId}")
+    @Operation(summary = "Get trace", description = "All collected spans of a trace in depth-first order")
+    public ResponseEntity<ApiResponse<TraceResponse>> getTrace(@PathVariable String traceId) {
+        TraceResponse trace = collector().getTrace(traceId)
+                .orElseThrow(() -> new EntityNotFoundException("Trace", "id", traceId));
+        return ResponseEntity.ok(ApiResponse.success(trace, "Trace retrieved"));
+    }
+
+    private InMemorySpanCollector collector() {
+        InMemorySpanCollector collector = spanCollector.getIfAvailable();
+        if (collector == null) {
+            throw new BusinessValidationException("The in-memory span collector is disabled");
+        }
+        return collector;
+    }
+}
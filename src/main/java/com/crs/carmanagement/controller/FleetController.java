@@ -0,0 +1,64 @@
+package com.crs.carmanagement.controller;
+
+import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.FleetSummaryResponse;
+import com.crs.carmanagement.service.FleetHubOccupancyService;
+import com.crs.carmanagement.service.FleetSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST controller for fleet-wide dashboard data
+ */
+@RestController
+@RequestMapping("/api/v1/fleet")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Fleet", description = "Fleet dashboard APIs")
+public class FleetController {
+
+    private final FleetSummaryService fleetSummaryService;
+    private final FleetHubOccupancyService occupancyService;
+
+    /**
+     * Get fleet summary
+     */
+    @GetMapping("/summary")
+    @Operation(summary = "Get fleet summary", description = "Vehicle counts per status and hub, battery histogram "
+            + "and charging vehicles, served from in-memory counters")
+    public ResponseEntity<ApiResponse<FleetSummaryResponse>> getFleetSummary() {
+        return ResponseEntity.ok(ApiResponse.success(fleetSummaryService.getFleetSummary(),
+                "Fleet summary retrieved successfully"));
+    }
+
+    /**
+     * Force reconciliation of the counters with the database
+     */
+    @PostMapping("/summary/reconcile")
+    @Operation(summary = "Reconcile fleet summary", description = "Compare the in-memory counters with SQL aggregates "
+            + "and rebuild them if they drifted")
+    public ResponseEntity<ApiResponse<FleetSummaryResponse>> reconcile() {
+        log.info("REST request to reconcile fleet summary");
+        return ResponseEntity.ok(ApiResponse.success(fleetSummaryService.reconcile(),
+                "Fleet summary reconciled"));
+    }
+
+    /**
+     * Force recount of fleet hub occupancy
+     */
+    @PostMapping("/occupancy/reconcile")
+    @Operation(summary = "Reconcile hub occupancy", description = "Reset every fleet hub's current occupancy "
+            + "to its actual vehicle count")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> reconcileOccupancy() {
+        log.info("REST request to reconcile fleet hub occupancy");
+        int corrected = occupancyService.reconcile();
+        return ResponseEntity.ok(ApiResponse.success(Map.of("correctedHubs", corrected),
+                String.format("Corrected occupancy of %d fleet hubs", corrected)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.crs.carmanagement.controller;
+
+import com.crs.carmanagement.dto.request.GeofenceRequest;
+import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.GeofenceResponse;
+import com.crs.carmanagement.service.GeofenceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for geofence definitions
+ */
+@RestController
+@RequestMapping("/api/v1/geofences")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Geofence", description = "Geofence management APIs (circles and polygons, global or per hub)")
+public class GeofenceController {
+
+    private final GeofenceService geofenceService;
+
+    /**
+     * Create a new geofence
+     */
+    @PostMapping
+    @Operation(summary = "Create geofence", description = "Create a CIRCLE or POLYGON geofence, optionally bound to a fleet hub")
+    public ResponseEntity<ApiResponse<GeofenceResponse>> createGeofence(
+            @Valid @RequestBody GeofenceRequest request) {
+
+        log.info("REST request to create geofence: {}", request.getName());
+
+        GeofenceResponse response = geofenceService.createGeofence(request);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(response, "Geofence created successfully"));
+    }
+
+    /**
+     * Get all geofences
+     */
+    @GetMapping
+    @Operation(summary = "Get geofences", description = "Get all geofences, optionally filtered by fleet hub")
+    public ResponseEntity<ApiResponse<List<GeofenceResponse>>> getGeofences(
+            @RequestParam(required = false) Long hubId) {
+
+        log.info("REST request to get geofences (hub: {})", hubId);
+
+        List<GeofenceResponse> geofences = geofenceService.getGeofences(hubId);
+
+        return ResponseEntity.ok(ApiResponse.success(geofences,
+                String.format("Found %d geofences", geofences.size())));
+    }
+
+    /**
+     * Get geofence by ID
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get geofence by ID", description = "Get a geofence definition")
+    public ResponseEntity<ApiResponse<GeofenceResponse>> getGeofenceById(@PathVariable Long id) {
+
+        log.info("REST request to get geofence: {}", id);
+
+        GeofenceResponse response = geofenceService.getGeofenceById(id);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Geofence retrieved successfully"));
+    }
+
+    /**
+     * Replace geofence
+     */
+    @PutMapping("/{id}")
+    @Operation(summary = "Update geofence", description = "Replace a geofence definition")
+    public ResponseEntity<ApiResponse<GeofenceResponse>> updateGeofence(
+            @PathVariable Long id,
+            @Valid @RequestBody GeofenceRequest request) {
+
+        log.info("REST request to update geofence: {}", id);
+
+        GeofenceResponse response = geofenceService.updateGeofence(id, request);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Geofence updated successfully"));
+    }
+
+    /**
+     * Delete geofence
+     */
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete geofence", description = "Delete a geofence")
+    public ResponseEntity<ApiResponse<Void>> deleteGeofence(@PathVariable Long id) {
+
+        log.info("REST request to delete geofence: {}", id);
+
+        geofenceService.deleteGeofence(id);
+
+        return ResponseEntity.ok(ApiResponse.success("Geofence deleted successfully"));
+    }
+
+    /**
+     * Evaluation engine statistics
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Get geofence engine stats", description = "Fixes evaluated, candidate fences and evaluation time per fix")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStats() {
+        return ResponseEntity.ok(ApiResponse.success(geofenceService.getEngineStats(),
+                "Geofence engine stats retrieved"));
+    }
+}
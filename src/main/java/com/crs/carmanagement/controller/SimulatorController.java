@@ -1,9 +1,23 @@
 package com.crs.carmanagement.controller;
 
 import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.dto.request.AcceleratedRunRequest;
+import com.crs.carmanagement.dto.request.LoadTestRequest;
+import com.crs.carmanagement.dto.request.ReplayRequest;
+import com.crs.carmanagement.dto.response.AcceleratedRunReport;
 import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+import com.crs.carmanagement.dto.response.RecordingResponse;
+import com.crs.carmanagement.dto.response.ReplayReport;
+import com.crs.carmanagement.service.AcceleratedSimulationService;
+import com.crs.carmanagement.service.LoadTestService;
+import com.crs.carmanagement.service.SimulationRecordingService;
+import com.crs.carmanagement.simulator.SimulatorClusterCoordinator;
+import com.crs.carmanagement.simulator.SimulatorTickScheduler;
+import com.crs.carmanagement.simulator.VirtualCarSimulator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +38,12 @@ import java.util.Map;
 public class SimulatorController {
 
     private final SimulatorConfig config;
+    private final VirtualCarSimulator simulator;
+    private final SimulatorTickScheduler tickScheduler;
+    private final SimulatorClusterCoordinator clusterCoordinator;
+    private final LoadTestService loadTestService;
+    private final SimulationRecordingService recordingService;
+    private final AcceleratedSimulationService acceleratedSimulationService;
 
     /**
      * Get current simulator configuration
@@ -35,6 +55,15 @@ public class SimulatorController {
         configMap.put("enabled", config.isEnabled());
         configMap.put("updateIntervalMs", config.getUpdateIntervalMs());
         configMap.put("statusChangeIntervalMs", config.getStatusChangeIntervalMs());
+        configMap.put("overrunPolicy", config.getOverrunPolicy());
+        configMap.put("maxCatchUpTicks", config.getMaxCatchUpTicks());
+        configMap.put("shards", config.getShards());
+        configMap.put("batchSize", config.getBatchSize());
+        configMap.put("heartbeatIntervalMs", config.getHeartbeatIntervalMs());
+        configMap.put("resyncIntervalMs", config.getResyncIntervalMs());
+        configMap.put("worldSize", simulator.getWorldSize());
+        configMap.put("seed", config.getSeed());
+        configMap.put("recordingDir", config.getRecordingDir());
         configMap.put("vehicleIds", config.getVehicleIds());
         configMap.put("vehicleCount", config.getVehicleIds().isEmpty() ? "ALL" : config.getVehicleIds().size());
 
@@ -63,6 +92,200 @@ public class SimulatorController {
         return ResponseEntity.ok(ApiResponse.success("Simulator disabled successfully"));
     }
 
+    /**
+     * Reload the simulator's in-memory world from the database
+     */
+    @PostMapping("/resync")
+    @Operation(summary = "Resync simulator", description = "Reload virtual vehicles and their state from the database "
+            + "(picks up vehicles and changes made outside the simulator)")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> resync() {
+        log.info("REST request to resync simulator world");
+        int vehicles = simulator.resync();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("worldSize", vehicles);
+
+        return ResponseEntity.ok(ApiResponse.success(result, "Simulator world reloaded with " + vehicles + " vehicles"));
+    }
+
+    /**
+     * Get simulator tick statistics
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Get simulator tick stats", description = "Ticks, overruns, skipped ticks, tick duration "
+            + "and start lag percentiles (ms) and vehicles simulated per second")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStats() {
+        return ResponseEntity.ok(ApiResponse.success(tickScheduler.getStats(), "Simulator tick stats retrieved"));
+    }
+
+    /**
+     * Get this node's share of a multi-node simulator
+     */
+    @GetMapping("/cluster")
+    @Operation(summary = "Get simulator cluster state", description = "Node id, live nodes and the vehicle "
+            + "partitions (id mod partitions) this node leases and simulates")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getClusterState() {
+        return ResponseEntity.ok(ApiResponse.success(clusterCoordinator.getStats(),
+                "Simulator cluster state retrieved"));
+    }
+
+    /**
+     * Start a load test over an ingestion path
+     */
+    @PostMapping("/load-test")
+    @Operation(summary = "Start load test", description = "Send state fixes for virtual vehicles at a target rate "
+            + "through DIRECT, HTTP, HTTP_BATCH or AMQP, with a STEADY, RAMP or SPIKE profile. "
+            + "Disable the simulator first so both do not update the same vehicles.")
+    public ResponseEntity<ApiResponse<LoadTestReport>> startLoadTest(@Valid @RequestBody LoadTestRequest request) {
+        log.info("REST request to start load test: {}", request);
+
+        LoadTestReport report = loadTestService.startLoadTest(request);
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Load test started"));
+    }
+
+    /**
+     * Progress or result of the load test
+     */
+    @GetMapping("/load-test")
+    @Operation(summary = "Get load test report", description = "Achieved throughput and latency percentiles "
+            + "of the running or last load test")
+    public ResponseEntity<ApiResponse<LoadTestReport>> getLoadTestReport() {
+        LoadTestReport report = loadTestService.getLoadTestReport();
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Load test " + report.getStatus()));
+    }
+
+    /**
+     * Stop the running load test
+     */
+    @DeleteMapping("/load-test")
+    @Operation(summary = "Stop load test", description = "Stop sending; requests in flight still complete")
+    public ResponseEntity<ApiResponse<LoadTestReport>> stopLoadTest() {
+        log.info("REST request to stop load test");
+
+        LoadTestReport report = loadTestService.stopLoadTest();
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Load test stopping"));
+    }
+
+    /**
+     * Start an accelerated discrete-event run
+     */
+    @PostMapping("/accelerated")
+    @Operation(summary = "Start accelerated run", description = "Simulate hours or days of fleet operation "
+            + "(trips, charging, status changes) on a virtual clock at timeScale x real time, or as fast as "
+            + "possible with timeScale 0. Disable the simulator first.")
+    public ResponseEntity<ApiResponse<AcceleratedRunReport>> startAcceleratedRun(
+            @Valid @RequestBody AcceleratedRunRequest request) {
+        log.info("REST request to start accelerated run: {}", request);
+
+        AcceleratedRunReport report = acceleratedSimulationService.startRun(request);
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Accelerated run started"));
+    }
+
+    /**
+     * Progress or result of the accelerated run
+     */
+    @GetMapping("/accelerated")
+    @Operation(summary = "Get accelerated run report", description = "Virtual time reached, achieved time scale, "
+            + "events per second and persisted states of the running or last accelerated run")
+    public ResponseEntity<ApiResponse<AcceleratedRunReport>> getAcceleratedRunReport() {
+        AcceleratedRunReport report = acceleratedSimulationService.getRunReport();
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Accelerated run " + report.getStatus()));
+    }
+
+    /**
+     * Stop the running accelerated run
+     */
+    @DeleteMapping("/accelerated")
+    @Operation(summary = "Stop accelerated run", description = "Stop the virtual clock; changes so far are persisted")
+    public ResponseEntity<ApiResponse<AcceleratedRunReport>> stopAcceleratedRun() {
+        log.info("REST request to stop accelerated run");
+
+        AcceleratedRunReport report = acceleratedSimulationService.stopRun();
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Accelerated run stopping"));
+    }
+
+    /**
+     * Start recording the simulator's fix stream
+     */
+    @PostMapping("/recording")
+    @Operation(summary = "Start recording", description = "Record every fix and status change the simulator emits "
+            + "to a compact binary file in the recording directory")
+    public ResponseEntity<ApiResponse<RecordingResponse>> startRecording(@RequestParam String file) {
+        log.info("REST request to start simulator recording: {}", file);
+
+        RecordingResponse response = recordingService.startRecording(file);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Recording to " + file));
+    }
+
+    /**
+     * Stop recording
+     */
+    @DeleteMapping("/recording")
+    @Operation(summary = "Stop recording", description = "Close the active recording file")
+    public ResponseEntity<ApiResponse<RecordingResponse>> stopRecording() {
+        log.info("REST request to stop simulator recording");
+
+        RecordingResponse response = recordingService.stopRecording();
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Recorded " + response.getTicks() + " ticks"));
+    }
+
+    /**
+     * List recordings
+     */
+    @GetMapping("/recordings")
+    @Operation(summary = "List recordings", description = "Recording files with their seed, shards and size")
+    public ResponseEntity<ApiResponse<List<RecordingResponse>>> listRecordings() {
+        List<RecordingResponse> recordings = recordingService.listRecordings();
+
+        return ResponseEntity.ok(ApiResponse.success(recordings, "Found " + recordings.size() + " recordings"));
+    }
+
+    /**
+     * Replay a recording into an ingestion path
+     */
+    @PostMapping("/replay")
+    @Operation(summary = "Start replay", description = "Replay a recording at its recorded pace (speed 1), "
+            + "faster (speed > 1) or as fast as possible (speed 0) through DIRECT, HTTP, HTTP_BATCH or AMQP")
+    public ResponseEntity<ApiResponse<ReplayReport>> startReplay(@Valid @RequestBody ReplayRequest request) {
+        log.info("REST request to start replay: {}", request);
+
+        ReplayReport report = recordingService.startReplay(request);
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Replay started"));
+    }
+
+    /**
+     * Progress or result of the replay
+     */
+    @GetMapping("/replay")
+    @Operation(summary = "Get replay report", description = "Throughput and latency of the running or last replay")
+    public ResponseEntity<ApiResponse<ReplayReport>> getReplayReport() {
+        ReplayReport report = recordingService.getReplayReport();
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Replay " + report.getStatus()));
+    }
+
+    /**
+     * Stop the running replay
+     */
+    @DeleteMapping("/replay")
+    @Operation(summary = "Stop replay", description = "Stop after the current tick")
+    public ResponseEntity<ApiResponse<ReplayReport>> stopReplay() {
+        log.info("REST request to stop replay");
+
+        ReplayReport report = recordingService.stopReplay();
+
+        return ResponseEntity.ok(ApiResponse.success(report, "Replay stopping"));
+    }
+
     /**
      * Set specific vehicles to simulate
      */
@@ -90,8 +313,7 @@ public class SimulatorController {
     @PostMapping("/vehicles/{vehicleId}")
     @Operation(summary = "Add vehicle to simulation", description = "Add a specific vehicle to simulation whitelist")
     public ResponseEntity<ApiResponse<Map<String, Object>>> addVehicle(@PathVariable Long vehicleId) {
-        if (!config.getVehicleIds().contains(vehicleId)) {
-            config.getVehicleIds().add(vehicleId);
+        if (config.addVehicle(vehicleId)) {
             log.info("Added vehicle {} to simulator whitelist", vehicleId);
         }
 
@@ -109,7 +331,7 @@ public class SimulatorController {
     @DeleteMapping("/vehicles/{vehicleId}")
     @Operation(summary = "Remove vehicle from simulation", description = "Remove a specific vehicle from simulation whitelist")
     public ResponseEntity<ApiResponse<Map<String, Object>>> removeVehicle(@PathVariable Long vehicleId) {
-        config.getVehicleIds().remove(vehicleId);
+        config.removeVehicle(vehicleId);
         log.info("Removed vehicle {} from simulator whitelist", vehicleId);
 
         Map<String, Object> result = new HashMap<>();
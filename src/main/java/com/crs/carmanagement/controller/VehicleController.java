@@ -1,26 +1,43 @@
 package com.crs.carmanagement.controller;
 
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
 import com.crs.carmanagement.dto.request.CreateVehicleRequest;
 import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.VehicleSearchCriteria;
 import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.BulkImportResponse;
+import com.crs.carmanagement.dto.response.BulkUpdateResponse;
 import com.crs.carmanagement.dto.response.VehicleDetailResponse;
+import com.crs.carmanagement.dto.response.VehicleLookupResponse;
+import com.crs.carmanagement.dto.response.VehicleProjectionResponse;
 import com.crs.carmanagement.dto.response.VehicleResponse;
 import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.importer.ImportFormat;
+import com.crs.carmanagement.projection.ProjectionFormat;
+import com.crs.carmanagement.service.VehicleImportService;
+import com.crs.carmanagement.service.VehicleLookupService;
 import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for Vehicle operations
@@ -33,6 +50,9 @@ import java.util.List;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final VehicleImportService vehicleImportService;
+    private final VehicleLookupService vehicleLookupService;
+    private final VehicleStreamService vehicleStreamService;
 
     /**
      * Create a new vehicle
@@ -51,6 +71,25 @@ public class VehicleController {
                 .body(ApiResponse.success(response, "Vehicle created successfully"));
     }
 
+    /**
+     * Bulk import vehicles from CSV or NDJSON
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    @Operation(summary = "Bulk import vehicles", description = "Stream CreateVehicleRequest rows as CSV (header row "
+            + "with field names) or NDJSON. Valid rows are imported, invalid rows are reported per line")
+    public ResponseEntity<ApiResponse<BulkImportResponse>> importVehicles(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        log.info("REST request to bulk import vehicles ({})", contentType);
+
+        BulkImportResponse response = vehicleImportService.importVehicles(body,
+                ImportFormat.fromContentType(contentType));
+
+        return ResponseEntity.ok(ApiResponse.success(response,
+                String.format("Imported %d of %d vehicles", response.getImported(), response.getTotalRows())));
+    }
+
     /**
      * Get vehicle by ID
      */
@@ -65,6 +104,23 @@ public class VehicleController {
         return ResponseEntity.ok(ApiResponse.success(response, "Vehicle retrieved successfully"));
     }
 
+    /**
+     * Get selected fields of a vehicle
+     */
+    @GetMapping("/{id}/fields")
+    @Operation(summary = "Get vehicle fields", description = "Get only the requested fields of a vehicle "
+            + "(e.g. fields=id,plateNumber,status); modelSpecs and recentEvents are read only when requested")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getVehicleFields(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
+
+        log.info("REST request to get fields [{}] of vehicle: {}", fields, id);
+
+        Map<String, Object> response = vehicleService.getVehicleFields(id, fields);
+
+        return ResponseEntity.ok(ApiResponse.success(response, "Vehicle retrieved successfully"));
+    }
+
     /**
      * Get all vehicles with pagination
      */
@@ -88,6 +144,97 @@ public class VehicleController {
         return ResponseEntity.ok(ApiResponse.success(vehicles, "Vehicles retrieved successfully"));
     }
 
+    /**
+     * Search vehicles by multiple criteria
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search vehicles", description = "Filter by status, hub, model, virtual flag, battery range, "
+            + "charging flag and last-seen age (all optional, combined with AND), with pagination and sorting")
+    public ResponseEntity<ApiResponse<Page<VehicleResponse>>> searchVehicles(
+            @Valid @ParameterObject VehicleSearchCriteria criteria,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDir) {
+
+        log.info("REST request to search vehicles: {} - page: {}, size: {}", criteria, page, size);
+
+        Sort sort = sortDir.equalsIgnoreCase("DESC")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Page<VehicleResponse> vehicles = vehicleService.searchVehicles(criteria, pageable);
+
+        return ResponseEntity.ok(ApiResponse.success(vehicles,
+                String.format("Found %d vehicles", vehicles.getTotalElements())));
+    }
+
+    /**
+     * Search vehicles returning only the requested fields
+     */
+    @GetMapping("/fields")
+    @Operation(summary = "Search vehicles (sparse fields)", description = "Same criteria as /search, but each "
+            + "vehicle is reduced to the requested fields (default id,plateNumber,status) and only the tables "
+            + "those fields need are joined; format=COMPACT returns column names once and one value array per "
+            + "vehicle")
+    public ResponseEntity<ApiResponse<VehicleProjectionResponse>> searchVehicleFields(
+            @Valid @ParameterObject VehicleSearchCriteria criteria,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "OBJECTS") ProjectionFormat format,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "ASC") String sortDir) {
+
+        log.info("REST request to search vehicle fields [{}]: {} - page: {}, size: {}", fields, criteria, page, size);
+
+        Sort sort = sortDir.equalsIgnoreCase("DESC")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        VehicleProjectionResponse response = vehicleService.searchVehicleFields(criteria, fields, format, pageable);
+
+        return ResponseEntity.ok(ApiResponse.success(response,
+                String.format("Found %d vehicles", response.getTotalElements())));
+    }
+
+    /**
+     * Typeahead lookup by plate number or VIN
+     */
+    @GetMapping("/lookup")
+    @Operation(summary = "Look up vehicles by plate number or VIN", description = "Exact, prefix and substring "
+            + "matches (substring from 3 characters), ranked in that order; case, spaces and dashes are ignored")
+    public ResponseEntity<ApiResponse<List<VehicleLookupResponse>>> lookupVehicles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("REST request to look up vehicles: {}", q);
+
+        List<VehicleLookupResponse> matches = vehicleLookupService.lookup(q, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(matches, String.format("Found %d vehicles", matches.size())));
+    }
+
+    /**
+     * Bulk update vehicles
+     */
+    @PutMapping("/bulk")
+    @Operation(summary = "Bulk update vehicles", description = "Apply one partial update to a list of vehicle IDs "
+            + "or to all vehicles matching a filter; returns a summary instead of vehicle details")
+    public ResponseEntity<ApiResponse<BulkUpdateResponse>> bulkUpdateVehicles(
+            @Valid @RequestBody BulkUpdateVehicleRequest request) {
+
+        log.info("REST request to bulk update vehicles (ids: {}, filter: {})",
+                request.getVehicleIds() != null ? request.getVehicleIds().size() : 0, request.getFilter());
+
+        BulkUpdateResponse response = vehicleService.bulkUpdateVehicles(request);
+
+        return ResponseEntity.ok(ApiResponse.success(response,
+                String.format("Updated %d vehicles", response.getUpdated())));
+    }
+
     /**
      * Update vehicle
      */
@@ -134,6 +281,21 @@ public class VehicleController {
                 String.format("Found %d vehicles with status %s", vehicles.size(), status)));
     }
 
+    /**
+     * Stream vehicles by status
+     */
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream vehicles by status", description = "Same data as /status/{status}, written "
+            + "incrementally from a database cursor (constant memory, first bytes sent immediately)")
+    public ResponseEntity<StreamingResponseBody> streamVehiclesByStatus(@PathVariable VehicleStatus status) {
+
+        log.info("REST request to stream vehicles by status: {}", status);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(vehicleStreamService.streamVehiclesByStatus(status));
+    }
+
     /**
      * Get vehicles by fleet hub
      */
@@ -149,4 +311,19 @@ public class VehicleController {
         return ResponseEntity.ok(ApiResponse.success(vehicles,
                 String.format("Found %d vehicles in hub %d", vehicles.size(), hubId)));
     }
+
+    /**
+     * Stream vehicles by fleet hub
+     */
+    @GetMapping(value = "/hub/{hubId}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream vehicles by fleet hub", description = "Same data as /hub/{hubId}, written "
+            + "incrementally from a database cursor (constant memory, first bytes sent immediately)")
+    public ResponseEntity<StreamingResponseBody> streamVehiclesByHub(@PathVariable Long hubId) {
+
+        log.info("REST request to stream vehicles by hub: {}", hubId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(vehicleStreamService.streamVehiclesByFleetHub(hubId));
+    }
 }
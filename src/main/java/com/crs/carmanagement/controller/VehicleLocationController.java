@@ -0,0 +1,101 @@
+package com.crs.carmanagement.controller;
+
+import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.NearbyVehicleResponse;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.service.VehicleLocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST controller for location based vehicle queries (nearby, k-nearest, bounding box)
+ */
+@RestController
+@RequestMapping("/api/v1/vehicles")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Vehicle Location", description = "Find vehicles around a point or inside an area")
+public class VehicleLocationController {
+
+    private final VehicleLocationService vehicleLocationService;
+
+    /**
+     * Vehicles within a radius of a point
+     */
+    @GetMapping("/nearby")
+    @Operation(summary = "Find nearby vehicles", description = "Find vehicles within radiusKm of a point, nearest first. "
+            + "Optionally filter by status and battery range.")
+    public ResponseEntity<ApiResponse<List<NearbyVehicleResponse>>> findNearby(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "2.0") Double radiusKm,
+            @RequestParam(required = false) Set<VehicleStatus> status,
+            @RequestParam(required = false) Integer minBattery,
+            @RequestParam(required = false) Integer maxBattery,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        log.debug("REST request to find vehicles within {} km of ({}, {})", radiusKm, latitude, longitude);
+
+        List<NearbyVehicleResponse> vehicles = vehicleLocationService.findWithinRadius(
+                latitude, longitude, radiusKm, status, minBattery, maxBattery, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(vehicles,
+                String.format("Found %d vehicles within %.2f km", vehicles.size(), radiusKm)));
+    }
+
+    /**
+     * k nearest vehicles to a point
+     */
+    @GetMapping("/nearest")
+    @Operation(summary = "Find nearest vehicles", description = "Find the k nearest vehicles to a point. "
+            + "Optionally filter by status and battery range.")
+    public ResponseEntity<ApiResponse<List<NearbyVehicleResponse>>> findNearest(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) Set<VehicleStatus> status,
+            @RequestParam(required = false) Integer minBattery,
+            @RequestParam(required = false) Integer maxBattery) {
+
+        log.debug("REST request to find {} nearest vehicles to ({}, {})", k, latitude, longitude);
+
+        List<NearbyVehicleResponse> vehicles = vehicleLocationService.findNearest(
+                latitude, longitude, k, status, minBattery, maxBattery);
+
+        return ResponseEntity.ok(ApiResponse.success(vehicles,
+                String.format("Found %d nearest vehicles", vehicles.size())));
+    }
+
+    /**
+     * Vehicles inside a bounding box
+     */
+    @GetMapping("/within-bounds")
+    @Operation(summary = "Find vehicles in area", description = "Find vehicles inside a latitude/longitude bounding box. "
+            + "Optionally filter by status and battery range.")
+    public ResponseEntity<ApiResponse<List<NearbyVehicleResponse>>> findWithinBounds(
+            @RequestParam Double minLatitude,
+            @RequestParam Double minLongitude,
+            @RequestParam Double maxLatitude,
+            @RequestParam Double maxLongitude,
+            @RequestParam(required = false) Set<VehicleStatus> status,
+            @RequestParam(required = false) Integer minBattery,
+            @RequestParam(required = false) Integer maxBattery,
+            @RequestParam(defaultValue = "500") int limit) {
+
+        log.debug("REST request to find vehicles in box ({}, {}) - ({}, {})",
+                minLatitude, minLongitude, maxLatitude, maxLongitude);
+
+        List<NearbyVehicleResponse> vehicles = vehicleLocationService.findWithinBounds(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, status, minBattery, maxBattery, limit);
+
+        return ResponseEntity.ok(ApiResponse.success(vehicles,
+                String.format("Found %d vehicles in area", vehicles.size())));
+    }
+}
@@ -0,0 +1,44 @@
+package com.crs.carmanagement.controller;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest;
+import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.BatchStateUpdateResponse;
+import com.crs.carmanagement.service.VehicleStateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for batch vehicle state ingestion (telemetry gateways, load tests)
+ */
+@RestController
+@RequestMapping("/api/v1/vehicles/states")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Vehicle State", description = "Vehicle state management APIs (GPS, battery, speed)")
+public class VehicleStateBatchController {
+
+    private final VehicleStateService vehicleStateService;
+
+    /**
+     * Update the state of many vehicles in one request
+     */
+    @PutMapping
+    @Operation(summary = "Batch update vehicle states", description = "Apply up to 5000 state updates in one " +
+            "transaction. Rejected updates (unknown vehicle, odometer decrease, out-of-order sequence) are " +
+            "skipped and counted instead of failing the batch.")
+    public ResponseEntity<ApiResponse<BatchStateUpdateResponse>> updateVehicleStates(
+            @Valid @RequestBody BatchVehicleStateRequest request) {
+
+        log.debug("REST request to batch update {} vehicle states", request.getUpdates().size());
+
+        BatchStateUpdateResponse response = vehicleStateService.updateVehicleStates(request);
+
+        return ResponseEntity.ok(ApiResponse.success(response,
+                "Applied " + response.getApplied() + " of " + response.getReceived() + " state updates"));
+    }
+}
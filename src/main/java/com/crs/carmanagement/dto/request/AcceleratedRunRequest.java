@@ -0,0 +1,46 @@
+package com.crs.carmanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting an accelerated (discrete-event) fleet run
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Accelerated simulation parameters")
+public class AcceleratedRunRequest {
+
+    @Builder.Default
+    @DecimalMin(value = "0.01", message = "Simulated time must be at least 0.01 hours")
+    @DecimalMax(value = "720", message = "Simulated time must not exceed 30 days")
+    @Schema(description = "Simulated fleet time in hours", example = "24")
+    private Double simulatedHours = 24.0;
+
+    @Builder.Default
+    @DecimalMin(value = "0.0", message = "Time scale must not be negative")
+    @Schema(description = "Simulated seconds per wall-clock second (0 = as fast as possible)", example = "1440")
+    private Double timeScale = 1440.0;
+
+    @Schema(description = "Random seed (default: simulator.seed, or random)", example = "42")
+    private Long seed;
+
+    @Min(value = 1, message = "Vehicle count must be at least 1")
+    @Schema(description = "Simulate only the first N virtual vehicles (default: all)", example = "1000")
+    private Integer vehicleCount;
+
+    @Builder.Default
+    @Min(value = 1, message = "Batch size must be at least 1")
+    @Max(value = 50_000, message = "Batch size must not exceed 50000")
+    @Schema(description = "Vehicle state updates persisted per transaction", example = "5000")
+    private Integer batchSize = 5000;
+}
@@ -0,0 +1,47 @@
+package com.crs.carmanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for ingesting state updates of many vehicles at once
+ * (batch HTTP endpoint; a single item is also the AMQP message format)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of vehicle state updates")
+public class BatchVehicleStateRequest {
+
+    @NotEmpty(message = "Updates are required")
+    @Size(max = 5000, message = "At most 5000 updates per request")
+    @Valid
+    private List<VehicleStateUpdate> updates;
+
+    /**
+     * Nested class for one vehicle's state update
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VehicleStateUpdate {
+
+        @NotNull(message = "Vehicle ID is required")
+        private Long vehicleId;
+
+        @NotNull(message = "State is required")
+        @Valid
+        private UpdateVehicleStateRequest state;
+    }
+}
@@ -0,0 +1,56 @@
+package com.crs.carmanagement.dto.request;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for updating many vehicles at once
+ * Targets either an explicit id list or a filter, never both
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateVehicleRequest {
+
+    @Size(max = 10000, message = "At most 10000 vehicle IDs per request")
+    private List<Long> vehicleIds;
+
+    @Valid
+    private Filter filter;
+
+    @Valid
+    @NotNull(message = "Patch is required")
+    private UpdateVehicleRequest patch;
+
+    // Set currentBookingId / currentDriverId to null (a null patch value means "unchanged")
+    @Builder.Default
+    private Boolean clearCurrentBookingId = false;
+
+    @Builder.Default
+    private Boolean clearCurrentDriverId = false;
+
+    /**
+     * Nested class for filter-based targeting (all criteria are ANDed)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Filter {
+        private VehicleStatus status;
+        private Long fleetHubId;
+        private Long modelId;
+        private Boolean isVirtual;
+        private String currentBookingId;
+        private String currentDriverId;
+    }
+}
@@ -0,0 +1,80 @@
+package com.crs.carmanagement.dto.request;
+
+import com.crs.carmanagement.enums.GeofenceTrigger;
+import com.crs.carmanagement.enums.GeofenceType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating or replacing a geofence
+ * CIRCLE needs center + radius, POLYGON needs at least 3 vertices
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Geofence definition")
+public class GeofenceRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+
+    @NotNull(message = "Type is required")
+    @Schema(description = "Shape type (CIRCLE, POLYGON)", example = "CIRCLE")
+    private GeofenceType type;
+
+    @Schema(description = "Crossings that raise a violation (ENTER, EXIT, BOTH)", example = "EXIT")
+    @Builder.Default
+    private GeofenceTrigger trigger = GeofenceTrigger.BOTH;
+
+    @Schema(description = "Fleet hub the geofence applies to (empty = all vehicles)", example = "1")
+    private Long fleetHubId;
+
+    @Schema(description = "Circle center latitude", example = "10.7728")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double centerLatitude;
+
+    @Schema(description = "Circle center longitude", example = "106.6980")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double centerLongitude;
+
+    @Schema(description = "Circle radius in meters", example = "5000")
+    @DecimalMin(value = "1.0", message = "Radius must be at least 1 meter")
+    private Double radiusMeters;
+
+    @Schema(description = "Polygon vertices in order (ring is closed automatically)")
+    @Valid
+    private List<Vertex> vertices;
+
+    @Builder.Default
+    private Boolean active = true;
+
+    /**
+     * Nested class for polygon vertex
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Vertex {
+        @NotNull(message = "Vertex latitude is required")
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        private Double latitude;
+
+        @NotNull(message = "Vertex longitude is required")
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        private Double longitude;
+    }
+}
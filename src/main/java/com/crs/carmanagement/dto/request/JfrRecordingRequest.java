@@ -0,0 +1,34 @@
+package com.crs.carmanagement.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting a flight recording; unset fields use the jfr.* configuration
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Flight recording parameters")
+public class JfrRecordingRequest {
+
+    @Schema(description = "JDK settings: default or profile", example = "default")
+    private String settings;
+
+    @Min(value = 1, message = "Max age must be at least 1 second")
+    @Schema(description = "Keep at most this much history in the ring buffer (seconds)", example = "600")
+    private Long maxAgeSeconds;
+
+    @Min(value = 1, message = "Max size must be at least 1 MB")
+    @Schema(description = "Keep at most this much data in the ring buffer (MB)", example = "64")
+    private Long maxSizeMb;
+
+    @Min(value = 0, message = "Stage threshold must not be negative")
+    @Schema(description = "Record only ingest stages at least this long (ms, 0 = all)", example = "1")
+    private Long stageThresholdMs;
+}
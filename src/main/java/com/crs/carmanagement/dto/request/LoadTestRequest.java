@@ -0,0 +1,74 @@
+package com.crs.carmanagement.dto.request;
+
+import com.crs.carmanagement.loadgen.LoadMode;
+import com.crs.carmanagement.loadgen.LoadProfile;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for starting a simulator load test
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Load test parameters")
+public class LoadTestRequest {
+
+    @Builder.Default
+    @Schema(description = "Delivery path (DIRECT, HTTP, HTTP_BATCH, AMQP)", example = "HTTP_BATCH")
+    private LoadMode mode = LoadMode.DIRECT;
+
+    @Schema(description = "Base URL for HTTP modes (default: this instance)", example = "http://localhost:8080")
+    private String targetUrl;
+
+    @Builder.Default
+    @Min(value = 1, message = "Rate must be at least 1 fix per second")
+    @Max(value = 1_000_000, message = "Rate must not exceed 1000000 fixes per second")
+    @Schema(description = "Target fixes per second", example = "5000")
+    private Integer ratePerSecond = 1000;
+
+    @Builder.Default
+    @Min(value = 1, message = "Vehicle count must be at least 1")
+    @Schema(description = "Virtual vehicles sending fixes (round-robin)", example = "10000")
+    private Integer vehicleCount = 1000;
+
+    @Builder.Default
+    @Min(value = 1, message = "Duration must be at least 1 second")
+    @Max(value = 86_400, message = "Duration must not exceed 1 day")
+    private Integer durationSeconds = 60;
+
+    @Builder.Default
+    @Min(value = 1, message = "Batch size must be at least 1")
+    @Max(value = 5000, message = "Batch size must not exceed 5000")
+    @Schema(description = "Fixes per request (DIRECT and HTTP_BATCH)", example = "100")
+    private Integer batchSize = 100;
+
+    @Builder.Default
+    @Min(value = 1, message = "Concurrency must be at least 1")
+    @Max(value = 10_000, message = "Concurrency must not exceed 10000")
+    @Schema(description = "Maximum requests in flight", example = "32")
+    private Integer concurrency = 32;
+
+    @Builder.Default
+    private LoadProfile profile = LoadProfile.STEADY;
+
+    // SPIKE profile
+    @Builder.Default
+    @DecimalMin(value = "1.0", message = "Burst factor must be at least 1")
+    private Double burstFactor = 5.0;
+
+    @Builder.Default
+    @Min(value = 1, message = "Burst interval must be at least 1 second")
+    private Integer burstIntervalSeconds = 30;
+
+    @Builder.Default
+    @Min(value = 1, message = "Burst duration must be at least 1 second")
+    private Integer burstDurationSeconds = 5;
+}
@@ -0,0 +1,51 @@
+package com.crs.carmanagement.dto.request;
+
+import com.crs.carmanagement.loadgen.LoadMode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for replaying a simulator recording into an ingestion path
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Replay parameters")
+public class ReplayRequest {
+
+    @NotBlank(message = "Recording file is required")
+    @Schema(description = "Recording file name in the recording directory", example = "baseline-100k.simrec")
+    private String file;
+
+    @Builder.Default
+    @DecimalMin(value = "0.0", message = "Speed must not be negative")
+    @Schema(description = "Time factor: 1 = recorded pace, 10 = ten times faster, 0 = as fast as possible",
+            example = "1")
+    private Double speed = 1.0;
+
+    @Builder.Default
+    @Schema(description = "Delivery path (DIRECT, HTTP, HTTP_BATCH, AMQP)", example = "DIRECT")
+    private LoadMode mode = LoadMode.DIRECT;
+
+    @Schema(description = "Base URL for HTTP modes (default: this instance)", example = "http://localhost:8080")
+    private String targetUrl;
+
+    @Builder.Default
+    @Min(value = 1, message = "Batch size must be at least 1")
+    @Max(value = 5000, message = "Batch size must not exceed 5000")
+    @Schema(description = "Fixes per request (DIRECT and HTTP_BATCH)", example = "500")
+    private Integer batchSize = 500;
+
+    @Builder.Default
+    @Min(value = 1, message = "Concurrency must be at least 1")
+    @Max(value = 10_000, message = "Concurrency must not exceed 10000")
+    private Integer concurrency = 16;
+}
@@ -46,10 +46,20 @@ public class UpdateVehicleStateRequest {
     @DecimalMin(value = "0.0", message = "Odometer cannot be negative")
     private Double odometerKm;
 
+    @Schema(description = "Distance driven since the previous fix in km, added to the current odometer "
+            + "(used by recording replays; not allowed together with odometerKm)", example = "0.35")
+    @DecimalMin(value = "0.0", message = "Odometer increment cannot be negative")
+    private Double odometerIncrementKm;
+
     @Schema(description = "Data source (MANUAL, VIRTUAL_CAR, SYSTEM)", example = "MANUAL")
     private DataSource dataSource;
 
     @Schema(description = "Message sequence number for ordering", example = "125")
     @Min(value = 0, message = "Message sequence must be non-negative")
     private Long messageSequence;
+
+    @Schema(description = "Time the fix was taken (epoch ms) on the sender's clock, e.g. simulated time; "
+            + "the alert rules measure speeds and cooldowns with it. Defaults to the time it is received",
+            example = "1735689600000")
+    private Long recordedAtEpochMs;
 }
@@ -0,0 +1,47 @@
+package com.crs.carmanagement.dto.request;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters for multi-criteria vehicle search
+ * All criteria are optional and combined with AND
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleSearchCriteria {
+
+    private VehicleStatus status;
+
+    private Long fleetHubId;
+
+    private Long modelId;
+
+    private Boolean isVirtual;
+
+    @Min(value = 0, message = "Minimum battery must be between 0 and 100")
+    @Max(value = 100, message = "Minimum battery must be between 0 and 100")
+    private Integer minBattery;
+
+    @Min(value = 0, message = "Maximum battery must be between 0 and 100")
+    @Max(value = 100, message = "Maximum battery must be between 0 and 100")
+    private Integer maxBattery;
+
+    private Boolean isCharging;
+
+    // Only vehicles whose state was updated within the last N minutes
+    @Positive(message = "Last seen window must be positive")
+    private Integer lastSeenWithinMinutes;
+
+    public boolean hasStateCriteria() {
+        return minBattery != null || maxBattery != null || isCharging != null || lastSeenWithinMinutes != null;
+    }
+}
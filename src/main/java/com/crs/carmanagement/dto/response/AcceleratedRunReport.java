@@ -0,0 +1,41 @@
+package com.crs.carmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a (running or finished) accelerated fleet run
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AcceleratedRunReport {
+
+    private LoadTestReport.Status status;
+    private Integer vehicleCount;
+    private Long seed;
+    private Double timeScale;
+    private Double simulatedHours;
+    private LocalDateTime startedAt;
+    private Double elapsedSeconds;
+
+    // Virtual clock position and the speed actually reached (simulated / wall seconds)
+    private Double virtualHours;
+    private Double progressPercent;
+    private Double achievedTimeScale;
+
+    private Long eventsProcessed;
+    private Double eventsPerSecond;
+    private Long statesPersisted;
+    private Long batchesWritten;
+    private Long statusChanges;
+    private Long tripsStarted;
+    private Long chargeSessions;
+    private Long writeErrors;
+    private String lastError;
+}
@@ -0,0 +1,24 @@
+package com.crs.carmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for batch state ingestion
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStateUpdateResponse {
+
+    private Integer received;
+
+    // Updates applied; the rest were rejected (unknown vehicle, odometer decrease, ...)
+    private Integer applied;
+    private Integer rejected;
+
+    private Long durationMs;
+}
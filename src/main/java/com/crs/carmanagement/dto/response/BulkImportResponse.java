@@ -0,0 +1,40 @@
+package com.crs.carmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for bulk vehicle imports
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+
+    private Integer totalRows;
+    private Integer imported;
+    private Integer failed;
+    private Long durationMs;
+
+    // Per-row failures (truncated for very large imports)
+    private List<RowError> errors;
+    private Boolean errorsTruncated;
+
+    /**
+     * Nested class for a rejected row
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Long line;
+        private String plateNumber;
+        private String message;
+    }
+}
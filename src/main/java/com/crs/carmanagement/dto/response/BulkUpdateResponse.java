@@ -0,0 +1,28 @@
+package com.crs.carmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for bulk vehicle updates
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+
+    // Vehicles that actually changed (targets already matching the patch are skipped)
+    private Integer updated;
+    private List<Long> vehicleIds;
+
+    // Number of vehicles whose value changed, per field
+    private Map<String, Integer> changedFields;
+
+    private Long durationMs;
+}
@@ -0,0 +1,59 @@
+package com.crs.carmanagement.dto.response;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for the fleet dashboard summary
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetSummaryResponse {
+
+    private Integer totalVehicles;
+    private Map<VehicleStatus, Integer> statusCounts;
+    private List<HubSummary> hubs;
+    private List<BatteryBucket> batteryHistogram;
+    private Integer unknownBattery;
+    private Integer chargingVehicles;
+
+    // Last reconciliation against the database
+    private LocalDateTime lastReconciledAt;
+    private Boolean lastReconcileHadDrift;
+
+    /**
+     * Nested class for per-hub counts
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HubSummary {
+        private Long hubId;
+        private String hubName;
+        private Integer totalVehicles;
+        private Map<VehicleStatus, Integer> statusCounts;
+    }
+
+    /**
+     * Nested class for one battery histogram bucket
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatteryBucket {
+        private Integer fromPercent;
+        private Integer toPercent;
+        private Integer count;
+    }
+}
@@ -0,0 +1,35 @@
+package com.crs.carmanagement.dto.response;
+
+import com.crs.carmanagement.dto.request.GeofenceRequest;
+import com.crs.carmanagement.enums.GeofenceTrigger;
+import com.crs.carmanagement.enums.GeofenceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response DTO for geofence definitions
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeofenceResponse {
+
+    private Long id;
+    private String name;
+    private GeofenceType type;
+    private GeofenceTrigger trigger;
+    private Long fleetHubId;
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusMeters;
+    private List<GeofenceRequest.Vertex> vertices;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
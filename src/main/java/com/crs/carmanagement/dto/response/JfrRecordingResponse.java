@@ -0,0 +1,33 @@
+package com.crs.carmanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the flight recording of the ingest path
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JfrRecordingResponse {
+
+    private Boolean active;
+    private String name;
+    private String state;
+    private String settings;
+    private LocalDateTime startedAt;
+    private Long maxAgeSeconds;
+    private Long maxSizeMb;
+    private Long stageThresholdMs;
+
+    // Only after a dump
+    private String dumpFile;
+    private Long dumpSizeBytes;
+}
@@ -0,0 +1,63 @@
+package com.crs.carmanagement.dto.response;
+
+import com.crs.carmanagement.loadgen.LoadMode;
+import com.crs.carmanagement.loadgen.LoadProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a (running or finished) load test
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestReport {
+
+    private Status status;
+    private LoadMode mode;
+    private LoadProfile profile;
+    private Integer targetRatePerSecond;
+    private Integer vehicleCount;
+    private Integer batchSize;
+    private Integer concurrency;
+    private LocalDateTime startedAt;
+    private Double elapsedSeconds;
+
+    private Long requestsSent;
+    private Long requestsFailed;
+    private Long fixesSent;
+    private Long fixesAccepted;
+
+    // Accepted fixes per second over the elapsed time
+    private Double achievedFixesPerSecond;
+
+    private Latency latency;
+    private String lastError;
+
+    public enum Status {
+        RUNNING, COMPLETED, STOPPED
+    }
+
+    /**
+     * Nested class for request latency percentiles in milliseconds.
+     * Measured from each request's scheduled send time, so time spent waiting for
+     * a free connection when the target falls behind is included.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Latency {
+        private Double mean;
+        private Double p50;
+        private Double p90;
+        private Double p99;
+        private Double p999;
+        private Double max;
+    }
+}
@@ -0,0 +1,43 @@
+package com.crs.carmanagement.dto.response;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for spatial (nearby / bounding-box) vehicle queries
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Vehicle found by a location query")
+public class NearbyVehicleResponse {
+
+    @Schema(description = "Vehicle ID", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Vehicle plate number", example = "29A-12345")
+    private String plateNumber;
+
+    @Schema(description = "Current status", example = "AVAILABLE")
+    private VehicleStatus status;
+
+    @Schema(description = "Latitude", example = "10.762622")
+    private Double latitude;
+
+    @Schema(description = "Longitude", example = "106.660172")
+    private Double longitude;
+
+    @Schema(description = "Battery level (%)", example = "85")
+    private Integer batteryLevel;
+
+    @Schema(description = "Is charging", example = "false")
+    private Boolean isCharging;
+
+    @Schema(description = "Distance from the query point in km", example = "1.234")
+    private Double distanceKm;
+}
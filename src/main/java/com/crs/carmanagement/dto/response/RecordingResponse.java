@@ -0,0 +1,34 @@
+package com.crs.carmanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a simulator recording file
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecordingResponse {
+
+    private String file;
+    private Long sizeBytes;
+    private Boolean active;
+
+    // From the file header (seed is null for unseeded runs)
+    private Long seed;
+    private Integer shards;
+    private Long updateIntervalMs;
+    private LocalDateTime createdAt;
+
+    // Only known for a recording that was just stopped
+    private Long ticks;
+    private Long fixes;
+}
@@ -0,0 +1,40 @@
+package com.crs.carmanagement.dto.response;
+
+import com.crs.carmanagement.loadgen.LoadMode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a (running or finished) recording replay
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayReport {
+
+    private LoadTestReport.Status status;
+    private String file;
+    private LoadMode mode;
+    private Double speed;
+    private LocalDateTime startedAt;
+    private Double elapsedSeconds;
+
+    private Long ticksReplayed;
+    private Long requestsSent;
+    private Long requestsFailed;
+    private Long fixesSent;
+    private Long fixesAccepted;
+    private Long statusChanges;
+
+    // Status frames the delivery path cannot apply (AMQP)
+    private Long statusChangesSkipped;
+
+    private Double achievedFixesPerSecond;
+    private LoadTestReport.Latency latency;
+    private String lastError;
+}
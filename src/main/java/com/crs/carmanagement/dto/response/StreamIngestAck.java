@@ -0,0 +1,37 @@
+package com.crs.carmanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO summarising one state stream once all of its fixes are written
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StreamIngestAck {
+
+    private Long received;
+
+    // Failed bean validation, never reached the service
+    private Long invalid;
+
+    // Applied by the batch state update
+    private Long written;
+
+    // Skipped by the batch state update (unknown vehicle, stale or rejected fix)
+    private Long rejected;
+
+    // Lost to a failed batch write
+    private Long failed;
+
+    private Long durationMs;
+
+    // Why the stream ended early (malformed line, connection error)
+    private String error;
+}
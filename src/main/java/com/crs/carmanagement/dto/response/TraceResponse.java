@@ -0,0 +1,63 @@
+package com.crs.carmanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for a trace kept by the in-memory span collector.
+ * The trace list only fills the summary fields; a single trace also lists its spans
+ * depth-first, so JDBC fan-out under one service span is visible at a glance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TraceResponse {
+
+    private String traceId;
+    private String rootSpan;
+    private LocalDateTime startedAt;
+    private Double durationMs;
+    private Integer spanCount;
+    private Integer droppedSpans;
+    private Boolean error;
+
+    // JDBC statements in the trace
+    private Integer jdbcStatements;
+    private Integer slowQueries;
+    private String mostRepeatedStatement;
+    private Integer mostRepeatedCount;
+    private Boolean suspectedNPlusOne;
+
+    private List<Span> spans;
+
+    /**
+     * Nested class for one finished span
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Span {
+        private String traceId;
+        private String spanId;
+        private String parentSpanId;
+        private Integer depth;
+        private String name;
+        private String kind;
+        private LocalDateTime startedAt;
+        private Double durationMs;
+        private String status;
+        private Map<String, String> attributes;
+        private List<String> events;
+    }
+}
@@ -0,0 +1,35 @@
+package com.crs.carmanagement.dto.response;
+
+import com.crs.carmanagement.lookup.IdentifierMatch.MatchField;
+import com.crs.carmanagement.lookup.IdentifierMatch.MatchType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for plate number / VIN typeahead lookups
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Vehicle matched by a plate number or VIN lookup")
+public class VehicleLookupResponse {
+
+    @Schema(description = "Vehicle ID", example = "1")
+    private Long vehicleId;
+
+    @Schema(description = "Vehicle plate number", example = "29A-12345")
+    private String plateNumber;
+
+    @Schema(description = "Vehicle Identification Number", example = "1HGBH41JXMN109186")
+    private String vin;
+
+    @Schema(description = "How the query matched (ranked EXACT, PREFIX, SUBSTRING)", example = "PREFIX")
+    private MatchType matchType;
+
+    @Schema(description = "Identifier the query matched", example = "PLATE_NUMBER")
+    private MatchField matchedField;
+}
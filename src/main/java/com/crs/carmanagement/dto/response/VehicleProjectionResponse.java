@@ -0,0 +1,39 @@
+package com.crs.carmanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for sparse fieldset vehicle lists.
+ * OBJECTS format fills items; COMPACT format fills rows, one value array per
+ * vehicle in the order of columns.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Page of vehicles reduced to the requested fields")
+public class VehicleProjectionResponse {
+
+    @Schema(description = "Selected field names, in row order", example = "[\"id\", \"plateNumber\", \"status\"]")
+    private List<String> columns;
+
+    @Schema(description = "One value array per vehicle (COMPACT format)")
+    private List<List<Object>> rows;
+
+    @Schema(description = "One object per vehicle (OBJECTS format)")
+    private List<Map<String, Object>> items;
+
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
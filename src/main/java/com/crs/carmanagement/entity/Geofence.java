@@ -0,0 +1,76 @@
+package com.crs.carmanagement.entity;
+
+import com.crs.carmanagement.enums.GeofenceTrigger;
+import com.crs.carmanagement.enums.GeofenceType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Geofence entity - circular or polygonal area, either global or bound to a fleet hub
+ * (hub geofences only apply to vehicles of that hub)
+ */
+@Entity
+@Table(name = "geofence", indexes = {
+        @Index(name = "idx_geofence_hub", columnList = "fleet_hub_id"),
+        @Index(name = "idx_geofence_active", columnList = "active")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Geofence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private GeofenceType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trigger_on", nullable = false, length = 20)
+    @Builder.Default
+    private GeofenceTrigger trigger = GeofenceTrigger.BOTH;
+
+    // Null = global geofence
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fleet_hub_id")
+    private FleetHub fleetHub;
+
+    // CIRCLE geometry
+    @Column(name = "center_latitude")
+    private Double centerLatitude;
+
+    @Column(name = "center_longitude")
+    private Double centerLongitude;
+
+    @Column(name = "radius_meters")
+    private Double radiusMeters;
+
+    // POLYGON geometry as JSON array of [latitude, longitude] pairs
+    @Column(name = "vertices", columnDefinition = "TEXT")
+    private String vertices;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -19,7 +19,11 @@ import java.time.LocalDateTime;
 @Table(name = "vehicle", indexes = {
         @Index(name = "idx_plate_number", columnList = "plate_number"),
         @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_is_virtual", columnList = "is_virtual")
+        @Index(name = "idx_is_virtual", columnList = "is_virtual"),
+        // Composite indexes for multi-criteria search; ending in id, so a page ordered by id
+        // is read in index order and stops after the page instead of sorting every match
+        @Index(name = "idx_vehicle_hub_status_id", columnList = "fleet_hub_id, status, id"),
+        @Index(name = "idx_vehicle_model_status_id", columnList = "model_id, status, id")
 })
 @Data
 @Builder
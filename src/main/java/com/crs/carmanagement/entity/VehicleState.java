@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "vehicle_state", indexes = {
         @Index(name = "idx_vehicle_state_vehicle", columnList = "vehicle_id"),
-        @Index(name = "idx_last_updated", columnList = "last_updated_at")
+        @Index(name = "idx_last_updated", columnList = "last_updated_at"),
+        @Index(name = "idx_vehicle_state_battery", columnList = "battery_level, vehicle_id")
 })
 @Data
 @Builder
@@ -0,0 +1,10 @@
+package com.crs.carmanagement.enums;
+
+/**
+ * Which boundary crossings of a geofence raise a GEOFENCE_VIOLATION event
+ */
+public enum GeofenceTrigger {
+    ENTER, // Vehicle entered the area (e.g. restricted zone)
+    EXIT, // Vehicle left the area (e.g. hub service area)
+    BOTH // Both directions
+}
@@ -0,0 +1,9 @@
+package com.crs.carmanagement.enums;
+
+/**
+ * Geofence shape enumeration
+ */
+public enum GeofenceType {
+    CIRCLE, // Center point + radius in meters
+    POLYGON // Closed ring of vertices
+}
@@ -0,0 +1,11 @@
+package com.crs.carmanagement.exception;
+
+/**
+ * Exception thrown when a bounded resource is exhausted and the client should retry later
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
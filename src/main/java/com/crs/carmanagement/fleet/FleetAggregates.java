@@ -0,0 +1,226 @@
+package com.crs.carmanagement.fleet;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Incrementally maintained fleet dashboard counters:
+ * vehicles per status per hub, battery histogram and charging vehicles.
+ * Every change is applied as "remove old snapshot, add new snapshot" for the
+ * vehicle, so reads never depend on fleet size.
+ *
+ * A rebuild fills a fresh set of counters and swaps it in, so readers never see a
+ * half-built fleet. Changes made while the fleet is being loaded are journaled and
+ * replayed onto the new counters before the swap; every change sets absolute values,
+ * so replaying one the load already saw is harmless.
+ */
+@Component
+@Slf4j
+public class FleetAggregates {
+
+    public static final int BATTERY_BUCKETS = 10; // 0-9%, 10-19%, ..., 90-100%
+
+    // Key used for vehicles without a fleet hub
+    public static final long NO_HUB = 0L;
+
+    private static final VehicleStatus[] STATUSES = VehicleStatus.values();
+
+    private volatile Counters counters = new Counters();
+
+    // Changes take the read lock, the swap takes the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Queue<Change> journal; // guarded by swapLock, non-null while a rebuild loads the fleet
+
+    /**
+     * Insert or replace a vehicle
+     */
+    public void upsert(FleetVehicleSnapshot snapshot) {
+        change(new Change(snapshot.vehicleId(), previous -> snapshot, true));
+    }
+
+    public void updateStatus(Long vehicleId, VehicleStatus status) {
+        change(new Change(vehicleId, previous -> previous.withStatus(status), false));
+    }
+
+    public void updateFleetHub(Long vehicleId, Long fleetHubId) {
+        change(new Change(vehicleId, previous -> previous.withFleetHub(fleetHubId), false));
+    }
+
+    public void updateBattery(Long vehicleId, Integer batteryLevel, Boolean isCharging) {
+        change(new Change(vehicleId, previous -> previous.withBattery(batteryLevel, isCharging), false));
+    }
+
+    public void remove(Long vehicleId) {
+        change(new Change(vehicleId, previous -> null, false));
+    }
+
+    /**
+     * Replace all counters with the given fleet content
+     */
+    public void rebuild(Collection<FleetVehicleSnapshot> snapshots) {
+        rebuild(() -> snapshots);
+    }
+
+    /**
+     * Replace all counters with the fleet returned by the loader; changes made while it
+     * runs are kept
+     */
+    public synchronized void rebuild(Supplier<? extends Collection<FleetVehicleSnapshot>> loader) {
+        Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        swapLock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Counters fresh = new Counters();
+        try {
+            loader.get().forEach(snapshot -> fresh.apply(new Change(snapshot.vehicleId(), previous -> snapshot, true)));
+        } catch (RuntimeException e) {
+            stopJournal();
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            changes.forEach(fresh::apply);
+            counters = fresh;
+            journal = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Fleet aggregates rebuilt for {} vehicles ({} changes replayed)", fresh.vehicles.size(), changes.size());
+    }
+
+    public int totalVehicles() {
+        return counters.vehicles.size();
+    }
+
+    /**
+     * Vehicle count per status for every hub (hub id NO_HUB = unassigned)
+     */
+    public Map<Long, Map<VehicleStatus, Integer>> statusCountsByHub() {
+        Map<Long, Map<VehicleStatus, Integer>> result = new HashMap<>();
+        counters.statusCountsByHub.forEach((hubId, counts) -> {
+            Map<VehicleStatus, Integer> byStatus = new HashMap<>();
+            for (VehicleStatus status : STATUSES) {
+                byStatus.put(status, counts.get(status.ordinal()));
+            }
+            result.put(hubId, byStatus);
+        });
+        return result;
+    }
+
+    public int[] batteryHistogram() {
+        AtomicIntegerArray histogram = counters.batteryHistogram;
+        int[] result = new int[BATTERY_BUCKETS];
+        for (int i = 0; i < BATTERY_BUCKETS; i++) {
+            result[i] = histogram.get(i);
+        }
+        return result;
+    }
+
+    public int chargingVehicles() {
+        return counters.chargingVehicles.get();
+    }
+
+    public int unknownBattery() {
+        return counters.unknownBattery.get();
+    }
+
+    public static int batteryBucket(int batteryLevel) {
+        return Math.max(0, Math.min(BATTERY_BUCKETS - 1, batteryLevel / 10));
+    }
+
+    private void change(Change change) {
+        swapLock.readLock().lock();
+        try {
+            counters.apply(change);
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void stopJournal() {
+        swapLock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A change of one vehicle's snapshot; upserts also apply to vehicles not yet counted
+     */
+    private record Change(Long vehicleId, UnaryOperator<FleetVehicleSnapshot> next, boolean upsert) {
+    }
+
+    /**
+     * One generation of counters
+     */
+    private static final class Counters {
+
+        private final Map<Long, FleetVehicleSnapshot> vehicles = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicIntegerArray> statusCountsByHub = new ConcurrentHashMap<>();
+        private final AtomicIntegerArray batteryHistogram = new AtomicIntegerArray(BATTERY_BUCKETS);
+        private final AtomicInteger chargingVehicles = new AtomicInteger();
+        private final AtomicInteger unknownBattery = new AtomicInteger();
+
+        void apply(Change change) {
+            if (change.upsert()) {
+                vehicles.compute(change.vehicleId(), (id, previous) -> move(previous, change.next().apply(previous)));
+            } else {
+                vehicles.computeIfPresent(change.vehicleId(),
+                        (id, previous) -> move(previous, change.next().apply(previous)));
+            }
+        }
+
+        /**
+         * Move the counters from the previous to the next snapshot of a vehicle
+         */
+        private FleetVehicleSnapshot move(FleetVehicleSnapshot previous, FleetVehicleSnapshot next) {
+            if (previous != null) {
+                count(previous, -1);
+            }
+            if (next != null) {
+                count(next, 1);
+            }
+            return next;
+        }
+
+        private void count(FleetVehicleSnapshot snapshot, int delta) {
+            if (snapshot.status() != null) {
+                long hubKey = snapshot.fleetHubId() != null ? snapshot.fleetHubId() : NO_HUB;
+                statusCountsByHub.computeIfAbsent(hubKey, key -> new AtomicIntegerArray(STATUSES.length))
+                        .addAndGet(snapshot.status().ordinal(), delta);
+            }
+            if (snapshot.batteryLevel() != null) {
+                batteryHistogram.addAndGet(batteryBucket(snapshot.batteryLevel()), delta);
+            } else {
+                unknownBattery.addAndGet(delta);
+            }
+            if (Boolean.TRUE.equals(snapshot.isCharging())) {
+                chargingVehicles.addAndGet(delta);
+            }
+        }
+    }
+}
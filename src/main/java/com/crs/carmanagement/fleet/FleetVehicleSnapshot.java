@@ -0,0 +1,26 @@
+package com.crs.carmanagement.fleet;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+
+/**
+ * The attributes of one vehicle that feed the fleet aggregates
+ */
+public record FleetVehicleSnapshot(
+        Long vehicleId,
+        Long fleetHubId,
+        VehicleStatus status,
+        Integer batteryLevel,
+        Boolean isCharging) {
+
+    FleetVehicleSnapshot withStatus(VehicleStatus newStatus) {
+        return new FleetVehicleSnapshot(vehicleId, fleetHubId, newStatus, batteryLevel, isCharging);
+    }
+
+    FleetVehicleSnapshot withFleetHub(Long newHubId) {
+        return new FleetVehicleSnapshot(vehicleId, newHubId, status, batteryLevel, isCharging);
+    }
+
+    FleetVehicleSnapshot withBattery(Integer newBatteryLevel, Boolean newIsCharging) {
+        return new FleetVehicleSnapshot(vehicleId, fleetHubId, status, newBatteryLevel, newIsCharging);
+    }
+}
@@ -0,0 +1,120 @@
+package com.crs.carmanagement.geofence;
+
+import com.crs.carmanagement.enums.GeofenceTrigger;
+import com.crs.carmanagement.spatial.GeoUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable, evaluation-ready form of a Geofence (bounding box precomputed)
+ */
+final class CompiledGeofence {
+
+    final long id;
+    final String name;
+    final Long fleetHubId;
+    final GeofenceTrigger trigger;
+    final LocalDateTime revision;
+
+    // Engine version in which this geometry became active (see GeofenceEngine)
+    final long version;
+
+    final double minLatitude;
+    final double minLongitude;
+    final double maxLatitude;
+    final double maxLongitude;
+
+    // CIRCLE
+    private final double centerLatitude;
+    private final double centerLongitude;
+    private final double radiusKm;
+
+    // POLYGON (null for circles)
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private CompiledGeofence(long id, String name, Long fleetHubId, GeofenceTrigger trigger,
+            LocalDateTime revision, long version,
+            double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+            double centerLatitude, double centerLongitude, double radiusKm,
+            double[] latitudes, double[] longitudes) {
+        this.id = id;
+        this.name = name;
+        this.fleetHubId = fleetHubId;
+        this.trigger = trigger;
+        this.revision = revision;
+        this.version = version;
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLatitude = maxLatitude;
+        this.maxLongitude = maxLongitude;
+        this.centerLatitude = centerLatitude;
+        this.centerLongitude = centerLongitude;
+        this.radiusKm = radiusKm;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    static CompiledGeofence circle(long id, String name, Long fleetHubId, GeofenceTrigger trigger,
+            LocalDateTime revision, long version, double centerLatitude, double centerLongitude, double radiusMeters) {
+        double radiusKm = radiusMeters / 1000.0;
+        double latSpan = radiusKm / GeoUtils.KM_PER_DEGREE;
+        double lonSpan = radiusKm / GeoUtils.kmPerDegreeLongitude(centerLatitude);
+        return new CompiledGeofence(id, name, fleetHubId, trigger, revision, version,
+                centerLatitude - latSpan, centerLongitude - lonSpan,
+                centerLatitude + latSpan, centerLongitude + lonSpan,
+                centerLatitude, centerLongitude, radiusKm, null, null);
+    }
+
+    static CompiledGeofence polygon(long id, String name, Long fleetHubId, GeofenceTrigger trigger,
+            LocalDateTime revision, long version, double[][] vertices) {
+        double[] lats = new double[vertices.length];
+        double[] lons = new double[vertices.length];
+        double minLat = Double.MAX_VALUE, minLon = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (int i = 0; i < vertices.length; i++) {
+            lats[i] = vertices[i][0];
+            lons[i] = vertices[i][1];
+            minLat = Math.min(minLat, lats[i]);
+            minLon = Math.min(minLon, lons[i]);
+            maxLat = Math.max(maxLat, lats[i]);
+            maxLon = Math.max(maxLon, lons[i]);
+        }
+        return new CompiledGeofence(id, name, fleetHubId, trigger, revision, version,
+                minLat, minLon, maxLat, maxLon, 0, 0, 0, lats, lons);
+    }
+
+    CompiledGeofence withVersion(long newVersion) {
+        return new CompiledGeofence(id, name, fleetHubId, trigger, revision, newVersion,
+                minLatitude, minLongitude, maxLatitude, maxLongitude,
+                centerLatitude, centerLongitude, radiusKm, latitudes, longitudes);
+    }
+
+    /**
+     * Hub geofences only apply to vehicles stationed at that hub
+     */
+    boolean appliesTo(Long vehicleHubId) {
+        return fleetHubId == null || fleetHubId.equals(vehicleHubId);
+    }
+
+    boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude
+                || longitude < minLongitude || longitude > maxLongitude) {
+            return false;
+        }
+        if (latitudes == null) {
+            return GeoUtils.distanceKm(centerLatitude, centerLongitude, latitude, longitude) <= radiusKm;
+        }
+
+        // Ray casting (even-odd rule) in the lat/lon plane
+        boolean inside = false;
+        for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+            if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                    && longitude < (longitudes[j] - longitudes[i]) * (latitude - latitudes[i])
+                            / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
@@ -0,0 +1,300 @@
+package com.crs.carmanagement.geofence;
+
+import com.crs.carmanagement.entity.Geofence;
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.enums.GeofenceTrigger;
+import com.crs.carmanagement.enums.GeofenceType;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.crs.carmanagement.transaction.AfterCommit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streaming geofence evaluation.
+ * Active geofences are bucketed by bounding box into a coarse grid, so each
+ * incoming fix is only tested against the fences overlapping its cell.
+ * The engine remembers which fences every vehicle is inside and only emits
+ * GEOFENCE_VIOLATION events on enter / exit transitions.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeofenceEngine implements MeterBinder {
+
+    static final double CELL_SIZE_DEG = 0.05; // ~5.5 km
+
+    // Fences spanning more cells than this are checked on every fix instead of gridded
+    private static final int MAX_CELLS_PER_FENCE = 400;
+
+    private final VehicleEventLogService eventLogService;
+    private final ObjectMapper objectMapper;
+
+    private volatile FenceSnapshot snapshot = FenceSnapshot.EMPTY;
+    private final Map<Long, Membership> memberships = new ConcurrentHashMap<>();
+
+    // Evaluation cost metrics
+    private final LongAdder fixesEvaluated = new LongAdder();
+    private final LongAdder candidatesTested = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+    private final LongAdder transitionsEmitted = new LongAdder();
+    private final LongAccumulator maxEvaluationNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Replace the evaluated geofences.
+     * Unchanged fences keep their version; new or modified ones get a new version
+     * so vehicles already inside them are not reported as entering.
+     */
+    public synchronized void reload(List<Geofence> geofences) {
+        FenceSnapshot current = snapshot;
+        long version = current.version + 1;
+
+        Map<Long, CompiledGeofence> byId = new HashMap<>();
+        Map<Long, List<CompiledGeofence>> grid = new HashMap<>();
+        List<CompiledGeofence> oversized = new ArrayList<>();
+
+        for (Geofence geofence : geofences) {
+            CompiledGeofence compiled;
+            try {
+                compiled = compile(geofence, version);
+            } catch (Exception e) {
+                log.error("Skipping invalid geofence {}: {}", geofence.getId(), e.getMessage());
+                continue;
+            }
+            CompiledGeofence previous = current.byId.get(compiled.id);
+            if (previous != null && previous.revision != null && previous.revision.equals(compiled.revision)) {
+                compiled = compiled.withVersion(previous.version);
+            }
+            byId.put(compiled.id, compiled);
+
+            long minLatIdx = cellIndex(compiled.minLatitude);
+            long maxLatIdx = cellIndex(compiled.maxLatitude);
+            long minLonIdx = cellIndex(compiled.minLongitude);
+            long maxLonIdx = cellIndex(compiled.maxLongitude);
+            if ((maxLatIdx - minLatIdx + 1) * (maxLonIdx - minLonIdx + 1) > MAX_CELLS_PER_FENCE) {
+                oversized.add(compiled);
+                continue;
+            }
+            for (long latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+                for (long lonIdx = minLonIdx; lonIdx <= maxLonIdx; lonIdx++) {
+                    grid.computeIfAbsent(cellKey(latIdx, lonIdx), key -> new ArrayList<>()).add(compiled);
+                }
+            }
+        }
+
+        snapshot = new FenceSnapshot(version, Map.copyOf(byId), Map.copyOf(grid), List.copyOf(oversized));
+        log.info("Geofence engine loaded {} geofences ({} gridded cells, {} oversized)",
+                byId.size(), grid.size(), oversized.size());
+    }
+
+    /**
+     * Evaluate a position fix and log GEOFENCE_VIOLATION events for crossings
+     * matching the geofence trigger
+     */
+    public void onPositionUpdate(Long vehicleId, Long fleetHubId, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+
+        for (GeofenceTransition transition : evaluate(vehicleId, fleetHubId, latitude, longitude)) {
+            CompiledGeofence fence = snapshot.byId.get(transition.geofenceId());
+            if (fence == null || !triggers(fence.trigger, transition.direction())) {
+                continue;
+            }
+
+            Map<String, Object> eventData = new HashMap<>();
+            eventData.put("geofenceId", transition.geofenceId());
+            eventData.put("geofenceName", transition.geofenceName());
+            eventData.put("transition", transition.direction().name());
+            eventData.put("latitude", latitude);
+            eventData.put("longitude", longitude);
+            eventLogService.logEvent(vehicleId, EventType.GEOFENCE_VIOLATION, eventData);
+
+            log.info("Geofence {} for vehicle {}: {} '{}'",
+                    transition.direction(), vehicleId, transition.geofenceId(), transition.geofenceName());
+        }
+    }
+
+    /**
+     * Compute enter / exit transitions for a fix and remember the new membership.
+     * The first fix of a vehicle only establishes its baseline. Inside a transaction the
+     * previous membership is put back on rollback, so the transition is raised again by
+     * the next fix instead of being lost with the rolled back event.
+     */
+    public List<GeofenceTransition> evaluate(Long vehicleId, Long fleetHubId, double latitude, double longitude) {
+        FenceSnapshot fences = snapshot;
+        if (fences.byId.isEmpty() && !memberships.containsKey(vehicleId)) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        int tested = 0;
+        Set<Long> inside = new HashSet<>();
+
+        List<CompiledGeofence> cellFences = fences.grid.get(cellKey(cellIndex(latitude), cellIndex(longitude)));
+        if (cellFences != null) {
+            for (CompiledGeofence fence : cellFences) {
+                if (fence.appliesTo(fleetHubId)) {
+                    tested++;
+                    if (fence.contains(latitude, longitude)) {
+                        inside.add(fence.id);
+                    }
+                }
+            }
+        }
+        for (CompiledGeofence fence : fences.oversized) {
+            if (fence.appliesTo(fleetHubId)) {
+                tested++;
+                if (fence.contains(latitude, longitude)) {
+                    inside.add(fence.id);
+                }
+            }
+        }
+
+        List<GeofenceTransition> transitions = new ArrayList<>();
+        Membership[] replaced = new Membership[1];
+        Membership current = memberships.compute(vehicleId, (id, previous) -> {
+            replaced[0] = previous;
+            if (previous != null) {
+                for (Long fenceId : inside) {
+                    CompiledGeofence fence = fences.byId.get(fenceId);
+                    // Fences created after the previous fix only establish a baseline
+                    if (!previous.inside.contains(fenceId) && fence.version <= previous.version) {
+                        transitions.add(new GeofenceTransition(fenceId, fence.name, GeofenceTransition.Direction.ENTER));
+                    }
+                }
+                for (Long fenceId : previous.inside) {
+                    CompiledGeofence fence = fences.byId.get(fenceId);
+                    if (fence != null && !inside.contains(fenceId)) {
+                        transitions.add(new GeofenceTransition(fenceId, fence.name, GeofenceTransition.Direction.EXIT));
+                    }
+                }
+                if (previous.version == fences.version && previous.inside.equals(inside)) {
+                    return previous;
+                }
+            }
+            return new Membership(fences.version, Set.copyOf(inside));
+        });
+        Membership previous = replaced[0];
+        if (current != previous) {
+            // Only if no later fix has moved the membership on in the meantime
+            AfterCommit.onRollback(() -> {
+                if (previous == null) {
+                    memberships.remove(vehicleId, current);
+                } else {
+                    memberships.replace(vehicleId, current, previous);
+                }
+            });
+        }
+
+        long elapsed = System.nanoTime() - start;
+        fixesEvaluated.increment();
+        candidatesTested.add(tested);
+        evaluationNanos.add(elapsed);
+        maxEvaluationNanos.accumulate(elapsed);
+        transitionsEmitted.add(transitions.size());
+
+        return transitions;
+    }
+
+    /**
+     * Drop remembered membership of a deleted vehicle
+     */
+    public void forgetVehicle(Long vehicleId) {
+        memberships.remove(vehicleId);
+    }
+
+    /**
+     * Evaluation cost statistics
+     */
+    public Map<String, Object> getStats() {
+        long fixes = fixesEvaluated.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeGeofences", snapshot.byId.size());
+        stats.put("trackedVehicles", memberships.size());
+        stats.put("fixesEvaluated", fixes);
+        stats.put("transitions", transitionsEmitted.sum());
+        stats.put("avgCandidatesPerFix", fixes > 0 ? (double) candidatesTested.sum() / fixes : 0.0);
+        stats.put("avgEvaluationMicros", fixes > 0 ? evaluationNanos.sum() / 1000.0 / fixes : 0.0);
+        stats.put("maxEvaluationMicros", maxEvaluationNanos.get() / 1000.0);
+        return stats;
+    }
+
+    /**
+     * Publish the evaluation cost statistics as geofence.* meters
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("geofence.evaluation", this, engine -> engine.fixesEvaluated.sum(),
+                        engine -> engine.evaluationNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Fixes evaluated against the geofences and the time spent")
+                .register(registry);
+        FunctionCounter.builder("geofence.candidates.tested", candidatesTested, LongAdder::sum)
+                .description("Geofences tested for containment")
+                .register(registry);
+        FunctionCounter.builder("geofence.transitions", transitionsEmitted, LongAdder::sum)
+                .description("Enter / exit transitions emitted")
+                .register(registry);
+        Gauge.builder("geofence.active", this, engine -> engine.snapshot.byId.size())
+                .description("Active geofences")
+                .register(registry);
+        Gauge.builder("geofence.tracked.vehicles", memberships, Map::size)
+                .description("Vehicles with a known geofence membership")
+                .register(registry);
+    }
+
+    private CompiledGeofence compile(Geofence geofence, long version) throws Exception {
+        Long hubId = geofence.getFleetHub() != null ? geofence.getFleetHub().getId() : null;
+        if (geofence.getType() == GeofenceType.CIRCLE) {
+            return CompiledGeofence.circle(geofence.getId(), geofence.getName(), hubId, geofence.getTrigger(),
+                    geofence.getUpdatedAt(), version,
+                    geofence.getCenterLatitude(), geofence.getCenterLongitude(), geofence.getRadiusMeters());
+        }
+        double[][] vertices = objectMapper.readValue(geofence.getVertices(), double[][].class);
+        return CompiledGeofence.polygon(geofence.getId(), geofence.getName(), hubId, geofence.getTrigger(),
+                geofence.getUpdatedAt(), version, vertices);
+    }
+
+    private static boolean triggers(GeofenceTrigger trigger, GeofenceTransition.Direction direction) {
+        return trigger == GeofenceTrigger.BOTH
+                || (trigger == GeofenceTrigger.ENTER && direction == GeofenceTransition.Direction.ENTER)
+                || (trigger == GeofenceTrigger.EXIT && direction == GeofenceTransition.Direction.EXIT);
+    }
+
+    private static long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(long latIdx, long lonIdx) {
+        return (latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    private record Membership(long version, Set<Long> inside) {
+    }
+
+    private record FenceSnapshot(long version,
+            Map<Long, CompiledGeofence> byId,
+            Map<Long, List<CompiledGeofence>> grid,
+            List<CompiledGeofence> oversized) {
+
+        static final FenceSnapshot EMPTY = new FenceSnapshot(0, Map.of(), Map.of(), List.of());
+    }
+}
@@ -0,0 +1,12 @@
+package com.crs.carmanagement.geofence;
+
+/**
+ * Boundary crossing of a vehicle detected by the geofence engine
+ */
+public record GeofenceTransition(long geofenceId, String geofenceName, Direction direction) {
+
+    public enum Direction {
+        ENTER,
+        EXIT
+    }
+}
@@ -0,0 +1,28 @@
+package com.crs.carmanagement.importer;
+
+import com.crs.carmanagement.exception.BusinessValidationException;
+
+/**
+ * Supported bulk import payload formats
+ */
+public enum ImportFormat {
+    CSV, // Header row with CreateVehicleRequest field names, one vehicle per line
+    NDJSON; // One CreateVehicleRequest JSON object per line
+
+    /**
+     * Resolve the format from a request content type
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase();
+            if (type.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return NDJSON;
+            }
+        }
+        throw new BusinessValidationException(
+                "Unsupported import content type " + contentType + " (use text/csv or application/x-ndjson)");
+    }
+}
@@ -0,0 +1,17 @@
+package com.crs.carmanagement.importer;
+
+import com.crs.carmanagement.dto.request.CreateVehicleRequest;
+
+/**
+ * One parsed line of a bulk import: either a request or a parse error
+ */
+public record ImportRow(long lineNumber, CreateVehicleRequest request, String error) {
+
+    static ImportRow parsed(long lineNumber, CreateVehicleRequest request) {
+        return new ImportRow(lineNumber, request, null);
+    }
+
+    static ImportRow failed(long lineNumber, String error) {
+        return new ImportRow(lineNumber, null, error);
+    }
+}
@@ -0,0 +1,166 @@
+package com.crs.carmanagement.importer;
+
+import com.crs.carmanagement.dto.request.CreateVehicleRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams CreateVehicleRequest rows out of a CSV or NDJSON payload line by line,
+ * so an import never holds the whole file in memory.
+ * Malformed lines become error rows instead of aborting the import.
+ */
+public class VehicleImportReader implements Iterator<ImportRow>, Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+
+    private List<String> csvHeader;
+    private long lineNumber;
+    private ImportRow next;
+
+    public VehicleImportReader(InputStream input, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRow readRow() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.NDJSON) {
+                    return parseJson(line);
+                }
+                if (csvHeader == null) {
+                    csvHeader = splitCsvLine(stripBom(line)).stream()
+                            .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                            .toList();
+                    continue;
+                }
+                return parseCsv(line);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ImportRow parseJson(String line) {
+        try {
+            return ImportRow.parsed(lineNumber, objectMapper.readValue(line, CreateVehicleRequest.class));
+        } catch (JsonProcessingException e) {
+            return ImportRow.failed(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRow parseCsv(String line) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() > csvHeader.size()) {
+            return ImportRow.failed(lineNumber,
+                    String.format("Expected %d columns but found %d", csvHeader.size(), values.size()));
+        }
+
+        CreateVehicleRequest request = new CreateVehicleRequest();
+        for (int i = 0; i < values.size(); i++) {
+            String column = csvHeader.get(i);
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                switch (column) {
+                    case "modelid" -> request.setModelId(Long.parseLong(value));
+                    case "platenumber" -> request.setPlateNumber(value);
+                    case "vin" -> request.setVin(value);
+                    case "color" -> request.setColor(value);
+                    case "manufactureyear" -> request.setManufactureYear(Integer.parseInt(value));
+                    case "fleethubid" -> request.setFleetHubId(Long.parseLong(value));
+                    case "isvirtual" -> request.setIsVirtual(Boolean.parseBoolean(value));
+                    case "odometerkm" -> request.setOdometerKm(Double.parseDouble(value));
+                    default -> {
+                        // Unknown columns are ignored
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return ImportRow.failed(lineNumber, String.format("Invalid %s: %s", column, value));
+            }
+        }
+        return ImportRow.parsed(lineNumber, request);
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+}
@@ -0,0 +1,76 @@
+package com.crs.carmanagement.ingest;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a request body into NDJSON lines, requesting one body chunk at a time.
+ *
+ * Spring's JSON decoder prefetches up to 256 chunks per request, so a fast device could
+ * fill the server with fixes nobody asked for yet; reading chunk by chunk keeps the
+ * read-ahead of a connection to a single socket read. Blank lines are skipped.
+ */
+final class NdjsonLines {
+
+    static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+
+    private NdjsonLines() {
+    }
+
+    static Flux<byte[]> split(Flux<DataBuffer> body) {
+        NdjsonLines lines = new NdjsonLines();
+        return body.concatMapIterable(lines::lines, 1)
+                .concatWith(Mono.fromSupplier(lines::rest));
+    }
+
+    private List<byte[]> lines(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            List<byte[]> lines = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == '\n') {
+                    partial.write(bytes, start, i - start);
+                    take(lines);
+                    start = i + 1;
+                }
+            }
+            partial.write(bytes, start, bytes.length - start);
+            if (partial.size() > MAX_LINE_BYTES) {
+                throw new IllegalArgumentException("Line longer than " + MAX_LINE_BYTES + " bytes");
+            }
+            return lines;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Last line when the body does not end with a newline (null if none)
+     */
+    private byte[] rest() {
+        List<byte[]> lines = new ArrayList<>(1);
+        take(lines);
+        return lines.isEmpty() ? null : lines.get(0);
+    }
+
+    private void take(List<byte[]> lines) {
+        byte[] line = partial.toByteArray();
+        partial.reset();
+        for (byte b : line) {
+            if (!Character.isWhitespace(b)) {
+                lines.add(line);
+                return;
+            }
+        }
+    }
+}
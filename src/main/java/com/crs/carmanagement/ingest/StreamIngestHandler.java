@@ -0,0 +1,328 @@
+package com.crs.carmanagement.ingest;
+
+import com.crs.carmanagement.config.StreamIngestConfig;
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.ApiResponse;
+import com.crs.carmanagement.dto.response.StreamIngestAck;
+import com.crs.carmanagement.service.VehicleStateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streaming state ingestion: every connection POSTs an NDJSON stream of
+ * BatchVehicleStateRequest.VehicleStateUpdate lines and gets one StreamIngestAck
+ * once all of its fixes are written.
+ *
+ * The fixes of all open connections feed one pipeline. They are decoded line by line
+ * (see NdjsonLines), validated, and partitioned by vehicle id mod
+ * ingestion.stream.writer-threads; each partition is written in batches of batch-size
+ * (or whatever arrived within max-batch-delay-ms) through the JPA batch update, one
+ * batch at a time, so the fixes of a vehicle are applied in order. A vehicle seen twice in a batch is written in a
+ * second round rather than coalesced, so no fix is dropped.
+ *
+ * Demand drives the whole path: a partition requests fixes only when its writer is free,
+ * and a connection is read only while fewer than connection-prefetch of its fixes are
+ * waiting. A slow database therefore stops the socket reads (TCP backpressure to the
+ * devices) instead of buffering fixes; memory is bounded by one socket read and
+ * connection-prefetch fixes per connection plus one batch per partition.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ingestion.stream", name = "enabled", havingValue = "true")
+@Slf4j
+public class StreamIngestHandler implements MeterBinder {
+
+    public static final String STREAM_PATH = "/api/v1/vehicles/states/stream";
+
+    private final VehicleStateService vehicleStateService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final StreamIngestConfig config;
+    private final Scheduler writers;
+    private final Sinks.Many<Flux<Fix>> streams = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable pipeline;
+
+    private final LongAdder activeConnections = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder fixesReceived = new LongAdder();
+    private final LongAdder fixesInvalid = new LongAdder();
+    private final LongAdder fixesApplied = new LongAdder();
+    private final LongAdder fixesRejected = new LongAdder();
+    private final LongAdder fixesFailed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchNanos = new LongAdder();
+    private final LongAdder streamErrors = new LongAdder();
+
+    public StreamIngestHandler(VehicleStateService vehicleStateService, Validator validator,
+                               ObjectMapper objectMapper, StreamIngestConfig config) {
+        this.vehicleStateService = vehicleStateService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        int partitions = config.getWriterThreads();
+        // One batch in flight per partition, so the task queue never exceeds the partition count
+        this.writers = Schedulers.newBoundedElastic(partitions, partitions, "stream-ingest-writer");
+        this.pipeline = Flux.merge(streams.asFlux(), config.getMaxConnections(), config.getConnectionPrefetch())
+                .groupBy(fix -> (int) Math.floorMod(fix.update().getVehicleId(), (long) partitions))
+                .flatMap(partition -> partition
+                        .bufferTimeout(config.getBatchSize(), Duration.ofMillis(config.getMaxBatchDelayMs()), true)
+                        .concatMap(batch -> Mono.fromRunnable(() -> write(batch)).subscribeOn(writers), 1),
+                        partitions)
+                .subscribe(null, e -> log.error("Stream ingestion pipeline stopped", e));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipeline.dispose();
+        writers.dispose();
+    }
+
+    /**
+     * POST the stream, GET the ingestion counters
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST(STREAM_PATH, this::ingest)
+                .GET(STREAM_PATH + "/stats", request -> ServerResponse.ok()
+                        .bodyValue(ApiResponse.success(getStats(), "Stream ingestion stats retrieved")))
+                .build();
+    }
+
+    /**
+     * Ingest one connection's stream of fixes; the response is sent once every fix is written
+     */
+    public Mono<ServerResponse> ingest(ServerRequest request) {
+        Stream stream = new Stream();
+        connections.increment();
+        activeConnections.increment();
+
+        Flux<Fix> fixes = NdjsonLines.split(request.body(BodyExtractors.toDataBuffers()))
+                .<VehicleStateUpdate>handle((line, sink) -> {
+                    try {
+                        sink.next(objectMapper.readValue(line, VehicleStateUpdate.class));
+                    } catch (IOException e) {
+                        sink.error(new IllegalArgumentException("Malformed fix after " + stream.received.get()
+                                + " fixes: " + e.getMessage()));
+                    }
+                })
+                .filter(update -> {
+                    stream.received.incrementAndGet();
+                    fixesReceived.increment();
+                    if (validator.validate(update).isEmpty()) {
+                        return true;
+                    }
+                    stream.invalid.incrementAndGet();
+                    fixesInvalid.increment();
+                    return false;
+                })
+                .map(update -> {
+                    stream.pending.incrementAndGet();
+                    return new Fix(stream, update);
+                })
+                .onErrorResume(e -> {
+                    streamErrors.increment();
+                    stream.error = e.getMessage();
+                    log.warn("State stream from {} failed after {} fixes: {}",
+                            request.remoteAddress().orElse(null), stream.received.get(), e.getMessage());
+                    return Flux.empty();
+                })
+                .doFinally(signal -> stream.done());
+
+        Sinks.EmitResult result;
+        // Connections arrive on several event loops; the sink accepts one emitter at a time
+        synchronized (streams) {
+            result = streams.tryEmitNext(fixes);
+        }
+        if (result.isFailure()) {
+            activeConnections.decrement();
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ServerResponse.ok().body(stream.ack.asMono(), StreamIngestAck.class);
+    }
+
+    /**
+     * Counters since startup
+     */
+    public Map<String, Object> getStats() {
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("port", config.getPort());
+        stats.put("batchSize", config.getBatchSize());
+        stats.put("writerThreads", config.getWriterThreads());
+        stats.put("activeConnections", activeConnections.sum());
+        stats.put("connections", connections.sum());
+        stats.put("fixesReceived", fixesReceived.sum());
+        stats.put("fixesInvalid", fixesInvalid.sum());
+        stats.put("fixesApplied", fixesApplied.sum());
+        stats.put("fixesRejected", fixesRejected.sum());
+        stats.put("fixesFailed", fixesFailed.sum());
+        stats.put("batches", batchCount);
+        stats.put("avgBatchMs", batchCount == 0 ? 0.0 : batchNanos.sum() / 1_000_000.0 / batchCount);
+        stats.put("streamErrors", streamErrors.sum());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("ingest.stream.batch", this, handler -> handler.batches.sum(),
+                        handler -> handler.batchNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Stream batches written through the batch state update")
+                .register(registry);
+        fixCounter(registry, "received", fixesReceived);
+        fixCounter(registry, "invalid", fixesInvalid);
+        fixCounter(registry, "applied", fixesApplied);
+        fixCounter(registry, "rejected", fixesRejected);
+        fixCounter(registry, "failed", fixesFailed);
+        Gauge.builder("ingest.stream.connections", activeConnections, LongAdder::sum)
+                .description("Open state streams")
+                .register(registry);
+    }
+
+    private static void fixCounter(MeterRegistry registry, String result, LongAdder counter) {
+        FunctionCounter.builder("ingest.stream.fixes", counter, LongAdder::sum)
+                .description("Fixes received on state streams")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Write one partition batch; runs on a writer thread.
+     * Every round is its own transaction, so each fix is reported by the outcome of its
+     * round: written if the service applied it, rejected if it skipped it, failed if
+     * the round threw.
+     */
+    private void write(List<Fix> batch) {
+        long started = System.nanoTime();
+        // Round n holds the n-th fix of every vehicle in the batch, so repeated vehicles keep their order
+        List<Map<Long, Fix>> rounds = new ArrayList<>();
+        for (Fix fix : batch) {
+            Long vehicleId = fix.update().getVehicleId();
+            Map<Long, Fix> round = null;
+            for (Map<Long, Fix> candidate : rounds) {
+                if (!candidate.containsKey(vehicleId)) {
+                    round = candidate;
+                    break;
+                }
+            }
+            if (round == null) {
+                round = new LinkedHashMap<>();
+                rounds.add(round);
+            }
+            round.put(vehicleId, fix);
+        }
+
+        try {
+            for (Map<Long, Fix> round : rounds) {
+                writeRound(round);
+            }
+        } finally {
+            batches.increment();
+            batchNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    private void writeRound(Map<Long, Fix> round) {
+        Map<Long, UpdateVehicleStateRequest> requests = new LinkedHashMap<>(round.size() * 2);
+        round.forEach((vehicleId, fix) -> requests.put(vehicleId, fix.update().getState()));
+
+        Set<Long> applied;
+        try {
+            applied = vehicleStateService.applyVehicleStates(requests);
+        } catch (Exception e) {
+            // The pipeline keeps running; only the fixes of this round are reported as failed
+            fixesFailed.add(round.size());
+            log.warn("Stream round of {} fixes failed: {}", round.size(), e.getMessage());
+            round.values().forEach(fix -> fix.stream().finished(Outcome.FAILED));
+            return;
+        }
+        fixesApplied.add(applied.size());
+        fixesRejected.add(round.size() - applied.size());
+        round.forEach((vehicleId, fix) ->
+                fix.stream().finished(applied.contains(vehicleId) ? Outcome.WRITTEN : Outcome.REJECTED));
+    }
+
+    private enum Outcome {
+        WRITTEN, REJECTED, FAILED
+    }
+
+    private record Fix(Stream stream, VehicleStateUpdate update) {
+    }
+
+    /**
+     * Progress of one connection; pending starts at 1 for the open body, so the ack
+     * is emitted once the body has ended and its last fix is written
+     */
+    private final class Stream {
+
+        private final long started = System.nanoTime();
+        private final AtomicLong pending = new AtomicLong(1);
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final Sinks.One<StreamIngestAck> ack = Sinks.one();
+        private volatile String error;
+
+        void finished(Outcome outcome) {
+            switch (outcome) {
+                case WRITTEN -> written.incrementAndGet();
+                case REJECTED -> rejected.incrementAndGet();
+                case FAILED -> failed.incrementAndGet();
+            }
+            release();
+        }
+
+        void done() {
+            release();
+        }
+
+        private void release() {
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+            activeConnections.decrement();
+            ack.tryEmitValue(StreamIngestAck.builder()
+                    .received(received.get())
+                    .invalid(invalid.get())
+                    .written(written.get())
+                    .rejected(rejected.get())
+                    .failed(failed.get())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started))
+                    .error(error)
+                    .build());
+        }
+    }
+}
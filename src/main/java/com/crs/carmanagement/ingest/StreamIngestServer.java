@@ -0,0 +1,69 @@
+package com.crs.carmanagement.ingest;
+
+import com.crs.carmanagement.config.StreamIngestConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+/**
+ * Reactor Netty server for the streaming ingestion routes, on its own port
+ * (ingestion.stream.port) because the main API runs on the servlet stack.
+ * A few event-loop threads serve any number of long-lived device connections;
+ * only the batch writes touch JPA, on the handler's writer threads.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ingestion.stream", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class StreamIngestServer {
+
+    private final StreamIngestHandler handler;
+    private final StreamIngestConfig config;
+    private final ObjectMapper objectMapper;
+
+    private volatile DisposableServer server;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .build();
+        server = HttpServer.create()
+                .port(config.getPort())
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(handler.routes(), strategies)))
+                .bindNow();
+        log.info("Stream ingestion listening on port {} (batch size {}, {} writer threads)", server.port(),
+                config.getBatchSize(), config.getWriterThreads());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(5));
+        }
+    }
+
+    /**
+     * Bound port (resolves ingestion.stream.port=0)
+     */
+    public int getPort() {
+        return server != null ? server.port() : -1;
+    }
+}
@@ -0,0 +1,67 @@
+package com.crs.carmanagement.jfr;
+
+import com.crs.carmanagement.enums.EventType;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the event log write path: JSON serialization of the payload and
+ * the INSERT, for single events and JDBC batches (vehicleId 0).
+ */
+@Name("com.crs.carmanagement.EventLogWrite")
+@Label("Event Log Write")
+@Category({"Car Management", "Ingestion"})
+@Description("Serialization or insert of vehicle event log rows")
+@StackTrace(false)
+public class EventLogWriteEvent extends Event {
+
+    public static final String SERIALIZE = "serialize";
+    public static final String INSERT = "insert";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Vehicle Id")
+    @Description("0 for a batch")
+    long vehicleId;
+
+    @Label("Event Type")
+    String eventType;
+
+    @Label("Events")
+    int events;
+
+    @Label("Payload Size")
+    @Description("Serialized JSON of all events, in characters")
+    @DataAmount(DataAmount.BYTES)
+    long payloadSize;
+
+    /**
+     * Begin timing a stage
+     */
+    public static EventLogWriteEvent start(String stage) {
+        EventLogWriteEvent event = new EventLogWriteEvent();
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * End the stage and commit it if a recording wants it
+     */
+    public void finish(Long vehicleId, EventType eventType, int events, long payloadSize) {
+        end();
+        if (shouldCommit()) {
+            this.vehicleId = vehicleId != null ? vehicleId : 0;
+            this.eventType = eventType != null ? eventType.name() : null;
+            this.events = events;
+            this.payloadSize = payloadSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.crs.carmanagement.jfr;
+
+import com.crs.carmanagement.enums.DataSource;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JFR event for one stage of a vehicle state update.
+ * Stages are timed with start() / finish(); when no recording has the event
+ * enabled (or the stage is below the recording's threshold) finish() only ends the
+ * timer, so the events can stay compiled into the ingest path.
+ * Batch updates emit the same stages with vehicleId 0 and the batch size as size.
+ */
+@Name("com.crs.carmanagement.IngestStage")
+@Label("Ingest Stage")
+@Category({"Car Management", "Ingestion"})
+@Description("One stage of a vehicle state update")
+@StackTrace(false)
+public class IngestStageEvent extends Event {
+
+    public static final String VEHICLE_LOOKUP = "vehicle-lookup";
+    public static final String STATE_LOOKUP = "state-lookup";
+    public static final String CHANGE_DETECTION = "change-detection";
+    public static final String ODOMETER_SAVE = "odometer-save";
+    public static final String STATE_SAVE = "state-save";
+    public static final String IN_MEMORY_VIEWS = "in-memory-views";
+    public static final String EVENT_LOG = "event-log";
+    public static final String COMMIT = "commit";
+    public static final String ROLLBACK = "rollback";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Vehicle Id")
+    @Description("0 for a batch")
+    long vehicleId;
+
+    @Label("Data Source")
+    String dataSource;
+
+    @Label("Size")
+    @Description("Changed fields for change-detection, updates for batches, otherwise 0")
+    int size;
+
+    /**
+     * Begin timing a stage
+     */
+    public static IngestStageEvent start(String stage) {
+        IngestStageEvent event = new IngestStageEvent();
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    public void finish(Long vehicleId, DataSource dataSource) {
+        finish(vehicleId, dataSource, 0);
+    }
+
+    /**
+     * End the stage and commit it if a recording wants it
+     */
+    public void finish(Long vehicleId, DataSource dataSource, int size) {
+        end();
+        if (shouldCommit()) {
+            this.vehicleId = vehicleId != null ? vehicleId : 0;
+            this.dataSource = dataSource != null ? dataSource.name() : null;
+            this.size = size;
+            commit();
+        }
+    }
+
+    /**
+     * Time the flush and commit of the current transaction, which run after the
+     * service method has returned
+     */
+    public static void timeCommit(Long vehicleId, DataSource dataSource, int size) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || !new IngestStageEvent().isEnabled()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private IngestStageEvent event;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                event = start(COMMIT);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (event == null) {
+                    // Rolled back before the commit started
+                    return;
+                }
+                if (status != STATUS_COMMITTED) {
+                    event.stage = ROLLBACK;
+                }
+                event.finish(vehicleId, dataSource, size);
+            }
+        });
+    }
+}
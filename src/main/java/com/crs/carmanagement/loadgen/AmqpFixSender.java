@@ -0,0 +1,26 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+
+/**
+ * Publishes one message per fix to the state queue (default exchange).
+ * Latency covers the publish only, not the consumer.
+ */
+@RequiredArgsConstructor
+public class AmqpFixSender implements FixSender {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String queueName;
+
+    @Override
+    public int send(List<VehicleStateUpdate> fixes) {
+        for (VehicleStateUpdate fix : fixes) {
+            rabbitTemplate.convertAndSend("", queueName, fix);
+        }
+        return fixes.size();
+    }
+}
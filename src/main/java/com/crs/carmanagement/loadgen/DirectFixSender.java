@@ -0,0 +1,39 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStateService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls the batch state service in-process (baseline without transport overhead)
+ */
+@RequiredArgsConstructor
+public class DirectFixSender implements FixSender {
+
+    private final VehicleStateService vehicleStateService;
+    private final VehicleService vehicleService;
+
+    @Override
+    public int send(List<VehicleStateUpdate> fixes) {
+        Map<Long, UpdateVehicleStateRequest> requests = new LinkedHashMap<>();
+        fixes.forEach(fix -> requests.put(fix.getVehicleId(), fix.getState()));
+        return vehicleStateService.updateVehicleStates(requests);
+    }
+
+    @Override
+    public void sendStatusChange(VehicleStatus status, List<Long> vehicleIds) {
+        vehicleService.bulkUpdateVehicles(BulkUpdateVehicleRequest.builder()
+                .vehicleIds(vehicleIds)
+                .patch(UpdateVehicleRequest.builder().status(status).build())
+                .build());
+    }
+}
@@ -0,0 +1,33 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.enums.VehicleStatus;
+
+import java.util.List;
+
+/**
+ * Delivers one request worth of state fixes through an ingestion path.
+ * Called concurrently from many virtual threads; throws when the request failed.
+ */
+public interface FixSender extends AutoCloseable {
+
+    /**
+     * Send the fixes
+     *
+     * @return number of fixes the target accepted
+     */
+    int send(List<VehicleStateUpdate> fixes) throws Exception;
+
+    /**
+     * Apply a status change to some vehicles (replayed recordings)
+     *
+     * @throws UnsupportedOperationException when the path has no status updates
+     */
+    default void sendStatusChange(VehicleStatus status, List<Long> vehicleIds) throws Exception {
+        throw new UnsupportedOperationException("Status changes are not supported by " + getClass().getSimpleName());
+    }
+
+    @Override
+    default void close() {
+    }
+}
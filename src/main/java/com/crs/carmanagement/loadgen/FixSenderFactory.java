@@ -0,0 +1,57 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the FixSender for a load test or replay mode
+ */
+@Component
+public class FixSenderFactory {
+
+    private final VehicleStateService vehicleStateService;
+    private final VehicleService vehicleService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<RabbitTemplate> rabbitTemplate;
+    private final String stateQueue;
+    private final int serverPort;
+
+    public FixSenderFactory(VehicleStateService vehicleStateService,
+            VehicleService vehicleService,
+            ObjectMapper objectMapper,
+            ObjectProvider<RabbitTemplate> rabbitTemplate,
+            @Value("${ingestion.amqp.queue:vehicle.state}") String stateQueue,
+            @Value("${server.port:8080}") int serverPort) {
+        this.vehicleStateService = vehicleStateService;
+        this.vehicleService = vehicleService;
+        this.objectMapper = objectMapper;
+        this.rabbitTemplate = rabbitTemplate;
+        this.stateQueue = stateQueue;
+        this.serverPort = serverPort;
+    }
+
+    /**
+     * @param targetUrl base URL for HTTP modes (null = this instance)
+     */
+    public FixSender create(LoadMode mode, String targetUrl) {
+        return switch (mode) {
+            case DIRECT -> new DirectFixSender(vehicleStateService, vehicleService);
+            case HTTP, HTTP_BATCH -> new HttpFixSender(objectMapper,
+                    targetUrl != null ? targetUrl : "http://localhost:" + serverPort,
+                    mode == LoadMode.HTTP_BATCH);
+            case AMQP -> {
+                RabbitTemplate template = rabbitTemplate.getIfAvailable();
+                if (template == null) {
+                    throw new BusinessValidationException("AMQP mode needs a configured RabbitMQ connection");
+                }
+                yield new AmqpFixSender(template, stateQueue);
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest;
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * PUTs fixes to a running instance over HTTP, one fix per request or as batches
+ */
+public class HttpFixSender implements FixSender {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final boolean batch;
+
+    public HttpFixSender(ObjectMapper objectMapper, String baseUrl, boolean batch) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.batch = batch;
+    }
+
+    @Override
+    public int send(List<VehicleStateUpdate> fixes) throws IOException, InterruptedException {
+        if (!batch) {
+            int accepted = 0;
+            for (VehicleStateUpdate fix : fixes) {
+                put("/api/v1/vehicles/" + fix.getVehicleId() + "/state", fix.getState());
+                accepted++;
+            }
+            return accepted;
+        }
+
+        JsonNode response = put("/api/v1/vehicles/states", BatchVehicleStateRequest.builder().updates(fixes).build());
+        return response.path("data").path("applied").asInt();
+    }
+
+    @Override
+    public void sendStatusChange(VehicleStatus status, List<Long> vehicleIds) throws IOException, InterruptedException {
+        put("/api/v1/vehicles/bulk", BulkUpdateVehicleRequest.builder()
+                .vehicleIds(vehicleIds)
+                .patch(UpdateVehicleRequest.builder().status(status).build())
+                .build());
+    }
+
+    private JsonNode put(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("HTTP " + response.statusCode() + " from PUT " + path);
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.crs.carmanagement.loadgen;
+
+/**
+ * How the load generator delivers state fixes
+ */
+public enum LoadMode {
+    DIRECT,     // VehicleStateService.updateVehicleStates in-process (no transport)
+    HTTP,       // One PUT /api/v1/vehicles/{id}/state per fix
+    HTTP_BATCH, // PUT /api/v1/vehicles/states with batch-size fixes per request
+    AMQP        // One RabbitMQ message per fix on the state queue
+}
@@ -0,0 +1,40 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.LoadTestRequest;
+
+/**
+ * Shape of the offered load over the run
+ */
+public enum LoadProfile {
+
+    // Constant target rate
+    STEADY {
+        @Override
+        public double rateAt(LoadTestRequest request, double elapsedSeconds) {
+            return request.getRatePerSecond();
+        }
+    },
+
+    // Linear ramp from 5% to 100% of the target rate over the run (finds the knee)
+    RAMP {
+        @Override
+        public double rateAt(LoadTestRequest request, double elapsedSeconds) {
+            double progress = elapsedSeconds / request.getDurationSeconds();
+            return request.getRatePerSecond() * Math.min(1.0, Math.max(0.05, progress));
+        }
+    },
+
+    // Target rate with bursts of burstFactor x rate for burstDurationSeconds every burstIntervalSeconds
+    SPIKE {
+        @Override
+        public double rateAt(LoadTestRequest request, double elapsedSeconds) {
+            boolean inBurst = elapsedSeconds % request.getBurstIntervalSeconds() < request.getBurstDurationSeconds();
+            return request.getRatePerSecond() * (inBurst ? request.getBurstFactor() : 1.0);
+        }
+    };
+
+    /**
+     * Offered fixes per second at the given point of the run
+     */
+    public abstract double rateAt(LoadTestRequest request, double elapsedSeconds);
+}
@@ -0,0 +1,225 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.LoadTestRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+import com.crs.carmanagement.enums.DataSource;
+import com.crs.carmanagement.simulator.SimulatedVehicle;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One load test run: an open-loop generator that schedules requests at the
+ * profile's rate (independent of how fast the target answers), sends them from
+ * virtual threads with at most `concurrency` in flight, and records latency from
+ * each request's scheduled time so a saturated target shows up as growing latency
+ * instead of a silently lower offered rate.
+ * Fixes come from a random walk over the selected virtual vehicles (round-robin).
+ */
+@Slf4j
+public class LoadRun implements Runnable {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Longest single park, so a stop request is noticed even at very low rates
+    private static final long MAX_PARK_NANOS = 100_000_000L;
+
+    private final LoadTestRequest request;
+    private final FixSender sender;
+    private final int fixesPerRequest;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder requestsFailed = new LongAdder();
+    private final LongAdder fixesSent = new LongAdder();
+    private final LongAdder fixesAccepted = new LongAdder();
+    private final AtomicLong messageSequence = new AtomicLong(1);
+    private volatile String lastError;
+
+    // Fleet as parallel arrays, only touched by the generator thread
+    private final long[] vehicleIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] odometers;
+    private final int[] batteryLevels;
+    private final SplittableRandom random = new SplittableRandom();
+    private int cursor;
+
+    private volatile boolean stopRequested;
+    private volatile boolean finished;
+    private volatile long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    public LoadRun(LoadTestRequest request, List<SimulatedVehicle> fleet, FixSender sender) {
+        this.request = request;
+        this.sender = sender;
+        this.fixesPerRequest = switch (request.getMode()) {
+            case DIRECT, HTTP_BATCH -> request.getBatchSize();
+            case HTTP, AMQP -> 1;
+        };
+
+        int size = fleet.size();
+        vehicleIds = new long[size];
+        latitudes = new double[size];
+        longitudes = new double[size];
+        odometers = new double[size];
+        batteryLevels = new int[size];
+        for (int i = 0; i < size; i++) {
+            SimulatedVehicle vehicle = fleet.get(i);
+            vehicleIds[i] = vehicle.vehicleId();
+            latitudes[i] = vehicle.latitude() != null ? vehicle.latitude() : 10.762622;
+            longitudes[i] = vehicle.longitude() != null ? vehicle.longitude() : 106.660172;
+            odometers[i] = vehicle.odometerKm() != null ? vehicle.odometerKm() : 0;
+            batteryLevels[i] = vehicle.batteryLevel() != null ? vehicle.batteryLevel() : 100;
+        }
+    }
+
+    @Override
+    public void run() {
+        Semaphore inFlight = new Semaphore(request.getConcurrency());
+        try (FixSender fixSender = sender;
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            startNanos = start;
+            long end = start + request.getDurationSeconds() * NANOS_PER_SECOND;
+            long next = start;
+
+            while (!stopRequested && next < end) {
+                parkUntil(next);
+                if (!acquire(inFlight)) {
+                    break;
+                }
+                List<VehicleStateUpdate> fixes = nextFixes();
+                long scheduledAt = next;
+                executor.submit(() -> send(fixSender, fixes, scheduledAt, inFlight));
+
+                double rate = request.getProfile().rateAt(request, (double) (next - start) / NANOS_PER_SECOND);
+                next += (long) (fixesPerRequest * NANOS_PER_SECOND / rate);
+            }
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Load test aborted", e);
+        } finally {
+            endNanos = System.nanoTime();
+            finished = true;
+            log.info("Load test finished: {} requests ({} failed), {} fixes accepted, p99 {} ms",
+                    requestsSent.sum(), requestsFailed.sum(), fixesAccepted.sum(), latency.percentile(99) / 1000.0);
+        }
+    }
+
+    /**
+     * Stop scheduling new requests; in-flight requests still complete
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public LoadTestReport report() {
+        long elapsedNanos = (finished ? endNanos : System.nanoTime()) - startNanos;
+        double elapsedSeconds = Math.max(1e-9, (double) elapsedNanos / NANOS_PER_SECOND);
+        LoadTestReport.Status status = !finished ? LoadTestReport.Status.RUNNING
+                : stopRequested ? LoadTestReport.Status.STOPPED : LoadTestReport.Status.COMPLETED;
+
+        return LoadTestReport.builder()
+                .status(status)
+                .mode(request.getMode())
+                .profile(request.getProfile())
+                .targetRatePerSecond(request.getRatePerSecond())
+                .vehicleCount(vehicleIds.length)
+                .batchSize(fixesPerRequest)
+                .concurrency(request.getConcurrency())
+                .startedAt(startedAt)
+                .elapsedSeconds(elapsedSeconds)
+                .requestsSent(requestsSent.sum())
+                .requestsFailed(requestsFailed.sum())
+                .fixesSent(fixesSent.sum())
+                .fixesAccepted(fixesAccepted.sum())
+                .achievedFixesPerSecond(fixesAccepted.sum() / elapsedSeconds)
+                .latency(latency.summary())
+                .lastError(lastError)
+                .build();
+    }
+
+    private void send(FixSender fixSender, List<VehicleStateUpdate> fixes, long scheduledAt, Semaphore inFlight) {
+        try {
+            fixesAccepted.add(fixSender.send(fixes));
+        } catch (Exception e) {
+            requestsFailed.increment();
+            lastError = e.getMessage();
+            log.debug("Load test request failed: {}", e.getMessage());
+        } finally {
+            latency.record((System.nanoTime() - scheduledAt) / 1000);
+            requestsSent.increment();
+            fixesSent.add(fixes.size());
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Next request's fixes: advance the next vehicles in round-robin order
+     */
+    private List<VehicleStateUpdate> nextFixes() {
+        List<VehicleStateUpdate> fixes = new ArrayList<>(fixesPerRequest);
+        for (int i = 0; i < fixesPerRequest; i++) {
+            int vehicle = cursor;
+            cursor = (cursor + 1) % vehicleIds.length;
+
+            latitudes[vehicle] = Math.max(10.6, Math.min(10.9,
+                    latitudes[vehicle] + (random.nextDouble() - 0.5) * 0.002));
+            longitudes[vehicle] = Math.max(106.5, Math.min(106.9,
+                    longitudes[vehicle] + (random.nextDouble() - 0.5) * 0.002));
+            double speed = 20 + random.nextDouble() * 60;
+            odometers[vehicle] += speed / 720.0;
+            if (batteryLevels[vehicle] > 5 && random.nextInt(50) == 0) {
+                batteryLevels[vehicle]--;
+            }
+
+            fixes.add(VehicleStateUpdate.builder()
+                    .vehicleId(vehicleIds[vehicle])
+                    .state(UpdateVehicleStateRequest.builder()
+                            .latitude(latitudes[vehicle])
+                            .longitude(longitudes[vehicle])
+                            .speedKmh(speed)
+                            .batteryLevel(batteryLevels[vehicle])
+                            .isCharging(false)
+                            .odometerKm(odometers[vehicle])
+                            .dataSource(DataSource.VIRTUAL_CAR)
+                            .messageSequence(messageSequence.getAndIncrement())
+                            .build())
+                    .build());
+        }
+        return fixes;
+    }
+
+    private void parkUntil(long deadline) {
+        long remaining;
+        while (!stopRequested && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+        }
+    }
+
+    private boolean acquire(Semaphore inFlight) throws InterruptedException {
+        while (!stopRequested) {
+            if (inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
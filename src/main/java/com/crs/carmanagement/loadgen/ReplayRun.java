@@ -0,0 +1,218 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.ReplayRequest;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+import com.crs.carmanagement.dto.response.ReplayReport;
+import com.crs.carmanagement.simulator.SimulationRecordingReader;
+import com.crs.carmanagement.simulator.SimulationRecordingReader.Frame;
+import com.crs.carmanagement.simulator.SimulationRecordingReader.StatusFrame;
+import com.crs.carmanagement.simulator.SimulationRecordingReader.TickFrame;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a simulator recording into an ingestion path.
+ * Ticks are sent in recorded order and each tick completes before the next one
+ * starts (so a vehicle's fixes keep their order), with the tick's fixes split into
+ * requests sent concurrently. Status frames are applied after the tick's fixes,
+ * as in the recorded run. Pacing follows the recorded simulator clock divided by
+ * the speed factor (0 = no pacing). Odometers are sent as increments, so the same
+ * recording can be replayed again, or into another database, without being rejected
+ * as a decreasing odometer.
+ */
+@Slf4j
+public class ReplayRun implements Runnable {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long MAX_PARK_NANOS = 100_000_000L;
+    // Largest id list accepted by a single bulk vehicle update
+    private static final int STATUS_CHUNK_SIZE = 10000;
+
+    private final String file;
+    private final ReplayRequest request;
+    private final SimulationRecordingReader reader;
+    private final FixSender sender;
+    private final int fixesPerRequest;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder ticksReplayed = new LongAdder();
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder requestsFailed = new LongAdder();
+    private final LongAdder fixesSent = new LongAdder();
+    private final LongAdder fixesAccepted = new LongAdder();
+    private final LongAdder statusChanges = new LongAdder();
+    private final LongAdder statusChangesSkipped = new LongAdder();
+    private volatile String lastError;
+
+    private volatile boolean stopRequested;
+    private volatile boolean finished;
+    private volatile long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    public ReplayRun(String file, ReplayRequest request, SimulationRecordingReader reader, FixSender sender) {
+        this.file = file;
+        this.request = request;
+        this.reader = reader;
+        this.sender = sender;
+        this.fixesPerRequest = switch (request.getMode()) {
+            case DIRECT, HTTP_BATCH -> request.getBatchSize();
+            case HTTP, AMQP -> 1;
+        };
+    }
+
+    @Override
+    public void run() {
+        Semaphore inFlight = new Semaphore(request.getConcurrency());
+        try (SimulationRecordingReader recording = reader;
+             FixSender fixSender = sender;
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            startNanos = start;
+            long epochMs = System.currentTimeMillis();
+            Long firstClock = null;
+
+            Frame frame;
+            while (!stopRequested && (frame = recording.next()) != null) {
+                switch (frame) {
+                    case TickFrame tick -> {
+                        if (firstClock == null) {
+                            firstClock = tick.clockMs();
+                        }
+                        if (request.getSpeed() > 0) {
+                            parkUntil(start + (long) ((tick.clockMs() - firstClock) * NANOS_PER_MILLI
+                                    / request.getSpeed()));
+                        }
+                        stamp(tick, epochMs + tick.clockMs() - firstClock);
+                        replayTick(tick, fixSender, executor, inFlight);
+                    }
+                    case StatusFrame status -> replayStatus(status, fixSender);
+                }
+            }
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Replay of {} aborted", file, e);
+        } finally {
+            endNanos = System.nanoTime();
+            finished = true;
+            log.info("Replay of {} finished: {} ticks, {} fixes accepted, {} requests failed", file,
+                    ticksReplayed.sum(), fixesAccepted.sum(), requestsFailed.sum());
+        }
+    }
+
+    /**
+     * Stop after the current tick
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public ReplayReport report() {
+        long elapsedNanos = (finished ? endNanos : System.nanoTime()) - startNanos;
+        double elapsedSeconds = Math.max(1e-9, elapsedNanos / 1e9);
+        LoadTestReport.Status status = !finished ? LoadTestReport.Status.RUNNING
+                : stopRequested ? LoadTestReport.Status.STOPPED : LoadTestReport.Status.COMPLETED;
+
+        return ReplayReport.builder()
+                .status(status)
+                .file(file)
+                .mode(request.getMode())
+                .speed(request.getSpeed())
+                .startedAt(startedAt)
+                .elapsedSeconds(elapsedSeconds)
+                .ticksReplayed(ticksReplayed.sum())
+                .requestsSent(requestsSent.sum())
+                .requestsFailed(requestsFailed.sum())
+                .fixesSent(fixesSent.sum())
+                .fixesAccepted(fixesAccepted.sum())
+                .statusChanges(statusChanges.sum())
+                .statusChangesSkipped(statusChangesSkipped.sum())
+                .achievedFixesPerSecond(fixesAccepted.sum() / elapsedSeconds)
+                .latency(latency.summary())
+                .lastError(lastError)
+                .build();
+    }
+
+    /**
+     * Give the tick's fixes their recorded time, shifted to start now, so the alert
+     * rules see the recorded pace whatever the replay speed
+     */
+    private static void stamp(TickFrame tick, long recordedAtEpochMs) {
+        for (VehicleStateUpdate update : tick.updates()) {
+            update.getState().setRecordedAtEpochMs(recordedAtEpochMs);
+        }
+    }
+
+    private void replayTick(TickFrame tick, FixSender fixSender, ExecutorService executor, Semaphore inFlight)
+            throws InterruptedException {
+        List<VehicleStateUpdate> updates = tick.updates();
+        List<Future<?>> requests = new ArrayList<>();
+        for (int from = 0; from < updates.size(); from += fixesPerRequest) {
+            List<VehicleStateUpdate> fixes = updates.subList(from, Math.min(updates.size(), from + fixesPerRequest));
+            long queuedAt = System.nanoTime();
+            inFlight.acquire();
+            requests.add(executor.submit(() -> send(fixSender, fixes, queuedAt, inFlight)));
+        }
+        for (Future<?> pending : requests) {
+            try {
+                pending.get();
+            } catch (Exception e) {
+                // send() records its own failures
+            }
+        }
+        ticksReplayed.increment();
+    }
+
+    private void send(FixSender fixSender, List<VehicleStateUpdate> fixes, long queuedAt, Semaphore inFlight) {
+        try {
+            fixesAccepted.add(fixSender.send(fixes));
+        } catch (Exception e) {
+            requestsFailed.increment();
+            lastError = e.getMessage();
+            log.debug("Replay request failed: {}", e.getMessage());
+        } finally {
+            latency.record((System.nanoTime() - queuedAt) / 1000);
+            requestsSent.increment();
+            fixesSent.add(fixes.size());
+            inFlight.release();
+        }
+    }
+
+    private void replayStatus(StatusFrame status, FixSender fixSender) {
+        List<Long> vehicleIds = status.vehicleIds();
+        try {
+            for (int from = 0; from < vehicleIds.size(); from += STATUS_CHUNK_SIZE) {
+                List<Long> chunk = vehicleIds.subList(from, Math.min(vehicleIds.size(), from + STATUS_CHUNK_SIZE));
+                fixSender.sendStatusChange(status.status(), new ArrayList<>(chunk));
+                statusChanges.add(chunk.size());
+            }
+        } catch (UnsupportedOperationException e) {
+            statusChangesSkipped.add(vehicleIds.size());
+        } catch (Exception e) {
+            requestsFailed.increment();
+            lastError = e.getMessage();
+            log.debug("Replay status change failed: {}", e.getMessage());
+        }
+    }
+
+    private void parkUntil(long deadline) {
+        long remaining;
+        while (!stopRequested && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+        }
+    }
+}
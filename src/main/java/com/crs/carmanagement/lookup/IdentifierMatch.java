@@ -0,0 +1,21 @@
+package com.crs.carmanagement.lookup;
+
+/**
+ * Identifier lookup hit: the vehicle, how it matched and on which field
+ */
+public record IdentifierMatch(VehicleIdentifier identifier, MatchType matchType, MatchField matchedField) {
+
+    /**
+     * Match kinds in ranking order
+     */
+    public enum MatchType {
+        EXACT,
+        PREFIX,
+        SUBSTRING
+    }
+
+    public enum MatchField {
+        PLATE_NUMBER,
+        VIN
+    }
+}
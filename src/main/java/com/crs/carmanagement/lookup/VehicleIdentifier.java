@@ -0,0 +1,7 @@
+package com.crs.carmanagement.lookup;
+
+/**
+ * Plate number and VIN of a vehicle held by the identifier index
+ */
+public record VehicleIdentifier(Long vehicleId, String plateNumber, String vin) {
+}
@@ -0,0 +1,295 @@
+package com.crs.carmanagement.lookup;
+
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.lookup.IdentifierMatch.MatchField;
+import com.crs.carmanagement.lookup.IdentifierMatch.MatchType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index over vehicle plate numbers and VINs.
+ * Identifiers are normalized (upper case, letters and digits only, so "51a 100"
+ * finds "51A-10001"). Exact and prefix matches come from sorted maps; substring
+ * matches scan the shortest trigram posting list of the query and verify each
+ * candidate, so a lookup touches a few hundred entries instead of the whole fleet.
+ * Kept up to date incrementally by the vehicle and import services.
+ */
+@Component
+@Slf4j
+public class VehicleIdentifierIndex {
+
+    static final int MIN_SUBSTRING_LENGTH = 3;
+
+    // Removed entries leave holes in the trigram postings until the next compaction
+    private static final int MIN_COMPACTION_HOLES = 1024;
+
+    // Sorts after every normalized character, bounds prefix ranges
+    private static final char KEY_END = '\uFFFF';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // "<normalized identifier>\0<vehicle id>" -> slot; the suffix keeps colliding identifiers apart
+    private final NavigableMap<String, Integer> plates = new TreeMap<>();
+    private final NavigableMap<String, Integer> vins = new TreeMap<>();
+    private final Map<Integer, Postings> trigrams = new HashMap<>();
+    private final Map<Long, Integer> slotByVehicle = new HashMap<>();
+
+    private Entry[] slots = new Entry[1024];
+    private int slotCount;
+    private int holes;
+
+    /**
+     * Insert or replace the identifiers of a vehicle from its entity
+     */
+    public void update(Vehicle vehicle) {
+        update(new VehicleIdentifier(vehicle.getId(), vehicle.getPlateNumber(), vehicle.getVin()));
+    }
+
+    /**
+     * Insert or replace the identifiers of a vehicle
+     */
+    public void update(VehicleIdentifier identifier) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(identifier.vehicleId());
+            addInternal(identifier);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a vehicle from the index
+     */
+    public void remove(Long vehicleId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(vehicleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index content (used on startup)
+     */
+    public void rebuild(Collection<VehicleIdentifier> snapshot) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            snapshot.forEach(this::addInternal);
+            log.info("Identifier index rebuilt with {} vehicles and {} trigrams", slotByVehicle.size(),
+                    trigrams.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByVehicle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches for a typeahead query: exact matches first, then prefix matches
+     * in identifier order (plate numbers before VINs), then substring matches.
+     * Substring matching needs at least MIN_SUBSTRING_LENGTH significant characters.
+     */
+    public List<IdentifierMatch> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, IdentifierMatch> matches = new LinkedHashMap<>();
+            collectRange(plates, normalized + '\0', normalized + '\1', MatchType.EXACT, MatchField.PLATE_NUMBER,
+                    matches, limit);
+            collectRange(vins, normalized + '\0', normalized + '\1', MatchType.EXACT, MatchField.VIN,
+                    matches, limit);
+            collectRange(plates, normalized, normalized + KEY_END, MatchType.PREFIX, MatchField.PLATE_NUMBER,
+                    matches, limit);
+            collectRange(vins, normalized, normalized + KEY_END, MatchType.PREFIX, MatchField.VIN,
+                    matches, limit);
+            if (normalized.length() >= MIN_SUBSTRING_LENGTH) {
+                collectSubstrings(normalized, matches, limit);
+            }
+            return new ArrayList<>(matches.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Upper-case letters and digits only
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = Character.toUpperCase(value.charAt(i));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private void collectRange(NavigableMap<String, Integer> keys, String from, String to, MatchType type,
+            MatchField field, Map<Integer, IdentifierMatch> matches, int limit) {
+        for (Integer slot : keys.subMap(from, true, to, false).values()) {
+            if (matches.size() >= limit) {
+                return;
+            }
+            matches.putIfAbsent(slot, new IdentifierMatch(slots[slot].identifier(), type, field));
+        }
+    }
+
+    private void collectSubstrings(String normalized, Map<Integer, IdentifierMatch> matches, int limit) {
+        // Every substring hit contains all query trigrams, so the rarest one bounds the candidates
+        Postings candidates = null;
+        for (int i = 0; i + MIN_SUBSTRING_LENGTH <= normalized.length(); i++) {
+            Postings postings = trigrams.get(trigramAt(normalized, i));
+            if (postings == null) {
+                return;
+            }
+            if (candidates == null || postings.size < candidates.size) {
+                candidates = postings;
+            }
+        }
+
+        for (int i = 0; i < candidates.size && matches.size() < limit; i++) {
+            int slot = candidates.values[i];
+            Entry entry = slots[slot];
+            if (entry == null || matches.containsKey(slot)) {
+                continue;
+            }
+            if (entry.plate().contains(normalized)) {
+                matches.put(slot, new IdentifierMatch(entry.identifier(), MatchType.SUBSTRING,
+                        MatchField.PLATE_NUMBER));
+            } else if (entry.vin().contains(normalized)) {
+                matches.put(slot, new IdentifierMatch(entry.identifier(), MatchType.SUBSTRING, MatchField.VIN));
+            }
+        }
+    }
+
+    private void addInternal(VehicleIdentifier identifier) {
+        Entry entry = new Entry(identifier, normalize(identifier.plateNumber()), normalize(identifier.vin()));
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        int slot = slotCount++;
+        slots[slot] = entry;
+        slotByVehicle.put(identifier.vehicleId(), slot);
+
+        if (!entry.plate().isEmpty()) {
+            plates.put(entry.plateKey(), slot);
+        }
+        if (!entry.vin().isEmpty()) {
+            vins.put(entry.vinKey(), slot);
+        }
+        indexTrigrams(entry.plate(), slot);
+        indexTrigrams(entry.vin(), slot);
+    }
+
+    private void removeInternal(Long vehicleId) {
+        Integer slot = slotByVehicle.remove(vehicleId);
+        if (slot == null) {
+            return;
+        }
+        Entry entry = slots[slot];
+        plates.remove(entry.plateKey());
+        vins.remove(entry.vinKey());
+        slots[slot] = null;
+        holes++;
+
+        if (holes >= MIN_COMPACTION_HOLES && holes * 4 >= slotCount) {
+            compact();
+        }
+    }
+
+    /**
+     * Re-number live entries and rebuild the postings without the holes
+     */
+    private void compact() {
+        List<VehicleIdentifier> live = new ArrayList<>(slotByVehicle.size());
+        for (int i = 0; i < slotCount; i++) {
+            if (slots[i] != null) {
+                live.add(slots[i].identifier());
+            }
+        }
+        clear();
+        live.forEach(this::addInternal);
+    }
+
+    private void clear() {
+        plates.clear();
+        vins.clear();
+        trigrams.clear();
+        slotByVehicle.clear();
+        slots = new Entry[Math.max(1024, Integer.highestOneBit(Math.max(1, slotCount)) * 2)];
+        slotCount = 0;
+        holes = 0;
+    }
+
+    private void indexTrigrams(String value, int slot) {
+        for (int i = 0; i + MIN_SUBSTRING_LENGTH <= value.length(); i++) {
+            trigrams.computeIfAbsent(trigramAt(value, i), key -> new Postings()).add(slot);
+        }
+    }
+
+    private static int trigramAt(String value, int offset) {
+        // Normalized characters are ASCII, so three of them pack into one int
+        return value.charAt(offset) << 16 | value.charAt(offset + 1) << 8 | value.charAt(offset + 2);
+    }
+
+    private record Entry(VehicleIdentifier identifier, String plate, String vin) {
+
+        String plateKey() {
+            return plate + '\0' + identifier.vehicleId();
+        }
+
+        String vinKey() {
+            return vin + '\0' + identifier.vehicleId();
+        }
+    }
+
+    /**
+     * Growable list of slots containing one trigram
+     */
+    private static final class Postings {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int slot) {
+            // A trigram occurring several times in one vehicle's identifiers is listed once
+            if (size > 0 && values[size - 1] == slot) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = slot;
+        }
+    }
+}
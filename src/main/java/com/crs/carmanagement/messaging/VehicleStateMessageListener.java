@@ -0,0 +1,53 @@
+package com.crs.carmanagement.messaging;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.service.VehicleStateService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Consumes vehicle state updates from RabbitMQ (the path real vehicles use).
+ * Each message is one BatchVehicleStateRequest.VehicleStateUpdate in JSON. Invalid or
+ * rejected messages are dropped (not requeued), like a 4xx on the REST endpoint.
+ * Enabled with ingestion.amqp.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ingestion.amqp", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleStateMessageListener {
+
+    private final VehicleStateService vehicleStateService;
+    private final Validator validator;
+
+    @RabbitListener(queues = "${ingestion.amqp.queue:vehicle.state}",
+            concurrency = "${ingestion.amqp.concurrency:4}")
+    public void onStateUpdate(BatchVehicleStateRequest.VehicleStateUpdate message) {
+        Set<ConstraintViolation<BatchVehicleStateRequest.VehicleStateUpdate>> violations = validator.validate(message);
+        if (!violations.isEmpty()) {
+            String errors = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+            log.warn("Dropping invalid state message: {}", errors);
+            throw new AmqpRejectAndDontRequeueException("Invalid state message: " + errors);
+        }
+
+        try {
+            vehicleStateService.updateVehicleState(message.getVehicleId(), message.getState());
+        } catch (BusinessValidationException | EntityNotFoundException e) {
+            log.warn("Dropping state message for vehicle {}: {}", message.getVehicleId(), e.getMessage());
+            throw new AmqpRejectAndDontRequeueException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.crs.carmanagement.projection;
+
+/**
+ * Representation of projected vehicle lists
+ */
+public enum ProjectionFormat {
+    // One JSON object per vehicle, keyed by field name
+    OBJECTS,
+    // Field names once, then one array of values per vehicle
+    COMPACT
+}
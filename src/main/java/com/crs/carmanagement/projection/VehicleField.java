@@ -0,0 +1,123 @@
+package com.crs.carmanagement.projection;
+
+import com.crs.carmanagement.exception.BusinessValidationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Vehicle fields selectable with the fields= parameter.
+ * Each field knows the table it is read from, so a projection only joins
+ * the tables its fields need (model and hub ids come from the vehicle row).
+ */
+public enum VehicleField {
+
+    ID("id", Source.VEHICLE, "id"),
+    PLATE_NUMBER("plateNumber", Source.VEHICLE, "plateNumber"),
+    VIN("vin", Source.VEHICLE, "vin"),
+    COLOR("color", Source.VEHICLE, "color"),
+    MANUFACTURE_YEAR("manufactureYear", Source.VEHICLE, "manufactureYear"),
+    STATUS("status", Source.VEHICLE, "status"),
+    ODOMETER_KM("odometerKm", Source.VEHICLE, "odometerKm"),
+    IS_VIRTUAL("isVirtual", Source.VEHICLE, "isVirtual"),
+    CURRENT_BOOKING_ID("currentBookingId", Source.VEHICLE, "currentBookingId"),
+    CURRENT_DRIVER_ID("currentDriverId", Source.VEHICLE, "currentDriverId"),
+    CREATED_AT("createdAt", Source.VEHICLE, "createdAt"),
+    UPDATED_AT("updatedAt", Source.VEHICLE, "updatedAt"),
+    MODEL_ID("modelId", Source.VEHICLE, "model.id"),
+    FLEET_HUB_ID("fleetHubId", Source.VEHICLE, "fleetHub.id"),
+
+    MODEL_NAME("modelName", Source.MODEL, "modelName"),
+    BRAND("brand", Source.MODEL, "brand"),
+    MODEL_SPECS("modelSpecs", Source.MODEL, "specs"),
+    BATTERY_CAPACITY_KWH("batteryCapacityKwh", Source.MODEL, "batteryCapacityKwh"),
+
+    FLEET_HUB_NAME("fleetHubName", Source.FLEET_HUB, "name"),
+    FLEET_HUB_LOCATION("fleetHubLocation", Source.FLEET_HUB, "location"),
+
+    LATITUDE("latitude", Source.STATE, "latitude"),
+    LONGITUDE("longitude", Source.STATE, "longitude"),
+    BATTERY_LEVEL("batteryLevel", Source.STATE, "batteryLevel"),
+    IS_CHARGING("isCharging", Source.STATE, "isCharging"),
+    SPEED_KMH("speedKmh", Source.STATE, "speedKmh"),
+    LAST_UPDATED_AT("lastUpdatedAt", Source.STATE, "lastUpdatedAt"),
+    DATA_SOURCE("dataSource", Source.STATE, "dataSource"),
+
+    // Detail only: last events from the event log (separate query)
+    RECENT_EVENTS("recentEvents", Source.EVENTS, null);
+
+    /**
+     * Selected when fields= is omitted
+     */
+    public static final List<VehicleField> DEFAULT_FIELDS = List.of(ID, PLATE_NUMBER, STATUS);
+
+    private static final Map<String, VehicleField> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toMap(field -> field.fieldName.toLowerCase(Locale.ROOT), Function.identity()));
+
+    private final String fieldName;
+    private final Source source;
+    private final String attributePath;
+
+    VehicleField(String fieldName, Source source, String attributePath) {
+        this.fieldName = fieldName;
+        this.source = source;
+        this.attributePath = attributePath;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Attribute path relative to the source entity (dotted for foreign key ids)
+     */
+    public String getAttributePath() {
+        return attributePath;
+    }
+
+    /**
+     * Parse a comma separated field list, keeping the requested order and dropping duplicates
+     */
+    public static List<VehicleField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULT_FIELDS;
+        }
+
+        List<VehicleField> parsed = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            VehicleField field = BY_NAME.get(trimmed.toLowerCase(Locale.ROOT));
+            if (field == null) {
+                throw new BusinessValidationException("Unknown field: " + trimmed + ". Available fields: "
+                        + Arrays.stream(values()).map(VehicleField::getFieldName).collect(Collectors.joining(", ")));
+            }
+            if (!parsed.contains(field)) {
+                parsed.add(field);
+            }
+        }
+        return parsed.isEmpty() ? DEFAULT_FIELDS : List.copyOf(parsed);
+    }
+
+    /**
+     * Where a field is read from
+     */
+    public enum Source {
+        VEHICLE,
+        MODEL,
+        FLEET_HUB,
+        STATE,
+        EVENTS
+    }
+}
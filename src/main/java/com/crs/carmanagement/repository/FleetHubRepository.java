@@ -2,11 +2,65 @@ package com.crs.carmanagement.repository;
 
 import com.crs.carmanagement.entity.FleetHub;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository for FleetHub entity
  */
 @Repository
 public interface FleetHubRepository extends JpaRepository<FleetHub, Long> {
+
+    /**
+     * Atomically add vehicles to a hub if it has room for them.
+     * Returns 0 when the hub does not exist or would exceed its capacity.
+     */
+    @Modifying
+    @Query("UPDATE FleetHub h SET h.currentOccupancy = h.currentOccupancy + :count, " +
+            "h.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE h.id = :hubId AND h.currentOccupancy + :count <= h.capacity")
+    int incrementOccupancy(@Param("hubId") Long hubId, @Param("count") int count);
+
+    /**
+     * Free slots of a hub, read straight from the database
+     */
+    @Query("SELECT h.capacity - h.currentOccupancy FROM FleetHub h WHERE h.id = :hubId")
+    Optional<Integer> findRemainingCapacity(@Param("hubId") Long hubId);
+
+    /**
+     * Atomically remove vehicles from a hub, never going below zero
+     */
+    @Modifying
+    @Query("UPDATE FleetHub h SET h.currentOccupancy = " +
+            "CASE WHEN h.currentOccupancy >= :count THEN h.currentOccupancy - :count ELSE 0 END, " +
+            "h.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE h.id = :hubId")
+    int decrementOccupancy(@Param("hubId") Long hubId, @Param("count") int count);
+
+    /**
+     * Lock every hub row in id order (the order move() locks in) until the end of the transaction.
+     * NO KEY UPDATE is the lock the occupancy UPDATEs take; unlike FOR UPDATE it does not
+     * conflict with the key-share lock a vehicle insert or hub change takes on its hub.
+     */
+    @Query(value = "SELECT id FROM fleet_hub ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<Long> lockAllInIdOrder();
+
+    /**
+     * Reset every hub's occupancy to its actual vehicle count.
+     * Must run after lockAllInIdOrder in the same transaction: the count comes from the
+     * statement's snapshot, and a re-check after waiting for a hub row lock only re-reads
+     * the hub row, so without the locks it could overwrite a just-committed change.
+     * Returns the number of hubs that had drifted.
+     */
+    @Modifying
+    @Query(value = "UPDATE fleet_hub h SET current_occupancy = c.vehicle_count, updated_at = now() " +
+            "FROM (SELECT fh.id, COUNT(v.id) AS vehicle_count FROM fleet_hub fh " +
+            "LEFT JOIN vehicle v ON v.fleet_hub_id = fh.id GROUP BY fh.id) c " +
+            "WHERE c.id = h.id AND h.current_occupancy <> c.vehicle_count", nativeQuery = true)
+    int reconcileOccupancy();
 }
@@ -0,0 +1,24 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.entity.Geofence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for Geofence entity
+ */
+@Repository
+public interface GeofenceRepository extends JpaRepository<Geofence, Long> {
+
+    /**
+     * Find geofences evaluated by the engine
+     */
+    List<Geofence> findByActiveTrue();
+
+    /**
+     * Find geofences bound to a fleet hub
+     */
+    List<Geofence> findByFleetHubId(Long hubId);
+}
@@ -0,0 +1,125 @@
+package com.crs.carmanagement.repository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the simulator cluster tables (see schema.sql).
+ * Lease times come from the database clock (now()), so nodes never compare their
+ * own clocks. Claims take free or expired partitions with FOR UPDATE SKIP LOCKED,
+ * so concurrent claims by several nodes never return the same partition.
+ * Every claim increments the partition's epoch (a fencing token for handovers).
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+public class SimulatorLeaseRepository {
+
+    private static final String CREATE_PARTITIONS_SQL =
+            "INSERT INTO simulator_partition_lease (partition_id, epoch) " +
+            "SELECT g, 0 FROM generate_series(0, ? - 1) g ON CONFLICT (partition_id) DO NOTHING";
+
+    private static final String HEARTBEAT_SQL =
+            "INSERT INTO simulator_node (node_id, heartbeat_at) VALUES (?, now()) " +
+            "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()";
+
+    private static final String DELETE_EXPIRED_NODES_SQL =
+            "DELETE FROM simulator_node WHERE heartbeat_at < now() - ? * interval '1 millisecond'";
+
+    private static final String LIVE_NODES_SQL =
+            "SELECT node_id FROM simulator_node " +
+            "WHERE heartbeat_at >= now() - ? * interval '1 millisecond' ORDER BY node_id";
+
+    private static final String RENEW_SQL =
+            "UPDATE simulator_partition_lease SET lease_until = now() + ? * interval '1 millisecond' " +
+            "WHERE owner = ? AND partition_id < ? RETURNING partition_id, epoch";
+
+    private static final String CLAIM_SQL =
+            "UPDATE simulator_partition_lease l " +
+            "SET owner = ?, lease_until = now() + ? * interval '1 millisecond', epoch = l.epoch + 1 " +
+            "WHERE l.partition_id IN (SELECT partition_id FROM simulator_partition_lease " +
+            "WHERE partition_id < ? AND (owner IS NULL OR lease_until < now()) " +
+            "ORDER BY partition_id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING l.partition_id, l.epoch";
+
+    private static final String RELEASE_SQL =
+            "UPDATE simulator_partition_lease SET owner = NULL, lease_until = NULL " +
+            "WHERE owner = ? AND partition_id = ANY (?)";
+
+    private static final String RELEASE_ALL_SQL =
+            "UPDATE simulator_partition_lease SET owner = NULL, lease_until = NULL WHERE owner = ?";
+
+    private static final String DELETE_NODE_SQL = "DELETE FROM simulator_node WHERE node_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Make sure a lease row exists for partitions 0..partitions-1
+     */
+    public void createPartitions(int partitions) {
+        jdbcTemplate.update(CREATE_PARTITIONS_SQL, partitions);
+    }
+
+    /**
+     * Record that the node is alive and forget nodes silent for longer than the TTL
+     */
+    public void heartbeat(String nodeId, long ttlMs) {
+        jdbcTemplate.update(HEARTBEAT_SQL, nodeId);
+        jdbcTemplate.update(DELETE_EXPIRED_NODES_SQL, ttlMs);
+    }
+
+    /**
+     * Nodes with a heartbeat within the TTL, ordered by id
+     */
+    public List<String> findLiveNodes(long ttlMs) {
+        return jdbcTemplate.queryForList(LIVE_NODES_SQL, String.class, ttlMs);
+    }
+
+    /**
+     * Extend the node's leases
+     *
+     * @return partitions still owned by the node, with their epoch
+     */
+    public Map<Integer, Long> renew(String nodeId, long ttlMs, int partitions) {
+        return toEpochs(jdbcTemplate.queryForList(RENEW_SQL, ttlMs, nodeId, partitions));
+    }
+
+    /**
+     * Lease up to count free or expired partitions
+     *
+     * @return partitions claimed, with their new epoch
+     */
+    public Map<Integer, Long> claim(String nodeId, long ttlMs, int partitions, int count) {
+        return toEpochs(jdbcTemplate.queryForList(CLAIM_SQL, nodeId, ttlMs, partitions, count));
+    }
+
+    /**
+     * Give up some of the node's partitions so other nodes can claim them
+     */
+    public void release(String nodeId, Collection<Integer> partitionIds) {
+        jdbcTemplate.update(RELEASE_SQL, nodeId, partitionIds.toArray(Integer[]::new));
+    }
+
+    /**
+     * Leave the cluster: release every lease and remove the node
+     */
+    public void leave(String nodeId) {
+        jdbcTemplate.update(RELEASE_ALL_SQL, nodeId);
+        jdbcTemplate.update(DELETE_NODE_SQL, nodeId);
+    }
+
+    private static Map<Integer, Long> toEpochs(List<Map<String, Object>> rows) {
+        Map<Integer, Long> epochs = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            epochs.put(((Number) row.get("partition_id")).intValue(), ((Number) row.get("epoch")).longValue());
+        }
+        return epochs;
+    }
+}
@@ -0,0 +1,198 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.enums.VehicleStatus;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch writes for bulk vehicle operations.
+ * Vehicle and VehicleState use IDENTITY ids, which prevents Hibernate from
+ * batching inserts, so bulk paths reserve a block of ids from the columns'
+ * backing sequences in one round trip and insert with JDBC batches.
+ * Bulk updates run as one set-based UPDATE returning the previous values.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+public class VehicleBulkRepository {
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_VEHICLE_SQL =
+            "INSERT INTO vehicle (id, model_id, plate_number, vin, color, manufacture_year, status, " +
+            "odometer_km, fleet_hub_id, is_virtual, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_STATE_SQL =
+            "INSERT INTO vehicle_state (id, vehicle_id, latitude, longitude, battery_level, is_charging, " +
+            "speed_kmh, odometer_km, last_updated_at, data_source, message_sequence, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Reserve vehicle ids from the identity sequence
+     */
+    public List<Long> nextVehicleIds(int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, "vehicle", count);
+    }
+
+    /**
+     * Reserve vehicle state ids from the identity sequence
+     */
+    public List<Long> nextVehicleStateIds(int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, "vehicle_state", count);
+    }
+
+    /**
+     * Batch insert vehicles with pre-assigned ids
+     */
+    public void insertVehicles(List<Vehicle> vehicles) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_VEHICLE_SQL, vehicles, vehicles.size(), (ps, vehicle) -> {
+            ps.setLong(1, vehicle.getId());
+            ps.setLong(2, vehicle.getModel().getId());
+            ps.setString(3, vehicle.getPlateNumber());
+            ps.setString(4, vehicle.getVin());
+            ps.setString(5, vehicle.getColor());
+            ps.setInt(6, vehicle.getManufactureYear());
+            ps.setString(7, vehicle.getStatus().name());
+            ps.setObject(8, vehicle.getOdometerKm(), Types.DOUBLE);
+            ps.setObject(9, vehicle.getFleetHub() != null ? vehicle.getFleetHub().getId() : null, Types.BIGINT);
+            ps.setBoolean(10, vehicle.getIsVirtual());
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    /**
+     * Batch insert vehicle states with pre-assigned ids
+     */
+    public void insertVehicleStates(List<VehicleState> states) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_STATE_SQL, states, states.size(), (ps, state) -> {
+            ps.setLong(1, state.getId());
+            ps.setLong(2, state.getVehicle().getId());
+            ps.setObject(3, state.getLatitude(), Types.DOUBLE);
+            ps.setObject(4, state.getLongitude(), Types.DOUBLE);
+            ps.setObject(5, state.getBatteryLevel(), Types.INTEGER);
+            ps.setObject(6, state.getIsCharging(), Types.BOOLEAN);
+            ps.setObject(7, state.getSpeedKmh(), Types.DOUBLE);
+            ps.setObject(8, state.getOdometerKm(), Types.DOUBLE);
+            ps.setTimestamp(9, state.getLastUpdatedAt() != null ? Timestamp.valueOf(state.getLastUpdatedAt()) : now);
+            ps.setString(10, state.getDataSource() != null ? state.getDataSource().name() : null);
+            ps.setObject(11, state.getMessageSequence(), Types.BIGINT);
+            ps.setTimestamp(12, now);
+            ps.setTimestamp(13, now);
+        });
+    }
+
+    /**
+     * Apply a patch to all targeted vehicles whose values differ from it.
+     * Target rows are locked in id order; each returned row carries the values
+     * from before the update.
+     */
+    public List<UpdatedVehicle> updateVehicles(BulkUpdateVehicleRequest request) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> where = new ArrayList<>();
+        List<String> sets = new ArrayList<>();
+        List<String> differs = new ArrayList<>();
+
+        if (request.getVehicleIds() != null) {
+            where.add("id = ANY(:ids)");
+            params.addValue("ids", request.getVehicleIds().toArray(new Long[0]));
+        }
+        BulkUpdateVehicleRequest.Filter filter = request.getFilter();
+        if (filter != null) {
+            addFilter(where, params, "status", "filterStatus",
+                    filter.getStatus() != null ? filter.getStatus().name() : null);
+            addFilter(where, params, "fleet_hub_id", "filterHubId", filter.getFleetHubId());
+            addFilter(where, params, "model_id", "filterModelId", filter.getModelId());
+            addFilter(where, params, "is_virtual", "filterVirtual", filter.getIsVirtual());
+            addFilter(where, params, "current_booking_id", "filterBookingId", filter.getCurrentBookingId());
+            addFilter(where, params, "current_driver_id", "filterDriverId", filter.getCurrentDriverId());
+        }
+
+        UpdateVehicleRequest patch = request.getPatch();
+        addPatch(sets, differs, params, "color", patch.getColor());
+        addPatch(sets, differs, params, "status", patch.getStatus() != null ? patch.getStatus().name() : null);
+        addPatch(sets, differs, params, "odometer_km", patch.getOdometerKm());
+        addPatch(sets, differs, params, "fleet_hub_id", patch.getFleetHubId());
+        if (Boolean.TRUE.equals(request.getClearCurrentBookingId())) {
+            sets.add("current_booking_id = NULL");
+            differs.add("current_booking_id IS NOT NULL");
+        } else {
+            addPatch(sets, differs, params, "current_booking_id", patch.getCurrentBookingId());
+        }
+        if (Boolean.TRUE.equals(request.getClearCurrentDriverId())) {
+            sets.add("current_driver_id = NULL");
+            differs.add("current_driver_id IS NOT NULL");
+        } else {
+            addPatch(sets, differs, params, "current_driver_id", patch.getCurrentDriverId());
+        }
+
+        String sql = "WITH target AS (" +
+                "SELECT id, color, status, odometer_km, fleet_hub_id, current_booking_id, current_driver_id " +
+                "FROM vehicle WHERE " + String.join(" AND ", where) +
+                " AND (" + String.join(" OR ", differs) + ") ORDER BY id FOR UPDATE) " +
+                "UPDATE vehicle v SET " + String.join(", ", sets) +
+                ", updated_at = now() FROM target t WHERE v.id = t.id " +
+                "RETURNING v.id, t.color, t.status, t.odometer_km, t.fleet_hub_id, " +
+                "t.current_booking_id, t.current_driver_id";
+
+        return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> new UpdatedVehicle(
+                rs.getLong(1),
+                rs.getString(2),
+                VehicleStatus.valueOf(rs.getString(3)),
+                rs.getObject(4, Double.class),
+                rs.getObject(5, Long.class),
+                rs.getString(6),
+                rs.getString(7)));
+    }
+
+    private static void addFilter(List<String> where, MapSqlParameterSource params,
+            String column, String param, Object value) {
+        if (value != null) {
+            where.add(column + " = :" + param);
+            params.addValue(param, value);
+        }
+    }
+
+    private static void addPatch(List<String> sets, List<String> differs, MapSqlParameterSource params,
+            String column, Object value) {
+        if (value != null) {
+            sets.add(column + " = :" + column);
+            differs.add(column + " IS DISTINCT FROM :" + column);
+            params.addValue(column, value);
+        }
+    }
+
+    /**
+     * Vehicle values before a bulk update
+     */
+    public record UpdatedVehicle(
+            Long id,
+            String color,
+            VehicleStatus status,
+            Double odometerKm,
+            Long fleetHubId,
+            String currentBookingId,
+            String currentDriverId) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.dto.response.VehicleResponse;
+import com.crs.carmanagement.enums.VehicleStatus;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only JDBC cursors over vehicle summaries for streaming endpoints.
+ * Rows are fetched FETCH_SIZE at a time and handed to the consumer one by one,
+ * so memory use does not depend on the result size. The PostgreSQL driver only
+ * uses a server-side cursor when auto-commit is off: call inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(value = "jdbc.repository.invocations", histogram = true)
+public class VehicleCursorRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String SUMMARY_SQL =
+            "SELECT v.id, v.plate_number, v.color, v.status, v.is_virtual, v.odometer_km, " +
+            "m.id AS model_id, m.model_name, m.brand, h.name AS fleet_hub_name, s.id AS state_id, " +
+            "s.latitude, s.longitude, s.battery_level, s.is_charging, s.speed_kmh, s.last_updated_at " +
+            "FROM vehicle v " +
+            "JOIN vehicle_model m ON m.id = v.model_id " +
+            "LEFT JOIN fleet_hub h ON h.id = v.fleet_hub_id " +
+            "LEFT JOIN vehicle_state s ON s.vehicle_id = v.id " +
+            "WHERE ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream the summaries of all vehicles with a status, in id order
+     */
+    public void forEachByStatus(VehicleStatus status, Consumer<VehicleResponse> consumer) {
+        forEach("v.status = ?", status.name(), consumer);
+    }
+
+    /**
+     * Stream the summaries of all vehicles of a fleet hub, in id order
+     */
+    public void forEachByFleetHub(Long hubId, Consumer<VehicleResponse> consumer) {
+        forEach("v.fleet_hub_id = ?", hubId, consumer);
+    }
+
+    private void forEach(String condition, Object value, Consumer<VehicleResponse> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SUMMARY_SQL + condition + " ORDER BY v.id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, value);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapSummary(rs)));
+    }
+
+    /**
+     * Same shape as VehicleServiceImpl#buildSummaryResponse
+     */
+    private static VehicleResponse mapSummary(ResultSet rs) throws SQLException {
+        Timestamp lastUpdatedAt = rs.getTimestamp("last_updated_at");
+        return VehicleResponse.builder()
+                .id(rs.getLong("id"))
+                .plateNumber(rs.getString("plate_number"))
+                .color(rs.getString("color"))
+                .status(VehicleStatus.valueOf(rs.getString("status")))
+                .isVirtual(rs.getBoolean("is_virtual"))
+                .odometerKm(rs.getObject("odometer_km", Double.class))
+                .fleetHubName(rs.getString("fleet_hub_name"))
+                .model(VehicleResponse.ModelInfo.builder()
+                        .id(rs.getLong("model_id"))
+                        .name(rs.getString("model_name"))
+                        .brand(rs.getString("brand"))
+                        .build())
+                .currentState(rs.getObject("state_id") != null ? VehicleResponse.StateInfo.builder()
+                        .latitude(rs.getObject("latitude", Double.class))
+                        .longitude(rs.getObject("longitude", Double.class))
+                        .batteryLevel(rs.getObject("battery_level", Integer.class))
+                        .isCharging(rs.getObject("is_charging", Boolean.class))
+                        .speedKmh(rs.getObject("speed_kmh", Double.class))
+                        .lastUpdatedAt(lastUpdatedAt != null ? lastUpdatedAt.toLocalDateTime() : null)
+                        .build() : null)
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.projection.VehicleField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sparse fieldset queries for vehicles.
+ * Only the columns of the requested fields are selected, and the model, fleet hub
+ * and state tables are joined only when one of their fields is requested, so list
+ * screens that need id / plate / status never read the model specs or the state row.
+ * Rows are returned as value arrays in field order (fields without a column,
+ * such as recentEvents, are left null for the caller to fill).
+ */
+@Repository
+@RequiredArgsConstructor
+public class VehicleProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * One page of projected vehicles matching the specification
+     */
+    public Page<Object[]> findAll(Specification<Vehicle> specification, List<VehicleField> fields,
+            Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Vehicle> root = query.from(Vehicle.class);
+
+        List<Selection<?>> selections = select(root, cb, fields);
+        query.multiselect(selections);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        List<Object[]> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream()
+                .map(tuple -> toRow(tuple, fields))
+                .toList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(specification));
+    }
+
+    /**
+     * Projected values of one vehicle
+     */
+    public Optional<Object[]> findById(Long id, List<VehicleField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Vehicle> root = query.from(Vehicle.class);
+
+        List<Selection<?>> selections = select(root, cb, fields);
+        query.multiselect(selections).where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream()
+                .findFirst()
+                .map(tuple -> toRow(tuple, fields));
+    }
+
+    private long count(Specification<Vehicle> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Vehicle> root = query.from(Vehicle.class);
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Join the sources the fields need and select one aliased column per field
+     */
+    private List<Selection<?>> select(Root<Vehicle> root, CriteriaBuilder cb, List<VehicleField> fields) {
+        Map<VehicleField.Source, From<?, ?>> sources = new EnumMap<>(VehicleField.Source.class);
+        sources.put(VehicleField.Source.VEHICLE, root);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (VehicleField field : fields) {
+            if (field.getAttributePath() == null) {
+                continue;
+            }
+            From<?, ?> from = sources.computeIfAbsent(field.getSource(), source -> join(root, cb, source));
+            selections.add(path(from, field.getAttributePath()).alias(field.getFieldName()));
+        }
+        if (selections.isEmpty()) {
+            // Nothing but derived fields requested; still select something to detect missing vehicles
+            selections.add(root.get("id").alias(VehicleField.ID.getFieldName()));
+        }
+        return selections;
+    }
+
+    private From<?, ?> join(Root<Vehicle> root, CriteriaBuilder cb, VehicleField.Source source) {
+        return switch (source) {
+            case MODEL -> root.join("model");
+            case FLEET_HUB -> root.join("fleetHub", JoinType.LEFT);
+            case STATE -> {
+                // Vehicle has no state association, join the owning side as an entity join
+                JpaEntityJoin<VehicleState> state = ((JpaRoot<Vehicle>) root)
+                        .join(VehicleState.class, SqmJoinType.LEFT);
+                yield state.on(cb.equal(state.get("vehicle"), root));
+            }
+            default -> throw new IllegalArgumentException("No join for " + source);
+        };
+    }
+
+    private static Path<?> path(From<?, ?> from, String attributePath) {
+        Path<?> path = from;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    private static Object[] toRow(Tuple tuple, List<VehicleField> fields) {
+        Object[] row = new Object[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            VehicleField field = fields.get(i);
+            if (field.getAttributePath() != null) {
+                row[i] = tuple.get(field.getFieldName());
+            }
+        }
+        return row;
+    }
+}
@@ -2,13 +2,19 @@ package com.crs.carmanagement.repository;
 
 import com.crs.carmanagement.entity.Vehicle;
 import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.fleet.FleetVehicleSnapshot;
+import com.crs.carmanagement.lookup.VehicleIdentifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +22,14 @@ import java.util.Optional;
  * Repository for Vehicle entity with custom queries
  */
 @Repository
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpecificationExecutor<Vehicle> {
+
+    /**
+     * Paginated search (model and fleet hub fetched with the page to avoid N+1)
+     */
+    @Override
+    @EntityGraph(attributePaths = { "model", "fleetHub" })
+    Page<Vehicle> findAll(Specification<Vehicle> spec, Pageable pageable);
 
     /**
      * Find vehicle by plate number
@@ -53,6 +66,24 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      */
     boolean existsByVin(String vin);
 
+    /**
+     * Plate numbers from the given set that are already registered (bulk import)
+     */
+    @Query("SELECT v.plateNumber FROM Vehicle v WHERE v.plateNumber IN :plateNumbers")
+    List<String> findExistingPlateNumbers(@Param("plateNumbers") Collection<String> plateNumbers);
+
+    /**
+     * VINs from the given set that are already registered (bulk import)
+     */
+    @Query("SELECT v.vin FROM Vehicle v WHERE v.vin IN :vins")
+    List<String> findExistingVins(@Param("vins") Collection<String> vins);
+
+    /**
+     * Plate number and VIN of every vehicle (identifier index warm-up)
+     */
+    @Query("SELECT new com.crs.carmanagement.lookup.VehicleIdentifier(v.id, v.plateNumber, v.vin) FROM Vehicle v")
+    List<VehicleIdentifier> findAllIdentifiers();
+
     /**
      * Find vehicles with their models (fetch join to avoid N+1)
      */
@@ -64,4 +95,18 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      */
     @Query("SELECT v FROM Vehicle v JOIN FETCH v.model")
     List<Vehicle> findAllWithModels();
+
+    /**
+     * Vehicle count per fleet hub and status (fleet summary reconciliation)
+     */
+    @Query("SELECT h.id, v.status, COUNT(v) FROM Vehicle v LEFT JOIN v.fleetHub h GROUP BY h.id, v.status")
+    List<Object[]> countByFleetHubAndStatus();
+
+    /**
+     * Aggregate-relevant attributes of every vehicle in one query (fleet summary rebuild)
+     */
+    @Query("SELECT new com.crs.carmanagement.fleet.FleetVehicleSnapshot(v.id, h.id, v.status, " +
+            "s.batteryLevel, s.isCharging) " +
+            "FROM Vehicle v LEFT JOIN v.fleetHub h LEFT JOIN VehicleState s ON s.vehicle = v")
+    List<FleetVehicleSnapshot> findAllFleetSnapshots();
 }
@@ -0,0 +1,70 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.dto.request.VehicleSearchCriteria;
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleState;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA Specifications for vehicle search.
+ * Vehicle columns are compared directly (hub and model by foreign key, no join);
+ * state criteria are combined into one correlated EXISTS subquery so paging
+ * and counting stay on the vehicle table.
+ */
+public final class VehicleSpecifications {
+
+    private VehicleSpecifications() {
+    }
+
+    public static Specification<Vehicle> matching(VehicleSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (criteria.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+            }
+            if (criteria.getFleetHubId() != null) {
+                predicates.add(cb.equal(root.get("fleetHub").get("id"), criteria.getFleetHubId()));
+            }
+            if (criteria.getModelId() != null) {
+                predicates.add(cb.equal(root.get("model").get("id"), criteria.getModelId()));
+            }
+            if (criteria.getIsVirtual() != null) {
+                predicates.add(cb.equal(root.get("isVirtual"), criteria.getIsVirtual()));
+            }
+
+            if (criteria.hasStateCriteria()) {
+                Subquery<Integer> stateQuery = query.subquery(Integer.class);
+                Root<VehicleState> state = stateQuery.from(VehicleState.class);
+                List<Predicate> statePredicates = new ArrayList<>();
+                statePredicates.add(cb.equal(state.get("vehicle"), root));
+
+                if (criteria.getMinBattery() != null) {
+                    statePredicates.add(cb.greaterThanOrEqualTo(state.get("batteryLevel"), criteria.getMinBattery()));
+                }
+                if (criteria.getMaxBattery() != null) {
+                    statePredicates.add(cb.lessThanOrEqualTo(state.get("batteryLevel"), criteria.getMaxBattery()));
+                }
+                if (criteria.getIsCharging() != null) {
+                    statePredicates.add(cb.equal(state.get("isCharging"), criteria.getIsCharging()));
+                }
+                if (criteria.getLastSeenWithinMinutes() != null) {
+                    statePredicates.add(cb.greaterThanOrEqualTo(state.get("lastUpdatedAt"),
+                            LocalDateTime.now().minusMinutes(criteria.getLastSeenWithinMinutes())));
+                }
+
+                stateQuery.select(cb.literal(1)).where(statePredicates.toArray(new Predicate[0]));
+                predicates.add(cb.exists(stateQuery));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -1,9 +1,16 @@
 package com.crs.carmanagement.repository;
 
 import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.simulator.SimulatedVehicle;
+import com.crs.carmanagement.spatial.VehiclePosition;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,8 +24,65 @@ public interface VehicleStateRepository extends JpaRepository<VehicleState, Long
      */
     Optional<VehicleState> findByVehicleId(Long vehicleId);
 
+    /**
+     * Find states of several vehicles in one query (list views)
+     */
+    List<VehicleState> findByVehicleIdIn(Collection<Long> vehicleIds);
+
+    /**
+     * Find states of several vehicles together with the vehicles (batch state updates)
+     */
+    @EntityGraph(attributePaths = "vehicle")
+    List<VehicleState> findWithVehicleByVehicleIdIn(Collection<Long> vehicleIds);
+
     /**
      * Delete vehicle state by vehicle ID
      */
     void deleteByVehicleId(Long vehicleId);
+
+    /**
+     * Load the last known position of every vehicle in one query (spatial index warm-up)
+     */
+    @Query("SELECT new com.crs.carmanagement.spatial.VehiclePosition(v.id, v.plateNumber, v.status, " +
+            "s.latitude, s.longitude, s.batteryLevel, s.isCharging) " +
+            "FROM VehicleState s JOIN s.vehicle v " +
+            "WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL")
+    List<VehiclePosition> findAllPositions();
+
+    /**
+     * Status and state of every virtual vehicle in one query (simulator world load),
+     * in ID order so seeded simulations see the same fleet order on every run
+     */
+    @Query("SELECT new com.crs.carmanagement.simulator.SimulatedVehicle(v.id, v.plateNumber, v.status, " +
+            "s.latitude, s.longitude, s.batteryLevel, s.isCharging, s.speedKmh, s.odometerKm, " +
+            "s.messageSequence) " +
+            "FROM VehicleState s JOIN s.vehicle v " +
+            "WHERE v.isVirtual = true " +
+            "ORDER BY v.id")
+    List<SimulatedVehicle> findAllSimulated();
+
+    /**
+     * Like findAllSimulated, limited to the vehicle partitions (id mod partitions)
+     * owned by this simulator node
+     */
+    @Query("SELECT new com.crs.carmanagement.simulator.SimulatedVehicle(v.id, v.plateNumber, v.status, " +
+            "s.latitude, s.longitude, s.batteryLevel, s.isCharging, s.speedKmh, s.odometerKm, " +
+            "s.messageSequence) " +
+            "FROM VehicleState s JOIN s.vehicle v " +
+            "WHERE v.isVirtual = true AND MOD(v.id, :partitions) IN :owned " +
+            "ORDER BY v.id")
+    List<SimulatedVehicle> findAllSimulatedInPartitions(@Param("partitions") long partitions,
+            @Param("owned") Collection<Long> owned);
+
+    /**
+     * Vehicle count per 10% battery bucket (fleet summary reconciliation)
+     */
+    @Query(value = "SELECT LEAST(battery_level / 10, 9) AS bucket, COUNT(*) FROM vehicle_state " +
+            "WHERE battery_level IS NOT NULL GROUP BY bucket", nativeQuery = true)
+    List<Object[]> countByBatteryBucket();
+
+    /**
+     * Count vehicles currently charging
+     */
+    long countByIsChargingTrue();
 }
@@ -0,0 +1,30 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.request.AcceleratedRunRequest;
+import com.crs.carmanagement.dto.response.AcceleratedRunReport;
+
+/**
+ * Service interface for accelerated (time-compressed) fleet simulation runs
+ */
+public interface AcceleratedSimulationService {
+
+    /**
+     * Start an accelerated run over the virtual fleet in the background (one at a time)
+     *
+     * @param request run parameters
+     * @return initial report
+     */
+    AcceleratedRunReport startRun(AcceleratedRunRequest request);
+
+    /**
+     * Report of the running or last finished accelerated run
+     */
+    AcceleratedRunReport getRunReport();
+
+    /**
+     * Stop the running accelerated run; changes made so far are still persisted
+     *
+     * @return report at the time of the stop
+     */
+    AcceleratedRunReport stopRun();
+}
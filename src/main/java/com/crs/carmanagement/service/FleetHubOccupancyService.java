@@ -0,0 +1,40 @@
+package com.crs.carmanagement.service;
+
+/**
+ * Service interface for fleet hub occupancy counters
+ */
+public interface FleetHubOccupancyService {
+
+    /**
+     * Reserve space for vehicles at a hub.
+     * Throws BusinessValidationException when the hub is full.
+     */
+    void reserve(Long hubId, int count);
+
+    /**
+     * Reserve space for vehicles at a hub without failing the transaction.
+     * Returns false when the hub is missing or full.
+     */
+    boolean tryReserve(Long hubId, int count);
+
+    /**
+     * Remaining capacity of a hub (0 when full or missing)
+     */
+    int remainingCapacity(Long hubId);
+
+    /**
+     * Release space at a hub
+     */
+    void release(Long hubId, int count);
+
+    /**
+     * Move one vehicle between hubs
+     */
+    void move(Long fromHubId, Long toHubId);
+
+    /**
+     * Recount occupancy of all hubs from the vehicle table.
+     * Returns the number of corrected hubs.
+     */
+    int reconcile();
+}
@@ -0,0 +1,19 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.response.FleetSummaryResponse;
+
+/**
+ * Service interface for the fleet dashboard summary
+ */
+public interface FleetSummaryService {
+
+    /**
+     * Get the current fleet summary from the in-memory aggregates
+     */
+    FleetSummaryResponse getFleetSummary();
+
+    /**
+     * Compare the aggregates with SQL counts and rebuild them on drift
+     */
+    FleetSummaryResponse reconcile();
+}
@@ -0,0 +1,43 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.request.GeofenceRequest;
+import com.crs.carmanagement.dto.response.GeofenceResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for geofence definitions
+ */
+public interface GeofenceService {
+
+    /**
+     * Create a new geofence
+     */
+    GeofenceResponse createGeofence(GeofenceRequest request);
+
+    /**
+     * Get geofence by ID
+     */
+    GeofenceResponse getGeofenceById(Long id);
+
+    /**
+     * Get all geofences, optionally only those of one fleet hub
+     */
+    List<GeofenceResponse> getGeofences(Long hubId);
+
+    /**
+     * Replace a geofence definition
+     */
+    GeofenceResponse updateGeofence(Long id, GeofenceRequest request);
+
+    /**
+     * Delete geofence
+     */
+    void deleteGeofence(Long id);
+
+    /**
+     * Evaluation engine statistics (cost per fix, transitions)
+     */
+    Map<String, Object> getEngineStats();
+}
@@ -0,0 +1,30 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.request.JfrRecordingRequest;
+import com.crs.carmanagement.dto.response.JfrRecordingResponse;
+
+/**
+ * Service interface for the Java Flight Recorder recording of the ingest path
+ */
+public interface JfrRecordingService {
+
+    /**
+     * Start a bounded (ring buffer) recording; one at a time
+     */
+    JfrRecordingResponse startRecording(JfrRecordingRequest request);
+
+    /**
+     * State of the current recording
+     */
+    JfrRecordingResponse getRecording();
+
+    /**
+     * Write the ring buffer to a file in the dump directory and keep recording
+     */
+    JfrRecordingResponse dumpRecording();
+
+    /**
+     * Dump the ring buffer, then stop and discard the recording
+     */
+    JfrRecordingResponse stopRecording();
+}
@@ -0,0 +1,30 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.request.LoadTestRequest;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+
+/**
+ * Service interface for simulator load tests against the ingestion paths
+ */
+public interface LoadTestService {
+
+    /**
+     * Start a load test in the background (one at a time)
+     *
+     * @param request load parameters
+     * @return initial report
+     */
+    LoadTestReport startLoadTest(LoadTestRequest request);
+
+    /**
+     * Report of the running or last finished load test
+     */
+    LoadTestReport getLoadTestReport();
+
+    /**
+     * Stop the running load test; requests in flight still complete
+     *
+     * @return report at the time of the stop
+     */
+    LoadTestReport stopLoadTest();
+}
@@ -0,0 +1,45 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.request.ReplayRequest;
+import com.crs.carmanagement.dto.response.RecordingResponse;
+import com.crs.carmanagement.dto.response.ReplayReport;
+
+import java.util.List;
+
+/**
+ * Service interface for recording simulator fix streams and replaying them
+ */
+public interface SimulationRecordingService {
+
+    /**
+     * Record the simulator's emitted fixes and status changes to a file
+     *
+     * @param fileName file name in the recording directory
+     */
+    RecordingResponse startRecording(String fileName);
+
+    /**
+     * Stop the active recording
+     */
+    RecordingResponse stopRecording();
+
+    /**
+     * Recordings in the recording directory, newest first
+     */
+    List<RecordingResponse> listRecordings();
+
+    /**
+     * Replay a recording into an ingestion path in the background (one at a time)
+     */
+    ReplayReport startReplay(ReplayRequest request);
+
+    /**
+     * Report of the running or last finished replay
+     */
+    ReplayReport getReplayReport();
+
+    /**
+     * Stop the running replay after its current tick
+     */
+    ReplayReport stopReplay();
+}
@@ -2,16 +2,22 @@ package com.crs.carmanagement.service;
 
 import com.crs.carmanagement.entity.VehicleEventLog;
 import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.jfr.EventLogWriteEvent;
 import com.crs.carmanagement.repository.VehicleEventLogRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for logging vehicle events (Option B implementation)
@@ -23,16 +29,21 @@ public class VehicleEventLogService {
 
     private final VehicleEventLogRepository eventLogRepository;
     private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Log an event for a vehicle
      */
     @Transactional
+    @Timed(value = "vehicle.event.log.write", histogram = true)
     public void logEvent(Long vehicleId, EventType eventType, Object eventData) {
         try {
+            EventLogWriteEvent stage = EventLogWriteEvent.start(EventLogWriteEvent.SERIALIZE);
             String eventDataJson = eventData != null
                     ? objectMapper.writeValueAsString(eventData)
                     : null;
+            int payloadSize = eventDataJson != null ? eventDataJson.length() : 0;
+            stage.finish(vehicleId, eventType, 1, payloadSize);
 
             VehicleEventLog event = VehicleEventLog.builder()
                     .vehicleId(vehicleId)
@@ -41,7 +52,9 @@ public class VehicleEventLogService {
                     .occurredAt(LocalDateTime.now())
                     .build();
 
+            stage = EventLogWriteEvent.start(EventLogWriteEvent.INSERT);
             eventLogRepository.save(event);
+            stage.finish(vehicleId, eventType, 1, payloadSize);
             log.debug("Logged event {} for vehicle {}", eventType, vehicleId);
 
         } catch (Exception e) {
@@ -51,6 +64,43 @@ public class VehicleEventLogService {
         }
     }
 
+    /**
+     * Log the same event type for many vehicles with one JDBC batch
+     * (bulk operations; the entity's IDENTITY id prevents Hibernate batching)
+     */
+    @Transactional
+    @Timed(value = "vehicle.event.log.write", histogram = true)
+    public void logEvents(EventType eventType, Map<Long, ?> eventDataByVehicle) {
+        if (eventDataByVehicle.isEmpty()) {
+            return;
+        }
+        try {
+            EventLogWriteEvent stage = EventLogWriteEvent.start(EventLogWriteEvent.SERIALIZE);
+            List<Object[]> rows = new ArrayList<>(eventDataByVehicle.size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            long payloadSize = 0;
+            for (Map.Entry<Long, ?> entry : eventDataByVehicle.entrySet()) {
+                String eventDataJson = entry.getValue() != null
+                        ? objectMapper.writeValueAsString(entry.getValue())
+                        : null;
+                payloadSize += eventDataJson != null ? eventDataJson.length() : 0;
+                rows.add(new Object[] { entry.getKey(), eventType.name(), eventDataJson, now, now });
+            }
+            stage.finish(null, eventType, rows.size(), payloadSize);
+
+            stage = EventLogWriteEvent.start(EventLogWriteEvent.INSERT);
+            jdbcTemplate.batchUpdate("INSERT INTO vehicle_event_log " +
+                    "(vehicle_id, event_type, event_data, occurred_at, created_at) VALUES (?, ?, ?, ?, ?)", rows);
+            stage.finish(null, eventType, rows.size(), payloadSize);
+            log.debug("Logged {} {} events", rows.size(), eventType);
+
+        } catch (Exception e) {
+            log.error("Failed to log {} {} events: {}",
+                    eventDataByVehicle.size(), eventType, e.getMessage());
+            // Don't throw exception - event logging should not break main flow
+        }
+    }
+
     /**
      * Get recent events for a vehicle
      */
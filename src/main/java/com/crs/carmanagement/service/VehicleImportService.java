@@ -0,0 +1,18 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.response.BulkImportResponse;
+import com.crs.carmanagement.importer.ImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk vehicle onboarding
+ */
+public interface VehicleImportService {
+
+    /**
+     * Stream CreateVehicleRequest rows from CSV or NDJSON and import them in
+     * chunks. Invalid rows are reported and skipped; valid rows are imported.
+     */
+    BulkImportResponse importVehicles(InputStream input, ImportFormat format);
+}
@@ -0,0 +1,32 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.response.NearbyVehicleResponse;
+import com.crs.carmanagement.enums.VehicleStatus;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service interface for location based vehicle queries (backed by the in-memory spatial index)
+ */
+public interface VehicleLocationService {
+
+    /**
+     * Find vehicles within a radius of a point, nearest first
+     */
+    List<NearbyVehicleResponse> findWithinRadius(double latitude, double longitude, double radiusKm,
+            Set<VehicleStatus> statuses, Integer minBattery, Integer maxBattery, int limit);
+
+    /**
+     * Find the k nearest vehicles to a point
+     */
+    List<NearbyVehicleResponse> findNearest(double latitude, double longitude, int k,
+            Set<VehicleStatus> statuses, Integer minBattery, Integer maxBattery);
+
+    /**
+     * Find vehicles inside a bounding box
+     */
+    List<NearbyVehicleResponse> findWithinBounds(double minLatitude, double minLongitude,
+            double maxLatitude, double maxLongitude,
+            Set<VehicleStatus> statuses, Integer minBattery, Integer maxBattery, int limit);
+}
@@ -0,0 +1,16 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.dto.response.VehicleLookupResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for plate number / VIN typeahead (backed by the in-memory identifier index)
+ */
+public interface VehicleLookupService {
+
+    /**
+     * Find vehicles whose plate number or VIN equals, starts with or contains the query, best matches first
+     */
+    List<VehicleLookupResponse> lookup(String query, int limit);
+}
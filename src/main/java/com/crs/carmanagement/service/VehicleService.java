@@ -1,14 +1,20 @@
 package com.crs.carmanagement.service;
 
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
 import com.crs.carmanagement.dto.request.CreateVehicleRequest;
 import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.VehicleSearchCriteria;
+import com.crs.carmanagement.dto.response.BulkUpdateResponse;
 import com.crs.carmanagement.dto.response.VehicleDetailResponse;
+import com.crs.carmanagement.dto.response.VehicleProjectionResponse;
 import com.crs.carmanagement.dto.response.VehicleResponse;
 import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.projection.ProjectionFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for Vehicle operations
@@ -30,11 +36,32 @@ public interface VehicleService {
      */
     Page<VehicleResponse> getAllVehicles(Pageable pageable);
 
+    /**
+     * Search vehicles by any combination of vehicle and state criteria
+     */
+    Page<VehicleResponse> searchVehicles(VehicleSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Search vehicles returning only the requested fields (comma separated)
+     */
+    VehicleProjectionResponse searchVehicleFields(VehicleSearchCriteria criteria, String fields,
+            ProjectionFormat format, Pageable pageable);
+
+    /**
+     * Get the requested fields (comma separated) of one vehicle
+     */
+    Map<String, Object> getVehicleFields(Long id, String fields);
+
     /**
      * Update vehicle information
      */
     VehicleDetailResponse updateVehicle(Long id, UpdateVehicleRequest request);
 
+    /**
+     * Apply the same partial update to many vehicles (id list or filter)
+     */
+    BulkUpdateResponse bulkUpdateVehicles(BulkUpdateVehicleRequest request);
+
     /**
      * Delete vehicle
      */
@@ -1,8 +1,13 @@
 package com.crs.carmanagement.service;
 
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest;
 import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.BatchStateUpdateResponse;
 import com.crs.carmanagement.dto.response.VehicleStateResponse;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Service interface for vehicle state management
  */
@@ -18,6 +23,33 @@ public interface VehicleStateService {
      */
     VehicleStateResponse updateVehicleState(Long vehicleId, UpdateVehicleStateRequest request);
 
+    /**
+     * Apply state updates for many vehicles in one transaction.
+     * Same rules as updateVehicleState, but rejected updates are skipped instead of
+     * failing the batch, and states and events are written with JDBC batches.
+     *
+     * @param requests state update per vehicle ID
+     * @return number of vehicles updated
+     */
+    int updateVehicleStates(Map<Long, UpdateVehicleStateRequest> requests);
+
+    /**
+     * Same as updateVehicleStates(Map), for callers that report the outcome per vehicle
+     *
+     * @param requests state update per vehicle ID
+     * @return IDs of the vehicles whose update was applied (unknown and rejected ones are missing)
+     */
+    Set<Long> applyVehicleStates(Map<Long, UpdateVehicleStateRequest> requests);
+
+    /**
+     * Ingest a batch of state updates (batch API endpoint).
+     * When a vehicle appears more than once, its last update wins.
+     *
+     * @param request the batch
+     * @return received / applied / rejected counts
+     */
+    BatchStateUpdateResponse updateVehicleStates(BatchVehicleStateRequest request);
+
     /**
      * Get current vehicle state
      * 
@@ -0,0 +1,20 @@
+package com.crs.carmanagement.service;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Service interface for streamed (unbuffered) vehicle listings
+ */
+public interface VehicleStreamService {
+
+    /**
+     * Stream all vehicles with a status as an ApiResponse-shaped JSON document
+     */
+    StreamingResponseBody streamVehiclesByStatus(VehicleStatus status);
+
+    /**
+     * Stream all vehicles of a fleet hub as an ApiResponse-shaped JSON document
+     */
+    StreamingResponseBody streamVehiclesByFleetHub(Long hubId);
+}
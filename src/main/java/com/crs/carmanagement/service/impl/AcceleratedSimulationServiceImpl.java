@@ -0,0 +1,97 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.dto.request.AcceleratedRunRequest;
+import com.crs.carmanagement.dto.response.AcceleratedRunReport;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.AcceleratedSimulationService;
+import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStateService;
+import com.crs.carmanagement.simulator.AcceleratedRun;
+import com.crs.carmanagement.simulator.SimulatedVehicle;
+import com.crs.carmanagement.simulator.VirtualCarSimulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Implementation of accelerated simulation service
+ * Runs one AcceleratedRun at a time on a dedicated platform thread, over the virtual
+ * vehicles and their current state. The live simulator must be disabled, since both
+ * would move the same vehicles; its world is reloaded once the run ends.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AcceleratedSimulationServiceImpl implements AcceleratedSimulationService {
+
+    private final VehicleStateRepository vehicleStateRepository;
+    private final VehicleStateService vehicleStateService;
+    private final VehicleService vehicleService;
+    private final VirtualCarSimulator simulator;
+    private final SimulatorConfig config;
+
+    private volatile AcceleratedRun current;
+
+    @Override
+    public synchronized AcceleratedRunReport startRun(AcceleratedRunRequest request) {
+        if (current != null && !current.isFinished()) {
+            throw new BusinessValidationException("An accelerated run is already running");
+        }
+        if (config.isEnabled()) {
+            throw new BusinessValidationException("Disable the live simulator before starting an accelerated run");
+        }
+
+        List<SimulatedVehicle> fleet = vehicleStateRepository.findAllSimulated();
+        if (request.getVehicleCount() != null) {
+            if (fleet.size() < request.getVehicleCount()) {
+                throw new BusinessValidationException("Only " + fleet.size()
+                        + " virtual vehicles with a state are available, requested " + request.getVehicleCount());
+            }
+            fleet = fleet.subList(0, request.getVehicleCount());
+        }
+        long seed = request.getSeed() != null ? request.getSeed()
+                : config.isDeterministic() ? config.getSeed() : new SplittableRandom().nextLong();
+
+        AcceleratedRun run = new AcceleratedRun(request, fleet, seed, config.getUpdateIntervalMs(),
+                config.getStatusChangeIntervalMs(), config.getHeartbeatIntervalMs(), vehicleStateService,
+                vehicleService);
+        current = run;
+        Thread.ofPlatform().name("accelerated-simulation").daemon().start(() -> {
+            try {
+                run.run();
+            } finally {
+                simulator.invalidateWorld();
+            }
+        });
+
+        log.info("Accelerated simulation started: {} vehicles, {} h at {}x (seed {})", fleet.size(),
+                request.getSimulatedHours(), request.getTimeScale() > 0 ? request.getTimeScale() : "max", seed);
+        return run.report();
+    }
+
+    @Override
+    public AcceleratedRunReport getRunReport() {
+        return requireRun().report();
+    }
+
+    @Override
+    public AcceleratedRunReport stopRun() {
+        AcceleratedRun run = requireRun();
+        run.stop();
+        return run.report();
+    }
+
+    private AcceleratedRun requireRun() {
+        AcceleratedRun run = current;
+        if (run == null) {
+            throw new EntityNotFoundException("No accelerated run has been started");
+        }
+        return run;
+    }
+}
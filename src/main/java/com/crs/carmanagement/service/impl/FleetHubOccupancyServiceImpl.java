@@ -0,0 +1,106 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.repository.FleetHubRepository;
+import com.crs.carmanagement.service.FleetHubOccupancyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of FleetHubOccupancyService.
+ * Occupancy is changed with single conditional UPDATE statements instead of
+ * read-modify-write saves, so concurrent writers never lose increments.
+ * Callers should adjust occupancy as the last write of their transaction to
+ * keep the hub row lock short.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FleetHubOccupancyServiceImpl implements FleetHubOccupancyService {
+
+    private final FleetHubRepository fleetHubRepository;
+
+    @Override
+    @Transactional
+    public void reserve(Long hubId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (!tryReserve(hubId, count)) {
+            if (!fleetHubRepository.existsById(hubId)) {
+                throw new EntityNotFoundException("FleetHub", hubId);
+            }
+            throw new BusinessValidationException(
+                    "Fleet hub " + hubId + " does not have capacity for " + count + " more vehicle(s)");
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean tryReserve(Long hubId, int count) {
+        return count <= 0 || fleetHubRepository.incrementOccupancy(hubId, count) > 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int remainingCapacity(Long hubId) {
+        return Math.max(0, fleetHubRepository.findRemainingCapacity(hubId).orElse(0));
+    }
+
+    @Override
+    @Transactional
+    public void release(Long hubId, int count) {
+        if (count <= 0 || hubId == null) {
+            return;
+        }
+        fleetHubRepository.decrementOccupancy(hubId, count);
+    }
+
+    @Override
+    @Transactional
+    public void move(Long fromHubId, Long toHubId) {
+        if (fromHubId != null && fromHubId.equals(toHubId)) {
+            return;
+        }
+        // Lock rows in id order so two opposite moves cannot deadlock
+        if (fromHubId != null && fromHubId < toHubId) {
+            release(fromHubId, 1);
+            reserve(toHubId, 1);
+        } else {
+            reserve(toHubId, 1);
+            release(fromHubId, 1);
+        }
+    }
+
+    /**
+     * Periodic safety net against drift (e.g. manual SQL changes)
+     */
+    @Scheduled(fixedDelayString = "${fleet.occupancy-reconcile-interval-ms:300000}", initialDelay = 60000)
+    @Transactional
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Fleet hub occupancy reconciliation failed", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int reconcile() {
+        // Wait for in-flight occupancy changes and hold off new ones, then count in a fresh
+        // snapshot that includes every committed change
+        fleetHubRepository.lockAllInIdOrder();
+        int corrected = fleetHubRepository.reconcileOccupancy();
+        if (corrected > 0) {
+            log.warn("Corrected occupancy of {} fleet hub(s)", corrected);
+        } else {
+            log.debug("Fleet hub occupancy reconciled without drift");
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,206 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.response.FleetSummaryResponse;
+import com.crs.carmanagement.entity.FleetHub;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.fleet.FleetAggregates;
+import com.crs.carmanagement.repository.FleetHubRepository;
+import com.crs.carmanagement.repository.VehicleRepository;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.FleetSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fleet summary served from the in-memory FleetAggregates.
+ * The aggregates are reconciled periodically against SQL aggregates and
+ * rebuilt from the database when they drifted.
+ *
+ * The SQL aggregates are separate queries racing with in-flight updates, so a single
+ * comparison can show differences that are gone a moment later. Only a difference
+ * seen again by the next reconcile counts as drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FleetSummaryServiceImpl implements FleetSummaryService {
+
+    private final FleetAggregates aggregates;
+    private final VehicleRepository vehicleRepository;
+    private final VehicleStateRepository vehicleStateRepository;
+    private final FleetHubRepository fleetHubRepository;
+
+    private volatile Map<Long, String> hubNames = Map.of();
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile boolean lastReconcileHadDrift;
+    // Dimensions (hub/status, battery bucket, charging) that differed in the previous reconcile
+    private Set<String> suspectedDrift = Set.of();
+
+    /**
+     * Build the aggregates once the application (and sample data) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadAggregates() {
+        refreshHubNames();
+        aggregates.rebuild(vehicleRepository::findAllFleetSnapshots);
+        lastReconciledAt = LocalDateTime.now();
+    }
+
+    /**
+     * Periodic reconciliation against the database
+     */
+    @Scheduled(fixedDelayString = "${fleet.summary-reconcile-interval-ms:60000}", initialDelay = 60000)
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Fleet summary reconciliation failed", e);
+        }
+    }
+
+    @Override
+    public FleetSummaryResponse getFleetSummary() {
+        Map<Long, Map<VehicleStatus, Integer>> byHub = aggregates.statusCountsByHub();
+        Map<VehicleStatus, Integer> totals = new EnumMap<>(VehicleStatus.class);
+        for (VehicleStatus status : VehicleStatus.values()) {
+            totals.put(status, 0);
+        }
+
+        List<FleetSummaryResponse.HubSummary> hubs = new ArrayList<>();
+        byHub.forEach((hubId, counts) -> {
+            counts.forEach((status, count) -> totals.merge(status, count, Integer::sum));
+            int hubTotal = counts.values().stream().mapToInt(Integer::intValue).sum();
+            if (hubTotal == 0) {
+                return;
+            }
+            hubs.add(FleetSummaryResponse.HubSummary.builder()
+                    .hubId(hubId == FleetAggregates.NO_HUB ? null : hubId)
+                    .hubName(hubNames.get(hubId))
+                    .totalVehicles(hubTotal)
+                    .statusCounts(new EnumMap<>(counts))
+                    .build());
+        });
+        hubs.sort((a, b) -> Long.compare(
+                a.getHubId() != null ? a.getHubId() : 0L, b.getHubId() != null ? b.getHubId() : 0L));
+
+        int[] histogram = aggregates.batteryHistogram();
+        List<FleetSummaryResponse.BatteryBucket> buckets = new ArrayList<>(histogram.length);
+        for (int i = 0; i < histogram.length; i++) {
+            buckets.add(FleetSummaryResponse.BatteryBucket.builder()
+                    .fromPercent(i * 10)
+                    .toPercent(i == histogram.length - 1 ? 100 : i * 10 + 9)
+                    .count(histogram[i])
+                    .build());
+        }
+
+        return FleetSummaryResponse.builder()
+                .totalVehicles(aggregates.totalVehicles())
+                .statusCounts(totals)
+                .hubs(hubs)
+                .batteryHistogram(buckets)
+                .unknownBattery(aggregates.unknownBattery())
+                .chargingVehicles(aggregates.chargingVehicles())
+                .lastReconciledAt(lastReconciledAt)
+                .lastReconcileHadDrift(lastReconcileHadDrift)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized FleetSummaryResponse reconcile() {
+        refreshHubNames();
+
+        // Dimension -> description of the difference
+        Map<String, String> drift = new LinkedHashMap<>();
+
+        // Status counts per hub
+        Map<Long, Map<VehicleStatus, Integer>> expectedByHub = new HashMap<>();
+        for (Object[] row : vehicleRepository.countByFleetHubAndStatus()) {
+            long hubId = row[0] != null ? (Long) row[0] : FleetAggregates.NO_HUB;
+            expectedByHub.computeIfAbsent(hubId, key -> new EnumMap<>(VehicleStatus.class))
+                    .put((VehicleStatus) row[1], ((Number) row[2]).intValue());
+        }
+        Map<Long, Map<VehicleStatus, Integer>> actualByHub = aggregates.statusCountsByHub();
+        for (Long hubId : union(expectedByHub.keySet(), actualByHub.keySet())) {
+            for (VehicleStatus status : VehicleStatus.values()) {
+                int expected = expectedByHub.getOrDefault(hubId, Map.of()).getOrDefault(status, 0);
+                int actual = actualByHub.getOrDefault(hubId, Map.of()).getOrDefault(status, 0);
+                if (expected != actual) {
+                    drift.put("hub " + hubId + " " + status,
+                            String.format("hub %d %s: %d != %d", hubId, status, actual, expected));
+                }
+            }
+        }
+
+        // Battery histogram
+        int[] expectedHistogram = new int[FleetAggregates.BATTERY_BUCKETS];
+        for (Object[] row : vehicleStateRepository.countByBatteryBucket()) {
+            expectedHistogram[((Number) row[0]).intValue()] = ((Number) row[1]).intValue();
+        }
+        int[] actualHistogram = aggregates.batteryHistogram();
+        for (int i = 0; i < expectedHistogram.length; i++) {
+            if (expectedHistogram[i] != actualHistogram[i]) {
+                drift.put("battery " + i,
+                        String.format("battery bucket %d: %d != %d", i, actualHistogram[i], expectedHistogram[i]));
+            }
+        }
+
+        // Charging vehicles
+        long expectedCharging = vehicleStateRepository.countByIsChargingTrue();
+        if (expectedCharging != aggregates.chargingVehicles()) {
+            drift.put("charging", String.format("charging: %d != %d", aggregates.chargingVehicles(), expectedCharging));
+        }
+
+        List<String> persistent = drift.entrySet().stream()
+                .filter(entry -> suspectedDrift.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        lastReconcileHadDrift = !persistent.isEmpty();
+        if (lastReconcileHadDrift) {
+            log.warn("Fleet aggregates drifted from database ({} differences, e.g. {}). Rebuilding.",
+                    persistent.size(), persistent.get(0));
+            aggregates.rebuild(vehicleRepository::findAllFleetSnapshots);
+            suspectedDrift = Set.of();
+        } else {
+            if (!drift.isEmpty()) {
+                log.debug("Fleet aggregates differ from database in {} places, checking again next time", drift.size());
+            } else {
+                log.debug("Fleet aggregates reconciled without drift");
+            }
+            suspectedDrift = Set.copyOf(drift.keySet());
+        }
+        lastReconciledAt = LocalDateTime.now();
+
+        return getFleetSummary();
+    }
+
+    private void refreshHubNames() {
+        hubNames = fleetHubRepository.findAll().stream()
+                .collect(Collectors.toMap(FleetHub::getId, FleetHub::getName));
+    }
+
+    private static List<Long> union(Set<Long> first, Set<Long> second) {
+        return Stream.concat(first.stream(), second.stream())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,221 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.request.GeofenceRequest;
+import com.crs.carmanagement.dto.response.GeofenceResponse;
+import com.crs.carmanagement.entity.FleetHub;
+import com.crs.carmanagement.entity.Geofence;
+import com.crs.carmanagement.enums.GeofenceTrigger;
+import com.crs.carmanagement.enums.GeofenceType;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.geofence.GeofenceEngine;
+import com.crs.carmanagement.repository.FleetHubRepository;
+import com.crs.carmanagement.repository.GeofenceRepository;
+import com.crs.carmanagement.service.GeofenceService;
+import com.crs.carmanagement.transaction.AfterCommit;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of GeofenceService
+ * Every change reloads the active geofences into the evaluation engine once it has committed
+ */
+@Service
+@Slf4j
+public class GeofenceServiceImpl implements GeofenceService {
+
+    private final GeofenceRepository geofenceRepository;
+    private final FleetHubRepository fleetHubRepository;
+    private final GeofenceEngine geofenceEngine;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate reloadTransaction;
+    private final Object reloadLock = new Object();
+
+    public GeofenceServiceImpl(GeofenceRepository geofenceRepository, FleetHubRepository fleetHubRepository,
+            GeofenceEngine geofenceEngine, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.geofenceRepository = geofenceRepository;
+        this.fleetHubRepository = fleetHubRepository;
+        this.geofenceEngine = geofenceEngine;
+        this.objectMapper = objectMapper;
+        // afterCommit still sees the committed transaction's resources; read in a fresh one
+        this.reloadTransaction = new TransactionTemplate(transactionManager);
+        this.reloadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reloadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Load active geofences into the engine on startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadGeofences() {
+        reloadActiveGeofences();
+    }
+
+    @Override
+    @Transactional
+    public GeofenceResponse createGeofence(GeofenceRequest request) {
+        log.info("Creating {} geofence: {}", request.getType(), request.getName());
+
+        Geofence geofence = new Geofence();
+        applyRequest(geofence, request);
+        geofence = geofenceRepository.save(geofence);
+
+        reloadEngine();
+        return buildResponse(geofence);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GeofenceResponse getGeofenceById(Long id) {
+        return buildResponse(geofenceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Geofence", id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GeofenceResponse> getGeofences(Long hubId) {
+        List<Geofence> geofences = hubId != null
+                ? geofenceRepository.findByFleetHubId(hubId)
+                : geofenceRepository.findAll();
+        return geofences.stream()
+                .map(this::buildResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public GeofenceResponse updateGeofence(Long id, GeofenceRequest request) {
+        log.info("Updating geofence with ID: {}", id);
+
+        Geofence geofence = geofenceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Geofence", id));
+        applyRequest(geofence, request);
+        geofence = geofenceRepository.saveAndFlush(geofence);
+
+        reloadEngine();
+        return buildResponse(geofence);
+    }
+
+    @Override
+    @Transactional
+    public void deleteGeofence(Long id) {
+        log.info("Deleting geofence with ID: {}", id);
+
+        Geofence geofence = geofenceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Geofence", id));
+        geofenceRepository.delete(geofence);
+        geofenceRepository.flush();
+
+        reloadEngine();
+    }
+
+    @Override
+    public Map<String, Object> getEngineStats() {
+        return geofenceEngine.getStats();
+    }
+
+    /**
+     * Reload the engine once the change is committed, so a rollback never reaches it
+     */
+    private void reloadEngine() {
+        AfterCommit.run(this::reloadActiveGeofences);
+    }
+
+    /**
+     * Read and load run under one lock: each reload starts after the previous one has
+     * finished and reads every change committed before it, so the last reload wins
+     */
+    private void reloadActiveGeofences() {
+        synchronized (reloadLock) {
+            reloadTransaction.executeWithoutResult(status ->
+                    geofenceEngine.reload(geofenceRepository.findByActiveTrue()));
+        }
+    }
+
+    /**
+     * Validate geometry and copy request fields onto the entity
+     */
+    private void applyRequest(Geofence geofence, GeofenceRequest request) {
+        FleetHub fleetHub = null;
+        if (request.getFleetHubId() != null) {
+            fleetHub = fleetHubRepository.findById(request.getFleetHubId())
+                    .orElseThrow(() -> new EntityNotFoundException("FleetHub", request.getFleetHubId()));
+        }
+
+        geofence.setName(request.getName());
+        geofence.setType(request.getType());
+        geofence.setTrigger(request.getTrigger() != null ? request.getTrigger() : GeofenceTrigger.BOTH);
+        geofence.setFleetHub(fleetHub);
+        geofence.setActive(request.getActive() == null || request.getActive());
+
+        if (request.getType() == GeofenceType.CIRCLE) {
+            if (request.getCenterLatitude() == null || request.getCenterLongitude() == null
+                    || request.getRadiusMeters() == null) {
+                throw new BusinessValidationException("CIRCLE geofence requires centerLatitude, centerLongitude and radiusMeters");
+            }
+            geofence.setCenterLatitude(request.getCenterLatitude());
+            geofence.setCenterLongitude(request.getCenterLongitude());
+            geofence.setRadiusMeters(request.getRadiusMeters());
+            geofence.setVertices(null);
+        } else {
+            if (request.getVertices() == null || request.getVertices().size() < 3) {
+                throw new BusinessValidationException("POLYGON geofence requires at least 3 vertices");
+            }
+            double[][] vertices = request.getVertices().stream()
+                    .map(v -> new double[] { v.getLatitude(), v.getLongitude() })
+                    .toArray(double[][]::new);
+            try {
+                geofence.setVertices(objectMapper.writeValueAsString(vertices));
+            } catch (JsonProcessingException e) {
+                throw new BusinessValidationException("Invalid polygon vertices: " + e.getOriginalMessage());
+            }
+            geofence.setCenterLatitude(null);
+            geofence.setCenterLongitude(null);
+            geofence.setRadiusMeters(null);
+        }
+    }
+
+    /**
+     * Build response DTO from entity
+     */
+    private GeofenceResponse buildResponse(Geofence geofence) {
+        List<GeofenceRequest.Vertex> vertices = null;
+        if (geofence.getVertices() != null) {
+            try {
+                vertices = Arrays.stream(objectMapper.readValue(geofence.getVertices(), double[][].class))
+                        .map(v -> GeofenceRequest.Vertex.builder().latitude(v[0]).longitude(v[1]).build())
+                        .toList();
+            } catch (JsonProcessingException e) {
+                log.error("Failed to parse vertices of geofence {}: {}", geofence.getId(), e.getMessage());
+            }
+        }
+
+        return GeofenceResponse.builder()
+                .id(geofence.getId())
+                .name(geofence.getName())
+                .type(geofence.getType())
+                .trigger(geofence.getTrigger())
+                .fleetHubId(geofence.getFleetHub() != null ? geofence.getFleetHub().getId() : null)
+                .centerLatitude(geofence.getCenterLatitude())
+                .centerLongitude(geofence.getCenterLongitude())
+                .radiusMeters(geofence.getRadiusMeters())
+                .vertices(vertices)
+                .active(geofence.getActive())
+                .createdAt(geofence.getCreatedAt())
+                .updatedAt(geofence.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.config.JfrConfig;
+import com.crs.carmanagement.dto.request.JfrRecordingRequest;
+import com.crs.carmanagement.dto.response.JfrRecordingResponse;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.jfr.EventLogWriteEvent;
+import com.crs.carmanagement.jfr.IngestStageEvent;
+import com.crs.carmanagement.service.JfrRecordingService;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs one bounded flight recording at a time: the JDK settings plus the ingest
+ * events, kept in a ring buffer limited by age and size and dumped on demand
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JfrRecordingServiceImpl implements JfrRecordingService {
+
+    private static final String NAME = "car-management-ingest";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final JfrConfig config;
+
+    private Recording recording;
+    private String settings;
+    private long stageThresholdMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIfAlwaysOn() {
+        if (config.isAlwaysOn()) {
+            startRecording(new JfrRecordingRequest());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @Override
+    public synchronized JfrRecordingResponse startRecording(JfrRecordingRequest request) {
+        if (recording != null) {
+            throw new BusinessValidationException("A flight recording is already running");
+        }
+        String settingsName = request.getSettings() != null ? request.getSettings() : config.getSettings();
+        long maxAgeSeconds = request.getMaxAgeSeconds() != null ? request.getMaxAgeSeconds() : config.getMaxAgeSeconds();
+        long maxSizeMb = request.getMaxSizeMb() != null ? request.getMaxSizeMb() : config.getMaxSizeMb();
+        long thresholdMs = request.getStageThresholdMs() != null
+                ? request.getStageThresholdMs() : config.getStageThresholdMs();
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new BusinessValidationException("Unknown JFR settings: " + settingsName);
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName(NAME);
+        started.setToDisk(true);
+        started.setMaxAge(Duration.ofSeconds(maxAgeSeconds));
+        started.setMaxSize(maxSizeMb * 1024 * 1024);
+        started.enable(IngestStageEvent.class).withThreshold(Duration.ofMillis(thresholdMs));
+        started.enable(EventLogWriteEvent.class).withThreshold(Duration.ofMillis(thresholdMs));
+        started.start();
+
+        recording = started;
+        settings = settingsName;
+        stageThresholdMs = thresholdMs;
+        log.info("Flight recording started: settings={}, maxAge={}s, maxSize={}MB, threshold={}ms",
+                settingsName, maxAgeSeconds, maxSizeMb, thresholdMs);
+        return describe();
+    }
+
+    @Override
+    public synchronized JfrRecordingResponse getRecording() {
+        if (recording == null) {
+            return JfrRecordingResponse.builder().active(false).build();
+        }
+        return describe();
+    }
+
+    @Override
+    public synchronized JfrRecordingResponse dumpRecording() {
+        requireRecording();
+        JfrRecordingResponse response = describe();
+        dumpTo(response);
+        return response;
+    }
+
+    @Override
+    public synchronized JfrRecordingResponse stopRecording() {
+        requireRecording();
+        JfrRecordingResponse response = describe();
+        try {
+            dumpTo(response);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+        response.setActive(false);
+        response.setState("CLOSED");
+        log.info("Flight recording stopped, dumped to {}", response.getDumpFile());
+        return response;
+    }
+
+    private void requireRecording() {
+        if (recording == null) {
+            throw new BusinessValidationException("No flight recording is running");
+        }
+    }
+
+    private void dumpTo(JfrRecordingResponse response) {
+        Path file = Path.of(config.getDumpDir(), "ingest-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            recording.dump(file);
+            response.setDumpFile(file.toString());
+            response.setDumpSizeBytes(Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot dump flight recording to " + file, e);
+        }
+    }
+
+    private JfrRecordingResponse describe() {
+        return JfrRecordingResponse.builder()
+                .active(true)
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .settings(settings)
+                .startedAt(recording.getStartTime() != null
+                        ? LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()) : null)
+                .maxAgeSeconds(recording.getMaxAge().toSeconds())
+                .maxSizeMb(recording.getMaxSize() / (1024 * 1024))
+                .stageThresholdMs(stageThresholdMs)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.request.LoadTestRequest;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.loadgen.FixSenderFactory;
+import com.crs.carmanagement.loadgen.LoadProfile;
+import com.crs.carmanagement.loadgen.LoadRun;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.LoadTestService;
+import com.crs.carmanagement.simulator.SimulatedVehicle;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of load test service
+ * Runs one LoadRun at a time on a dedicated platform thread (accurate pacing),
+ * with the virtual vehicles and their current state as the simulated fleet.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestServiceImpl implements LoadTestService {
+
+    private final VehicleStateRepository vehicleStateRepository;
+    private final FixSenderFactory fixSenderFactory;
+
+    private volatile LoadRun current;
+
+    @Override
+    public synchronized LoadTestReport startLoadTest(LoadTestRequest request) {
+        if (current != null && !current.isFinished()) {
+            throw new BusinessValidationException("A load test is already running");
+        }
+        if (request.getProfile() == LoadProfile.SPIKE
+                && request.getBurstDurationSeconds() > request.getBurstIntervalSeconds()) {
+            throw new BusinessValidationException("Burst duration must not exceed the burst interval");
+        }
+
+        List<SimulatedVehicle> virtualVehicles = vehicleStateRepository.findAllSimulated();
+        if (virtualVehicles.size() < request.getVehicleCount()) {
+            throw new BusinessValidationException("Only " + virtualVehicles.size()
+                    + " virtual vehicles with a state are available, requested " + request.getVehicleCount());
+        }
+
+        LoadRun run = new LoadRun(request, virtualVehicles.subList(0, request.getVehicleCount()),
+                fixSenderFactory.create(request.getMode(), request.getTargetUrl()));
+        current = run;
+        Thread.ofPlatform().name("load-generator").daemon().start(run);
+
+        log.info("Load test started: {} {} fixes/s ({}) over {} vehicles for {} s",
+                request.getMode(), request.getRatePerSecond(), request.getProfile(), request.getVehicleCount(),
+                request.getDurationSeconds());
+        return run.report();
+    }
+
+    @Override
+    public LoadTestReport getLoadTestReport() {
+        return requireRun().report();
+    }
+
+    @Override
+    public LoadTestReport stopLoadTest() {
+        LoadRun run = requireRun();
+        run.stop();
+        return run.report();
+    }
+
+    private LoadRun requireRun() {
+        LoadRun run = current;
+        if (run == null) {
+            throw new EntityNotFoundException("No load test has been started");
+        }
+        return run;
+    }
+}
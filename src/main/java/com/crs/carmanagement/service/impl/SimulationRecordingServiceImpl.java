@@ -0,0 +1,159 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.request.ReplayRequest;
+import com.crs.carmanagement.dto.response.RecordingResponse;
+import com.crs.carmanagement.dto.response.ReplayReport;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.loadgen.FixSenderFactory;
+import com.crs.carmanagement.loadgen.ReplayRun;
+import com.crs.carmanagement.service.SimulationRecordingService;
+import com.crs.carmanagement.simulator.SimulationRecorder;
+import com.crs.carmanagement.simulator.SimulationRecordingReader;
+import com.crs.carmanagement.simulator.VirtualCarSimulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of simulation recording service
+ * Recording is done by the simulator tick; replays run one at a time on a
+ * dedicated platform thread, like load tests.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimulationRecordingServiceImpl implements SimulationRecordingService {
+
+    private final VirtualCarSimulator simulator;
+    private final FixSenderFactory fixSenderFactory;
+
+    private volatile ReplayRun currentReplay;
+
+    @Override
+    public RecordingResponse startRecording(String fileName) {
+        Path file = simulator.recordingPath(fileName);
+        if (Files.exists(file)) {
+            throw new BusinessValidationException("Recording already exists: " + fileName);
+        }
+        try {
+            simulator.startRecording(fileName);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create recording " + fileName, e);
+        }
+        return RecordingResponse.builder()
+                .file(fileName)
+                .active(true)
+                .build();
+    }
+
+    @Override
+    public RecordingResponse stopRecording() {
+        SimulationRecorder recorder = simulator.stopRecording();
+        if (recorder == null) {
+            throw new BusinessValidationException("The simulator is not recording");
+        }
+        RecordingResponse response = describe(recorder.getFile());
+        response.setActive(false);
+        response.setTicks(recorder.getTicks());
+        response.setFixes(recorder.getFixes());
+        return response;
+    }
+
+    @Override
+    public List<RecordingResponse> listRecordings() {
+        Path directory = simulator.recordingDirectory();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                    .map(this::describe)
+                    .sorted(Comparator.comparing(RecordingResponse::getCreatedAt,
+                            Comparator.nullsLast(Comparator.reverseOrder())))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list recordings", e);
+        }
+    }
+
+    @Override
+    public synchronized ReplayReport startReplay(ReplayRequest request) {
+        if (currentReplay != null && !currentReplay.isFinished()) {
+            throw new BusinessValidationException("A replay is already running");
+        }
+        Path file = simulator.recordingPath(request.getFile());
+        if (!Files.isRegularFile(file)) {
+            throw new EntityNotFoundException("Recording", "file", request.getFile());
+        }
+
+        SimulationRecordingReader reader;
+        try {
+            reader = new SimulationRecordingReader(file);
+        } catch (IOException e) {
+            throw new BusinessValidationException("Cannot read recording " + request.getFile() + ": "
+                    + e.getMessage());
+        }
+        ReplayRun run = new ReplayRun(request.getFile(), request, reader,
+                fixSenderFactory.create(request.getMode(), request.getTargetUrl()));
+        currentReplay = run;
+        Thread.ofPlatform().name("simulation-replay").daemon().start(run);
+
+        log.info("Replay of {} started: {} at speed {}", request.getFile(), request.getMode(), request.getSpeed());
+        return run.report();
+    }
+
+    @Override
+    public ReplayReport getReplayReport() {
+        return requireReplay().report();
+    }
+
+    @Override
+    public ReplayReport stopReplay() {
+        ReplayRun run = requireReplay();
+        run.stop();
+        return run.report();
+    }
+
+    private ReplayRun requireReplay() {
+        ReplayRun run = currentReplay;
+        if (run == null) {
+            throw new EntityNotFoundException("No replay has been started");
+        }
+        return run;
+    }
+
+    /**
+     * File size and header of a recording (header fields stay null if unreadable)
+     */
+    private RecordingResponse describe(Path file) {
+        RecordingResponse response = RecordingResponse.builder()
+                .file(file.getFileName().toString())
+                .build();
+        try {
+            response.setSizeBytes(Files.size(file));
+            try (SimulationRecordingReader reader = new SimulationRecordingReader(file)) {
+                SimulationRecordingReader.Header header = reader.header();
+                response.setSeed(header.seed());
+                response.setShards(header.shards());
+                response.setUpdateIntervalMs(header.updateIntervalMs());
+                response.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(header.createdAtEpochMs()),
+                        ZoneId.systemDefault()));
+            }
+        } catch (IOException e) {
+            log.debug("Skipping header of {}: {}", file, e.getMessage());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,335 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.request.CreateVehicleRequest;
+import com.crs.carmanagement.dto.response.BulkImportResponse;
+import com.crs.carmanagement.entity.FleetHub;
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleModel;
+import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.enums.DataSource;
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.fleet.FleetAggregates;
+import com.crs.carmanagement.fleet.FleetVehicleSnapshot;
+import com.crs.carmanagement.importer.ImportFormat;
+import com.crs.carmanagement.importer.ImportRow;
+import com.crs.carmanagement.importer.VehicleImportReader;
+import com.crs.carmanagement.lookup.VehicleIdentifierIndex;
+import com.crs.carmanagement.repository.FleetHubRepository;
+import com.crs.carmanagement.repository.VehicleBulkRepository;
+import com.crs.carmanagement.repository.VehicleModelRepository;
+import com.crs.carmanagement.repository.VehicleRepository;
+import com.crs.carmanagement.service.FleetHubOccupancyService;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.crs.carmanagement.service.VehicleImportService;
+import com.crs.carmanagement.spatial.VehicleSpatialIndex;
+import com.crs.carmanagement.transaction.AfterCommit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of VehicleImportService.
+ * Rows are streamed and processed in chunks; every chunk is validated with
+ * set-based queries and written in its own transaction with JDBC batches and
+ * ids reserved from the identity sequences in one round trip.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleImportServiceImpl implements VehicleImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleModelRepository vehicleModelRepository;
+    private final FleetHubRepository fleetHubRepository;
+    private final VehicleBulkRepository vehicleBulkRepository;
+    private final FleetHubOccupancyService occupancyService;
+    private final VehicleEventLogService eventLogService;
+    private final VehicleSpatialIndex spatialIndex;
+    private final VehicleIdentifierIndex identifierIndex;
+    private final FleetAggregates fleetAggregates;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public BulkImportResponse importVehicles(InputStream input, ImportFormat format) {
+        long start = System.currentTimeMillis();
+
+        // Reference tables are small: load them once instead of per row
+        ImportContext context = new ImportContext(
+                vehicleModelRepository.findAll().stream()
+                        .collect(Collectors.toMap(VehicleModel::getId, Function.identity())),
+                fleetHubRepository.findAll().stream()
+                        .collect(Collectors.toMap(FleetHub::getId, Function.identity())));
+
+        try (VehicleImportReader reader = new VehicleImportReader(input, format, objectMapper)) {
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (reader.hasNext()) {
+                chunk.add(reader.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, context);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, context);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new BusinessValidationException("Failed to read import payload: " + e.getMessage());
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Bulk import finished: {} rows, {} imported, {} failed in {} ms",
+                context.totalRows, context.imported, context.failed, duration);
+
+        return BulkImportResponse.builder()
+                .totalRows(context.totalRows)
+                .imported(context.imported)
+                .failed(context.failed)
+                .durationMs(duration)
+                .errors(context.errors)
+                .errorsTruncated(context.failed > context.errors.size())
+                .build();
+    }
+
+    private void importChunk(List<ImportRow> rows, ImportContext context) {
+        // Row-level validation and duplicates inside the import
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            context.totalRows++;
+            if (row.error() != null) {
+                context.fail(row.lineNumber(), null, row.error());
+                continue;
+            }
+            CreateVehicleRequest request = row.request();
+            String error = validate(request, context);
+            if (error != null) {
+                context.fail(row.lineNumber(), request.getPlateNumber(), error);
+                continue;
+            }
+            context.seenPlateNumbers.add(request.getPlateNumber());
+            context.seenVins.add(request.getVin());
+            candidates.add(new Candidate(row.lineNumber(), request));
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Uniqueness against the database, two set-based queries per chunk
+        Set<String> existingPlates = new HashSet<>(vehicleRepository.findExistingPlateNumbers(
+                candidates.stream().map(c -> c.request.getPlateNumber()).toList()));
+        Set<String> existingVins = new HashSet<>(vehicleRepository.findExistingVins(
+                candidates.stream().map(c -> c.request.getVin()).toList()));
+        candidates.removeIf(candidate -> {
+            CreateVehicleRequest request = candidate.request;
+            if (existingPlates.contains(request.getPlateNumber())) {
+                context.fail(candidate.line, request.getPlateNumber(),
+                        "Vehicle with plate number " + request.getPlateNumber() + " already exists");
+                return true;
+            }
+            if (existingVins.contains(request.getVin())) {
+                context.fail(candidate.line, request.getPlateNumber(),
+                        "Vehicle with VIN " + request.getVin() + " already exists");
+                return true;
+            }
+            return false;
+        });
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<VehicleState> states = new ArrayList<>(candidates.size());
+        List<Candidate> overCapacity = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(candidates, states, overCapacity, context));
+        } catch (DataAccessException e) {
+            String message = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.error("Bulk import chunk of {} rows failed: {}", candidates.size(), message);
+            candidates.forEach(candidate ->
+                    context.fail(candidate.line, candidate.request.getPlateNumber(), message));
+            return;
+        }
+        overCapacity.forEach(candidate -> context.fail(candidate.line, candidate.request.getPlateNumber(),
+                "Fleet hub " + candidate.request.getFleetHubId() + " is at full capacity"));
+
+        // Keep the in-memory views in sync once the chunk is committed (at once unless the
+        // import itself runs inside an outer transaction)
+        AfterCommit.run(() -> {
+            for (VehicleState state : states) {
+                Vehicle vehicle = state.getVehicle();
+                spatialIndex.update(vehicle, state);
+                identifierIndex.update(vehicle);
+                fleetAggregates.upsert(new FleetVehicleSnapshot(vehicle.getId(), vehicle.getFleetHub().getId(),
+                        vehicle.getStatus(), state.getBatteryLevel(), state.getIsCharging()));
+            }
+        });
+        context.imported += states.size();
+    }
+
+    /**
+     * Reserve hub capacity, then insert vehicles, states and events of one chunk
+     */
+    private void insertChunk(List<Candidate> candidates, List<VehicleState> states,
+            List<Candidate> overCapacity, ImportContext context) {
+        // Reserve occupancy per hub in id order (consistent lock order across parallel imports)
+        Map<Long, List<Candidate>> byHub = new TreeMap<>(candidates.stream()
+                .collect(Collectors.groupingBy(c -> c.request.getFleetHubId())));
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        byHub.forEach((hubId, hubCandidates) -> {
+            int reserved = hubCandidates.size();
+            if (!occupancyService.tryReserve(hubId, reserved)) {
+                reserved = occupancyService.remainingCapacity(hubId);
+                if (reserved == 0 || !occupancyService.tryReserve(hubId, reserved)) {
+                    reserved = 0;
+                }
+            }
+            accepted.addAll(hubCandidates.subList(0, reserved));
+            overCapacity.addAll(hubCandidates.subList(reserved, hubCandidates.size()));
+        });
+        if (accepted.isEmpty()) {
+            return;
+        }
+        accepted.sort(Comparator.comparingLong(c -> c.line));
+
+        List<Long> vehicleIds = vehicleBulkRepository.nextVehicleIds(accepted.size());
+        List<Long> stateIds = vehicleBulkRepository.nextVehicleStateIds(accepted.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Vehicle> vehicles = new ArrayList<>(accepted.size());
+        Map<Long, Object> events = new HashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            CreateVehicleRequest request = accepted.get(i).request;
+            VehicleModel model = context.models.get(request.getModelId());
+            FleetHub fleetHub = context.hubs.get(request.getFleetHubId());
+
+            Vehicle vehicle = Vehicle.builder()
+                    .id(vehicleIds.get(i))
+                    .model(model)
+                    .plateNumber(request.getPlateNumber())
+                    .vin(request.getVin())
+                    .color(request.getColor())
+                    .manufactureYear(request.getManufactureYear())
+                    .status(VehicleStatus.AVAILABLE)
+                    .odometerKm(request.getOdometerKm() != null ? request.getOdometerKm() : 0.0)
+                    .fleetHub(fleetHub)
+                    .isVirtual(request.getIsVirtual() == null || request.getIsVirtual())
+                    .build();
+            vehicles.add(vehicle);
+
+            // Initial state at the hub, same defaults as single vehicle creation
+            states.add(VehicleState.builder()
+                    .id(stateIds.get(i))
+                    .vehicle(vehicle)
+                    .latitude(fleetHub.getLatitude())
+                    .longitude(fleetHub.getLongitude())
+                    .batteryLevel(100)
+                    .isCharging(false)
+                    .speedKmh(0.0)
+                    .odometerKm(vehicle.getOdometerKm())
+                    .lastUpdatedAt(now)
+                    .dataSource(DataSource.SYSTEM)
+                    .messageSequence(0L)
+                    .build());
+
+            Map<String, Object> eventData = new HashMap<>();
+            eventData.put("plateNumber", vehicle.getPlateNumber());
+            eventData.put("vin", vehicle.getVin());
+            eventData.put("modelId", model.getId());
+            eventData.put("isVirtual", vehicle.getIsVirtual());
+            eventData.put("fleetHubId", fleetHub.getId());
+            eventData.put("initialLatitude", fleetHub.getLatitude());
+            eventData.put("initialLongitude", fleetHub.getLongitude());
+            eventData.put("source", "BULK_IMPORT");
+            events.put(vehicle.getId(), eventData);
+        }
+
+        vehicleBulkRepository.insertVehicles(vehicles);
+        vehicleBulkRepository.insertVehicleStates(states);
+        eventLogService.logEvents(EventType.VEHICLE_CREATED, events);
+    }
+
+    /**
+     * Bean validation, reference checks and duplicates within the import
+     */
+    private String validate(CreateVehicleRequest request, ImportContext context) {
+        Set<ConstraintViolation<CreateVehicleRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!context.models.containsKey(request.getModelId())) {
+            return "VehicleModel not found with id: " + request.getModelId();
+        }
+        if (!context.hubs.containsKey(request.getFleetHubId())) {
+            return "FleetHub not found with id: " + request.getFleetHubId();
+        }
+        if (context.seenPlateNumbers.contains(request.getPlateNumber())) {
+            return "Duplicate plate number " + request.getPlateNumber() + " in import";
+        }
+        if (context.seenVins.contains(request.getVin())) {
+            return "Duplicate VIN " + request.getVin() + " in import";
+        }
+        return null;
+    }
+
+    private record Candidate(long line, CreateVehicleRequest request) {
+    }
+
+    /**
+     * Mutable progress of one import
+     */
+    private static class ImportContext {
+        final Map<Long, VehicleModel> models;
+        final Map<Long, FleetHub> hubs;
+        final Set<String> seenPlateNumbers = new HashSet<>();
+        final Set<String> seenVins = new HashSet<>();
+        final List<BulkImportResponse.RowError> errors = new ArrayList<>();
+        int totalRows;
+        int imported;
+        int failed;
+
+        ImportContext(Map<Long, VehicleModel> models, Map<Long, FleetHub> hubs) {
+            this.models = models;
+            this.hubs = hubs;
+        }
+
+        void fail(long line, String plateNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(BulkImportResponse.RowError.builder()
+                        .line(line)
+                        .plateNumber(plateNumber)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
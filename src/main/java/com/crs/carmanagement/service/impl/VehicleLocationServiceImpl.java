@@ -0,0 +1,131 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.response.NearbyVehicleResponse;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.VehicleLocationService;
+import com.crs.carmanagement.spatial.NearbyVehicle;
+import com.crs.carmanagement.spatial.VehiclePosition;
+import com.crs.carmanagement.spatial.VehicleSpatialIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of location queries on top of the in-memory spatial index
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleLocationServiceImpl implements VehicleLocationService {
+
+    private static final double MAX_RADIUS_KM = 100.0;
+    private static final int MAX_RESULTS = 1000;
+
+    private final VehicleStateRepository vehicleStateRepository;
+    private final VehicleSpatialIndex spatialIndex;
+
+    /**
+     * Warm up the spatial index once the application (and sample data) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadSpatialIndex() {
+        spatialIndex.rebuild(vehicleStateRepository.findAllPositions());
+    }
+
+    @Override
+    public List<NearbyVehicleResponse> findWithinRadius(double latitude, double longitude, double radiusKm,
+            Set<VehicleStatus> statuses, Integer minBattery, Integer maxBattery, int limit) {
+        validatePoint(latitude, longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BusinessValidationException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+
+        return toResponses(spatialIndex.findWithinRadius(latitude, longitude, radiusKm,
+                buildFilter(statuses, minBattery, maxBattery), validateLimit(limit)));
+    }
+
+    @Override
+    public List<NearbyVehicleResponse> findNearest(double latitude, double longitude, int k,
+            Set<VehicleStatus> statuses, Integer minBattery, Integer maxBattery) {
+        validatePoint(latitude, longitude);
+
+        return toResponses(spatialIndex.findNearest(latitude, longitude, validateLimit(k),
+                buildFilter(statuses, minBattery, maxBattery)));
+    }
+
+    @Override
+    public List<NearbyVehicleResponse> findWithinBounds(double minLatitude, double minLongitude,
+            double maxLatitude, double maxLongitude,
+            Set<VehicleStatus> statuses, Integer minBattery, Integer maxBattery, int limit) {
+        validatePoint(minLatitude, minLongitude);
+        validatePoint(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new BusinessValidationException("Bounding box minimum must not exceed maximum");
+        }
+
+        return toResponses(spatialIndex.findWithinBounds(minLatitude, minLongitude, maxLatitude, maxLongitude,
+                buildFilter(statuses, minBattery, maxBattery), validateLimit(limit)));
+    }
+
+    /**
+     * Build the status / battery filter applied to each candidate
+     */
+    private Predicate<VehiclePosition> buildFilter(Set<VehicleStatus> statuses, Integer minBattery,
+            Integer maxBattery) {
+        return position -> {
+            if (statuses != null && !statuses.isEmpty() && !statuses.contains(position.status())) {
+                return false;
+            }
+            if (minBattery == null && maxBattery == null) {
+                return true;
+            }
+            Integer battery = position.batteryLevel();
+            if (battery == null) {
+                return false;
+            }
+            return (minBattery == null || battery >= minBattery)
+                    && (maxBattery == null || battery <= maxBattery);
+        };
+    }
+
+    private void validatePoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90) {
+            throw new BusinessValidationException("Latitude must be between -90 and 90");
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new BusinessValidationException("Longitude must be between -180 and 180");
+        }
+    }
+
+    private int validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_RESULTS) {
+            throw new BusinessValidationException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+        return limit;
+    }
+
+    private List<NearbyVehicleResponse> toResponses(List<NearbyVehicle> hits) {
+        return hits.stream()
+                .map(hit -> NearbyVehicleResponse.builder()
+                        .vehicleId(hit.position().vehicleId())
+                        .plateNumber(hit.position().plateNumber())
+                        .status(hit.position().status())
+                        .latitude(hit.position().latitude())
+                        .longitude(hit.position().longitude())
+                        .batteryLevel(hit.position().batteryLevel())
+                        .isCharging(hit.position().isCharging())
+                        .distanceKm(hit.distanceKm())
+                        .build())
+                .toList();
+    }
+}
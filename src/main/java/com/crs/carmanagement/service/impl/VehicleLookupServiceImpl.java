@@ -0,0 +1,58 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.response.VehicleLookupResponse;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.lookup.VehicleIdentifierIndex;
+import com.crs.carmanagement.repository.VehicleRepository;
+import com.crs.carmanagement.service.VehicleLookupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of plate number / VIN lookups on top of the in-memory identifier index
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleLookupServiceImpl implements VehicleLookupService {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final VehicleRepository vehicleRepository;
+    private final VehicleIdentifierIndex identifierIndex;
+
+    /**
+     * Warm up the identifier index once the application (and sample data) is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIdentifierIndex() {
+        identifierIndex.rebuild(vehicleRepository.findAllIdentifiers());
+    }
+
+    @Override
+    public List<VehicleLookupResponse> lookup(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessValidationException("Query must not be blank");
+        }
+        if (limit <= 0 || limit > MAX_RESULTS) {
+            throw new BusinessValidationException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+
+        return identifierIndex.search(query, limit).stream()
+                .map(match -> VehicleLookupResponse.builder()
+                        .vehicleId(match.identifier().vehicleId())
+                        .plateNumber(match.identifier().plateNumber())
+                        .vin(match.identifier().vin())
+                        .matchType(match.matchType())
+                        .matchedField(match.matchedField())
+                        .build())
+                .toList();
+    }
+}
@@ -1,8 +1,13 @@
 package com.crs.carmanagement.service.impl;
 
+import com.crs.carmanagement.alert.AlertRuleEngine;
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
 import com.crs.carmanagement.dto.request.CreateVehicleRequest;
 import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.VehicleSearchCriteria;
+import com.crs.carmanagement.dto.response.BulkUpdateResponse;
 import com.crs.carmanagement.dto.response.VehicleDetailResponse;
+import com.crs.carmanagement.dto.response.VehicleProjectionResponse;
 import com.crs.carmanagement.dto.response.VehicleResponse;
 import com.crs.carmanagement.entity.*;
 import com.crs.carmanagement.enums.DataSource;
@@ -10,9 +15,21 @@ import com.crs.carmanagement.enums.EventType;
 import com.crs.carmanagement.enums.VehicleStatus;
 import com.crs.carmanagement.exception.BusinessValidationException;
 import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.fleet.FleetAggregates;
+import com.crs.carmanagement.fleet.FleetVehicleSnapshot;
+import com.crs.carmanagement.geofence.GeofenceEngine;
+import com.crs.carmanagement.lookup.VehicleIdentifier;
+import com.crs.carmanagement.lookup.VehicleIdentifierIndex;
+import com.crs.carmanagement.projection.ProjectionFormat;
+import com.crs.carmanagement.projection.VehicleField;
 import com.crs.carmanagement.repository.*;
+import com.crs.carmanagement.service.FleetHubOccupancyService;
 import com.crs.carmanagement.service.VehicleEventLogService;
 import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.spatial.VehiclePosition;
+import com.crs.carmanagement.spatial.VehicleSpatialIndex;
+import com.crs.carmanagement.transaction.AfterCommit;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,9 +38,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,13 +54,24 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Observed(name = "vehicle.service")
 public class VehicleServiceImpl implements VehicleService {
 
+    private static final int MAX_PROJECTION_PAGE_SIZE = 5000;
+
     private final VehicleRepository vehicleRepository;
     private final VehicleModelRepository vehicleModelRepository;
     private final VehicleStateRepository vehicleStateRepository;
+    private final VehicleBulkRepository vehicleBulkRepository;
+    private final VehicleProjectionRepository vehicleProjectionRepository;
     private final FleetHubRepository fleetHubRepository;
     private final VehicleEventLogService eventLogService;
+    private final VehicleSpatialIndex spatialIndex;
+    private final VehicleIdentifierIndex identifierIndex;
+    private final GeofenceEngine geofenceEngine;
+    private final AlertRuleEngine alertRuleEngine;
+    private final FleetAggregates fleetAggregates;
+    private final FleetHubOccupancyService occupancyService;
 
     @Override
     @Transactional
@@ -96,10 +129,6 @@ public class VehicleServiceImpl implements VehicleService {
 
         vehicleStateRepository.save(state);
 
-        // Update fleet hub occupancy
-        fleetHub.setCurrentOccupancy(fleetHub.getCurrentOccupancy() + 1);
-        fleetHubRepository.save(fleetHub);
-
         // Log event (Option B)
         Map<String, Object> eventData = new HashMap<>();
         eventData.put("plateNumber", vehicle.getPlateNumber());
@@ -111,6 +140,20 @@ public class VehicleServiceImpl implements VehicleService {
         eventData.put("initialLongitude", fleetHub.getLongitude());
         eventLogService.logEvent(vehicle.getId(), EventType.VEHICLE_CREATED, eventData);
 
+        // Update fleet hub occupancy atomically (last write, keeps the hub row lock short)
+        occupancyService.reserve(fleetHub.getId(), 1);
+
+        VehiclePosition position = VehiclePosition.of(vehicle, state);
+        VehicleIdentifier identifier = new VehicleIdentifier(vehicle.getId(), vehicle.getPlateNumber(),
+                vehicle.getVin());
+        FleetVehicleSnapshot snapshot = new FleetVehicleSnapshot(vehicle.getId(), fleetHub.getId(),
+                vehicle.getStatus(), state.getBatteryLevel(), state.getIsCharging());
+        AfterCommit.run(() -> {
+            spatialIndex.update(position);
+            identifierIndex.update(identifier);
+            fleetAggregates.upsert(snapshot);
+        });
+
         log.info("Vehicle created successfully with ID: {} at hub {} (GPS: {}, {})",
                 vehicle.getId(), fleetHub.getName(), fleetHub.getLatitude(), fleetHub.getLongitude());
         return buildDetailResponse(vehicle);
@@ -136,6 +179,75 @@ public class VehicleServiceImpl implements VehicleService {
         return vehiclePage.map(this::buildSummaryResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VehicleResponse> searchVehicles(VehicleSearchCriteria criteria, Pageable pageable) {
+        log.debug("Searching vehicles with criteria: {}, pagination: {}", criteria, pageable);
+
+        validateSearchCriteria(criteria);
+
+        Page<Vehicle> vehiclePage = vehicleRepository.findAll(VehicleSpecifications.matching(criteria), pageable);
+
+        // One query for the states of the whole page instead of one per vehicle
+        Map<Long, VehicleState> states = vehicleStateRepository.findByVehicleIdIn(
+                        vehiclePage.getContent().stream().map(Vehicle::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(state -> state.getVehicle().getId(), Function.identity()));
+
+        return vehiclePage.map(vehicle -> buildSummaryResponse(vehicle, states.get(vehicle.getId())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VehicleProjectionResponse searchVehicleFields(VehicleSearchCriteria criteria, String fields,
+            ProjectionFormat format, Pageable pageable) {
+        log.debug("Searching vehicle fields [{}] with criteria: {}, pagination: {}", fields, criteria, pageable);
+
+        validateSearchCriteria(criteria);
+        if (pageable.getPageSize() > MAX_PROJECTION_PAGE_SIZE) {
+            throw new BusinessValidationException("Page size must not exceed " + MAX_PROJECTION_PAGE_SIZE);
+        }
+        List<VehicleField> selected = VehicleField.parse(fields);
+        if (selected.contains(VehicleField.RECENT_EVENTS)) {
+            throw new BusinessValidationException("recentEvents is only available for a single vehicle");
+        }
+
+        Page<Object[]> page = vehicleProjectionRepository.findAll(
+                VehicleSpecifications.matching(criteria), selected, pageable);
+
+        VehicleProjectionResponse.VehicleProjectionResponseBuilder response = VehicleProjectionResponse.builder()
+                .columns(selected.stream().map(VehicleField::getFieldName).toList())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages());
+        if (format == ProjectionFormat.COMPACT) {
+            response.rows(page.getContent().stream().map(Arrays::asList).toList());
+        } else {
+            response.items(page.getContent().stream().map(row -> toFieldMap(selected, row)).toList());
+        }
+        return response.build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getVehicleFields(Long id, String fields) {
+        log.debug("Fetching fields [{}] of vehicle with ID: {}", fields, id);
+
+        List<VehicleField> selected = VehicleField.parse(fields);
+        Object[] row = vehicleProjectionRepository.findById(id, selected)
+                .orElseThrow(() -> new EntityNotFoundException("Vehicle", id));
+
+        // The event log is only queried when its field is requested
+        int eventsIndex = selected.indexOf(VehicleField.RECENT_EVENTS);
+        if (eventsIndex >= 0) {
+            row[eventsIndex] = eventLogService.getVehicleEvents(id, 5).stream()
+                    .map(this::buildEventInfo)
+                    .toList();
+        }
+        return toFieldMap(selected, row);
+    }
+
     @Override
     @Transactional
     public VehicleDetailResponse updateVehicle(Long id, UpdateVehicleRequest request) {
@@ -145,6 +257,7 @@ public class VehicleServiceImpl implements VehicleService {
                 .orElseThrow(() -> new EntityNotFoundException("Vehicle", id));
 
         Map<String, Object> changes = new HashMap<>();
+        Long previousHubId = vehicle.getFleetHub() != null ? vehicle.getFleetHub().getId() : null;
 
         // Update fields if provided
         if (request.getColor() != null && !request.getColor().equals(vehicle.getColor())) {
@@ -166,8 +279,11 @@ public class VehicleServiceImpl implements VehicleService {
             FleetHub newHub = fleetHubRepository.findById(request.getFleetHubId())
                     .orElseThrow(() -> new EntityNotFoundException("FleetHub", request.getFleetHubId()));
 
-            if (!newHub.getId().equals(vehicle.getFleetHub().getId())) {
-                changes.put("fleetHubId", Map.of("old", vehicle.getFleetHub().getId(), "new", newHub.getId()));
+            if (!newHub.getId().equals(previousHubId)) {
+                Map<String, Object> hubChange = new HashMap<>();
+                hubChange.put("old", previousHubId);
+                hubChange.put("new", newHub.getId());
+                changes.put("fleetHubId", hubChange);
                 vehicle.setFleetHub(newHub);
             }
         }
@@ -189,10 +305,117 @@ public class VehicleServiceImpl implements VehicleService {
             eventLogService.logEvent(vehicle.getId(), EventType.VEHICLE_UPDATED, changes);
         }
 
+        // Move occupancy between hubs atomically (last write)
+        if (changes.containsKey("fleetHubId")) {
+            occupancyService.move(previousHubId, vehicle.getFleetHub().getId());
+        }
+
+        Long vehicleId = vehicle.getId();
+        VehicleStatus newStatus = changes.containsKey("status") ? vehicle.getStatus() : null;
+        Long newHubId = changes.containsKey("fleetHubId") ? vehicle.getFleetHub().getId() : null;
+        AfterCommit.run(() -> {
+            if (newStatus != null) {
+                spatialIndex.updateStatus(vehicleId, newStatus);
+                fleetAggregates.updateStatus(vehicleId, newStatus);
+            }
+            if (newHubId != null) {
+                fleetAggregates.updateFleetHub(vehicleId, newHubId);
+            }
+        });
+
         log.info("Vehicle updated successfully: {}", id);
         return buildDetailResponse(vehicle);
     }
 
+    @Override
+    @Transactional
+    public BulkUpdateResponse bulkUpdateVehicles(BulkUpdateVehicleRequest request) {
+        long start = System.currentTimeMillis();
+        validateBulkUpdate(request);
+
+        UpdateVehicleRequest patch = request.getPatch();
+        List<VehicleBulkRepository.UpdatedVehicle> updated = vehicleBulkRepository.updateVehicles(request);
+        log.info("Bulk update changed {} vehicles", updated.size());
+
+        // Per-vehicle change sets, same shape as single vehicle updates
+        Map<Long, Object> events = new HashMap<>();
+        Map<String, Integer> changedFields = new TreeMap<>();
+        Map<Long, Integer> occupancyDeltas = new TreeMap<>();
+        for (VehicleBulkRepository.UpdatedVehicle old : updated) {
+            Map<String, Object> changes = new HashMap<>();
+            if (patch.getColor() != null && !patch.getColor().equals(old.color())) {
+                changes.put("color", Map.of("old", old.color(), "new", patch.getColor()));
+            }
+            if (patch.getStatus() != null && patch.getStatus() != old.status()) {
+                changes.put("status", Map.of("old", old.status(), "new", patch.getStatus()));
+            }
+            if (patch.getOdometerKm() != null && !patch.getOdometerKm().equals(old.odometerKm())) {
+                Map<String, Object> odometerChange = new HashMap<>();
+                odometerChange.put("old", old.odometerKm());
+                odometerChange.put("new", patch.getOdometerKm());
+                changes.put("odometerKm", odometerChange);
+            }
+            if (patch.getFleetHubId() != null && !patch.getFleetHubId().equals(old.fleetHubId())) {
+                Map<String, Object> hubChange = new HashMap<>();
+                hubChange.put("old", old.fleetHubId());
+                hubChange.put("new", patch.getFleetHubId());
+                changes.put("fleetHubId", hubChange);
+                if (old.fleetHubId() != null) {
+                    occupancyDeltas.merge(old.fleetHubId(), -1, Integer::sum);
+                }
+                occupancyDeltas.merge(patch.getFleetHubId(), 1, Integer::sum);
+            }
+            if (Boolean.TRUE.equals(request.getClearCurrentBookingId())) {
+                if (old.currentBookingId() != null) {
+                    changes.put("currentBookingId", null);
+                }
+            } else if (patch.getCurrentBookingId() != null
+                    && !patch.getCurrentBookingId().equals(old.currentBookingId())) {
+                changes.put("currentBookingId", patch.getCurrentBookingId());
+            }
+            if (Boolean.TRUE.equals(request.getClearCurrentDriverId())) {
+                if (old.currentDriverId() != null) {
+                    changes.put("currentDriverId", null);
+                }
+            } else if (patch.getCurrentDriverId() != null
+                    && !patch.getCurrentDriverId().equals(old.currentDriverId())) {
+                changes.put("currentDriverId", patch.getCurrentDriverId());
+            }
+            changes.keySet().forEach(field -> changedFields.merge(field, 1, Integer::sum));
+            events.put(old.id(), changes);
+        }
+
+        // Occupancy in hub id order; a full destination hub rolls back the whole update
+        occupancyDeltas.forEach((hubId, delta) -> {
+            if (delta > 0) {
+                occupancyService.reserve(hubId, delta);
+            } else if (delta < 0) {
+                occupancyService.release(hubId, -delta);
+            }
+        });
+
+        eventLogService.logEvents(EventType.VEHICLE_UPDATED, events);
+
+        AfterCommit.run(() -> {
+            for (VehicleBulkRepository.UpdatedVehicle old : updated) {
+                if (patch.getStatus() != null && patch.getStatus() != old.status()) {
+                    spatialIndex.updateStatus(old.id(), patch.getStatus());
+                    fleetAggregates.updateStatus(old.id(), patch.getStatus());
+                }
+                if (patch.getFleetHubId() != null && !patch.getFleetHubId().equals(old.fleetHubId())) {
+                    fleetAggregates.updateFleetHub(old.id(), patch.getFleetHubId());
+                }
+            }
+        });
+
+        return BulkUpdateResponse.builder()
+                .updated(updated.size())
+                .vehicleIds(updated.stream().map(VehicleBulkRepository.UpdatedVehicle::id).toList())
+                .changedFields(changedFields)
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
     @Override
     @Transactional
     public void deleteVehicle(Long id) {
@@ -213,6 +436,19 @@ public class VehicleServiceImpl implements VehicleService {
         // Delete vehicle
         vehicleRepository.delete(vehicle);
 
+        // Release the hub slot atomically (last write)
+        if (vehicle.getFleetHub() != null) {
+            occupancyService.release(vehicle.getFleetHub().getId(), 1);
+        }
+
+        AfterCommit.run(() -> {
+            spatialIndex.remove(id);
+            identifierIndex.remove(id);
+            geofenceEngine.forgetVehicle(id);
+            alertRuleEngine.forgetVehicle(id);
+            fleetAggregates.remove(id);
+        });
+
         log.info("Vehicle deleted successfully: {}", id);
     }
 
@@ -243,6 +479,43 @@ public class VehicleServiceImpl implements VehicleService {
                 .collect(Collectors.toList());
     }
 
+    private void validateSearchCriteria(VehicleSearchCriteria criteria) {
+        if (criteria.getMinBattery() != null && criteria.getMaxBattery() != null
+                && criteria.getMinBattery() > criteria.getMaxBattery()) {
+            throw new BusinessValidationException("minBattery must not be greater than maxBattery");
+        }
+    }
+
+    /**
+     * Reject bulk updates without a target or without any change
+     */
+    private void validateBulkUpdate(BulkUpdateVehicleRequest request) {
+        BulkUpdateVehicleRequest.Filter filter = request.getFilter();
+        boolean hasIds = request.getVehicleIds() != null && !request.getVehicleIds().isEmpty();
+        boolean hasFilter = filter != null && (filter.getStatus() != null || filter.getFleetHubId() != null
+                || filter.getModelId() != null || filter.getIsVirtual() != null
+                || filter.getCurrentBookingId() != null || filter.getCurrentDriverId() != null);
+        if (hasIds == hasFilter) {
+            throw new BusinessValidationException("Provide either vehicleIds or a non-empty filter");
+        }
+        if (hasIds && request.getVehicleIds().stream().anyMatch(Objects::isNull)) {
+            throw new BusinessValidationException("vehicleIds must not contain null");
+        }
+
+        UpdateVehicleRequest patch = request.getPatch();
+        boolean hasChange = patch.getColor() != null || patch.getStatus() != null || patch.getOdometerKm() != null
+                || patch.getFleetHubId() != null || patch.getCurrentBookingId() != null
+                || patch.getCurrentDriverId() != null
+                || Boolean.TRUE.equals(request.getClearCurrentBookingId())
+                || Boolean.TRUE.equals(request.getClearCurrentDriverId());
+        if (!hasChange) {
+            throw new BusinessValidationException("Patch does not change any field");
+        }
+        if (patch.getFleetHubId() != null && !fleetHubRepository.existsById(patch.getFleetHubId())) {
+            throw new EntityNotFoundException("FleetHub", patch.getFleetHubId());
+        }
+    }
+
     /**
      * Build detailed response with all related data
      */
@@ -294,11 +567,7 @@ public class VehicleServiceImpl implements VehicleService {
 
                 // Recent events
                 .recentEvents(recentEvents.stream()
-                        .map(event -> VehicleDetailResponse.VehicleEventInfo.builder()
-                                .eventType(event.getEventType().name())
-                                .eventData(event.getEventData())
-                                .occurredAt(event.getOccurredAt())
-                                .build())
+                        .map(this::buildEventInfo)
                         .collect(Collectors.toList()))
 
                 // Timestamps
@@ -307,6 +576,25 @@ public class VehicleServiceImpl implements VehicleService {
                 .build();
     }
 
+    private VehicleDetailResponse.VehicleEventInfo buildEventInfo(VehicleEventLog event) {
+        return VehicleDetailResponse.VehicleEventInfo.builder()
+                .eventType(event.getEventType().name())
+                .eventData(event.getEventData())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+
+    /**
+     * Field name to value, in the requested order
+     */
+    private static Map<String, Object> toFieldMap(List<VehicleField> fields, Object[] row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(fields.get(i).getFieldName(), row[i]);
+        }
+        return values;
+    }
+
     /**
      * Build summary response for list views
      */
@@ -314,6 +602,10 @@ public class VehicleServiceImpl implements VehicleService {
         VehicleState state = vehicleStateRepository.findByVehicleId(vehicle.getId())
                 .orElse(null);
 
+        return buildSummaryResponse(vehicle, state);
+    }
+
+    private VehicleResponse buildSummaryResponse(Vehicle vehicle, VehicleState state) {
         return VehicleResponse.builder()
                 .id(vehicle.getId())
                 .plateNumber(vehicle.getPlateNumber())
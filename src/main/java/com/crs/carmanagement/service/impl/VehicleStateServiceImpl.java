@@ -1,6 +1,10 @@
 package com.crs.carmanagement.service.impl;
 
+import com.crs.carmanagement.alert.AlertRuleEngine;
+import com.crs.carmanagement.alert.StateFix;
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest;
 import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.BatchStateUpdateResponse;
 import com.crs.carmanagement.dto.response.VehicleStateResponse;
 import com.crs.carmanagement.entity.Vehicle;
 import com.crs.carmanagement.entity.VehicleState;
@@ -8,18 +12,30 @@ import com.crs.carmanagement.enums.DataSource;
 import com.crs.carmanagement.enums.EventType;
 import com.crs.carmanagement.exception.BusinessValidationException;
 import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.fleet.FleetAggregates;
+import com.crs.carmanagement.geofence.GeofenceEngine;
+import com.crs.carmanagement.jfr.IngestStageEvent;
 import com.crs.carmanagement.repository.VehicleRepository;
 import com.crs.carmanagement.repository.VehicleStateRepository;
 import com.crs.carmanagement.service.VehicleEventLogService;
 import com.crs.carmanagement.service.VehicleStateService;
+import com.crs.carmanagement.spatial.VehiclePosition;
+import com.crs.carmanagement.spatial.VehicleSpatialIndex;
+import com.crs.carmanagement.transaction.AfterCommit;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Implementation of vehicle state service
@@ -28,35 +44,224 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Observed(name = "vehicle.state.service")
 public class VehicleStateServiceImpl implements VehicleStateService {
 
     private final VehicleRepository vehicleRepository;
     private final VehicleStateRepository vehicleStateRepository;
     private final VehicleEventLogService eventLogService;
+    private final VehicleSpatialIndex spatialIndex;
+    private final GeofenceEngine geofenceEngine;
+    private final AlertRuleEngine alertRuleEngine;
+    private final FleetAggregates fleetAggregates;
 
     @Override
     @Transactional
     public VehicleStateResponse updateVehicleState(Long vehicleId, UpdateVehicleStateRequest request) {
         log.info("Updating state for vehicle ID: {}", vehicleId);
+        DataSource source = request.getDataSource() != null ? request.getDataSource() : DataSource.MANUAL;
 
         // Validate vehicle exists
+        IngestStageEvent stage = IngestStageEvent.start(IngestStageEvent.VEHICLE_LOOKUP);
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new EntityNotFoundException("Vehicle", vehicleId));
+        stage.finish(vehicleId, source);
 
         // Get or create vehicle state
+        stage = IngestStageEvent.start(IngestStageEvent.STATE_LOOKUP);
         VehicleState state = vehicleStateRepository.findByVehicleId(vehicleId)
                 .orElseGet(() -> {
                     log.info("Creating new state for vehicle: {}", vehicleId);
-                    return VehicleState.builder()
-                            .vehicle(vehicle)
-                            .batteryLevel(100)
-                            .isCharging(false)
-                            .speedKmh(0.0)
-                            .odometerKm(vehicle.getOdometerKm())
-                            .dataSource(DataSource.SYSTEM)
-                            .messageSequence(0L)
-                            .build();
+                    return newState(vehicle);
                 });
+        stage.finish(vehicleId, source);
+
+        stage = IngestStageEvent.start(IngestStageEvent.CHANGE_DETECTION);
+        Map<String, Object> changes = applyUpdate(vehicle, state, request);
+        stage.finish(vehicleId, source, changes.size());
+        if (request.getOdometerKm() != null) {
+            stage = IngestStageEvent.start(IngestStageEvent.ODOMETER_SAVE);
+            vehicleRepository.save(vehicle);
+            stage.finish(vehicleId, source);
+        }
+
+        // Save state
+        stage = IngestStageEvent.start(IngestStageEvent.STATE_SAVE);
+        state = vehicleStateRepository.save(state);
+        stage.finish(vehicleId, source);
+
+        stage = IngestStageEvent.start(IngestStageEvent.IN_MEMORY_VIEWS);
+        List<Runnable> viewUpdates = new ArrayList<>(2);
+        afterUpdate(vehicle, state, request, viewUpdates);
+        AfterCommit.run(() -> viewUpdates.forEach(Runnable::run));
+        stage.finish(vehicleId, source);
+
+        // Log event if there were significant changes (Option B)
+        if (!changes.isEmpty()) {
+            stage = IngestStageEvent.start(IngestStageEvent.EVENT_LOG);
+            eventLogService.logEvent(vehicleId, EventType.STATE_UPDATED, changes);
+            stage.finish(vehicleId, source, changes.size());
+        }
+        IngestStageEvent.timeCommit(vehicleId, source, changes.size());
+
+        log.info("Vehicle state updated successfully for vehicle: {}", vehicleId);
+        return buildStateResponse(vehicle, state);
+    }
+
+    @Override
+    @Transactional
+    public int updateVehicleStates(Map<Long, UpdateVehicleStateRequest> requests) {
+        return applyVehicleStates(requests).size();
+    }
+
+    @Override
+    @Transactional
+    public Set<Long> applyVehicleStates(Map<Long, UpdateVehicleStateRequest> requests) {
+        if (requests.isEmpty()) {
+            return Set.of();
+        }
+
+        // Load all states with their vehicles in one query; missing states are created
+        IngestStageEvent stage = IngestStageEvent.start(IngestStageEvent.STATE_LOOKUP);
+        Map<Long, VehicleState> states = new HashMap<>();
+        vehicleStateRepository.findWithVehicleByVehicleIdIn(requests.keySet())
+                .forEach(state -> states.put(state.getVehicle().getId(), state));
+        List<Long> missing = requests.keySet().stream().filter(id -> !states.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            vehicleRepository.findAllById(missing).forEach(vehicle -> states.put(vehicle.getId(), newState(vehicle)));
+        }
+        stage.finish(null, null, requests.size());
+
+        stage = IngestStageEvent.start(IngestStageEvent.CHANGE_DETECTION);
+        Map<Long, Map<String, Object>> events = new HashMap<>();
+        List<VehicleState> newStates = new ArrayList<>();
+        List<VehicleState> applied = new ArrayList<>(requests.size());
+        requests.forEach((vehicleId, request) -> {
+            VehicleState state = states.get(vehicleId);
+            if (state == null) {
+                log.warn("Skipping state update for unknown vehicle: {}", vehicleId);
+                return;
+            }
+            try {
+                Map<String, Object> changes = applyUpdate(state.getVehicle(), state, request);
+                if (!changes.isEmpty()) {
+                    events.put(vehicleId, changes);
+                }
+                if (state.getId() == null) {
+                    newStates.add(state);
+                }
+                applied.add(state);
+            } catch (BusinessValidationException e) {
+                // Rejected before any field was touched, the rest of the batch goes on
+                log.warn("Skipping state update for vehicle {}: {}", vehicleId, e.getMessage());
+            }
+        });
+        stage.finish(null, null, applied.size());
+
+        // Managed states and vehicles are flushed as JDBC batches at commit
+        stage = IngestStageEvent.start(IngestStageEvent.STATE_SAVE);
+        vehicleStateRepository.saveAll(newStates);
+        stage.finish(null, null, newStates.size());
+
+        stage = IngestStageEvent.start(IngestStageEvent.IN_MEMORY_VIEWS);
+        List<Runnable> viewUpdates = new ArrayList<>(applied.size() * 2);
+        for (VehicleState state : applied) {
+            afterUpdate(state.getVehicle(), state, requests.get(state.getVehicle().getId()), viewUpdates);
+        }
+        AfterCommit.run(() -> viewUpdates.forEach(Runnable::run));
+        stage.finish(null, null, applied.size());
+
+        stage = IngestStageEvent.start(IngestStageEvent.EVENT_LOG);
+        eventLogService.logEvents(EventType.STATE_UPDATED, events);
+        stage.finish(null, null, events.size());
+        IngestStageEvent.timeCommit(null, null, applied.size());
+
+        log.debug("Batch state update applied to {} of {} vehicles", applied.size(), requests.size());
+        Set<Long> appliedIds = new LinkedHashSet<>(applied.size());
+        applied.forEach(state -> appliedIds.add(state.getVehicle().getId()));
+        return appliedIds;
+    }
+
+    @Override
+    @Transactional
+    public BatchStateUpdateResponse updateVehicleStates(BatchVehicleStateRequest request) {
+        long start = System.currentTimeMillis();
+
+        Map<Long, UpdateVehicleStateRequest> requests = new LinkedHashMap<>();
+        for (BatchVehicleStateRequest.VehicleStateUpdate update : request.getUpdates()) {
+            requests.put(update.getVehicleId(), update.getState());
+        }
+        int applied = updateVehicleStates(requests);
+
+        return BatchStateUpdateResponse.builder()
+                .received(request.getUpdates().size())
+                .applied(applied)
+                .rejected(request.getUpdates().size() - applied)
+                .durationMs(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    private static VehicleState newState(Vehicle vehicle) {
+        return VehicleState.builder()
+                .vehicle(vehicle)
+                .batteryLevel(100)
+                .isCharging(false)
+                .speedKmh(0.0)
+                .odometerKm(vehicle.getOdometerKm())
+                .dataSource(DataSource.SYSTEM)
+                .messageSequence(0L)
+                .build();
+    }
+
+    /**
+     * Turn an odometer increment into an absolute reading on top of the current odometer,
+     * so the rest of the update (and a retry of it) only sees odometerKm
+     */
+    private static void resolveOdometerIncrement(Vehicle vehicle, VehicleState state,
+            UpdateVehicleStateRequest request) {
+        if (request.getOdometerIncrementKm() == null) {
+            return;
+        }
+        if (request.getOdometerKm() != null) {
+            throw new BusinessValidationException("Send either odometerKm or odometerIncrementKm, not both");
+        }
+        Double current = state.getOdometerKm() != null ? state.getOdometerKm() : vehicle.getOdometerKm();
+        request.setOdometerKm((current != null ? current : 0) + request.getOdometerIncrementKm());
+        request.setOdometerIncrementKm(null);
+    }
+
+    /**
+     * Validate a state update, then copy its fields onto the state (and the vehicle odometer).
+     * Validation runs before anything is modified, so a rejected update leaves both entities untouched.
+     *
+     * @return changed fields for the STATE_UPDATED event (empty if nothing significant changed)
+     */
+    private Map<String, Object> applyUpdate(Vehicle vehicle, VehicleState state, UpdateVehicleStateRequest request) {
+        resolveOdometerIncrement(vehicle, state, request);
+
+        // Validate odometer only increases
+        if (request.getOdometerKm() != null && state.getOdometerKm() != null
+                && request.getOdometerKm() < state.getOdometerKm()) {
+            throw new BusinessValidationException(
+                    "Odometer cannot decrease. Current: " + state.getOdometerKm() + ", New: "
+                            + request.getOdometerKm());
+        }
+
+        if (request.getMessageSequence() != null) {
+            // Only validate message sequence for real external sources (RabbitMQ)
+            // Skip validation for VIRTUAL_CAR simulator to allow restarts
+            boolean isExternalSource = request.getDataSource() != null
+                    && request.getDataSource() != DataSource.VIRTUAL_CAR
+                    && request.getDataSource() != DataSource.MANUAL;
+
+            if (isExternalSource && state.getMessageSequence() != null
+                    && request.getMessageSequence() <= state.getMessageSequence()) {
+                log.warn("Ignoring out-of-order message. Current: {}, New: {}",
+                        state.getMessageSequence(), request.getMessageSequence());
+                throw new BusinessValidationException(
+                        "Message sequence must be greater than current sequence: " + state.getMessageSequence());
+            }
+        }
 
         // Track changes for event logging
         Map<String, Object> changes = new HashMap<>();
@@ -95,12 +300,6 @@ public class VehicleStateServiceImpl implements VehicleStateService {
         }
 
         if (request.getOdometerKm() != null) {
-            // Validate odometer only increases
-            if (state.getOdometerKm() != null && request.getOdometerKm() < state.getOdometerKm()) {
-                throw new BusinessValidationException(
-                        "Odometer cannot decrease. Current: " + state.getOdometerKm() + ", New: "
-                                + request.getOdometerKm());
-            }
             if (!request.getOdometerKm().equals(state.getOdometerKm())) {
                 changes.put("odometerKm", Map.of("old", state.getOdometerKm(), "new", request.getOdometerKm()));
             }
@@ -108,7 +307,6 @@ public class VehicleStateServiceImpl implements VehicleStateService {
 
             // Also update vehicle's odometer
             vehicle.setOdometerKm(request.getOdometerKm());
-            vehicleRepository.save(vehicle);
         }
 
         // Update Option B tracking fields
@@ -122,36 +320,51 @@ public class VehicleStateServiceImpl implements VehicleStateService {
         }
 
         if (request.getMessageSequence() != null) {
-            // Only validate message sequence for real external sources (RabbitMQ)
-            // Skip validation for VIRTUAL_CAR simulator to allow restarts
-            boolean isExternalSource = request.getDataSource() != null
-                    && request.getDataSource() != DataSource.VIRTUAL_CAR
-                    && request.getDataSource() != DataSource.MANUAL;
-
-            if (isExternalSource && state.getMessageSequence() != null
-                    && request.getMessageSequence() <= state.getMessageSequence()) {
-                log.warn("Ignoring out-of-order message. Current: {}, New: {}",
-                        state.getMessageSequence(), request.getMessageSequence());
-                throw new BusinessValidationException(
-                        "Message sequence must be greater than current sequence: " + state.getMessageSequence());
-            }
             state.setMessageSequence(request.getMessageSequence());
         }
 
-        // Save state
-        state = vehicleStateRepository.save(state);
-
-        // Log event if there were significant changes (Option B)
         if (!changes.isEmpty()) {
             changes.put("dataSource", state.getDataSource().name());
             if (state.getMessageSequence() != null) {
                 changes.put("messageSequence", state.getMessageSequence());
             }
-            eventLogService.logEvent(vehicleId, EventType.STATE_UPDATED, changes);
         }
+        return changes;
+    }
 
-        log.info("Vehicle state updated successfully for vehicle: {}", vehicleId);
-        return buildStateResponse(vehicle, state);
+    /**
+     * Run geofence / alert evaluation for a saved state (their events join the transaction)
+     * and queue the in-memory view updates, which are applied once it commits
+     */
+    private void afterUpdate(Vehicle vehicle, VehicleState state, UpdateVehicleStateRequest request,
+            List<Runnable> viewUpdates) {
+        Long vehicleId = vehicle.getId();
+        VehiclePosition position = VehiclePosition.of(vehicle, state);
+        viewUpdates.add(() -> spatialIndex.update(position));
+        if (request.getBatteryLevel() != null || request.getIsCharging() != null) {
+            Integer batteryLevel = state.getBatteryLevel();
+            Boolean isCharging = state.getIsCharging();
+            viewUpdates.add(() -> fleetAggregates.updateBattery(vehicleId, batteryLevel, isCharging));
+        }
+
+        // Evaluate geofences for incoming positions (Option B: GEOFENCE_VIOLATION events)
+        boolean hasPosition = request.getLatitude() != null || request.getLongitude() != null;
+        if (hasPosition) {
+            geofenceEngine.onPositionUpdate(vehicleId,
+                    vehicle.getFleetHub() != null ? vehicle.getFleetHub().getId() : null,
+                    state.getLatitude(), state.getLongitude());
+        }
+
+        // Evaluate alert rules (LOW_BATTERY_ALERT, ANOMALY_DETECTED) on the sender's clock,
+        // so time-compressed simulator and replay streams are judged in simulated time
+        alertRuleEngine.onStateUpdate(new StateFix(
+                vehicleId,
+                hasPosition ? state.getLatitude() : null,
+                hasPosition ? state.getLongitude() : null,
+                request.getBatteryLevel(),
+                request.getSpeedKmh(),
+                request.getOdometerKm(),
+                request.getRecordedAtEpochMs() != null ? request.getRecordedAtEpochMs() : System.currentTimeMillis()));
     }
 
     @Override
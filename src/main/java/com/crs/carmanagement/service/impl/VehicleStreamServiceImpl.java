@@ -0,0 +1,130 @@
+package com.crs.carmanagement.service.impl;
+
+import com.crs.carmanagement.dto.response.VehicleResponse;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.exception.EntityNotFoundException;
+import com.crs.carmanagement.exception.ServiceUnavailableException;
+import com.crs.carmanagement.repository.FleetHubRepository;
+import com.crs.carmanagement.repository.VehicleCursorRepository;
+import com.crs.carmanagement.service.VehicleStreamService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Writes vehicle listings straight from a JDBC cursor to the response with
+ * Jackson's streaming generator: no entity or list is materialised, so time to
+ * first byte and heap use stay flat however many vehicles match.
+ *
+ * A stream keeps its read transaction and pooled connection until the last row is
+ * written, so at most vehicle-stream.max-concurrent streams run at once (more get
+ * 503) and a stream is cut off after vehicle-stream.max-duration-seconds.
+ */
+@Service
+@Slf4j
+public class VehicleStreamServiceImpl implements VehicleStreamService {
+
+    // Push written rows to the client every FLUSH_EVERY vehicles
+    private static final int FLUSH_EVERY = 500;
+
+    private final VehicleCursorRepository vehicleCursorRepository;
+    private final FleetHubRepository fleetHubRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore streams;
+    private final long maxDurationNanos;
+
+    public VehicleStreamServiceImpl(VehicleCursorRepository vehicleCursorRepository,
+            FleetHubRepository fleetHubRepository, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${vehicle-stream.max-concurrent:4}") int maxConcurrent,
+            @Value("${vehicle-stream.max-duration-seconds:300}") long maxDurationSeconds) {
+        this.vehicleCursorRepository = vehicleCursorRepository;
+        this.fleetHubRepository = fleetHubRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.streams = new Semaphore(maxConcurrent);
+        this.maxDurationNanos = TimeUnit.SECONDS.toNanos(maxDurationSeconds);
+    }
+
+    @Override
+    public StreamingResponseBody streamVehiclesByStatus(VehicleStatus status) {
+        return stream(consumer -> vehicleCursorRepository.forEachByStatus(status, consumer),
+                count -> String.format("Found %d vehicles with status %s", count, status));
+    }
+
+    @Override
+    public StreamingResponseBody streamVehiclesByFleetHub(Long hubId) {
+        // Validated before the response is committed, so a missing hub is still a 404
+        if (!fleetHubRepository.existsById(hubId)) {
+            throw new EntityNotFoundException("FleetHub", hubId);
+        }
+        return stream(consumer -> vehicleCursorRepository.forEachByFleetHub(hubId, consumer),
+                count -> String.format("Found %d vehicles in hub %d", count, hubId));
+    }
+
+    /**
+     * Write {"success":true,"data":[...],"message":...,"timestamp":...} row by row.
+     * The message comes after the data because the count is only known at the end.
+     * The permit is taken before anything is written, so a rejected stream is still a 503.
+     */
+    private StreamingResponseBody stream(Consumer<Consumer<VehicleResponse>> source, LongFunction<String> message) {
+        return output -> {
+            if (!streams.tryAcquire()) {
+                throw new ServiceUnavailableException("Too many vehicle streams in progress, retry later");
+            }
+            long started = System.currentTimeMillis();
+            long deadline = System.nanoTime() + maxDurationNanos;
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeArrayFieldStart("data");
+
+                long[] count = {0};
+                try {
+                    readOnlyTransaction.executeWithoutResult(tx -> source.accept(vehicle -> {
+                        try {
+                            if (System.nanoTime() - deadline > 0) {
+                                throw new IOException("Stream exceeded " + TimeUnit.NANOSECONDS.toSeconds(maxDurationNanos)
+                                        + " s after " + count[0] + " vehicles");
+                            }
+                            generator.writeObject(vehicle);
+                            if (++count[0] % FLUSH_EVERY == 0) {
+                                generator.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+                } catch (UncheckedIOException e) {
+                    // Client went away or too slow; the cursor and transaction are already closed
+                    log.warn("Vehicle stream aborted: {}", e.getCause().getMessage());
+                    throw e.getCause();
+                }
+
+                generator.writeEndArray();
+                generator.writeStringField("message", message.apply(count[0]));
+                generator.writeObjectField("timestamp", LocalDateTime.now());
+                generator.writeEndObject();
+                log.debug("Streamed {} vehicles in {} ms", count[0], System.currentTimeMillis() - started);
+            } finally {
+                streams.release();
+            }
+        };
+    }
+}
@@ -0,0 +1,380 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.dto.request.AcceleratedRunRequest;
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.AcceleratedRunReport;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStateService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One accelerated fleet run: a discrete-event simulation on a virtual clock.
+ * Instead of advancing every vehicle each tick, every vehicle has its next events in
+ * a priority queue ordered by virtual time:
+ * - FIX: one movement / charging step (VehicleDynamics) every update interval while
+ *   IN_USE or CHARGING; parked vehicles only wake up for their heartbeat
+ * - STATUS_CHECK: the live simulator's 5% chance per status change interval, drawn
+ *   directly as the time of the next check, then the same transition rules
+ * The clock jumps from event to event, paced to timeScale simulated seconds per wall
+ * second (0 = as fast as possible). Changed vehicles are persisted in batches of
+ * batchSize on a single writer thread (so a vehicle's writes stay in order) while the
+ * engine keeps going; at most two batches wait, which bounds memory when the database
+ * is the bottleneck.
+ */
+@Slf4j
+public class AcceleratedRun implements Runnable {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    // Longest single park, so a stop request is noticed quickly
+    private static final long MAX_PARK_NANOS = 100_000_000L;
+    // Largest id list accepted by a single bulk vehicle update
+    private static final int STATUS_CHUNK_SIZE = 10000;
+
+    private static final byte FIX = 0;
+    private static final byte STATUS_CHECK = 1;
+
+    private final AcceleratedRunRequest request;
+    private final VehicleStateService vehicleStateService;
+    private final VehicleService vehicleService;
+    private final long seed;
+    private final long updateIntervalMs;
+    private final long statusChangeIntervalMs;
+    private final long heartbeatIntervalMs;
+    private final long durationMs;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    // Engine state, only touched by the run thread
+    private final List<VirtualVehicle> vehicles;
+    private final int[] fixGeneration;
+    private final boolean[] dirty;
+    private final List<Integer> dirtyVehicles = new ArrayList<>();
+    private final Map<Long, VehicleStatus> pendingStatus = new LinkedHashMap<>();
+    private final PriorityQueue<Event> events = new PriorityQueue<>(
+            Comparator.comparingLong(Event::time).thenComparingLong(Event::sequence));
+    private final SplittableRandom random;
+    private long eventSequence;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("accelerated-writer").daemon().factory());
+    private final Semaphore pendingWrites = new Semaphore(2);
+
+    private final LongAdder eventsProcessed = new LongAdder();
+    private final LongAdder statesPersisted = new LongAdder();
+    private final LongAdder batchesWritten = new LongAdder();
+    private final LongAdder statusChanges = new LongAdder();
+    private final LongAdder tripsStarted = new LongAdder();
+    private final LongAdder chargeSessions = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+    private volatile String lastError;
+    private volatile long virtualTimeMs;
+    // Wall time of virtual time 0; fixes are stamped with it plus the virtual time
+    private volatile long virtualEpochMs = System.currentTimeMillis();
+
+    private volatile boolean stopRequested;
+    private volatile boolean finished;
+    private volatile long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    public AcceleratedRun(AcceleratedRunRequest request, List<SimulatedVehicle> fleet, long seed,
+            long updateIntervalMs, long statusChangeIntervalMs, long heartbeatIntervalMs,
+            VehicleStateService vehicleStateService, VehicleService vehicleService) {
+        this.request = request;
+        this.vehicleStateService = vehicleStateService;
+        this.vehicleService = vehicleService;
+        this.seed = seed;
+        this.updateIntervalMs = Math.max(1, updateIntervalMs);
+        this.statusChangeIntervalMs = Math.max(1, statusChangeIntervalMs);
+        this.heartbeatIntervalMs = Math.max(1, heartbeatIntervalMs);
+        this.durationMs = (long) (request.getSimulatedHours() * 3_600_000L);
+        this.random = new SplittableRandom(seed);
+
+        this.vehicles = new ArrayList<>(fleet.size());
+        for (SimulatedVehicle snapshot : fleet) {
+            vehicles.add(new VirtualVehicle(snapshot, 0));
+        }
+        this.fixGeneration = new int[vehicles.size()];
+        this.dirty = new boolean[vehicles.size()];
+    }
+
+    @Override
+    public void run() {
+        try {
+            startNanos = System.nanoTime();
+            virtualEpochMs = System.currentTimeMillis();
+            for (int i = 0; i < vehicles.size(); i++) {
+                // Spread the first fixes over one period, like devices that did not boot together
+                scheduleFix(i, random.nextLong(fixPeriod(vehicles.get(i).getStatus())));
+                scheduleStatusCheck(i, 0);
+            }
+
+            Event event;
+            while (!stopRequested && (event = events.poll()) != null && event.time() <= durationMs) {
+                pace(event.time());
+                virtualTimeMs = event.time();
+                if (event.type() == FIX) {
+                    onFix(event);
+                } else {
+                    onStatusCheck(event);
+                }
+                eventsProcessed.increment();
+            }
+            if (!stopRequested) {
+                virtualTimeMs = durationMs;
+            }
+            flushStates();
+            flushStatuses();
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            log.error("Accelerated simulation aborted", e);
+        } finally {
+            writer.shutdown();
+            awaitWriter();
+            endNanos = System.nanoTime();
+            finished = true;
+            log.info("Accelerated simulation finished: {} h simulated in {} s, {} events, {} states persisted, "
+                            + "{} status changes",
+                    String.format("%.1f", virtualTimeMs / 3_600_000.0),
+                    TimeUnit.NANOSECONDS.toSeconds(endNanos - startNanos), eventsProcessed.sum(),
+                    statesPersisted.sum(), statusChanges.sum());
+        }
+    }
+
+    /**
+     * Stop processing events; changes made so far are still persisted
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public AcceleratedRunReport report() {
+        long elapsedNanos = (finished ? endNanos : System.nanoTime()) - startNanos;
+        double elapsedSeconds = Math.max(1e-9, elapsedNanos / 1e9);
+        long virtualMs = virtualTimeMs;
+        LoadTestReport.Status status = !finished ? LoadTestReport.Status.RUNNING
+                : stopRequested ? LoadTestReport.Status.STOPPED : LoadTestReport.Status.COMPLETED;
+
+        return AcceleratedRunReport.builder()
+                .status(status)
+                .vehicleCount(vehicles.size())
+                .seed(seed)
+                .timeScale(request.getTimeScale())
+                .simulatedHours(request.getSimulatedHours())
+                .startedAt(startedAt)
+                .elapsedSeconds(elapsedSeconds)
+                .virtualHours(virtualMs / 3_600_000.0)
+                .progressPercent(durationMs > 0 ? Math.min(100.0, virtualMs * 100.0 / durationMs) : 100.0)
+                .achievedTimeScale(virtualMs / 1000.0 / elapsedSeconds)
+                .eventsProcessed(eventsProcessed.sum())
+                .eventsPerSecond(eventsProcessed.sum() / elapsedSeconds)
+                .statesPersisted(statesPersisted.sum())
+                .batchesWritten(batchesWritten.sum())
+                .statusChanges(statusChanges.sum())
+                .tripsStarted(tripsStarted.sum())
+                .chargeSessions(chargeSessions.sum())
+                .writeErrors(writeErrors.sum())
+                .lastError(lastError)
+                .build();
+    }
+
+    private void onFix(Event event) {
+        int index = event.vehicle();
+        if (event.generation() != fixGeneration[index]) {
+            // Superseded by a status change that rescheduled the vehicle
+            return;
+        }
+        VirtualVehicle vehicle = vehicles.get(index);
+        if (!VehicleDynamics.step(vehicle, random)) {
+            return;
+        }
+        if (VehicleDynamics.isDepleted(vehicle)) {
+            changeStatus(index, VehicleStatus.CHARGING);
+        }
+        markDirty(index);
+        scheduleFix(index, event.time() + fixPeriod(vehicle.getStatus()));
+    }
+
+    private void onStatusCheck(Event event) {
+        int index = event.vehicle();
+        VirtualVehicle vehicle = vehicles.get(index);
+        VehicleStatus newStatus = VehicleDynamics.nextStatus(vehicle, random);
+        if (newStatus != null) {
+            changeStatus(index, newStatus);
+            // Next step follows the new status' rhythm (e.g. a parked car starting a trip)
+            fixGeneration[index]++;
+            scheduleFix(index, event.time() + fixPeriod(newStatus));
+        }
+        if (isSimulated(vehicle.getStatus())) {
+            scheduleStatusCheck(index, event.time());
+        }
+    }
+
+    private void changeStatus(int index, VehicleStatus newStatus) {
+        VirtualVehicle vehicle = vehicles.get(index);
+        vehicle.setStatus(newStatus);
+        statusChanges.increment();
+        if (newStatus == VehicleStatus.IN_USE) {
+            tripsStarted.increment();
+        } else if (newStatus == VehicleStatus.CHARGING) {
+            chargeSessions.increment();
+        }
+
+        // Two pending changes of one vehicle would collapse into one, so write the first out
+        if (pendingStatus.containsKey(vehicle.getVehicleId())) {
+            flushStatuses();
+        }
+        pendingStatus.put(vehicle.getVehicleId(), newStatus);
+        if (pendingStatus.size() >= STATUS_CHUNK_SIZE) {
+            flushStatuses();
+        }
+    }
+
+    private void markDirty(int index) {
+        if (!dirty[index]) {
+            dirty[index] = true;
+            dirtyVehicles.add(index);
+            if (dirtyVehicles.size() >= request.getBatchSize()) {
+                flushStates();
+            }
+        }
+    }
+
+    /**
+     * Hand the changed fields of every dirty vehicle to the writer as one batch
+     */
+    private void flushStates() {
+        if (dirtyVehicles.isEmpty()) {
+            return;
+        }
+        Map<Long, UpdateVehicleStateRequest> batch = new LinkedHashMap<>();
+        for (int index : dirtyVehicles) {
+            dirty[index] = false;
+            VirtualVehicle vehicle = vehicles.get(index);
+            UpdateVehicleStateRequest delta = vehicle.takeDelta(virtualTimeMs, heartbeatIntervalMs);
+            if (delta != null) {
+                delta.setRecordedAtEpochMs(virtualEpochMs + virtualTimeMs);
+                batch.put(vehicle.getVehicleId(), delta);
+            }
+        }
+        dirtyVehicles.clear();
+        if (!batch.isEmpty()) {
+            write(() -> statesPersisted.add(vehicleStateService.updateVehicleStates(batch)));
+        }
+    }
+
+    private void flushStatuses() {
+        if (pendingStatus.isEmpty()) {
+            return;
+        }
+        Map<VehicleStatus, List<Long>> byStatus = new EnumMap<>(VehicleStatus.class);
+        pendingStatus.forEach((vehicleId, status) ->
+                byStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(vehicleId));
+        pendingStatus.clear();
+        byStatus.forEach((status, ids) -> write(() -> vehicleService.bulkUpdateVehicles(
+                BulkUpdateVehicleRequest.builder()
+                        .vehicleIds(ids)
+                        .patch(UpdateVehicleRequest.builder().status(status).build())
+                        .build())));
+    }
+
+    /**
+     * Queue a write on the writer thread, waiting while two writes are already queued
+     */
+    private void write(Runnable write) {
+        pendingWrites.acquireUninterruptibly();
+        writer.execute(() -> {
+            try {
+                write.run();
+                batchesWritten.increment();
+            } catch (Exception e) {
+                writeErrors.increment();
+                lastError = e.getMessage();
+                log.error("❌ Error persisting accelerated simulation batch: {}", e.getMessage());
+            } finally {
+                pendingWrites.release();
+            }
+        });
+    }
+
+    /**
+     * Wait until the wall clock catches up with the event's virtual time;
+     * pending changes are written out first so the database follows the run closely
+     */
+    private void pace(long eventTimeMs) {
+        double timeScale = request.getTimeScale();
+        if (timeScale <= 0) {
+            return;
+        }
+        long due = startNanos + (long) (eventTimeMs * NANOS_PER_MILLI / timeScale);
+        if (due - System.nanoTime() <= 0) {
+            return;
+        }
+        flushStates();
+        flushStatuses();
+        long remaining;
+        while (!stopRequested && (remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+        }
+    }
+
+    private void scheduleFix(int index, long time) {
+        events.add(new Event(time, eventSequence++, FIX, index, fixGeneration[index]));
+    }
+
+    /**
+     * Each status change interval a vehicle is checked with 5% probability, so the
+     * number of intervals until the next check is geometric
+     */
+    private void scheduleStatusCheck(int index, long after) {
+        double u = random.nextDouble();
+        long intervals = 1 + (long) Math.floor(Math.log1p(-u)
+                / Math.log1p(-VehicleDynamics.STATUS_CHANGE_PROBABILITY));
+        events.add(new Event(after + intervals * statusChangeIntervalMs, eventSequence++, STATUS_CHECK, index, 0));
+    }
+
+    private long fixPeriod(VehicleStatus status) {
+        // Parked vehicles do not change, they only need their heartbeat
+        return status == VehicleStatus.AVAILABLE ? heartbeatIntervalMs : updateIntervalMs;
+    }
+
+    private static boolean isSimulated(VehicleStatus status) {
+        return status == VehicleStatus.AVAILABLE || status == VehicleStatus.IN_USE
+                || status == VehicleStatus.CHARGING;
+    }
+
+    private void awaitWriter() {
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.MINUTES)) {
+                log.warn("Accelerated simulation writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Event(long time, long sequence, byte type, int vehicle, int generation) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.crs.carmanagement.simulator;
+
+import java.util.Set;
+
+/**
+ * Vehicle partitions a simulator node currently owns.
+ * A vehicle belongs to partition (id mod partitions). Writes are only allowed
+ * while the leases are known to be held (validUntilNanos, on System.nanoTime());
+ * version changes whenever the owned set changes.
+ */
+public record PartitionAssignment(int partitions, Set<Integer> owned, long version, long validUntilNanos) {
+
+    /**
+     * Single node: every vehicle, forever
+     */
+    public static final PartitionAssignment ALL = new PartitionAssignment(1, Set.of(0), 0, Long.MAX_VALUE);
+
+    public boolean isAll() {
+        return owned.size() == partitions;
+    }
+
+    public boolean owns(long vehicleId) {
+        return owned.contains((int) Math.floorMod(vehicleId, (long) partitions));
+    }
+
+    public boolean isValid(long nowNanos) {
+        return validUntilNanos == Long.MAX_VALUE || nowNanos - validUntilNanos < 0;
+    }
+}
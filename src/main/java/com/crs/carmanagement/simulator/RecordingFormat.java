@@ -0,0 +1,37 @@
+package com.crs.carmanagement.simulator;
+
+/**
+ * Binary layout of a simulator recording (all numbers big-endian, DataOutput encoding).
+ * <pre>
+ * header : int MAGIC, short VERSION, boolean seeded, long seed, int shards,
+ *          long updateIntervalMs, long createdAtEpochMs
+ * frame  : byte TICK, long tick, long clockMs, int count, count x fix
+ *        | byte STATUS, long tick, UTF status, int count, count x long vehicleId
+ * fix    : long vehicleId, long messageSequence, byte fieldMask,
+ *          [double latitude, double longitude] [byte battery] [double speed] [double odometer]
+ * </pre>
+ * Fields absent from a delta are not written; isCharging lives in the mask.
+ * Since version 2 the odometer is the distance driven since the vehicle's previous
+ * reading, so a replay adds it to whatever odometer the target database holds;
+ * version 1 files carry absolute readings.
+ * A file cut short (e.g. the process was killed) is read up to its last complete frame.
+ */
+final class RecordingFormat {
+
+    static final int MAGIC = 0x43525353; // "CRSS"
+    static final short VERSION = 2;
+    static final short ABSOLUTE_ODOMETER_VERSION = 1;
+
+    static final byte TICK = 1;
+    static final byte STATUS = 2;
+
+    static final int POSITION = 1;
+    static final int BATTERY = 1 << 1;
+    static final int CHARGING = 1 << 2;
+    static final int CHARGING_ON = 1 << 3;
+    static final int SPEED = 1 << 4;
+    static final int ODOMETER = 1 << 5;
+
+    private RecordingFormat() {
+    }
+}
@@ -0,0 +1,13 @@
+package com.crs.carmanagement.simulator;
+
+/**
+ * Source of the vehicle partitions this simulator node may simulate
+ */
+@FunctionalInterface
+public interface ShardOwnership {
+
+    /**
+     * Current assignment (never null)
+     */
+    PartitionAssignment assignment();
+}
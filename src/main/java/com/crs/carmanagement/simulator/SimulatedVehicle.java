@@ -0,0 +1,19 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+
+/**
+ * Status and last known state of a virtual vehicle, as read by the simulator
+ */
+public record SimulatedVehicle(
+        Long vehicleId,
+        String plateNumber,
+        VehicleStatus status,
+        Double latitude,
+        Double longitude,
+        Integer batteryLevel,
+        Boolean isCharging,
+        Double speedKmh,
+        Double odometerKm,
+        Long messageSequence) {
+}
@@ -0,0 +1,146 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.enums.VehicleStatus;
+import lombok.Getter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.crs.carmanagement.simulator.RecordingFormat.*;
+
+/**
+ * Appends the fix stream of a running simulation to a recording file.
+ * Written from the simulator tick after all shards finished, in shard order, so
+ * a seeded run produces the same file every time.
+ * Odometers are written as increments over the last reading of the vehicle (taken
+ * from the loaded world or an earlier fix), so replaying the file does not depend
+ * on the odometers of the database it was recorded against.
+ */
+public class SimulationRecorder implements Closeable {
+
+    @Getter
+    private final Path file;
+    private final DataOutputStream out;
+    @Getter
+    private long fixes;
+    @Getter
+    private long ticks;
+
+    // Last odometer reading per vehicle, the base of its next increment
+    private final Map<Long, Double> odometers = new HashMap<>();
+    private SimulationWorld baseline;
+
+    public SimulationRecorder(Path file, Long seed, int shards, long updateIntervalMs) throws IOException {
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeBoolean(seed != null);
+        out.writeLong(seed != null ? seed : 0);
+        out.writeInt(shards);
+        out.writeLong(updateIntervalMs);
+        out.writeLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Take the odometers of a (re)loaded world as the base of the next increments.
+     * Called before every tick; does nothing while the world stays the same.
+     */
+    public synchronized void startFrom(SimulationWorld world) {
+        if (world == baseline) {
+            return;
+        }
+        baseline = world;
+        for (VirtualVehicle vehicle : world.vehicles()) {
+            if (vehicle.getOdometerKm() != null) {
+                odometers.put(vehicle.getVehicleId(), vehicle.getOdometerKm());
+            }
+        }
+    }
+
+    /**
+     * Record the deltas emitted in one tick
+     */
+    public synchronized void writeTick(long tick, long clockMs, List<VehicleStateUpdate> updates) throws IOException {
+        out.writeByte(TICK);
+        out.writeLong(tick);
+        out.writeLong(clockMs);
+        out.writeInt(updates.size());
+        for (VehicleStateUpdate update : updates) {
+            writeFix(update);
+        }
+        ticks++;
+        fixes += updates.size();
+    }
+
+    /**
+     * Record a status change applied to some vehicles in one tick
+     */
+    public synchronized void writeStatusChange(long tick, VehicleStatus status, List<Long> vehicleIds)
+            throws IOException {
+        out.writeByte(STATUS);
+        out.writeLong(tick);
+        out.writeUTF(status.name());
+        out.writeInt(vehicleIds.size());
+        for (Long vehicleId : vehicleIds) {
+            out.writeLong(vehicleId);
+        }
+    }
+
+    private void writeFix(VehicleStateUpdate update) throws IOException {
+        UpdateVehicleStateRequest state = update.getState();
+        int mask = 0;
+        if (state.getLatitude() != null && state.getLongitude() != null) {
+            mask |= POSITION;
+        }
+        if (state.getBatteryLevel() != null) {
+            mask |= BATTERY;
+        }
+        if (state.getIsCharging() != null) {
+            mask |= CHARGING | (state.getIsCharging() ? CHARGING_ON : 0);
+        }
+        if (state.getSpeedKmh() != null) {
+            mask |= SPEED;
+        }
+        Double odometerIncrement = null;
+        if (state.getOdometerKm() != null) {
+            // Without an earlier reading the increment is unknown; the fix is recorded without it
+            Double previous = odometers.put(update.getVehicleId(), state.getOdometerKm());
+            if (previous != null) {
+                odometerIncrement = Math.max(0, state.getOdometerKm() - previous);
+                mask |= ODOMETER;
+            }
+        }
+
+        out.writeLong(update.getVehicleId());
+        out.writeLong(state.getMessageSequence() != null ? state.getMessageSequence() : 0);
+        out.writeByte(mask);
+        if ((mask & POSITION) != 0) {
+            out.writeDouble(state.getLatitude());
+            out.writeDouble(state.getLongitude());
+        }
+        if ((mask & BATTERY) != 0) {
+            out.writeByte(state.getBatteryLevel());
+        }
+        if ((mask & SPEED) != 0) {
+            out.writeDouble(state.getSpeedKmh());
+        }
+        if ((mask & ODOMETER) != 0) {
+            out.writeDouble(odometerIncrement);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,148 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.enums.DataSource;
+import com.crs.carmanagement.enums.VehicleStatus;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.crs.carmanagement.simulator.RecordingFormat.*;
+
+/**
+ * Reads a recording written by SimulationRecorder, one frame at a time
+ */
+public class SimulationRecordingReader implements Closeable {
+
+    private final DataInputStream in;
+    private final Header header;
+    private final short version;
+
+    public SimulationRecordingReader(Path file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a simulator recording: " + file.getFileName());
+            }
+            version = in.readShort();
+            if (version != VERSION && version != ABSOLUTE_ODOMETER_VERSION) {
+                throw new IOException("Unsupported recording version " + version);
+            }
+            boolean seeded = in.readBoolean();
+            long seed = in.readLong();
+            this.header = new Header(seeded ? seed : null, in.readInt(), in.readLong(), in.readLong());
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public Header header() {
+        return header;
+    }
+
+    /**
+     * Next frame, or null at the end of the recording (including a truncated last frame)
+     */
+    public Frame next() throws IOException {
+        try {
+            int type = in.read();
+            if (type < 0) {
+                return null;
+            }
+            return switch (type) {
+                case TICK -> readTick();
+                case STATUS -> readStatus();
+                default -> throw new IOException("Corrupt recording: unknown frame type " + type);
+            };
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private TickFrame readTick() throws IOException {
+        long tick = in.readLong();
+        long clockMs = in.readLong();
+        int count = in.readInt();
+        List<VehicleStateUpdate> updates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            updates.add(readFix());
+        }
+        return new TickFrame(tick, clockMs, updates);
+    }
+
+    private StatusFrame readStatus() throws IOException {
+        long tick = in.readLong();
+        VehicleStatus status = VehicleStatus.valueOf(in.readUTF());
+        int count = in.readInt();
+        List<Long> vehicleIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vehicleIds.add(in.readLong());
+        }
+        return new StatusFrame(tick, status, vehicleIds);
+    }
+
+    private VehicleStateUpdate readFix() throws IOException {
+        long vehicleId = in.readLong();
+        UpdateVehicleStateRequest state = new UpdateVehicleStateRequest();
+        state.setDataSource(DataSource.VIRTUAL_CAR);
+        state.setMessageSequence(in.readLong());
+        int mask = in.readUnsignedByte();
+        if ((mask & POSITION) != 0) {
+            state.setLatitude(in.readDouble());
+            state.setLongitude(in.readDouble());
+        }
+        if ((mask & BATTERY) != 0) {
+            state.setBatteryLevel(in.readUnsignedByte());
+        }
+        if ((mask & CHARGING) != 0) {
+            state.setIsCharging((mask & CHARGING_ON) != 0);
+        }
+        if ((mask & SPEED) != 0) {
+            state.setSpeedKmh(in.readDouble());
+        }
+        if ((mask & ODOMETER) != 0) {
+            if (version == ABSOLUTE_ODOMETER_VERSION) {
+                state.setOdometerKm(in.readDouble());
+            } else {
+                state.setOdometerIncrementKm(in.readDouble());
+            }
+        }
+        return new VehicleStateUpdate(vehicleId, state);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Recording parameters (seed is null for an unseeded run)
+     */
+    public record Header(Long seed, int shards, long updateIntervalMs, long createdAtEpochMs) {
+    }
+
+    public sealed interface Frame permits TickFrame, StatusFrame {
+        long tick();
+    }
+
+    /**
+     * State deltas emitted in one tick
+     */
+    public record TickFrame(long tick, long clockMs, List<VehicleStateUpdate> updates) implements Frame {
+    }
+
+    /**
+     * Status change applied to some vehicles in one tick (after the tick's deltas)
+     */
+    public record StatusFrame(long tick, VehicleStatus status, List<Long> vehicleIds) implements Frame {
+    }
+}
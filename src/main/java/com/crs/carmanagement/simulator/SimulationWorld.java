@@ -0,0 +1,67 @@
+package com.crs.carmanagement.simulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The simulator's in-memory fleet: every virtual vehicle loaded from the database,
+ * split into shards by vehicle ID so a vehicle always belongs to the same shard.
+ * Built once per resync; ticks advance the vehicles in place without reading the database.
+ */
+public class SimulationWorld {
+
+    private final List<List<VirtualVehicle>> shards;
+    private final Map<Long, VirtualVehicle> vehicles;
+
+    private SimulationWorld(List<List<VirtualVehicle>> shards, Map<Long, VirtualVehicle> vehicles) {
+        this.shards = shards;
+        this.vehicles = vehicles;
+    }
+
+    /**
+     * Build a world from a database snapshot (in snapshot order within each shard)
+     *
+     * @param loadedAt simulator clock time of the load
+     */
+    public static SimulationWorld load(List<SimulatedVehicle> snapshot, int shardCount, long loadedAt) {
+        List<List<VirtualVehicle>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>(snapshot.size() / shardCount + 1));
+        }
+        Map<Long, VirtualVehicle> vehicles = new HashMap<>(snapshot.size() * 2);
+        for (SimulatedVehicle row : snapshot) {
+            VirtualVehicle vehicle = new VirtualVehicle(row, loadedAt);
+            shards.get(shardOf(row.vehicleId(), shardCount)).add(vehicle);
+            vehicles.put(row.vehicleId(), vehicle);
+        }
+        return new SimulationWorld(shards, vehicles);
+    }
+
+    static int shardOf(Long vehicleId, int shardCount) {
+        return (int) Math.floorMod(vehicleId, (long) shardCount);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public List<VirtualVehicle> shard(int shard) {
+        return Collections.unmodifiableList(shards.get(shard));
+    }
+
+    public Collection<VirtualVehicle> vehicles() {
+        return Collections.unmodifiableCollection(vehicles.values());
+    }
+
+    public VirtualVehicle get(Long vehicleId) {
+        return vehicles.get(vehicleId);
+    }
+
+    public int size() {
+        return vehicles.size();
+    }
+}
@@ -0,0 +1,194 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.repository.SimulatorLeaseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits the simulated vehicles across several service instances sharing one database.
+ *
+ * Vehicles are grouped into simulator.cluster.partitions partitions (id mod partitions),
+ * and each node leases a disjoint set of them in simulator_partition_lease. Every
+ * renew interval a node heartbeats, renews its leases and rebalances towards its fair
+ * share (partitions / live nodes, the remainder going to the first nodes by id):
+ * nodes above their share release partitions, nodes below claim free or expired ones.
+ * A joining node therefore gets its share within a couple of intervals, a node that
+ * stops releases everything, and the partitions of a crashed node are claimed once
+ * its leases expire.
+ *
+ * Writes are fenced locally: an assignment is only valid for lease-ttl minus one renew
+ * interval after its last successful renewal, well before another node may claim the
+ * partitions, so a node cut off from the database stops writing before its vehicles move.
+ * With clustering disabled the node owns every vehicle.
+ */
+@Component
+@Slf4j
+public class SimulatorClusterCoordinator implements ShardOwnership, MeterBinder {
+
+    private final SimulatorLeaseRepository leaseRepository;
+    private final SimulatorConfig.Cluster cluster;
+    private final String nodeId;
+    private ScheduledExecutorService executor;
+
+    private volatile PartitionAssignment assignment;
+    private volatile Map<Integer, Long> epochs = Map.of();
+    private volatile List<String> liveNodes = List.of();
+    private volatile String lastError;
+
+    public SimulatorClusterCoordinator(SimulatorLeaseRepository leaseRepository, SimulatorConfig config) {
+        this.leaseRepository = leaseRepository;
+        this.cluster = config.getCluster();
+        this.nodeId = cluster.getNodeId() != null ? cluster.getNodeId()
+                : cluster.isEnabled() ? defaultNodeId() : "standalone";
+        this.assignment = cluster.isEnabled()
+                ? new PartitionAssignment(cluster.getPartitions(), Set.of(), 0, System.nanoTime())
+                : PartitionAssignment.ALL;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        leaseRepository.createPartitions(cluster.getPartitions());
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("simulator-cluster").daemon().factory());
+        executor.scheduleWithFixedDelay(this::rebalance, 0, cluster.getRenewIntervalMs(), TimeUnit.MILLISECONDS);
+        log.info("Simulator cluster node {} started ({} partitions, lease {} ms)", nodeId, cluster.getPartitions(),
+                cluster.getLeaseTtlMs());
+    }
+
+    /**
+     * Release every lease so the other nodes take over right away
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+            leaseRepository.leave(nodeId);
+            log.info("Simulator cluster node {} left, partitions released", nodeId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not release simulator partitions of {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @Override
+    public PartitionAssignment assignment() {
+        return assignment;
+    }
+
+    /**
+     * One coordination round: heartbeat, renew, then release or claim towards the fair share
+     */
+    public synchronized void rebalance() {
+        long started = System.nanoTime();
+        try {
+            long ttl = cluster.getLeaseTtlMs();
+            int partitions = cluster.getPartitions();
+            leaseRepository.heartbeat(nodeId, ttl);
+            Map<Integer, Long> owned = new TreeMap<>(leaseRepository.renew(nodeId, ttl, partitions));
+
+            List<String> nodes = leaseRepository.findLiveNodes(ttl);
+            int rank = Math.max(0, nodes.indexOf(nodeId));
+            int nodeCount = Math.max(1, nodes.size());
+            int share = partitions / nodeCount + (rank < partitions % nodeCount ? 1 : 0);
+
+            if (owned.size() > share) {
+                List<Integer> excess = new ArrayList<>(owned.keySet()).subList(share, owned.size());
+                leaseRepository.release(nodeId, excess);
+                excess.forEach(owned::remove);
+            } else if (owned.size() < share) {
+                owned.putAll(leaseRepository.claim(nodeId, ttl, partitions, share - owned.size()));
+            }
+
+            update(owned, nodes, started);
+            lastError = null;
+        } catch (Exception e) {
+            // Keep the current assignment; it stops being valid once its leases may have expired
+            lastError = e.getMessage();
+            log.warn("Simulator cluster round failed for {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Node id, live nodes, owned partitions with their epochs and lease validity
+     */
+    public Map<String, Object> getStats() {
+        PartitionAssignment current = assignment;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", cluster.isEnabled());
+        stats.put("nodeId", nodeId);
+        stats.put("partitions", current.partitions());
+        stats.put("liveNodes", liveNodes);
+        stats.put("ownedPartitions", new TreeSet<>(current.owned()));
+        stats.put("epochs", new TreeMap<>(epochs));
+        stats.put("assignmentVersion", current.version());
+        stats.put("valid", current.isValid(System.nanoTime()));
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("simulator.cluster.partitions.owned", this, coordinator -> coordinator.assignment.owned().size())
+                .description("Vehicle partitions simulated by this node (1 when clustering is disabled)")
+                .register(registry);
+        Gauge.builder("simulator.cluster.nodes.live", this, coordinator -> coordinator.liveNodes.size())
+                .description("Live simulator nodes seen in the last round")
+                .register(registry);
+        Gauge.builder("simulator.cluster.assignment.valid", this,
+                        coordinator -> coordinator.assignment.isValid(System.nanoTime()) ? 1 : 0)
+                .description("1 while the partition leases may be written, 0 when fenced")
+                .register(registry);
+    }
+
+    private void update(Map<Integer, Long> owned, List<String> nodes, long renewedAt) {
+        PartitionAssignment previous = assignment;
+        Set<Integer> ownedIds = Set.copyOf(owned.keySet());
+        boolean changed = !ownedIds.equals(previous.owned()) || !epochs.equals(owned);
+        long validity = TimeUnit.MILLISECONDS.toNanos(cluster.getLeaseTtlMs() - cluster.getRenewIntervalMs());
+        assignment = new PartitionAssignment(cluster.getPartitions(), ownedIds,
+                changed ? previous.version() + 1 : previous.version(), renewedAt + validity);
+        epochs = Map.copyOf(owned);
+        liveNodes = List.copyOf(nodes);
+        if (changed) {
+            log.info("Simulator node {} now owns {} of {} partitions ({} live nodes)", nodeId, ownedIds.size(),
+                    cluster.getPartitions(), nodes.size());
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
@@ -0,0 +1,221 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.loadgen.LatencyHistogram;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives the simulator ticks on its own scheduler thread instead of the shared
+ * Spring scheduler, so a slow tick neither delays the reconcile jobs nor queues up
+ * silently behind them.
+ *
+ * Ticks are planned on a fixed-rate grid of simulator.update-interval-ms. Every tick
+ * is timed; when one runs past the next planned start it counts as an overrun and
+ * simulator.overrun-policy decides how the grid recovers. Tick duration and start
+ * lag go into histograms, and a summary line is logged every
+ * simulator.summary-log-interval-ms instead of one line per tick.
+ * The same counters are published as simulator.tick.* meters.
+ */
+@Component
+@Slf4j
+public class SimulatorTickScheduler implements MeterBinder {
+
+    private static final long INITIAL_DELAY_MS = 10000;
+
+    private final VirtualCarSimulator simulator;
+    private final SimulatorConfig config;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("simulator-tick").daemon().factory());
+
+    private final LatencyHistogram tickDurations = new LatencyHistogram();
+    private final LatencyHistogram startLags = new LatencyHistogram();
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+    private final LongAdder skippedTicks = new LongAdder();
+    private final LongAdder vehiclesSimulated = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private volatile double lastVehiclesPerSecond;
+    private volatile long startedAtNanos;
+
+    // Only touched by the scheduler thread
+    private long plannedStart;
+    private final Window window = new Window();
+
+    public SimulatorTickScheduler(VirtualCarSimulator simulator, SimulatorConfig config) {
+        this.simulator = simulator;
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        startedAtNanos = System.nanoTime();
+        plannedStart = startedAtNanos + TimeUnit.MILLISECONDS.toNanos(INITIAL_DELAY_MS);
+        window.reset(plannedStart);
+        executor.schedule(this::tick, INITIAL_DELAY_MS, TimeUnit.MILLISECONDS);
+        log.info("Simulator tick scheduler started (interval {} ms, overrun policy {})",
+                config.getUpdateIntervalMs(), config.getOverrunPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Tick counts, overruns, tick duration / start lag percentiles (ms) and throughput
+     */
+    public Map<String, Object> getStats() {
+        long busy = busyNanos.sum();
+        long vehicles = vehiclesSimulated.sum();
+        long elapsed = startedAtNanos > 0 ? System.nanoTime() - startedAtNanos : 0;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("updateIntervalMs", config.getUpdateIntervalMs());
+        stats.put("overrunPolicy", config.getOverrunPolicy());
+        stats.put("ticks", ticks.sum());
+        stats.put("overruns", overruns.sum());
+        stats.put("skippedTicks", skippedTicks.sum());
+        stats.put("vehiclesSimulated", vehicles);
+        stats.put("lastVehiclesPerSecond", lastVehiclesPerSecond);
+        stats.put("avgVehiclesPerSecond", busy > 0 ? vehicles * 1e9 / busy : 0.0);
+        // Share of wall time spent inside ticks; close to 1 means no headroom left
+        stats.put("utilization", elapsed > 0 ? (double) busy / elapsed : 0.0);
+        stats.put("tickDurationMs", tickDurations.summary());
+        stats.put("startLagMs", startLags.summary());
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("simulator.tick", this, scheduler -> scheduler.ticks.sum(),
+                        scheduler -> scheduler.busyNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Simulator ticks and the time spent in them")
+                .register(registry);
+        FunctionCounter.builder("simulator.tick.overruns", overruns, LongAdder::sum)
+                .description("Ticks that ran past the next planned start")
+                .register(registry);
+        FunctionCounter.builder("simulator.tick.skipped", skippedTicks, LongAdder::sum)
+                .description("Ticks dropped by the overrun policy")
+                .register(registry);
+        FunctionCounter.builder("simulator.vehicles.simulated", vehiclesSimulated, LongAdder::sum)
+                .description("Vehicle steps simulated")
+                .register(registry);
+        TimeGauge.builder("simulator.tick.duration.p99", tickDurations, TimeUnit.MICROSECONDS,
+                        histogram -> histogram.percentile(99))
+                .description("99th percentile tick duration since start")
+                .register(registry);
+        TimeGauge.builder("simulator.tick.start.lag.p99", startLags, TimeUnit.MICROSECONDS,
+                        histogram -> histogram.percentile(99))
+                .description("99th percentile delay of tick starts behind the grid since start")
+                .register(registry);
+    }
+
+    private void tick() {
+        long started = System.nanoTime();
+        startLags.record((started - plannedStart) / 1000);
+
+        int simulated = 0;
+        try {
+            simulated = simulator.simulateVehicles();
+        } catch (Exception e) {
+            log.error("❌ Error in simulator tick", e);
+        }
+
+        long finished = System.nanoTime();
+        long duration = finished - started;
+        long interval = TimeUnit.MILLISECONDS.toNanos(Math.max(1, config.getUpdateIntervalMs()));
+        TickOverrunPolicy.NextTick next = config.getOverrunPolicy()
+                .next(plannedStart, finished, interval, config.getMaxCatchUpTicks());
+        boolean overrun = finished > plannedStart + interval;
+
+        ticks.increment();
+        busyNanos.add(duration);
+        vehiclesSimulated.add(simulated);
+        tickDurations.record(duration / 1000);
+        lastVehiclesPerSecond = duration > 0 ? simulated * 1e9 / duration : 0;
+        if (overrun) {
+            overruns.increment();
+            skippedTicks.add(next.skippedTicks());
+        }
+        window.add(duration, simulated, overrun, next.skippedTicks());
+        if (overrun && window.overruns == 1) {
+            // First overrun of the summary window, the rest are counted in the summary
+            log.warn("⚠ Simulator tick took {} ms, longer than the {} ms interval ({}, {} ticks skipped)",
+                    TimeUnit.NANOSECONDS.toMillis(duration), config.getUpdateIntervalMs(),
+                    config.getOverrunPolicy(), next.skippedTicks());
+        }
+        if (finished - window.startedAt >= TimeUnit.MILLISECONDS.toNanos(config.getSummaryLogIntervalMs())) {
+            logSummary(finished);
+        }
+
+        plannedStart = next.startNanos();
+        try {
+            executor.schedule(this::tick, Math.max(0, plannedStart - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private void logSummary(long now) {
+        if (window.ticks > 0) {
+            log.info("🚗 SIMULATOR | {} ticks in {} s | {} vehicles/s | tick avg {} ms, max {} ms | "
+                            + "{} overruns, {} skipped | world {} vehicles",
+                    window.ticks, TimeUnit.NANOSECONDS.toSeconds(now - window.startedAt),
+                    window.busyNanos > 0 ? window.vehicles * 1_000_000_000L / window.busyNanos : 0,
+                    TimeUnit.NANOSECONDS.toMillis(window.busyNanos / window.ticks),
+                    TimeUnit.NANOSECONDS.toMillis(window.maxNanos),
+                    window.overruns, window.skipped, simulator.getWorldSize());
+        }
+        window.reset(now);
+    }
+
+    /**
+     * Counters of the current summary log window
+     */
+    private static final class Window {
+        private long startedAt;
+        private long ticks;
+        private long vehicles;
+        private long busyNanos;
+        private long maxNanos;
+        private long overruns;
+        private long skipped;
+
+        void add(long duration, int simulated, boolean overrun, long skippedTicks) {
+            ticks++;
+            vehicles += simulated;
+            busyNanos += duration;
+            maxNanos = Math.max(maxNanos, duration);
+            if (overrun) {
+                overruns++;
+                skipped += skippedTicks;
+            }
+        }
+
+        void reset(long now) {
+            startedAt = now;
+            ticks = 0;
+            vehicles = 0;
+            busyNanos = 0;
+            maxNanos = 0;
+            overruns = 0;
+            skipped = 0;
+        }
+    }
+}
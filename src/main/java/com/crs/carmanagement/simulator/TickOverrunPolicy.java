@@ -0,0 +1,51 @@
+package com.crs.carmanagement.simulator;
+
+/**
+ * What the simulator scheduler does when a tick runs past the start of the next one.
+ * Ticks are planned on a fixed-rate grid (start, start + interval, ...).
+ */
+public enum TickOverrunPolicy {
+
+    /**
+     * Drop the slots that were missed and start on the next slot of the grid,
+     * so an overloaded simulator lowers its tick rate instead of piling up work
+     */
+    SKIP,
+
+    /**
+     * Run the missed ticks back to back until the grid is caught up again
+     * (at most simulator.max-catch-up-ticks behind; older slots are dropped)
+     */
+    CATCH_UP,
+
+    /**
+     * Start the next tick right after the overrunning one and move the grid with it,
+     * so the interval stretches to the tick duration while overloaded
+     */
+    STRETCH;
+
+    /**
+     * Plan the next tick after one planned at plannedStart finished at finished (nanos)
+     */
+    public NextTick next(long plannedStart, long finished, long intervalNanos, int maxCatchUpTicks) {
+        long next = plannedStart + intervalNanos;
+        if (finished <= next) {
+            return new NextTick(next, 0);
+        }
+        long behind = (finished - next) / intervalNanos;
+        return switch (this) {
+            case SKIP -> new NextTick(next + (behind + 1) * intervalNanos, behind + 1);
+            case CATCH_UP -> {
+                long dropped = Math.max(0, behind - Math.max(0, maxCatchUpTicks - 1));
+                yield new NextTick(next + dropped * intervalNanos, dropped);
+            }
+            case STRETCH -> new NextTick(finished, 0);
+        };
+    }
+
+    /**
+     * Planned start of the next tick and the number of grid slots dropped to get there
+     */
+    public record NextTick(long startNanos, long skippedTicks) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.SplittableRandom;
+
+/**
+ * Movement, battery drain, charging and status transition rules of a simulated
+ * vehicle, shared by the live tick simulator and the accelerated discrete-event run.
+ * One step is one update interval of simulator time.
+ */
+@Slf4j
+final class VehicleDynamics {
+
+    // Movement parameters
+    static final double LATITUDE_STEP = 0.001; // ~111 meters per step
+    static final double LONGITUDE_STEP = 0.001; // ~111 meters per step
+    static final double MAX_SPEED = 80.0; // km/h
+    static final double BATTERY_DRAIN_RATE = 0.5; // % per update when moving
+    static final double CHARGING_RATE = 2.0; // % per update when charging
+
+    // Chance that a vehicle is checked for a status change at each status change interval
+    static final double STATUS_CHANGE_PROBABILITY = 0.05;
+
+    private VehicleDynamics() {
+    }
+
+    /**
+     * Advance a single vehicle one step based on its current status
+     *
+     * @return false when the status is not simulated
+     */
+    static boolean step(VirtualVehicle vehicle, SplittableRandom random) {
+        switch (vehicle.getStatus()) {
+            case IN_USE -> move(vehicle, random);
+            case CHARGING -> charge(vehicle);
+            case AVAILABLE -> park(vehicle);
+            default -> {
+                // Don't simulate MAINTENANCE / DAMAGED / other statuses
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Simulate a vehicle that is currently moving (IN_USE)
+     */
+    static void move(VirtualVehicle vehicle, SplittableRandom random) {
+        // Random movement direction
+        double latChange = (random.nextBoolean() ? 1 : -1) * LATITUDE_STEP * random.nextDouble();
+        double lonChange = (random.nextBoolean() ? 1 : -1) * LONGITUDE_STEP * random.nextDouble();
+
+        double newLat = (vehicle.getLatitude() != null ? vehicle.getLatitude() : 10.762622) + latChange;
+        double newLon = (vehicle.getLongitude() != null ? vehicle.getLongitude() : 106.660172) + lonChange;
+
+        // Keep within HCM City bounds (approximately)
+        newLat = Math.max(10.6, Math.min(10.9, newLat));
+        newLon = Math.max(106.5, Math.min(106.9, newLon));
+        vehicle.setPosition(newLat, newLon);
+
+        // Random speed between 20-80 km/h
+        double speed = 20 + random.nextDouble() * 60;
+        vehicle.setSpeedKmh(speed);
+
+        // Drain battery based on speed
+        int currentBattery = vehicle.getBatteryLevel() != null ? vehicle.getBatteryLevel() : 100;
+        double batteryDrain = BATTERY_DRAIN_RATE * (speed / MAX_SPEED);
+        int newBattery = Math.max(0, (int) (currentBattery - batteryDrain));
+        vehicle.setBatteryLevel(newBattery);
+        vehicle.setCharging(false);
+
+        // Increase odometer (5 seconds at current speed)
+        double odometerIncrease = speed / 720.0; // km in 5 seconds
+        double currentOdometer = vehicle.getOdometerKm() != null ? vehicle.getOdometerKm() : 0;
+        vehicle.setOdometerKm(currentOdometer + odometerIncrease);
+
+        log.debug("  🚙 {} [IN_USE] | GPS: ({}, {}) | Speed: {} km/h | Battery: {}% | Odo: {} km",
+                vehicle.getPlateNumber(), newLat, newLon, speed, newBattery, vehicle.getOdometerKm());
+    }
+
+    /**
+     * Simulate a vehicle that is charging
+     */
+    static void charge(VirtualVehicle vehicle) {
+        // Vehicle doesn't move while charging
+        vehicle.setSpeedKmh(0.0);
+
+        // Increase battery
+        int currentBattery = vehicle.getBatteryLevel() != null ? vehicle.getBatteryLevel() : 0;
+        int newBattery = Math.min(100, (int) (currentBattery + CHARGING_RATE));
+        vehicle.setBatteryLevel(newBattery);
+        vehicle.setCharging(true);
+
+        log.debug("  🔌 {} [CHARGING] | Battery: {}% → {}%", vehicle.getPlateNumber(), currentBattery, newBattery);
+    }
+
+    /**
+     * Simulate a parked/available vehicle (no battery drain, nothing to send unless it just parked)
+     */
+    static void park(VirtualVehicle vehicle) {
+        // Vehicle doesn't move, battery and odometer stay the same
+        vehicle.setSpeedKmh(0.0);
+        vehicle.setCharging(false);
+
+        log.debug("  {} [AVAILABLE] | Battery: {}% (stable) | Parked at ({}, {})",
+                vehicle.getPlateNumber(), vehicle.getBatteryLevel(), vehicle.getLatitude(), vehicle.getLongitude());
+    }
+
+    /**
+     * A moving vehicle with an empty battery must switch to CHARGING right away
+     */
+    static boolean isDepleted(VirtualVehicle vehicle) {
+        return vehicle.getStatus() == VehicleStatus.IN_USE && vehicle.getBatteryLevel() != null
+                && vehicle.getBatteryLevel() == 0;
+    }
+
+    /**
+     * Randomly pick the next vehicle status based on current state
+     *
+     * @return the new status, or null to keep the current one
+     */
+    static VehicleStatus nextStatus(VirtualVehicle vehicle, SplittableRandom random) {
+        int batteryLevel = vehicle.getBatteryLevel() != null ? vehicle.getBatteryLevel() : 0;
+
+        switch (vehicle.getStatus()) {
+            case AVAILABLE:
+                // CRITICAL: If battery is 0%, force charging immediately
+                if (batteryLevel == 0) {
+                    log.debug(" CRITICAL: Vehicle {} battery at 0%! Status: AVAILABLE → CHARGING",
+                            vehicle.getPlateNumber());
+                    return VehicleStatus.CHARGING;
+                }
+                // Available → IN_USE (someone rented it) - only if battery > 20%
+                if (batteryLevel > 20) {
+                    log.debug(" Vehicle {} rented! Status: AVAILABLE → IN_USE", vehicle.getPlateNumber());
+                    return VehicleStatus.IN_USE;
+                }
+                return null;
+
+            case IN_USE:
+                // CRITICAL: If battery is 0%, force charging immediately
+                if (batteryLevel == 0) {
+                    log.debug(" CRITICAL: Vehicle {} battery at 0%! Forcing CHARGING status",
+                            vehicle.getPlateNumber());
+                    return VehicleStatus.CHARGING;
+                }
+                // If battery < 30%, needs charging
+                if (batteryLevel < 30) {
+                    log.debug(" Vehicle {} needs charging! Status: IN_USE → CHARGING", vehicle.getPlateNumber());
+                    return VehicleStatus.CHARGING;
+                }
+                // Random trip completion
+                if (random.nextBoolean()) {
+                    log.debug(" Vehicle {} returned! Status: IN_USE → AVAILABLE", vehicle.getPlateNumber());
+                    return VehicleStatus.AVAILABLE;
+                }
+                return null;
+
+            case CHARGING:
+                // CHARGING → AVAILABLE when fully charged
+                if (batteryLevel >= 95) {
+                    log.debug("⚡ Vehicle {} fully charged! Status: CHARGING → AVAILABLE", vehicle.getPlateNumber());
+                    return VehicleStatus.AVAILABLE;
+                }
+                return null;
+
+            default:
+                return null;
+        }
+    }
+}
@@ -1,318 +1,499 @@
 package com.crs.carmanagement.simulator;
 
 import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
 import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
-import com.crs.carmanagement.entity.Vehicle;
 import com.crs.carmanagement.enums.DataSource;
 import com.crs.carmanagement.enums.VehicleStatus;
-import com.crs.carmanagement.repository.VehicleRepository;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.VehicleService;
 import com.crs.carmanagement.service.VehicleStateService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Virtual Car Simulator - Simulates real-time vehicle movement
  * Updates GPS, battery, speed automatically every few seconds
- * 
+ *
+ * The fleet lives in an in-memory SimulationWorld loaded once from the database
+ * and advanced in memory every tick; only changed fields are sent to the state
+ * ingestion path, and the world is reloaded on demand or every simulator.resync-interval-ms.
+ * With simulator.seed set the run is deterministic (seeded generators, logical
+ * tick clock, per-vehicle message sequences), and the emitted fix stream can be
+ * recorded to a compact binary file and replayed (see SimulationRecordingService and ReplayRun).
+ * Vehicles are partitioned into shards by ID; each shard runs on its own virtual
+ * thread with its own SplittableRandom and persists its updates in batches of
+ * simulator.batch-size (one transaction per batch), so one tick scales to ~100k cars.
+ * With simulator.cluster.enabled, only the vehicle partitions leased by this node
+ * (SimulatorClusterCoordinator) are loaded, the world is reloaded whenever the
+ * assignment changes, and nothing is written once the leases may have expired.
+ * Ticks are driven and timed by SimulatorTickScheduler; per-vehicle logging is
+ * DEBUG only, each tick reports counts instead.
+ *
  * IMPORTANT: This is for TESTING/DEMO purposes only!
  * In production, real vehicles would send data via RabbitMQ
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class VirtualCarSimulator {
 
-    private final VehicleRepository vehicleRepository;
+    // Largest id list accepted by a single bulk vehicle update
+    private static final int STATUS_CHUNK_SIZE = 10000;
+
+    private final VehicleStateRepository vehicleStateRepository;
     private final VehicleStateService vehicleStateService;
+    private final VehicleService vehicleService;
     private final SimulatorConfig config;
-    private final Random random = new Random();
-    private final AtomicLong messageSequence = new AtomicLong(1);
+    private final ShardOwnership ownership;
+    private final ExecutorService shardExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // One generator per shard, only ever used by that shard's task (reseeded on resync when seeded)
+    private final SplittableRandom[] shardRandoms;
+    private SplittableRandom statusRandom;
+
+    // Null until the first tick (or after a failed write) loads it
+    private volatile SimulationWorld world;
+    private long worldLoadedAtMs;
+    // Partition assignment the world was loaded for
+    private volatile PartitionAssignment worldAssignment = PartitionAssignment.ALL;
+
+    // Logical clock: ticks since the world was loaded; simulator time = tick x update interval
+    private long tick;
 
-    // Movement parameters
-    private static final double LATITUDE_STEP = 0.001; // ~111 meters per step
-    private static final double LONGITUDE_STEP = 0.001; // ~111 meters per step
-    private static final double MAX_SPEED = 80.0; // km/h
-    private static final double BATTERY_DRAIN_RATE = 0.5; // % per update when moving
-    private static final double CHARGING_RATE = 2.0; // % per update when charging
+    // Wall time of tick 0, the origin of the timestamps on emitted fixes
+    private volatile long clockOriginMs;
+
+    private SimulationRecorder recorder;
 
     /**
-     * Main simulation loop - runs based on configured interval
-     * Updates configured virtual vehicles
+     * Single-node simulator owning every virtual vehicle
      */
-    @Scheduled(fixedRateString = "${simulator.update-interval-ms:5000}", initialDelay = 10000)
-    public void simulateVehicles() {
-        // Check if simulator is enabled
-        if (!config.isEnabled()) {
-            return;
+    public VirtualCarSimulator(VehicleStateRepository vehicleStateRepository,
+            VehicleStateService vehicleStateService,
+            VehicleService vehicleService,
+            SimulatorConfig config) {
+        this(vehicleStateRepository, vehicleStateService, vehicleService, config, () -> PartitionAssignment.ALL);
+    }
+
+    @Autowired
+    public VirtualCarSimulator(VehicleStateRepository vehicleStateRepository,
+            VehicleStateService vehicleStateService,
+            VehicleService vehicleService,
+            SimulatorConfig config,
+            ShardOwnership ownership) {
+        this.vehicleStateRepository = vehicleStateRepository;
+        this.vehicleStateService = vehicleStateService;
+        this.vehicleService = vehicleService;
+        this.config = config;
+        this.ownership = ownership;
+        this.shardRandoms = new SplittableRandom[Math.max(1, config.getShards())];
+        seedRandoms();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        shardExecutor.shutdownNow();
+        stopRecording();
+    }
+
+    /**
+     * Reload the in-memory world from the database and restart the logical clock.
+     * A seeded simulator also reseeds its generators, so the run from here on only
+     * depends on the seed and the database state.
+     *
+     * @return number of virtual vehicles loaded
+     */
+    public synchronized int resync() {
+        long start = System.currentTimeMillis();
+        if (config.isDeterministic()) {
+            seedRandoms();
         }
+        tick = 0;
+        PartitionAssignment assignment = ownership.assignment();
+        List<SimulatedVehicle> snapshot;
+        if (assignment.isAll()) {
+            snapshot = vehicleStateRepository.findAllSimulated();
+        } else if (assignment.owned().isEmpty()) {
+            snapshot = List.of();
+        } else {
+            snapshot = vehicleStateRepository.findAllSimulatedInPartitions(assignment.partitions(),
+                    assignment.owned().stream().map(Integer::longValue).toList());
+        }
+        SimulationWorld loaded = SimulationWorld.load(snapshot, shardRandoms.length, 0);
+        world = loaded;
+        worldAssignment = assignment;
+        worldLoadedAtMs = start;
+        clockOriginMs = start;
+        log.info("Simulator world loaded with {} virtual vehicles in {} ms", loaded.size(),
+                System.currentTimeMillis() - start);
+        return loaded.size();
+    }
 
+    /**
+     * Drop the in-memory world after the database was changed behind the simulator's
+     * back (e.g. by an accelerated run); the next tick reloads it
+     */
+    public void invalidateWorld() {
+        world = null;
+    }
+
+    /**
+     * Vehicles in the in-memory world (0 when not loaded yet)
+     */
+    public int getWorldSize() {
+        SimulationWorld current = world;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Start recording the emitted fix stream to a file in the recording directory
+     */
+    public synchronized Path startRecording(String fileName) throws IOException {
+        if (recorder != null) {
+            throw new BusinessValidationException("Already recording to " + recorder.getFile().getFileName());
+        }
+        Path file = recordingPath(fileName);
+        Files.createDirectories(file.getParent());
+        recorder = new SimulationRecorder(file, config.getSeed(), shardRandoms.length, config.getUpdateIntervalMs());
+        log.info("Recording simulator fixes to {}", file);
+        return file;
+    }
+
+    /**
+     * Stop recording
+     *
+     * @return the closed recorder (file, ticks, fixes), or null when not recording
+     */
+    public synchronized SimulationRecorder stopRecording() {
+        SimulationRecorder stopped = recorder;
+        if (stopped == null) {
+            return null;
+        }
+        recorder = null;
         try {
-            // Get all virtual vehicles
-            List<Vehicle> virtualVehicles = vehicleRepository.findByIsVirtual(true);
+            stopped.close();
+            log.info("Recorded {} ticks / {} fixes to {}", stopped.getTicks(), stopped.getFixes(), stopped.getFile());
+        } catch (IOException e) {
+            log.error("❌ Error closing recording {}: {}", stopped.getFile(), e.getMessage());
+        }
+        return stopped;
+    }
 
-            // Filter by configured vehicle IDs
-            List<Vehicle> vehiclesToSimulate = virtualVehicles.stream()
-                    .filter(v -> config.shouldSimulate(v.getId()))
-                    .toList();
+    /**
+     * Resolve a recording file name inside the recording directory (no paths allowed)
+     */
+    public Path recordingPath(String fileName) {
+        if (fileName == null || !fileName.matches("[A-Za-z0-9._-]+") || fileName.startsWith(".")) {
+            throw new BusinessValidationException("Recording file name may only contain letters, digits, '.', '_' "
+                    + "and '-'");
+        }
+        return recordingDirectory().resolve(fileName);
+    }
 
-            if (vehiclesToSimulate.isEmpty()) {
-                return;
+    public Path recordingDirectory() {
+        return Path.of(config.getRecordingDir()).toAbsolutePath();
+    }
+
+    /**
+     * One simulation tick, called by SimulatorTickScheduler every update interval.
+     * Advances the configured virtual vehicles in memory, one task per shard.
+     * Random status changes run every status-change-interval-ms on the same logical
+     * clock, after the tick's updates.
+     *
+     * @return number of vehicles simulated
+     */
+    public synchronized int simulateVehicles() {
+        // Check if simulator is enabled
+        if (!config.isEnabled()) {
+            return 0;
+        }
+
+        if (!ownership.assignment().isValid(System.nanoTime())) {
+            // Cluster node without (renewed) leases yet, nothing it may write
+            return 0;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            SimulationWorld current = currentWorld(start);
+            tick++;
+            long clock = tick * config.getUpdateIntervalMs();
+            boolean recording = recorder != null;
+            if (recording) {
+                recorder.startFrom(current);
             }
 
-            log.info("\n" + "=".repeat(80));
-            log.info("🚗 SIMULATOR UPDATE | {} vehicles active | Interval: {}ms",
-                    vehiclesToSimulate.size(), config.getUpdateIntervalMs());
-            log.info("=".repeat(80));
+            List<Future<ShardResult>> futures = new ArrayList<>(current.shardCount());
+            for (int shard = 0; shard < current.shardCount(); shard++) {
+                List<VirtualVehicle> vehicles = current.shard(shard);
+                SplittableRandom random = shardRandoms[shard];
+                futures.add(shardExecutor.submit(() -> simulateShard(vehicles, random, clock, recording)));
+            }
 
-            for (Vehicle vehicle : vehiclesToSimulate) {
-                try {
-                    simulateSingleVehicle(vehicle);
-                } catch (Exception e) {
-                    log.error("❌ Error simulating vehicle {}: {}", vehicle.getId(), e.getMessage());
-                }
+            int simulated = 0;
+            int persisted = 0;
+            boolean failed = false;
+            List<VehicleStateUpdate> emitted = new ArrayList<>();
+            List<Long> depleted = new ArrayList<>();
+            for (Future<ShardResult> future : futures) {
+                ShardResult result = future.get();
+                simulated += result.simulated();
+                persisted += result.persisted();
+                failed |= result.failed();
+                emitted.addAll(result.emitted());
+                depleted.addAll(result.depleted());
+            }
+            if (recording) {
+                record(recorder -> {
+                    recorder.writeTick(tick, clock, emitted);
+                    if (!depleted.isEmpty()) {
+                        recorder.writeStatusChange(tick, VehicleStatus.CHARGING, depleted);
+                    }
+                });
             }
 
-            log.info("-".repeat(80) + "\n");
+            long statusEveryTicks = Math.max(1, config.getStatusChangeIntervalMs() / config.getUpdateIntervalMs());
+            int statusChanges = 0;
+            if (tick % statusEveryTicks == 0) {
+                statusChanges = randomStatusChanges(current);
+                failed |= statusChanges < 0;
+            }
 
+            if (failed) {
+                // The database no longer matches the world, reload it on the next tick
+                world = null;
+            }
+            if (!depleted.isEmpty()) {
+                log.warn(" CRITICAL: {} vehicles with depleted battery forced to CHARGING", depleted.size());
+            }
+            log.debug("🚗 SIMULATOR UPDATE | tick {} | {} vehicles simulated, {} updates persisted, "
+                            + "{} status changes | {} shards | {} ms",
+                    tick, simulated, persisted, Math.max(0, statusChanges), current.shardCount(),
+                    System.currentTimeMillis() - start);
+            return simulated;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("❌ Error in vehicle simulation shard", e.getCause());
         } catch (Exception e) {
             log.error("❌ Error in vehicle simulation loop", e);
         }
+        return 0;
     }
 
     /**
-     * Simulate a single vehicle based on its current status
+     * Loaded world, reloading it first when missing or older than the resync interval
+     * (seeded runs only reload on demand, so the run stays reproducible)
      */
-    private void simulateSingleVehicle(Vehicle vehicle) {
-        UpdateVehicleStateRequest request = new UpdateVehicleStateRequest();
-        request.setDataSource(DataSource.VIRTUAL_CAR);
-        request.setMessageSequence(messageSequence.getAndIncrement());
-
-        switch (vehicle.getStatus()) {
-            case IN_USE:
-                simulateMovingVehicle(vehicle, request);
-                break;
-
-            case CHARGING:
-                simulateChargingVehicle(vehicle, request);
-                break;
-
-            case AVAILABLE:
-                simulateParkedVehicle(vehicle, request);
-                break;
-
-            case MAINTENANCE:
-            case DAMAGED:
-                // Don't simulate these statuses
-                return;
-
-            default:
-                return;
+    private SimulationWorld currentWorld(long now) {
+        SimulationWorld current = world;
+        long resyncInterval = config.isDeterministic() ? 0 : config.getResyncIntervalMs();
+        if (current == null || ownership.assignment().version() != worldAssignment.version()
+                || (resyncInterval > 0 && now - worldLoadedAtMs >= resyncInterval)) {
+            resync();
+            current = world;
         }
-
-        // Update vehicle state
-        vehicleStateService.updateVehicleState(vehicle.getId(), request);
+        return current;
     }
 
     /**
-     * Simulate a vehicle that is currently moving (IN_USE)
+     * Advance one shard in memory and persist its deltas in batches
      */
-    private void simulateMovingVehicle(Vehicle vehicle, UpdateVehicleStateRequest request) {
-        var currentState = vehicleStateService.getVehicleState(vehicle.getId());
-
-        // Random movement direction
-        double latChange = (random.nextBoolean() ? 1 : -1) * LATITUDE_STEP * random.nextDouble();
-        double lonChange = (random.nextBoolean() ? 1 : -1) * LONGITUDE_STEP * random.nextDouble();
-
-        double newLat = (currentState.getLatitude() != null ? currentState.getLatitude() : 10.762622) + latChange;
-        double newLon = (currentState.getLongitude() != null ? currentState.getLongitude() : 106.660172) + lonChange;
-
-        // Keep within HCM City bounds (approximately)
-        newLat = Math.max(10.6, Math.min(10.9, newLat));
-        newLon = Math.max(106.5, Math.min(106.9, newLon));
-
-        request.setLatitude(newLat);
-        request.setLongitude(newLon);
-
-        // Random speed between 20-80 km/h
-        double speed = 20 + random.nextDouble() * 60;
-        request.setSpeedKmh(speed);
-
-        // Drain battery based on speed
-        int currentBattery = currentState.getBatteryLevel() != null ? currentState.getBatteryLevel() : 100;
-        double batteryDrain = BATTERY_DRAIN_RATE * (speed / MAX_SPEED);
-        int newBattery = Math.max(0, (int) (currentBattery - batteryDrain));
-        request.setBatteryLevel(newBattery);
-        request.setIsCharging(false);
-
-        // CRITICAL: If battery reaches 0%, immediately switch to CHARGING
-        if (newBattery == 0) {
-            log.warn(" CRITICAL: Vehicle {} battery depleted! Forcing CHARGING status",
-                    vehicle.getPlateNumber());
-            vehicle.setStatus(VehicleStatus.CHARGING);
-            vehicleRepository.save(vehicle);
+    private ShardResult simulateShard(List<VirtualVehicle> vehicles, SplittableRandom random, long clock,
+            boolean recording) {
+        Map<Long, UpdateVehicleStateRequest> batch = new LinkedHashMap<>();
+        List<VehicleStateUpdate> emitted = recording ? new ArrayList<>() : List.of();
+        List<Long> depleted = new ArrayList<>();
+        int simulated = 0;
+        int persisted = 0;
+        boolean failed = false;
+
+        for (VirtualVehicle vehicle : vehicles) {
+            if (!config.shouldSimulate(vehicle.getVehicleId()) || !VehicleDynamics.step(vehicle, random)) {
+                continue;
+            }
+            simulated++;
+
+            // CRITICAL: If battery reaches 0%, immediately switch to CHARGING
+            if (VehicleDynamics.isDepleted(vehicle)) {
+                log.debug(" CRITICAL: Vehicle {} battery depleted! Forcing CHARGING status",
+                        vehicle.getPlateNumber());
+                vehicle.setStatus(VehicleStatus.CHARGING);
+                depleted.add(vehicle.getVehicleId());
+            }
+
+            UpdateVehicleStateRequest delta = vehicle.takeDelta(clock, config.getHeartbeatIntervalMs());
+            if (delta == null) {
+                continue;
+            }
+            // Stamp the fix with the logical clock, which started when the world was loaded
+            delta.setRecordedAtEpochMs(clockOriginMs + clock);
+            batch.put(vehicle.getVehicleId(), delta);
+            if (recording) {
+                emitted.add(new VehicleStateUpdate(vehicle.getVehicleId(), delta));
+            }
+
+            if (batch.size() >= config.getBatchSize()) {
+                int applied = flush(batch);
+                failed |= applied < 0;
+                persisted += Math.max(0, applied);
+            }
         }
+        int applied = flush(batch);
+        failed |= applied < 0;
+        persisted += Math.max(0, applied);
 
-        // Increase odometer (5 seconds at current speed)
-        double odometerIncrease = speed / 720.0; // km in 5 seconds
-        double currentOdometer = currentState.getOdometerKm() != null ? currentState.getOdometerKm() : 0;
-        request.setOdometerKm(currentOdometer + odometerIncrease);
-
-        log.info("  🚙 {} [IN_USE] | GPS: ({}, {}) | Speed: {} km/h | Battery: {}% | Odo: {} km",
-                vehicle.getPlateNumber(),
-                String.format("%.4f", newLat),
-                String.format("%.4f", newLon),
-                String.format("%.1f", speed),
-                newBattery,
-                String.format("%.2f", request.getOdometerKm()));
+        if (!depleted.isEmpty()) {
+            failed |= !persistStatus(VehicleStatus.CHARGING, depleted);
+        }
+        return new ShardResult(simulated, persisted, failed, emitted, depleted);
     }
 
     /**
-     * Simulate a vehicle that is charging
+     * Persist and clear a batch of deltas
+     *
+     * @return number of updates applied, or -1 when the batch failed
      */
-    private void simulateChargingVehicle(Vehicle vehicle, UpdateVehicleStateRequest request) {
-        var currentState = vehicleStateService.getVehicleState(vehicle.getId());
-
-        // Vehicle doesn't move while charging
-        request.setLatitude(currentState.getLatitude());
-        request.setLongitude(currentState.getLongitude());
-        request.setSpeedKmh(0.0);
-
-        // Increase battery
-        int currentBattery = currentState.getBatteryLevel() != null ? currentState.getBatteryLevel() : 0;
-        int newBattery = Math.min(100, (int) (currentBattery + CHARGING_RATE));
-        request.setBatteryLevel(newBattery);
-        request.setIsCharging(true);
-
-        // Keep odometer same
-        request.setOdometerKm(currentState.getOdometerKm());
-
-        log.info("  🔌 {} [CHARGING] | Battery: {}% → {}% (+{}%) | Speed: 0 km/h",
-                vehicle.getPlateNumber(),
-                currentBattery,
-                newBattery,
-                (newBattery - currentBattery));
+    private int flush(Map<Long, UpdateVehicleStateRequest> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        if (!ownsWorld()) {
+            log.warn("Simulator partitions no longer held, dropping a batch of {} vehicles", batch.size());
+            batch.clear();
+            return -1;
+        }
+        try {
+            return vehicleStateService.updateVehicleStates(batch);
+        } catch (Exception e) {
+            log.error("❌ Error persisting simulator batch of {} vehicles: {}", batch.size(), e.getMessage());
+            return -1;
+        } finally {
+            batch.clear();
+        }
     }
 
     /**
-     * Simulate a parked/available vehicle (small battery variations)
+     * Write to the active recording; a write error stops the recording
      */
-    private void simulateParkedVehicle(Vehicle vehicle, UpdateVehicleStateRequest request) {
-        var currentState = vehicleStateService.getVehicleState(vehicle.getId());
-
-        // Vehicle doesn't move
-        request.setLatitude(currentState.getLatitude());
-        request.setLongitude(currentState.getLongitude());
-        request.setSpeedKmh(0.0);
-
-        // Battery stays the same (no drain when parked)
-        int currentBattery = currentState.getBatteryLevel() != null ? currentState.getBatteryLevel() : 100;
-        request.setBatteryLevel(currentBattery); // No change!
-        request.setIsCharging(false);
-
-        // Odometer stays same
-        request.setOdometerKm(currentState.getOdometerKm());
-
-        log.info("  {} [AVAILABLE] | Battery: {}% (stable) | Parked at ({}, {})",
-                vehicle.getPlateNumber(),
-                currentBattery,
-                String.format("%.4f", currentState.getLatitude()),
-                String.format("%.4f", currentState.getLongitude()));
+    private void record(RecordingWrite write) {
+        try {
+            write.apply(recorder);
+        } catch (IOException e) {
+            log.error("❌ Error writing recording {}, stopping it: {}", recorder.getFile(), e.getMessage());
+            stopRecording();
+        }
     }
 
     /**
-     * Randomly change vehicle status to create realistic scenarios
-     * Runs based on configured interval
+     * The world's partitions are still leased to this node, so it may write them
      */
-    @Scheduled(fixedRateString = "${simulator.status-change-interval-ms:30000}", initialDelay = 20000)
-    public void randomStatusChanges() {
-        if (!config.isEnabled()) {
-            return;
-        }
-
-        try {
-            List<Vehicle> virtualVehicles = vehicleRepository.findByIsVirtual(true);
-
-            // Filter by configured vehicle IDs
-            List<Vehicle> vehiclesToChange = virtualVehicles.stream()
-                    .filter(v -> config.shouldSimulate(v.getId()))
-                    .toList();
+    private boolean ownsWorld() {
+        PartitionAssignment current = ownership.assignment();
+        return current.version() == worldAssignment.version() && current.isValid(System.nanoTime());
+    }
 
-            for (Vehicle vehicle : vehiclesToChange) {
-                // 5% chance of status change
-                if (random.nextInt(100) < 5) {
-                    changeVehicleStatus(vehicle);
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error in random status change", e);
+    private void seedRandoms() {
+        SplittableRandom root = config.isDeterministic() ? new SplittableRandom(config.getSeed())
+                : new SplittableRandom();
+        for (int i = 0; i < shardRandoms.length; i++) {
+            shardRandoms[i] = root.split();
         }
+        statusRandom = root.split();
     }
 
     /**
-     * Randomly change vehicle status based on current state
+     * Randomly change vehicle status to create realistic scenarios
+     * Runs every status-change-interval-ms of simulator time, after the tick's updates
+     *
+     * @return number of vehicles changed, or -1 when a change could not be saved
      */
-    private void changeVehicleStatus(Vehicle vehicle) {
-        var currentState = vehicleStateService.getVehicleState(vehicle.getId());
-        VehicleStatus newStatus = null;
-
-        switch (vehicle.getStatus()) {
-            case AVAILABLE:
-                // CRITICAL: If battery is 0%, force charging immediately
-                if (currentState.getBatteryLevel() == 0) {
-                    newStatus = VehicleStatus.CHARGING;
-                    log.warn(" CRITICAL: Vehicle {} battery at 0%! Status: AVAILABLE → CHARGING",
-                            vehicle.getPlateNumber());
-                }
-                // Available → IN_USE (someone rented it) - only if battery > 20%
-                else if (currentState.getBatteryLevel() > 20) {
-                    newStatus = VehicleStatus.IN_USE;
-                    log.info(" Vehicle {} rented! Status: AVAILABLE → IN_USE", vehicle.getPlateNumber());
-                }
-                break;
-
-            case IN_USE:
-                // CRITICAL: If battery is 0%, force charging immediately
-                if (currentState.getBatteryLevel() == 0) {
-                    newStatus = VehicleStatus.CHARGING;
-                    log.warn(" CRITICAL: Vehicle {} battery at 0%! Forcing CHARGING status",
-                            vehicle.getPlateNumber());
-                }
-                // If battery < 30%, needs charging
-                else if (currentState.getBatteryLevel() < 30) {
-                    newStatus = VehicleStatus.CHARGING;
-                    log.info(" Vehicle {} needs charging! Status: IN_USE → CHARGING",
-                            vehicle.getPlateNumber());
-                }
-                // Random trip completion
-                else if (random.nextBoolean()) {
-                    newStatus = VehicleStatus.AVAILABLE;
-                    log.info(" Vehicle {} returned! Status: IN_USE → AVAILABLE",
-                            vehicle.getPlateNumber());
+    private int randomStatusChanges(SimulationWorld current) {
+        Map<VehicleStatus, List<Long>> changes = new EnumMap<>(VehicleStatus.class);
+        for (int shard = 0; shard < current.shardCount(); shard++) {
+            for (VirtualVehicle vehicle : current.shard(shard)) {
+                // 5% chance of status change
+                if (!config.shouldSimulate(vehicle.getVehicleId()) || statusRandom.nextInt(100) >= 5) {
+                    continue;
                 }
-                break;
-
-            case CHARGING:
-                // CHARGING → AVAILABLE when fully charged
-                if (currentState.getBatteryLevel() >= 95) {
-                    newStatus = VehicleStatus.AVAILABLE;
-                    log.info("⚡ Vehicle {} fully charged! Status: CHARGING → AVAILABLE",
-                            vehicle.getPlateNumber());
+                VehicleStatus newStatus = VehicleDynamics.nextStatus(vehicle, statusRandom);
+                if (newStatus != null) {
+                    vehicle.setStatus(newStatus);
+                    changes.computeIfAbsent(newStatus, status -> new ArrayList<>()).add(vehicle.getVehicleId());
                 }
-                break;
+            }
+        }
 
-            default:
-                return;
+        boolean saved = true;
+        int changed = 0;
+        for (Map.Entry<VehicleStatus, List<Long>> change : changes.entrySet()) {
+            saved &= persistStatus(change.getKey(), change.getValue());
+            changed += change.getValue().size();
+            if (recorder != null) {
+                record(recorder -> recorder.writeStatusChange(tick, change.getKey(), change.getValue()));
+            }
+        }
+        if (!changes.isEmpty()) {
+            log.debug("Simulator status changes at tick {}: {}", tick, changes.entrySet().stream()
+                    .map(change -> change.getKey() + "=" + change.getValue().size()).toList());
         }
+        return saved ? changed : -1;
+    }
 
-        if (newStatus != null) {
-            vehicle.setStatus(newStatus);
-            vehicleRepository.save(vehicle);
+    /**
+     * Save simulated status changes through the bulk update path, which logs the change
+     * events and updates the in-memory indexes once each chunk commits (a failed chunk
+     * leaves them untouched and the world is reloaded on the next tick)
+     *
+     * @return false when a chunk could not be saved
+     */
+    private boolean persistStatus(VehicleStatus newStatus, List<Long> vehicleIds) {
+        if (!ownsWorld()) {
+            return false;
         }
+        boolean saved = true;
+        UpdateVehicleRequest patch = UpdateVehicleRequest.builder().status(newStatus).build();
+        for (int from = 0; from < vehicleIds.size(); from += STATUS_CHUNK_SIZE) {
+            List<Long> chunk = vehicleIds.subList(from, Math.min(vehicleIds.size(), from + STATUS_CHUNK_SIZE));
+            try {
+                vehicleService.bulkUpdateVehicles(BulkUpdateVehicleRequest.builder()
+                        .vehicleIds(new ArrayList<>(chunk))
+                        .patch(patch)
+                        .build());
+            } catch (Exception e) {
+                log.error("❌ Error changing {} vehicles to {}: {}", chunk.size(), newStatus, e.getMessage());
+                saved = false;
+            }
+        }
+        return saved;
+    }
+
+    private record ShardResult(int simulated, int persisted, boolean failed, List<VehicleStateUpdate> emitted,
+            List<Long> depleted) {
+    }
+
+    @FunctionalInterface
+    private interface RecordingWrite {
+        void apply(SimulationRecorder recorder) throws IOException;
     }
 }
@@ -0,0 +1,135 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.enums.DataSource;
+import com.crs.carmanagement.enums.VehicleStatus;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * In-memory model of one simulated vehicle.
+ * Setters record which fields changed since the last emitted update, so each tick
+ * only sends the changed fields (unset fields are left untouched by the ingestion path).
+ * Not thread-safe: a vehicle is only advanced by the shard that owns it.
+ */
+@Getter
+public class VirtualVehicle {
+
+    private final Long vehicleId;
+    private final String plateNumber;
+    private VehicleStatus status;
+    private Double latitude;
+    private Double longitude;
+    private Integer batteryLevel;
+    private Boolean isCharging;
+    private Double speedKmh;
+    private Double odometerKm;
+
+    private boolean positionChanged;
+    private boolean batteryChanged;
+    private boolean chargingChanged;
+    private boolean speedChanged;
+    private boolean odometerChanged;
+    private long lastEmittedAt;
+    private long messageSequence;
+
+    public VirtualVehicle(SimulatedVehicle snapshot, long loadedAt) {
+        this.vehicleId = snapshot.vehicleId();
+        this.plateNumber = snapshot.plateNumber();
+        this.status = snapshot.status();
+        this.latitude = snapshot.latitude();
+        this.longitude = snapshot.longitude();
+        this.batteryLevel = snapshot.batteryLevel();
+        this.isCharging = snapshot.isCharging();
+        this.speedKmh = snapshot.speedKmh();
+        this.odometerKm = snapshot.odometerKm();
+        this.lastEmittedAt = loadedAt;
+        // Continue the stored sequence, so a vehicle handed over to another node keeps counting up
+        this.messageSequence = snapshot.messageSequence() != null ? snapshot.messageSequence() : 0;
+    }
+
+    public void setStatus(VehicleStatus status) {
+        this.status = status;
+    }
+
+    public void setPosition(Double latitude, Double longitude) {
+        if (!Objects.equals(latitude, this.latitude) || !Objects.equals(longitude, this.longitude)) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            positionChanged = true;
+        }
+    }
+
+    public void setBatteryLevel(Integer batteryLevel) {
+        if (!Objects.equals(batteryLevel, this.batteryLevel)) {
+            this.batteryLevel = batteryLevel;
+            batteryChanged = true;
+        }
+    }
+
+    public void setCharging(Boolean isCharging) {
+        if (!Objects.equals(isCharging, this.isCharging)) {
+            this.isCharging = isCharging;
+            chargingChanged = true;
+        }
+    }
+
+    public void setSpeedKmh(Double speedKmh) {
+        if (!Objects.equals(speedKmh, this.speedKmh)) {
+            this.speedKmh = speedKmh;
+            speedChanged = true;
+        }
+    }
+
+    public void setOdometerKm(Double odometerKm) {
+        if (!Objects.equals(odometerKm, this.odometerKm)) {
+            this.odometerKm = odometerKm;
+            odometerChanged = true;
+        }
+    }
+
+    /**
+     * State update carrying only the fields changed since the last call.
+     * An unchanged vehicle still sends an empty heartbeat update (refreshing its
+     * last update time) once heartbeatIntervalMs has passed. Times are simulator
+     * clock times; message sequences count per vehicle, so they do not depend on
+     * how shards interleave.
+     *
+     * @return the update, or null when there is nothing to send
+     */
+    public UpdateVehicleStateRequest takeDelta(long now, long heartbeatIntervalMs) {
+        boolean changed = positionChanged || batteryChanged || chargingChanged || speedChanged || odometerChanged;
+        if (!changed && now - lastEmittedAt < heartbeatIntervalMs) {
+            return null;
+        }
+
+        UpdateVehicleStateRequest delta = new UpdateVehicleStateRequest();
+        delta.setDataSource(DataSource.VIRTUAL_CAR);
+        delta.setMessageSequence(++messageSequence);
+        if (positionChanged) {
+            delta.setLatitude(latitude);
+            delta.setLongitude(longitude);
+        }
+        if (batteryChanged) {
+            delta.setBatteryLevel(batteryLevel);
+        }
+        if (chargingChanged) {
+            delta.setIsCharging(isCharging);
+        }
+        if (speedChanged) {
+            delta.setSpeedKmh(speedKmh);
+        }
+        if (odometerChanged) {
+            delta.setOdometerKm(odometerKm);
+        }
+
+        positionChanged = false;
+        batteryChanged = false;
+        chargingChanged = false;
+        speedChanged = false;
+        odometerChanged = false;
+        lastEmittedAt = now;
+        return delta;
+    }
+}
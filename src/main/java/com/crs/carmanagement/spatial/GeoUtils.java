@@ -0,0 +1,34 @@
+package com.crs.carmanagement.spatial;
+
+/**
+ * Geographic helper functions shared by the in-memory spatial structures
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // Length of one degree of latitude (and of longitude at the equator)
+    public static final double KM_PER_DEGREE = 111.32;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Great-circle distance between two points in kilometers (haversine)
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Kilometers covered by one degree of longitude at the given latitude
+     */
+    public static double kmPerDegreeLongitude(double latitude) {
+        return Math.max(KM_PER_DEGREE * Math.cos(Math.toRadians(latitude)), 1e-6);
+    }
+}
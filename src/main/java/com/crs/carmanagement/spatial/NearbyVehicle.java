@@ -0,0 +1,7 @@
+package com.crs.carmanagement.spatial;
+
+/**
+ * Spatial query hit: an indexed vehicle and its distance to the query point
+ */
+public record NearbyVehicle(VehiclePosition position, double distanceKm) {
+}
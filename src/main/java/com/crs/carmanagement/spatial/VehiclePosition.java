@@ -0,0 +1,27 @@
+package com.crs.carmanagement.spatial;
+
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.enums.VehicleStatus;
+
+/**
+ * Snapshot of a vehicle's last known position held by the spatial index
+ */
+public record VehiclePosition(
+        Long vehicleId,
+        String plateNumber,
+        VehicleStatus status,
+        Double latitude,
+        Double longitude,
+        Integer batteryLevel,
+        Boolean isCharging) {
+
+    public static VehiclePosition of(Vehicle vehicle, VehicleState state) {
+        return new VehiclePosition(vehicle.getId(), vehicle.getPlateNumber(), vehicle.getStatus(),
+                state.getLatitude(), state.getLongitude(), state.getBatteryLevel(), state.getIsCharging());
+    }
+
+    public VehiclePosition withStatus(VehicleStatus newStatus) {
+        return new VehiclePosition(vehicleId, plateNumber, newStatus, latitude, longitude, batteryLevel, isCharging);
+    }
+}
@@ -0,0 +1,298 @@
+package com.crs.carmanagement.spatial;
+
+import com.crs.carmanagement.entity.Vehicle;
+import com.crs.carmanagement.entity.VehicleState;
+import com.crs.carmanagement.enums.VehicleStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory uniform grid over the last known vehicle positions.
+ * Each cell covers CELL_SIZE_DEG x CELL_SIZE_DEG (~1.1 km at HCM City latitude),
+ * so radius, bounding-box and k-nearest queries only visit the cells around the
+ * query point instead of scanning the whole fleet.
+ * Kept up to date incrementally by the vehicle and state services.
+ */
+@Component
+@Slf4j
+public class VehicleSpatialIndex {
+
+    static final double CELL_SIZE_DEG = 0.01;
+
+    // Upper bound for k-nearest ring expansion (~100 km around the query point)
+    private static final int MAX_KNN_RINGS = 100;
+
+    // Cells around the globe; longitude indexes wrap at the dateline
+    private static final long LON_CELLS = Math.round(360 / CELL_SIZE_DEG);
+
+    private final Map<Long, VehiclePosition> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Insert or replace the position of a vehicle from its entities
+     */
+    public void update(Vehicle vehicle, VehicleState state) {
+        update(VehiclePosition.of(vehicle, state));
+    }
+
+    /**
+     * Insert or replace the position of a vehicle.
+     * Vehicles without coordinates are dropped from the grid.
+     */
+    public void update(VehiclePosition position) {
+        Long vehicleId = position.vehicleId();
+        positions.compute(vehicleId, (id, previous) -> {
+            Long oldCell = previous != null ? cellKeyOf(previous) : null;
+            Long newCell = cellKeyOf(position);
+
+            if (oldCell != null && !oldCell.equals(newCell)) {
+                removeFromCell(oldCell, id);
+            }
+            if (newCell == null) {
+                return null;
+            }
+            if (!newCell.equals(oldCell)) {
+                // Add under the cell's lock so a concurrent removeFromCell cannot drop the set first
+                cells.compute(newCell, (key, members) -> {
+                    if (members == null) {
+                        members = ConcurrentHashMap.newKeySet();
+                    }
+                    members.add(id);
+                    return members;
+                });
+            }
+            return position;
+        });
+    }
+
+    /**
+     * Update only the status of an indexed vehicle (position unchanged)
+     */
+    public void updateStatus(Long vehicleId, VehicleStatus status) {
+        positions.computeIfPresent(vehicleId, (id, previous) -> previous.withStatus(status));
+    }
+
+    /**
+     * Remove a vehicle from the index
+     */
+    public void remove(Long vehicleId) {
+        positions.computeIfPresent(vehicleId, (id, previous) -> {
+            Long cell = cellKeyOf(previous);
+            if (cell != null) {
+                removeFromCell(cell, id);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Replace the whole index content (used on startup)
+     */
+    public void rebuild(Collection<VehiclePosition> snapshot) {
+        positions.clear();
+        cells.clear();
+        snapshot.forEach(this::update);
+        log.info("Spatial index rebuilt with {} vehicles in {} cells", positions.size(), cells.size());
+    }
+
+    public VehiclePosition get(Long vehicleId) {
+        return positions.get(vehicleId);
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    /**
+     * Vehicles within radiusKm of the given point, nearest first
+     */
+    public List<NearbyVehicle> findWithinRadius(double latitude, double longitude, double radiusKm,
+            Predicate<VehiclePosition> filter, int limit) {
+        double latSpan = radiusKm / GeoUtils.KM_PER_DEGREE;
+        // A circle reaching a pole covers every longitude
+        double lonSpan = latitude + latSpan >= 90 || latitude - latSpan <= -90
+                ? 180
+                : Math.min(radiusKm / GeoUtils.kmPerDegreeLongitude(latitude), 180);
+
+        List<NearbyVehicle> result = new ArrayList<>();
+        forEachCandidate(latitude - latSpan, longitude - lonSpan, latitude + latSpan, longitude + lonSpan,
+                position -> {
+                    if (!filter.test(position)) {
+                        return;
+                    }
+                    double distance = GeoUtils.distanceKm(latitude, longitude,
+                            position.latitude(), position.longitude());
+                    if (distance <= radiusKm) {
+                        result.add(new NearbyVehicle(position, distance));
+                    }
+                });
+
+        result.sort(Comparator.comparingDouble(NearbyVehicle::distanceKm));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Vehicles inside the given bounding box, ordered by distance to the box center
+     */
+    public List<NearbyVehicle> findWithinBounds(double minLatitude, double minLongitude,
+            double maxLatitude, double maxLongitude, Predicate<VehiclePosition> filter, int limit) {
+        double centerLat = (minLatitude + maxLatitude) / 2;
+        double centerLon = (minLongitude + maxLongitude) / 2;
+
+        List<NearbyVehicle> result = new ArrayList<>();
+        forEachCandidate(minLatitude, minLongitude, maxLatitude, maxLongitude, position -> {
+            if (position.latitude() < minLatitude || position.latitude() > maxLatitude
+                    || position.longitude() < minLongitude || position.longitude() > maxLongitude
+                    || !filter.test(position)) {
+                return;
+            }
+            result.add(new NearbyVehicle(position, GeoUtils.distanceKm(centerLat, centerLon,
+                    position.latitude(), position.longitude())));
+        });
+
+        result.sort(Comparator.comparingDouble(NearbyVehicle::distanceKm));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * k nearest vehicles to the given point.
+     * Visits square rings of cells outwards and stops as soon as no unvisited
+     * cell can contain a vehicle closer than the current k-th best.
+     */
+    public List<NearbyVehicle> findNearest(double latitude, double longitude, int k,
+            Predicate<VehiclePosition> filter) {
+        if (k <= 0 || positions.isEmpty()) {
+            return List.of();
+        }
+
+        // Max-heap on distance holding the best k candidates seen so far
+        PriorityQueue<NearbyVehicle> best = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyVehicle::distanceKm).reversed());
+
+        long centerLat = cellIndex(latitude);
+        long centerLon = cellIndex(longitude);
+        double minCellKm = CELL_SIZE_DEG * Math.min(GeoUtils.KM_PER_DEGREE, GeoUtils.kmPerDegreeLongitude(latitude));
+
+        Consumer<VehiclePosition> consider = position -> {
+            if (!filter.test(position)) {
+                return;
+            }
+            double distance = GeoUtils.distanceKm(latitude, longitude, position.latitude(), position.longitude());
+            if (best.size() < k) {
+                best.add(new NearbyVehicle(position, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new NearbyVehicle(position, distance));
+            }
+        };
+
+        for (int ring = 0; ring <= MAX_KNN_RINGS; ring++) {
+            visitRing(centerLat, centerLon, ring, consider);
+
+            // Every point outside the visited square is at least ring * cell width away
+            if (best.size() == k && best.peek().distanceKm() <= ring * minCellKm) {
+                break;
+            }
+        }
+
+        List<NearbyVehicle> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(NearbyVehicle::distanceKm));
+        return result;
+    }
+
+    /**
+     * Visit the vehicles in the cells covering the given box. Longitudes wrap at the
+     * dateline and a span of 360 degrees or more covers the whole globe. When the box
+     * covers more cells than there are indexed vehicles the fleet is scanned directly,
+     * so a query never costs more than one pass over the index.
+     */
+    private void forEachCandidate(double minLatitude, double minLongitude, double maxLatitude,
+            double maxLongitude, Consumer<VehiclePosition> consumer) {
+        long minLatIdx = cellIndex(Math.max(minLatitude, -90));
+        long maxLatIdx = cellIndex(Math.min(maxLatitude, 90));
+        long minLonIdx = cellIndex(minLongitude);
+        long lonCells = maxLongitude - minLongitude >= 360
+                ? LON_CELLS
+                : Math.min(cellIndex(maxLongitude) - minLonIdx + 1, LON_CELLS);
+        long latCells = maxLatIdx - minLatIdx + 1;
+
+        if (latCells <= 0 || lonCells <= 0) {
+            return;
+        }
+        if (latCells * lonCells > positions.size()) {
+            positions.values().forEach(consumer);
+            return;
+        }
+        for (long latIdx = minLatIdx; latIdx <= maxLatIdx; latIdx++) {
+            for (long offset = 0; offset < lonCells; offset++) {
+                visitCell(cellKey(latIdx, minLonIdx + offset), consumer);
+            }
+        }
+    }
+
+    /**
+     * Visit the cells on the border of the square ring around the center cell
+     */
+    private void visitRing(long centerLat, long centerLon, int ring, Consumer<VehiclePosition> consumer) {
+        if (ring == 0) {
+            visitCell(cellKey(centerLat, centerLon), consumer);
+            return;
+        }
+        for (long lonIdx = centerLon - ring; lonIdx <= centerLon + ring; lonIdx++) {
+            visitCell(cellKey(centerLat - ring, lonIdx), consumer);
+            visitCell(cellKey(centerLat + ring, lonIdx), consumer);
+        }
+        for (long latIdx = centerLat - ring + 1; latIdx < centerLat + ring; latIdx++) {
+            visitCell(cellKey(latIdx, centerLon - ring), consumer);
+            visitCell(cellKey(latIdx, centerLon + ring), consumer);
+        }
+    }
+
+    private void visitCell(long key, Consumer<VehiclePosition> consumer) {
+        Set<Long> members = cells.get(key);
+        if (members == null) {
+            return;
+        }
+        for (Long vehicleId : members) {
+            VehiclePosition position = positions.get(vehicleId);
+            if (position != null && position.latitude() != null && position.longitude() != null) {
+                consumer.accept(position);
+            }
+        }
+    }
+
+    private void removeFromCell(Long cell, Long vehicleId) {
+        cells.computeIfPresent(cell, (key, members) -> {
+            members.remove(vehicleId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static Long cellKeyOf(VehiclePosition position) {
+        if (position.latitude() == null || position.longitude() == null) {
+            return null;
+        }
+        return cellKey(cellIndex(position.latitude()), cellIndex(position.longitude()));
+    }
+
+    private static long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / CELL_SIZE_DEG);
+    }
+
+    private static long cellKey(long latIdx, long lonIdx) {
+        // -180 and 180 fall into the same column
+        long wrappedLonIdx = Math.floorMod(lonIdx + LON_CELLS / 2, LON_CELLS) - LON_CELLS / 2;
+        return (latIdx << 32) | (wrappedLonIdx & 0xffffffffL);
+    }
+}
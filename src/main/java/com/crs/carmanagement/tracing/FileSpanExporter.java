@@ -0,0 +1,79 @@
+package com.crs.carmanagement.tracing;
+
+import com.crs.carmanagement.config.TracingConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Span exporter appending every sampled span as one JSON line to tracing.file.path
+ * (e.g. for jq, or to ship to a collector later)
+ */
+@Component
+@ConditionalOnProperty(prefix = "tracing.file", name = "enabled", havingValue = "true")
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private BufferedWriter writer;
+
+    public FileSpanExporter(ObjectMapper objectMapper, TracingConfig config) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(config.getFile().getPath());
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            if (writer == null) {
+                Path directory = path.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                log.info("Exporting spans to {}", path.toAbsolutePath());
+            }
+            for (SpanData span : spans) {
+                writer.write(objectMapper.writeValueAsString(SpanMapper.toSpan(span)));
+                writer.newLine();
+            }
+            writer.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not export {} spans to {}: {}", spans.size(), path, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Could not close span file {}: {}", path, e.getMessage());
+            }
+            writer = null;
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,184 @@
+package com.crs.carmanagement.tracing;
+
+import com.crs.carmanagement.config.TracingConfig;
+import com.crs.carmanagement.dto.response.TraceResponse;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Span exporter keeping the most recent sampled traces in memory, for the
+ * /api/v1/diagnostics/traces endpoints. Each trace is summarised with its JDBC
+ * statement count and most repeated statement, so N+1 access stands out.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tracing.collector", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class InMemorySpanCollector implements SpanExporter {
+
+    private static final AttributeKey<String> STATEMENT = AttributeKey.stringKey(TracingDataSource.STATEMENT);
+    private static final AttributeKey<String> OPERATION = AttributeKey.stringKey(TracingDataSource.OPERATION);
+
+    private final TracingConfig.Collector config;
+    private final Map<String, TraceBuffer> traces;
+
+    public InMemorySpanCollector(TracingConfig config) {
+        this.config = config.getCollector();
+        this.traces = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TraceBuffer> eldest) {
+                return size() > InMemorySpanCollector.this.config.getMaxTraces();
+            }
+        };
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            TraceBuffer trace = traces.computeIfAbsent(span.getTraceId(), id -> new TraceBuffer());
+            if (trace.spans.size() < config.getMaxSpansPerTrace()) {
+                trace.spans.add(span);
+            } else {
+                trace.dropped++;
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        traces.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Summaries of the most recent traces at least minDurationMs long, newest first
+     */
+    public synchronized List<TraceResponse> getTraces(int limit, double minDurationMs) {
+        List<TraceResponse> summaries = new ArrayList<>();
+        List<String> ids = new ArrayList<>(traces.keySet());
+        for (int i = ids.size() - 1; i >= 0 && summaries.size() < limit; i--) {
+            TraceResponse summary = summarize(ids.get(i), traces.get(ids.get(i)));
+            if (summary.getDurationMs() >= minDurationMs) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * One trace with its spans in depth-first order
+     */
+    public synchronized Optional<TraceResponse> getTrace(String traceId) {
+        TraceBuffer trace = traces.get(traceId);
+        if (trace == null) {
+            return Optional.empty();
+        }
+        TraceResponse response = summarize(traceId, trace);
+        response.setSpans(depthFirst(trace.spans));
+        return Optional.of(response);
+    }
+
+    /**
+     * Drop every collected trace
+     */
+    public synchronized void clear() {
+        traces.clear();
+    }
+
+    private TraceResponse summarize(String traceId, TraceBuffer trace) {
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        boolean error = false;
+        int jdbcStatements = 0;
+        int slowQueries = 0;
+        Map<String, Integer> statementCounts = new HashMap<>();
+        for (SpanData span : trace.spans) {
+            start = Math.min(start, span.getStartEpochNanos());
+            end = Math.max(end, span.getEndEpochNanos());
+            error |= span.getStatus().getStatusCode() == StatusCode.ERROR;
+            if (span.getAttributes().get(OPERATION) != null) {
+                jdbcStatements++;
+                statementCounts.merge(span.getAttributes().get(STATEMENT), 1, Integer::sum);
+                if (span.getEvents().stream().anyMatch(event -> event.getName().equals("slow-query"))) {
+                    slowQueries++;
+                }
+            }
+        }
+        Map.Entry<String, Integer> mostRepeated = statementCounts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+
+        return TraceResponse.builder()
+                .traceId(traceId)
+                .rootSpan(root(trace.spans).map(SpanData::getName).orElse(null))
+                .startedAt(SpanMapper.toDateTime(start))
+                .durationMs((end - start) / 1_000_000.0)
+                .spanCount(trace.spans.size())
+                .droppedSpans(trace.dropped)
+                .error(error)
+                .jdbcStatements(jdbcStatements)
+                .slowQueries(slowQueries)
+                .mostRepeatedStatement(mostRepeated != null ? mostRepeated.getKey() : null)
+                .mostRepeatedCount(mostRepeated != null ? mostRepeated.getValue() : null)
+                .suspectedNPlusOne(mostRepeated != null && mostRepeated.getValue() >= config.getRepeatedStatementThreshold())
+                .build();
+    }
+
+    /**
+     * Local root: the earliest span whose parent is not part of this trace
+     * (absent, or remote when the trace was started by another service)
+     */
+    private static Optional<SpanData> root(List<SpanData> spans) {
+        Set<String> ids = spans.stream().map(SpanData::getSpanId).collect(Collectors.toSet());
+        return spans.stream()
+                .filter(span -> !ids.contains(span.getParentSpanId()))
+                .min(Comparator.comparingLong(SpanData::getStartEpochNanos));
+    }
+
+    private static List<TraceResponse.Span> depthFirst(List<SpanData> spans) {
+        Set<String> ids = spans.stream().map(SpanData::getSpanId).collect(Collectors.toSet());
+        Map<String, List<SpanData>> children = spans.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .collect(Collectors.groupingBy(
+                        span -> ids.contains(span.getParentSpanId()) ? span.getParentSpanId() : "",
+                        LinkedHashMap::new, Collectors.toList()));
+        List<TraceResponse.Span> ordered = new ArrayList<>(spans.size());
+        appendChildren("", 0, children, ordered);
+        return ordered;
+    }
+
+    private static void appendChildren(String parentId, int depth, Map<String, List<SpanData>> children,
+                                       List<TraceResponse.Span> ordered) {
+        for (SpanData span : children.getOrDefault(parentId, List.of())) {
+            TraceResponse.Span response = SpanMapper.toSpan(span);
+            response.setDepth(depth);
+            ordered.add(response);
+            appendChildren(span.getSpanId(), depth + 1, children, ordered);
+        }
+    }
+
+    private static final class TraceBuffer {
+        private final List<SpanData> spans = new ArrayList<>();
+        private int dropped;
+    }
+}
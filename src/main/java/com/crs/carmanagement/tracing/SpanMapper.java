@@ -0,0 +1,47 @@
+package com.crs.carmanagement.tracing;
+
+import com.crs.carmanagement.dto.response.TraceResponse;
+import io.opentelemetry.api.trace.SpanId;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps finished OpenTelemetry spans to the response DTO shared by the span exporters
+ */
+final class SpanMapper {
+
+    private SpanMapper() {
+    }
+
+    static TraceResponse.Span toSpan(SpanData span) {
+        Map<String, String> attributes = new TreeMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return TraceResponse.Span.builder()
+                .traceId(span.getTraceId())
+                .spanId(span.getSpanId())
+                .parentSpanId(SpanId.isValid(span.getParentSpanId()) ? span.getParentSpanId() : null)
+                .name(span.getName())
+                .kind(span.getKind().name())
+                .startedAt(toDateTime(span.getStartEpochNanos()))
+                .durationMs(durationMs(span))
+                .status(span.getStatus().getStatusCode().name())
+                .attributes(attributes)
+                .events(span.getEvents().isEmpty() ? null
+                        : span.getEvents().stream().map(EventData::getName).toList())
+                .build();
+    }
+
+    static double durationMs(SpanData span) {
+        return (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000_000.0;
+    }
+
+    static LocalDateTime toDateTime(long epochNanos) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), ZoneId.systemDefault());
+    }
+}
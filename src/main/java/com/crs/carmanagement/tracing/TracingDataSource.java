@@ -0,0 +1,215 @@
+package com.crs.carmanagement.tracing;
+
+import com.crs.carmanagement.config.TracingConfig;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Wraps a DataSource so every executed statement becomes a "jdbc.statement" observation:
+ * a child span of the current request / service span (tags db.operation, db.batch and
+ * db.statement) plus a timer. Statements run outside any observation (schedulers,
+ * startup) are not observed, so background work does not produce root spans.
+ *
+ * N+1 access shows up as many sibling jdbc spans with the same db.statement, slow
+ * statements as long spans with a slow-query event (and a warning in the log).
+ */
+@Slf4j
+public final class TracingDataSource {
+
+    public static final String OBSERVATION = "jdbc.statement";
+    public static final String OPERATION = "db.operation";
+    public static final String BATCH = "db.batch";
+    public static final String STATEMENT = "db.statement";
+    public static final String BATCH_SIZE = "db.batch.size";
+
+    private TracingDataSource() {
+    }
+
+    /**
+     * Proxy the DataSource; the registry is looked up lazily, on the first statement
+     */
+    public static DataSource wrap(DataSource dataSource, Supplier<ObservationRegistry> registry,
+                                  TracingConfig.Jdbc config) {
+        if (dataSource instanceof Traced) {
+            return dataSource;
+        }
+        return (DataSource) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[] { DataSource.class, Traced.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return result instanceof Connection connection
+                            ? wrapConnection(connection, registry, config)
+                            : result;
+                });
+    }
+
+    /**
+     * SQL keyword used as the low-cardinality operation tag; leading comments
+     * (Hibernate's use_sql_comments) are skipped
+     */
+    static String operation(String sql) {
+        if (sql == null) {
+            return "OTHER";
+        }
+        int start = 0;
+        while (start < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(start))) {
+                start++;
+            } else if (sql.startsWith("/*", start)) {
+                int close = sql.indexOf("*/", start + 2);
+                start = close < 0 ? sql.length() : close + 2;
+            } else if (sql.startsWith("--", start)) {
+                int newline = sql.indexOf('\n', start);
+                start = newline < 0 ? sql.length() : newline + 1;
+            } else {
+                break;
+            }
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return switch (sql.substring(start, end).toUpperCase(Locale.ROOT)) {
+            case "SELECT", "WITH" -> "SELECT";
+            case "INSERT" -> "INSERT";
+            case "UPDATE" -> "UPDATE";
+            case "DELETE" -> "DELETE";
+            case "CALL" -> "CALL";
+            default -> "OTHER";
+        };
+    }
+
+    private static Connection wrapConnection(Connection connection, Supplier<ObservationRegistry> registry,
+                                             TracingConfig.Jdbc config) {
+        return (Connection) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (!(result instanceof Statement statement)) {
+                        return result;
+                    }
+                    // prepareStatement / prepareCall carry their SQL, createStatement passes it on execute
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    StatementHandler handler = new StatementHandler(statement, sql, registry, config);
+                    return Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+                            new Class<?>[] { method.getReturnType() }, (statementProxy, statementMethod, statementArgs)
+                                    -> handler.invoke(statementMethod, statementArgs));
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Observes the execute* calls of one statement
+     */
+    private static final class StatementHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final Supplier<ObservationRegistry> registry;
+        private final TracingConfig.Jdbc config;
+        private String batchSql;
+        private int batchSize;
+
+        StatementHandler(Statement statement, String preparedSql, Supplier<ObservationRegistry> registry,
+                         TracingConfig.Jdbc config) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.registry = registry;
+            this.config = config;
+        }
+
+        Object invoke(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "addBatch" -> {
+                    batchSize++;
+                    if (batchSql == null && args != null && args.length == 1) {
+                        batchSql = (String) args[0];
+                    }
+                }
+                case "clearBatch" -> {
+                    batchSize = 0;
+                    batchSql = null;
+                }
+                default -> {
+                    if (name.startsWith("execute")) {
+                        return observe(method, args);
+                    }
+                }
+            }
+            return TracingDataSource.invoke(statement, method, args);
+        }
+
+        private Object observe(Method method, Object[] args) throws Throwable {
+            ObservationRegistry observationRegistry = registry.get();
+            if (observationRegistry == null || observationRegistry.getCurrentObservation() == null) {
+                return TracingDataSource.invoke(statement, method, args);
+            }
+            boolean batch = method.getName().endsWith("Batch");
+            String sql = preparedSql != null ? preparedSql
+                    : batch ? batchSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            String operation = operation(sql);
+            String statementText = truncate(sql);
+
+            Observation observation = Observation.createNotStarted(OBSERVATION, observationRegistry)
+                    .contextualName("jdbc " + operation.toLowerCase(Locale.ROOT))
+                    .lowCardinalityKeyValue(OPERATION, operation)
+                    .lowCardinalityKeyValue(BATCH, String.valueOf(batch))
+                    .highCardinalityKeyValue(STATEMENT, statementText);
+            if (batch) {
+                observation.highCardinalityKeyValue(BATCH_SIZE, String.valueOf(batchSize));
+                batchSize = 0;
+                batchSql = null;
+            }
+            observation.start();
+            long started = System.nanoTime();
+            try {
+                return TracingDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                if (elapsedMs >= config.getSlowQueryMs()) {
+                    observation.event(Observation.Event.of("slow-query"));
+                    log.warn("Slow {} statement ({} ms): {}", operation, elapsedMs, statementText);
+                }
+                observation.stop();
+            }
+        }
+
+        private String truncate(String sql) {
+            if (sql == null) {
+                return "";
+            }
+            return sql.length() > config.getMaxStatementLength()
+                    ? sql.substring(0, config.getMaxStatementLength()) + "..."
+                    : sql;
+        }
+    }
+
+    /**
+     * Marker of the DataSource proxy, so a DataSource is never wrapped twice
+     */
+    interface Traced {
+    }
+}
@@ -0,0 +1,46 @@
+package com.crs.carmanagement.tracing;
+
+import com.crs.carmanagement.config.TracingConfig;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in a TracingDataSource (tracing.jdbc.enabled).
+ * Dependencies are resolved lazily so the post-processor does not initialise them early.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tracing.jdbc", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<ObservationRegistry> registryProvider;
+    private final ObjectProvider<TracingConfig> configProvider;
+    private volatile ObservationRegistry registry;
+
+    public TracingDataSourcePostProcessor(ObjectProvider<ObservationRegistry> registryProvider,
+                                          ObjectProvider<TracingConfig> configProvider) {
+        this.registryProvider = registryProvider;
+        this.configProvider = configProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return TracingDataSource.wrap(dataSource, this::registry, configProvider.getObject().getJdbc());
+        }
+        return bean;
+    }
+
+    private ObservationRegistry registry() {
+        ObservationRegistry current = registry;
+        if (current == null) {
+            current = registryProvider.getIfAvailable();
+            registry = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,87 @@
+package com.crs.carmanagement.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Ties in-memory side effects to the outcome of the current transaction.
+ *
+ * The spatial index, identifier index, fleet aggregates and the geofence / alert
+ * state are not transactional: changed before the commit, a rollback would leave
+ * phantom or missing vehicles behind. View updates therefore go through run(),
+ * and state that has to advance inside the transaction registers an undo with
+ * onRollback(). Without an active transaction, run() applies the change at once.
+ */
+@Slf4j
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the action once the current transaction has committed (dropped on rollback)
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The data is committed; a failing view update must not turn the call into an error
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.error("In-memory update after commit failed", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Run the undo action if the current transaction does not commit.
+     * Undo actions of one transaction run in reverse order of registration.
+     */
+    public static void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Synchronizations are suspended with their transaction, so the log is per transaction
+        UndoLog undoLog = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof UndoLog existing) {
+                undoLog = existing;
+                break;
+            }
+        }
+        if (undoLog == null) {
+            undoLog = new UndoLog();
+            TransactionSynchronizationManager.registerSynchronization(undoLog);
+        }
+        undoLog.actions.push(undo);
+    }
+
+    private static final class UndoLog implements TransactionSynchronization {
+
+        private final Deque<Runnable> actions = new ArrayDeque<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                return;
+            }
+            for (Runnable undo : actions) {
+                try {
+                    undo.run();
+                } catch (RuntimeException e) {
+                    log.error("In-memory rollback failed", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+-- Partial indexes that cannot be declared with JPA @Index annotations.
+-- Executed after Hibernate has created/updated the schema
+-- (spring.jpa.defer-datasource-initialization=true).
+
+-- "Available vehicles at hub X" (search, nearest available vehicle), in id order for paging
+CREATE INDEX IF NOT EXISTS idx_vehicle_available_hub_id
+    ON vehicle (fleet_hub_id, id) WHERE status = 'AVAILABLE';
+
+-- Superseded by the id-ordered search indexes above and on the Vehicle entity
+DROP INDEX IF EXISTS idx_vehicle_available_hub;
+DROP INDEX IF EXISTS idx_vehicle_hub_status;
+DROP INDEX IF EXISTS idx_vehicle_model_status;
+
+-- "Vehicles currently charging" (search, fleet dashboard)
+CREATE INDEX IF NOT EXISTS idx_vehicle_state_charging
+    ON vehicle_state (vehicle_id) WHERE is_charging;
+
+-- Simulator cluster: live nodes and leases on the vehicle partitions they simulate
+-- (vehicle id mod simulator.cluster.partitions)
+CREATE TABLE IF NOT EXISTS simulator_node (
+    node_id      VARCHAR(100) PRIMARY KEY,
+    heartbeat_at TIMESTAMPTZ  NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS simulator_partition_lease (
+    partition_id INTEGER      PRIMARY KEY,
+    owner        VARCHAR(100),
+    lease_until  TIMESTAMPTZ,
+    epoch        BIGINT       NOT NULL DEFAULT 0
+);
@@ -0,0 +1,101 @@
+package com.crs.carmanagement.alert;
+
+import com.crs.carmanagement.config.AlertRuleConfig;
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class AlertRuleEngineTest {
+
+    private AlertRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new AlertRuleEngine(new AlertRuleConfig(), mock(VehicleEventLogService.class));
+        engine.init();
+    }
+
+    @Test
+    void lowBatteryFiresOnceUntilRecovered() {
+        assertTrue(engine.evaluate(battery(30, 0)).isEmpty());
+        assertEquals(List.of("BATTERY_LOW"), rules(engine.evaluate(battery(20, 1))));
+        assertTrue(engine.evaluate(battery(19, 2)).isEmpty());
+        // 22% is still below the clear level, so no re-arm
+        assertTrue(engine.evaluate(battery(22, 3)).isEmpty());
+        assertTrue(engine.evaluate(battery(18, 4)).isEmpty());
+
+        assertTrue(engine.evaluate(battery(25, 5)).isEmpty());
+        assertEquals(List.of("BATTERY_LOW"), rules(engine.evaluate(battery(20, 6))));
+        assertEquals(List.of("BATTERY_CRITICAL"), rules(engine.evaluate(battery(4, 7))));
+    }
+
+    @Test
+    void teleportIsDetectedAndDeduplicated() {
+        engine.evaluate(position(10.77, 106.69, 0));
+
+        List<AlertEvent> alerts = engine.evaluate(position(10.90, 106.90, 5_000));
+        assertEquals(List.of("GPS_TELEPORT"), rules(alerts));
+        assertEquals(EventType.ANOMALY_DETECTED, alerts.get(0).eventType());
+
+        // Same anomaly again within the cooldown is suppressed
+        assertTrue(engine.evaluate(position(10.77, 106.69, 10_000)).isEmpty());
+    }
+
+    @Test
+    void fixStampedBeforeThePreviousOneIsNotCompared() {
+        // Fixes from a sender whose clock is behind (e.g. a replay after a live run)
+        engine.evaluate(position(10.77, 106.69, 60_000));
+        engine.evaluate(new StateFix(1L, null, null, null, 10.0, 100.0, 60_000));
+
+        assertTrue(engine.evaluate(position(10.90, 106.90, 5_000)).isEmpty());
+        assertTrue(engine.evaluate(new StateFix(1L, null, null, null, 120.0, 180.0, 5_000)).isEmpty());
+    }
+
+    @Test
+    void onlyRulesForPresentFieldsRun() {
+        engine.evaluate(new StateFix(1L, null, null, null, 10.0, 100.0, 0));
+
+        List<AlertEvent> alerts = engine.evaluate(new StateFix(1L, null, null, null, 120.0, 180.0, 5_000));
+
+        assertEquals(List.of("SPEED_SPIKE", "ODOMETER_JUMP"), rules(alerts));
+    }
+
+    @Test
+    void rolledBackAlertDoesNotAdvanceRuleState() {
+        engine.evaluate(battery(30, 0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(List.of("BATTERY_LOW"), rules(engine.evaluate(battery(20, 1))));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // The alert event was never written, so the rule is still armed
+        assertEquals(List.of("BATTERY_LOW"), rules(engine.evaluate(battery(20, 2))));
+    }
+
+    private static StateFix battery(int level, long seconds) {
+        return new StateFix(1L, null, null, level, null, null, seconds * 1000);
+    }
+
+    private static StateFix position(double lat, double lon, long millis) {
+        return new StateFix(1L, lat, lon, null, null, null, millis);
+    }
+
+    private static List<String> rules(List<AlertEvent> alerts) {
+        return alerts.stream().map(AlertEvent::rule).toList();
+    }
+}
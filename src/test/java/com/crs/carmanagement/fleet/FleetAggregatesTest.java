@@ -0,0 +1,71 @@
+package com.crs.carmanagement.fleet;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FleetAggregatesTest {
+
+    private FleetAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new FleetAggregates();
+        aggregates.rebuild(List.of(
+                new FleetVehicleSnapshot(1L, 1L, VehicleStatus.AVAILABLE, 95, false),
+                new FleetVehicleSnapshot(2L, 1L, VehicleStatus.IN_USE, 42, false),
+                new FleetVehicleSnapshot(3L, 2L, VehicleStatus.CHARGING, 5, true),
+                new FleetVehicleSnapshot(4L, null, VehicleStatus.MAINTENANCE, null, null)));
+    }
+
+    @Test
+    void rebuildCountsEveryDimension() {
+        assertEquals(4, aggregates.totalVehicles());
+        assertEquals(1, aggregates.statusCountsByHub().get(1L).get(VehicleStatus.AVAILABLE));
+        assertEquals(1, aggregates.statusCountsByHub().get(FleetAggregates.NO_HUB).get(VehicleStatus.MAINTENANCE));
+        assertEquals(1, aggregates.chargingVehicles());
+        assertEquals(1, aggregates.unknownBattery());
+        assertArrayEquals(new int[] { 1, 0, 0, 0, 1, 0, 0, 0, 0, 1 }, aggregates.batteryHistogram());
+    }
+
+    @Test
+    void incrementalUpdatesMoveCounters() {
+        aggregates.updateStatus(1L, VehicleStatus.IN_USE);
+        aggregates.updateFleetHub(2L, 2L);
+        aggregates.updateBattery(3L, 100, false);
+        aggregates.remove(4L);
+
+        assertEquals(3, aggregates.totalVehicles());
+        assertEquals(0, aggregates.statusCountsByHub().get(1L).get(VehicleStatus.AVAILABLE));
+        assertEquals(1, aggregates.statusCountsByHub().get(1L).get(VehicleStatus.IN_USE));
+        assertEquals(1, aggregates.statusCountsByHub().get(2L).get(VehicleStatus.IN_USE));
+        assertEquals(0, aggregates.statusCountsByHub().get(FleetAggregates.NO_HUB).get(VehicleStatus.MAINTENANCE));
+        assertEquals(0, aggregates.chargingVehicles());
+        assertEquals(0, aggregates.unknownBattery());
+        assertArrayEquals(new int[] { 0, 0, 0, 0, 1, 0, 0, 0, 0, 2 }, aggregates.batteryHistogram());
+    }
+
+    @Test
+    void changesDuringRebuildAreKeptAndReadersSeeTheOldFleet() {
+        aggregates.rebuild(() -> {
+            // The database load is in progress: readers still see the previous fleet
+            assertEquals(4, aggregates.totalVehicles());
+            aggregates.updateBattery(1L, 15, true);
+            aggregates.updateStatus(2L, VehicleStatus.AVAILABLE);
+            return List.of(
+                    new FleetVehicleSnapshot(1L, 1L, VehicleStatus.AVAILABLE, 95, false),
+                    new FleetVehicleSnapshot(2L, 1L, VehicleStatus.IN_USE, 42, false));
+        });
+
+        assertEquals(2, aggregates.totalVehicles());
+        assertEquals(2, aggregates.statusCountsByHub().get(1L).get(VehicleStatus.AVAILABLE));
+        assertEquals(0, aggregates.statusCountsByHub().get(1L).get(VehicleStatus.IN_USE));
+        assertEquals(1, aggregates.chargingVehicles());
+        assertArrayEquals(new int[] { 0, 1, 0, 0, 1, 0, 0, 0, 0, 0 }, aggregates.batteryHistogram());
+    }
+}
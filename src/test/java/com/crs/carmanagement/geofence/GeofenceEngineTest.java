@@ -0,0 +1,128 @@
+package com.crs.carmanagement.geofence;
+
+import com.crs.carmanagement.entity.FleetHub;
+import com.crs.carmanagement.entity.Geofence;
+import com.crs.carmanagement.enums.GeofenceTrigger;
+import com.crs.carmanagement.enums.GeofenceType;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class GeofenceEngineTest {
+
+    private GeofenceEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new GeofenceEngine(mock(VehicleEventLogService.class), new ObjectMapper());
+    }
+
+    @Test
+    void emitsOnlyEnterAndExitTransitions() {
+        engine.reload(List.of(circle(1L, 10.7728, 106.6980, 1000, null)));
+
+        // First fix establishes the baseline (outside)
+        assertTrue(engine.evaluate(1L, null, 10.80, 106.75).isEmpty());
+
+        List<GeofenceTransition> enter = engine.evaluate(1L, null, 10.7730, 106.6985);
+        assertEquals(List.of(GeofenceTransition.Direction.ENTER), enter.stream().map(GeofenceTransition::direction).toList());
+
+        // Moving inside the fence is not a transition
+        assertTrue(engine.evaluate(1L, null, 10.7725, 106.6975).isEmpty());
+
+        List<GeofenceTransition> exit = engine.evaluate(1L, null, 10.80, 106.75);
+        assertEquals(List.of(GeofenceTransition.Direction.EXIT), exit.stream().map(GeofenceTransition::direction).toList());
+    }
+
+    @Test
+    void polygonContainmentAndHubScope() {
+        Geofence square = Geofence.builder()
+                .id(2L)
+                .name("Hub 1 area")
+                .type(GeofenceType.POLYGON)
+                .trigger(GeofenceTrigger.EXIT)
+                .fleetHub(FleetHub.builder().id(1L).build())
+                .vertices("[[10.70,106.60],[10.70,106.70],[10.80,106.70],[10.80,106.60]]")
+                .updatedAt(LocalDateTime.now())
+                .build();
+        engine.reload(List.of(square));
+
+        engine.evaluate(1L, 1L, 10.75, 106.65);
+        engine.evaluate(2L, 2L, 10.75, 106.65);
+
+        assertEquals(1, engine.evaluate(1L, 1L, 10.85, 106.65).size());
+        // Vehicle of another hub is never inside a hub-scoped fence
+        assertTrue(engine.evaluate(2L, 2L, 10.85, 106.65).isEmpty());
+    }
+
+    @Test
+    void newFenceDoesNotReportVehiclesAlreadyInside() {
+        engine.reload(List.of(circle(1L, 10.90, 106.90, 500, null)));
+        engine.evaluate(1L, null, 10.7728, 106.6980);
+
+        engine.reload(List.of(circle(1L, 10.90, 106.90, 500, null), circle(2L, 10.7728, 106.6980, 1000, null)));
+
+        assertTrue(engine.evaluate(1L, null, 10.7729, 106.6981).isEmpty());
+        assertEquals(1, engine.evaluate(1L, null, 10.80, 106.75).size());
+    }
+
+    @Test
+    void rolledBackTransitionIsRaisedAgain() {
+        engine.reload(List.of(circle(1L, 10.7728, 106.6980, 1000, null)));
+        engine.evaluate(1L, null, 10.80, 106.75);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(1, engine.evaluate(1L, null, 10.7730, 106.6985).size());
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // The ENTER event was rolled back with the fix, so the next fix inside reports it again
+        assertEquals(1, engine.evaluate(1L, null, 10.7730, 106.6985).size());
+    }
+
+    @Test
+    void publishesEvaluationStatsAsMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        engine.bindTo(registry);
+        engine.reload(List.of(circle(1L, 10.7728, 106.6980, 1000, null)));
+
+        engine.evaluate(1L, null, 10.80, 106.75);
+        engine.evaluate(1L, null, 10.7730, 106.6985);
+
+        FunctionTimer evaluation = registry.get("geofence.evaluation").functionTimer();
+        assertEquals(2, evaluation.count());
+        assertEquals(1, registry.get("geofence.transitions").functionCounter().count());
+        assertEquals(1, registry.get("geofence.active").gauge().value());
+        assertEquals(1, registry.get("geofence.tracked.vehicles").gauge().value());
+    }
+
+    private static Geofence circle(Long id, double lat, double lon, double radiusMeters, FleetHub hub) {
+        return Geofence.builder()
+                .id(id)
+                .name("Circle " + id)
+                .type(GeofenceType.CIRCLE)
+                .fleetHub(hub)
+                .centerLatitude(lat)
+                .centerLongitude(lon)
+                .radiusMeters(radiusMeters)
+                .updatedAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.crs.carmanagement.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VehicleImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void csvRowsAreMappedByHeader() {
+        String csv = """
+                plateNumber,modelId,vin,color,manufactureYear,fleetHubId
+                51A-10001,1,VF1AG000000000001,"White, pearl",2024,2
+
+                51A-10002,x,VF1AG000000000002,Black,2024,2
+                """;
+
+        List<ImportRow> rows = readAll(csv, ImportFormat.CSV);
+
+        assertEquals(2, rows.size());
+        ImportRow first = rows.get(0);
+        assertNull(first.error());
+        assertEquals(2, first.lineNumber());
+        assertEquals("51A-10001", first.request().getPlateNumber());
+        assertEquals("White, pearl", first.request().getColor());
+        assertEquals(2L, first.request().getFleetHubId());
+        assertEquals(true, first.request().getIsVirtual());
+
+        ImportRow second = rows.get(1);
+        assertEquals(4, second.lineNumber());
+        assertEquals("Invalid modelid: x", second.error());
+    }
+
+    @Test
+    void ndjsonReportsMalformedLines() {
+        String ndjson = """
+                {"modelId":1,"plateNumber":"51A-10001","vin":"VF1AG000000000001","color":"Red","manufactureYear":2024,"fleetHubId":1}
+                {"modelId":1,"plateNumber":
+                """;
+
+        List<ImportRow> rows = readAll(ndjson, ImportFormat.NDJSON);
+
+        assertEquals(2, rows.size());
+        assertEquals("Red", rows.get(0).request().getColor());
+        assertNotNull(rows.get(1).error());
+    }
+
+    @Test
+    void quotedFieldsKeepEscapedQuotes() {
+        assertEquals(List.of("a", "b \"c\"", ""), VehicleImportReader.splitCsvLine("a,\"b \"\"c\"\"\","));
+    }
+
+    private List<ImportRow> readAll(String payload, ImportFormat format) {
+        List<ImportRow> rows = new ArrayList<>();
+        new VehicleImportReader(new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)), format, objectMapper)
+                .forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,164 @@
+package com.crs.carmanagement.ingest;
+
+import com.crs.carmanagement.config.StreamIngestConfig;
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.StreamIngestAck;
+import com.crs.carmanagement.service.VehicleStateService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.HttpHandlerConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StreamIngestHandlerTest {
+
+    private final VehicleStateService vehicleStateService = mock(VehicleStateService.class);
+    private final StreamIngestConfig config = new StreamIngestConfig();
+    private StreamIngestHandler handler;
+
+    @AfterEach
+    void shutdown() {
+        if (handler != null) {
+            handler.shutdown();
+        }
+    }
+
+    @Test
+    void writesEveryFixInVehicleOrderAndAcknowledgesTheStream() {
+        config.setBatchSize(500);
+        config.setMaxBatchDelayMs(50);
+        config.setWriterThreads(2);
+        List<Map<Long, UpdateVehicleStateRequest>> writes = new CopyOnWriteArrayList<>();
+        when(vehicleStateService.applyVehicleStates(anyMap())).thenAnswer(invocation -> {
+            Map<Long, UpdateVehicleStateRequest> round = new LinkedHashMap<>(invocation.getArgument(0));
+            writes.add(round);
+            return round.keySet();
+        });
+
+        // 1200 fixes over 100 vehicles, so every batch repeats vehicles; fix 7 has no state
+        Flux<VehicleStateUpdate> fixes = Flux.range(1, 1200)
+                .map(i -> i == 7 ? new VehicleStateUpdate(7L, null) : fix(i % 100 + 1, i));
+        StreamIngestAck ack = post(fixes).block(Duration.ofSeconds(10));
+
+        assertEquals(1200L, ack.getReceived());
+        assertEquals(1L, ack.getInvalid());
+        assertEquals(1199L, ack.getWritten());
+        assertEquals(0L, ack.getRejected());
+        assertEquals(0L, ack.getFailed());
+        assertNull(ack.getError());
+        assertEquals(1199L, handler.getStats().get("fixesApplied"));
+        assertEquals(0L, handler.getStats().get("activeConnections"));
+
+        // No fix coalesced away, and each vehicle's odometer only moves forward
+        assertEquals(1199, writes.stream().mapToInt(Map::size).sum());
+        Map<Long, Double> lastOdometer = new HashMap<>();
+        for (Map<Long, UpdateVehicleStateRequest> round : writes) {
+            round.forEach((vehicleId, state) -> {
+                Double previous = lastOdometer.put(vehicleId, state.getOdometerKm());
+                assertTrue(previous == null || previous < state.getOdometerKm(), "Out of order for " + vehicleId);
+            });
+        }
+    }
+
+    @Test
+    void stopsReadingWhileTheWriterIsBusy() throws InterruptedException {
+        config.setBatchSize(100);
+        config.setMaxBatchDelayMs(10);
+        config.setWriterThreads(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vehicleStateService.applyVehicleStates(anyMap())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.<Map<Long, ?>>getArgument(0).keySet();
+        });
+
+        AtomicLong produced = new AtomicLong();
+        Flux<VehicleStateUpdate> endless = Flux.range(1, 100_000)
+                .doOnNext(i -> produced.incrementAndGet())
+                .map(i -> fix(i, i));
+        post(endless).subscribe();
+
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        Thread.sleep(500);
+        // Decoder, connection and partition prefetch plus the batch being written, not the whole stream
+        assertTrue(produced.get() < 2_000, "Read " + produced.get() + " fixes while the writer was blocked");
+        release.countDown();
+    }
+
+    @Test
+    void acknowledgesEachFixByTheOutcomeOfItsRound() {
+        // Exactly one batch of all eight fixes
+        config.setBatchSize(8);
+        config.setMaxBatchDelayMs(5000);
+        config.setWriterThreads(1);
+        AtomicLong rounds = new AtomicLong();
+        when(vehicleStateService.applyVehicleStates(anyMap())).thenAnswer(invocation -> {
+            Map<Long, ?> round = invocation.getArgument(0);
+            // First round: vehicle 3 is rejected by the service; second round: the transaction fails
+            if (rounds.incrementAndGet() == 2) {
+                throw new IllegalStateException("connection reset");
+            }
+            return round.keySet().stream().filter(id -> id != 3L).collect(Collectors.toSet());
+        });
+
+        // Vehicles 1-4 twice, so the batch is written in two rounds of four
+        Flux<VehicleStateUpdate> fixes = Flux.range(1, 8).map(i -> fix((i - 1) % 4 + 1, i));
+        StreamIngestAck ack = post(fixes).block(Duration.ofSeconds(10));
+
+        assertEquals(8L, ack.getReceived());
+        assertEquals(3L, ack.getWritten());
+        assertEquals(1L, ack.getRejected());
+        assertEquals(4L, ack.getFailed());
+        assertEquals(2L, rounds.get());
+        assertEquals(3L, handler.getStats().get("fixesApplied"));
+        assertEquals(1L, handler.getStats().get("fixesRejected"));
+        assertEquals(4L, handler.getStats().get("fixesFailed"));
+    }
+
+    /**
+     * Stream the fixes to the handler in memory (no socket) and read the ack
+     */
+    private Mono<StreamIngestAck> post(Flux<VehicleStateUpdate> fixes) {
+        handler = new StreamIngestHandler(vehicleStateService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), config);
+        return WebClient.builder()
+                .clientConnector(new HttpHandlerConnector(RouterFunctions.toHttpHandler(handler.routes())))
+                .build()
+                .post().uri(StreamIngestHandler.STREAM_PATH)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(fixes, VehicleStateUpdate.class)
+                .retrieve()
+                .bodyToMono(StreamIngestAck.class);
+    }
+
+    private static VehicleStateUpdate fix(int vehicleId, int sequence) {
+        return new VehicleStateUpdate((long) vehicleId, UpdateVehicleStateRequest.builder()
+                .latitude(10.77).longitude(106.69).batteryLevel(80).speedKmh(30.0)
+                .odometerKm((double) sequence).build());
+    }
+}
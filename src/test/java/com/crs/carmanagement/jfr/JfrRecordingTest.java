@@ -0,0 +1,97 @@
+package com.crs.carmanagement.jfr;
+
+import com.crs.carmanagement.config.JfrConfig;
+import com.crs.carmanagement.dto.request.JfrRecordingRequest;
+import com.crs.carmanagement.dto.response.JfrRecordingResponse;
+import com.crs.carmanagement.enums.DataSource;
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.repository.VehicleEventLogRepository;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.crs.carmanagement.service.impl.JfrRecordingServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class JfrRecordingTest {
+
+    @TempDir
+    Path dumpDir;
+
+    private JfrRecordingServiceImpl service;
+
+    @AfterEach
+    void closeRecording() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    @Test
+    void recordsIngestStagesAndEventLogWrites() throws IOException {
+        service = new JfrRecordingServiceImpl(config());
+        JfrRecordingResponse started = service.startRecording(
+                JfrRecordingRequest.builder().stageThresholdMs(0L).maxSizeMb(16L).build());
+        assertTrue(started.getActive());
+        assertEquals(16L, started.getMaxSizeMb());
+
+        IngestStageEvent.start(IngestStageEvent.CHANGE_DETECTION).finish(42L, DataSource.VIRTUAL_CAR, 3);
+        VehicleEventLogService eventLog = new VehicleEventLogService(
+                mock(VehicleEventLogRepository.class), new ObjectMapper(), null);
+        eventLog.logEvent(42L, EventType.STATE_UPDATED, Map.of("speedKmh", 50));
+
+        JfrRecordingResponse stopped = service.stopRecording();
+        assertFalse(stopped.getActive());
+        assertTrue(stopped.getDumpSizeBytes() > 0);
+        assertFalse(service.getRecording().getActive());
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(stopped.getDumpFile()));
+        RecordedEvent stage = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.crs.carmanagement.IngestStage"))
+                .findFirst().orElseThrow();
+        assertEquals(IngestStageEvent.CHANGE_DETECTION, stage.getString("stage"));
+        assertEquals(42L, stage.getLong("vehicleId"));
+        assertEquals("VIRTUAL_CAR", stage.getString("dataSource"));
+        assertEquals(3, stage.getInt("size"));
+
+        List<RecordedEvent> writes = events.stream()
+                .filter(event -> event.getEventType().getName().equals("com.crs.carmanagement.EventLogWrite"))
+                .toList();
+        assertEquals(List.of(EventLogWriteEvent.SERIALIZE, EventLogWriteEvent.INSERT),
+                writes.stream().map(event -> event.getString("stage")).toList());
+        assertEquals("{\"speedKmh\":50}".length(), writes.get(0).getLong("payloadSize"));
+    }
+
+    @Test
+    void allowsOneRecordingAtATime() {
+        service = new JfrRecordingServiceImpl(config());
+        assertThrows(BusinessValidationException.class, service::stopRecording);
+        assertThrows(BusinessValidationException.class,
+                () -> service.startRecording(JfrRecordingRequest.builder().settings("no-such-settings").build()));
+
+        service.startRecording(new JfrRecordingRequest());
+        assertThrows(BusinessValidationException.class, () -> service.startRecording(new JfrRecordingRequest()));
+        assertTrue(service.dumpRecording().getActive());
+        assertTrue(service.getRecording().getActive());
+    }
+
+    private JfrConfig config() {
+        JfrConfig config = new JfrConfig();
+        config.setDumpDir(dumpDir.toString());
+        return config;
+    }
+}
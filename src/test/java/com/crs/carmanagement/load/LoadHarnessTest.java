@@ -0,0 +1,377 @@
+package com.crs.carmanagement.load;
+
+import com.crs.carmanagement.loadgen.LatencyHistogram;
+import com.crs.carmanagement.support.EmbeddedPostgresSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.Filter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load harness: boots the whole application (HTTP, validation, JPA) on
+ * an embedded PostgreSQL, seeds load.vehicles vehicles and drives a weighted mix of
+ * state PUTs, detail GETs and list GETs from load.clients closed-loop virtual-thread
+ * clients. Reports throughput, latency percentiles and SQL statements per operation
+ * to target/load-report.json and fails when a limit of the threshold file is exceeded.
+ *
+ * Tagged "load", so it only runs with the load profile: mvn -P load test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.use_sql_comments=false",
+        "simulator.enabled=false",
+        // Threading mode under test: virtual-thread Tomcat / schedulers vs platform workers
+        "spring.threads.virtual.enabled=${load.virtual-threads:false}",
+        // Per-request INFO/DEBUG logging would dominate the measurement
+        "logging.level.com.crs.carmanagement=WARN",
+        "logging.level.com.crs.carmanagement.load=INFO",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Tag("load")
+@EnabledIf("com.crs.carmanagement.support.EmbeddedPostgresSupport#available")
+@Slf4j
+class LoadHarnessTest {
+
+    static final String STATE_PUT = "state-put";
+    static final String DETAIL_GET = "detail-get";
+    static final String LIST_GET = "list-get";
+
+    private static final int VEHICLES = Integer.getInteger("load.vehicles", 2000);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 16);
+    private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("load.virtual-threads");
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 10);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 20);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final String MIX = System.getProperty("load.mix", "state-put=70,detail-get=20,list-get=10");
+    private static final String THRESHOLDS = System.getProperty("load.thresholds", "load-thresholds.properties");
+    private static final String REPORT = System.getProperty("load.report", "target/load-report.json");
+    private static final int LIST_PAGE_SIZE = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @TestConfiguration
+    static class LoadHarnessConfig {
+
+        @Bean
+        SqlStatementCounter sqlStatementCounter() {
+            return new SqlStatementCounter();
+        }
+
+        @Bean
+        DataSource dataSource(SqlStatementCounter sqlStatementCounter) throws IOException {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("load-harness");
+            pool.setDataSource(EmbeddedPostgresSupport.dataSource());
+            pool.setMaximumPoolSize(POOL_SIZE);
+            return sqlStatementCounter.wrap(pool);
+        }
+
+        @Bean
+        FilterRegistrationBean<Filter> sqlStatementFilter(SqlStatementCounter sqlStatementCounter) {
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(sqlStatementCounter.filter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+
+        /**
+         * Seed the load fleet before the in-memory indexes are built on ApplicationReadyEvent
+         */
+        @Bean
+        CommandLineRunner loadFleetSeeder(JdbcTemplate jdbcTemplate) {
+            return args -> {
+                jdbcTemplate.update("INSERT INTO vehicle_model (model_id, model_name, brand, active, created_at) " +
+                        "VALUES ('LOAD', 'Load Model', 'VinFast', true, now())");
+                jdbcTemplate.update("INSERT INTO fleet_hub (name, location, latitude, longitude, capacity, " +
+                        "current_occupancy, has_charging_station, created_at) " +
+                        "VALUES ('Load Hub', 'District 1', 10.77, 106.69, ?, 0, true, now())", VEHICLES);
+                jdbcTemplate.update("INSERT INTO vehicle (model_id, plate_number, vin, color, manufacture_year, " +
+                        "status, odometer_km, fleet_hub_id, is_virtual, created_at) " +
+                        "SELECT (SELECT id FROM vehicle_model WHERE model_id = 'LOAD'), 'LOAD-' || g, " +
+                        "'LOAD' || lpad(g::text, 13, '0'), 'White', 2024, " +
+                        "CASE WHEN g % 2 = 0 THEN 'AVAILABLE' ELSE 'IN_USE' END, 0, " +
+                        "(SELECT id FROM fleet_hub WHERE name = 'Load Hub'), true, now() " +
+                        "FROM generate_series(1, ?) g", VEHICLES);
+                jdbcTemplate.update("INSERT INTO vehicle_state (vehicle_id, latitude, longitude, battery_level, " +
+                        "is_charging, speed_kmh, odometer_km, last_updated_at, data_source, message_sequence, " +
+                        "created_at) SELECT id, 10.77, 106.69, 80, false, 0, 0, now(), 'SYSTEM', 0, now() " +
+                        "FROM vehicle WHERE plate_number LIKE 'LOAD-%'");
+            };
+        }
+    }
+
+    @Test
+    void meetsThroughputLatencyAndSqlThresholds() throws Exception {
+        long[] vehicleIds = jdbcTemplate.queryForList(
+                "SELECT id FROM vehicle WHERE plate_number LIKE 'LOAD-%' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        assertTrue(vehicleIds.length >= CLIENTS, "load.vehicles must be at least load.clients");
+        Map<String, Integer> mix = parseMix(MIX);
+        LoadThresholds thresholds = LoadThresholds.load(THRESHOLDS);
+        log.info("Load harness: {} vehicles, {} clients, {} threads, pool {}, mix {}, warmup {} s, measure {} s",
+                vehicleIds.length, CLIENTS, VIRTUAL_THREADS ? "virtual" : "platform", POOL_SIZE, mix,
+                WARMUP_SECONDS, DURATION_SECONDS);
+
+        Fleet fleet = new Fleet(vehicleIds);
+        drive(fleet, mix, WARMUP_SECONDS, SEED - 1);
+        sqlStatementCounter.reset();
+        Map<String, OperationStats> results = drive(fleet, mix, DURATION_SECONDS, SEED);
+
+        Map<String, Map<String, Object>> operations = new LinkedHashMap<>();
+        results.forEach((operation, stats) -> operations.put(operation,
+                stats.summary(DURATION_SECONDS, sqlStatementCounter.count(operation))));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("vehicles", vehicleIds.length);
+        report.put("clients", CLIENTS);
+        report.put("virtualThreads", VIRTUAL_THREADS);
+        report.put("poolSize", POOL_SIZE);
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("mix", mix);
+        report.put("seed", SEED);
+        report.put("operations", operations);
+        report.put("otherSqlStatements", sqlStatementCounter.count(SqlStatementCounter.OTHER));
+        List<String> violations = thresholds.check(operations);
+        report.put("violations", violations);
+
+        File reportFile = new File(REPORT);
+        reportFile.getAbsoluteFile().getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        logReport(operations, reportFile);
+
+        assertTrue(violations.isEmpty(), "Load thresholds exceeded:\n  " + String.join("\n  ", violations));
+    }
+
+    /**
+     * Run the mix for the given time; every client owns a disjoint slice of the fleet
+     * for its PUTs so odometers only increase, while GETs read any vehicle
+     */
+    private Map<String, OperationStats> drive(Fleet fleet, Map<String, Integer> mix, int seconds, long seed)
+            throws InterruptedException {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        mix.keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+        String[] operations = mix.keySet().toArray(String[]::new);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += mix.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        int weightRange = totalWeight;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int clientIndex = c;
+                clients.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed * 1_000_003 + clientIndex);
+                    while (System.nanoTime() < deadline) {
+                        int pick = random.nextInt(weightRange);
+                        int index = 0;
+                        while (cumulativeWeights[index] <= pick) {
+                            index++;
+                        }
+                        String operation = operations[index];
+                        send(operation, request(operation, fleet, clientIndex, random), stats.get(operation));
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private HttpRequest request(String operation, Fleet fleet, int clientIndex, SplittableRandom random) {
+        HttpRequest.Builder builder = switch (operation) {
+            case STATE_PUT -> {
+                int owned = (fleet.size() - clientIndex + CLIENTS - 1) / CLIENTS;
+                int slot = clientIndex + CLIENTS * random.nextInt(owned);
+                yield HttpRequest.newBuilder(uri("/api/v1/vehicles/" + fleet.ids[slot] + "/state"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(fleet.nextFix(slot, random)));
+            }
+            case DETAIL_GET -> HttpRequest.newBuilder(uri("/api/v1/vehicles/"
+                    + fleet.ids[random.nextInt(fleet.size())])).GET();
+            case LIST_GET -> HttpRequest.newBuilder(uri("/api/v1/vehicles?size=" + LIST_PAGE_SIZE + "&page="
+                    + random.nextInt(Math.max(1, fleet.size() / LIST_PAGE_SIZE)))).GET();
+            default -> throw new IllegalArgumentException("Unknown load operation: " + operation);
+        };
+        return builder.header(SqlStatementCounter.OPERATION_HEADER, operation)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private void send(String operation, HttpRequest request, OperationStats stats) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                stats.fail("HTTP " + response.statusCode() + " from " + operation);
+                return;
+            }
+            stats.latency.record((System.nanoTime() - start) / 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            stats.fail(e.toString());
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void logReport(Map<String, Map<String, Object>> operations, File reportFile) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-12s %9s %7s %10s %9s %9s %9s %8s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "sql/op"));
+        operations.forEach((operation, metrics) -> table.append(String.format(Locale.ROOT,
+                "%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %8.2f%n", operation, metrics.get("requests"),
+                metrics.get("errors"), metrics.get("throughput"), metrics.get("p50Ms"), metrics.get("p99Ms"),
+                metrics.get("p999Ms"), metrics.get("sqlPerOp"))));
+        log.info("Load harness results (report: {}):{}", reportFile, table);
+    }
+
+    /**
+     * "state-put=70,detail-get=20" to operation -> weight
+     */
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            String operation = parts[0].trim();
+            if (!List.of(STATE_PUT, DETAIL_GET, LIST_GET).contains(operation) || parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Load mix has no operation: " + mix);
+        }
+        return weights;
+    }
+
+    /**
+     * Last sent state of every load vehicle; a slot is only written by the client owning it
+     */
+    static final class Fleet {
+
+        final long[] ids;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[] odometers;
+        private final int[] batteryLevels;
+
+        Fleet(long[] ids) {
+            this.ids = ids;
+            int size = ids.length;
+            latitudes = new double[size];
+            longitudes = new double[size];
+            odometers = new double[size];
+            batteryLevels = new int[size];
+            for (int i = 0; i < size; i++) {
+                // Matches the seeded vehicle_state rows
+                latitudes[i] = 10.77;
+                longitudes[i] = 106.69;
+                batteryLevels[i] = 80;
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        String nextFix(int slot, SplittableRandom random) {
+            latitudes[slot] += (random.nextDouble() - 0.5) * 0.002;
+            longitudes[slot] += (random.nextDouble() - 0.5) * 0.002;
+            odometers[slot] += 0.05 + random.nextDouble() * 0.1;
+            batteryLevels[slot] = batteryLevels[slot] <= 30 ? 100 : batteryLevels[slot] - random.nextInt(2);
+            return String.format(Locale.ROOT, "{\"latitude\":%.6f,\"longitude\":%.6f,\"batteryLevel\":%d," +
+                            "\"isCharging\":false,\"speedKmh\":%.1f,\"odometerKm\":%.3f,\"dataSource\":\"VIRTUAL_CAR\"}",
+                    latitudes[slot], longitudes[slot], batteryLevels[slot], 20 + random.nextDouble() * 40,
+                    odometers[slot]);
+        }
+    }
+
+    private static final class OperationStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private volatile String lastError;
+
+        void fail(String error) {
+            errors.increment();
+            lastError = error;
+        }
+
+        Map<String, Object> summary(int seconds, long sqlStatements) {
+            long succeeded = latency.count();
+            long failed = errors.sum();
+            long requests = succeeded + failed;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", requests);
+            summary.put("errors", failed);
+            summary.put("errorRate", requests == 0 ? 0.0 : (double) failed / requests);
+            summary.put("throughput", (double) requests / seconds);
+            summary.put("p50Ms", latency.percentile(50) / 1000.0);
+            summary.put("p99Ms", latency.percentile(99) / 1000.0);
+            summary.put("p999Ms", latency.percentile(99.9) / 1000.0);
+            summary.put("maxMs", latency.max() / 1000.0);
+            summary.put("sqlStatements", sqlStatements);
+            summary.put("sqlPerOp", requests == 0 ? 0.0 : (double) sqlStatements / requests);
+            summary.put("lastError", lastError);
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.crs.carmanagement.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Pass/fail limits of the load harness, read from a properties file of
+ * operation.limit = value entries, e.g. state-put.p99-ms = 250.
+ * Latency, error rate and SQL limits are upper bounds, min-throughput a lower bound.
+ * Unknown limits fail the run so a typo cannot silently disable a check.
+ */
+class LoadThresholds {
+
+    // Threshold suffix -> report metric; max unless the suffix starts with "min-"
+    private static final Map<String, String> METRICS = Map.of(
+            "p50-ms", "p50Ms",
+            "p99-ms", "p99Ms",
+            "p999-ms", "p999Ms",
+            "max-error-rate", "errorRate",
+            "max-sql-per-op", "sqlPerOp",
+            "min-throughput", "throughput");
+
+    private final Map<String, Double> limits;
+
+    private LoadThresholds(Map<String, Double> limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Load from a file path, or from the classpath when no such file exists
+     */
+    static LoadThresholds load(String location) throws IOException {
+        Properties properties = new Properties();
+        Path path = Path.of(location);
+        try (InputStream input = Files.exists(path) ? Files.newInputStream(path)
+                : LoadThresholds.class.getClassLoader().getResourceAsStream(location)) {
+            if (input == null) {
+                throw new IOException("Threshold file not found: " + location);
+            }
+            properties.load(input);
+        }
+
+        Map<String, Double> limits = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            if (dot < 0 || !METRICS.containsKey(key.substring(dot + 1))) {
+                throw new IllegalArgumentException("Unknown load threshold: " + key);
+            }
+            limits.put(key, Double.parseDouble(properties.getProperty(key).trim()));
+        }
+        return new LoadThresholds(limits);
+    }
+
+    /**
+     * Compare the per-operation report metrics with the limits
+     *
+     * @return one line per violated limit, empty when the run passes
+     */
+    List<String> check(Map<String, Map<String, Object>> operations) {
+        List<String> violations = new ArrayList<>();
+        limits.forEach((key, limit) -> {
+            int dot = key.indexOf('.');
+            String operation = key.substring(0, dot);
+            String suffix = key.substring(dot + 1);
+            Map<String, Object> metrics = operations.get(operation);
+            if (metrics == null) {
+                // Operation not part of this mix
+                return;
+            }
+            double value = ((Number) metrics.get(METRICS.get(suffix))).doubleValue();
+            boolean lowerBound = suffix.startsWith("min-");
+            if (lowerBound ? value < limit : value > limit) {
+                violations.add(String.format("%s = %.3f, limit %s %.3f", key, value, lowerBound ? ">=" : "<=", limit));
+            }
+        });
+        return violations;
+    }
+}
@@ -0,0 +1,116 @@
+package com.crs.carmanagement.load;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletRequest;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements sent to the database, per load harness operation.
+ * The harness tags every request with an operation header; a servlet filter binds it
+ * to the request thread and the wrapped DataSource charges each statement to it.
+ * A prepared statement counts once however often it is executed (a JDBC batch is one
+ * round trip); plain statements count per execute. Statements outside of a tagged
+ * request (startup, scheduled jobs) are charged to "other".
+ */
+class SqlStatementCounter {
+
+    static final String OPERATION_HEADER = "X-Load-Operation";
+    static final String OTHER = "other";
+
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+
+    private final ThreadLocal<String> currentOperation = new ThreadLocal<>();
+    private final Map<String, LongAdder> statements = new ConcurrentHashMap<>();
+
+    /**
+     * Wrap a DataSource so every connection it hands out is counted
+     */
+    DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    /**
+     * Filter binding the operation header to the request thread
+     */
+    Filter filter() {
+        return (request, response, chain) -> {
+            String operation = ((HttpServletRequest) request).getHeader(OPERATION_HEADER);
+            currentOperation.set(operation);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                currentOperation.remove();
+            }
+        };
+    }
+
+    long count(String operation) {
+        LongAdder adder = statements.get(operation);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    Map<String, Long> counts() {
+        Map<String, Long> counts = new TreeMap<>();
+        statements.forEach((operation, adder) -> counts.put(operation, adder.sum()));
+        return counts;
+    }
+
+    void reset() {
+        statements.clear();
+    }
+
+    private Connection wrap(Connection target) {
+        return proxy(Connection.class, target, (method, args) -> {
+            if (PREPARE_METHODS.contains(method.getName())) {
+                record();
+            }
+            Object result = method.invoke(target, args);
+            return result instanceof Statement statement && method.getName().equals("createStatement")
+                    ? wrap(statement) : result;
+        });
+    }
+
+    private Statement wrap(Statement target) {
+        return proxy(Statement.class, target, (method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                record();
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private void record() {
+        String operation = currentOperation.get();
+        statements.computeIfAbsent(operation != null ? operation : OTHER, key -> new LongAdder()).increment();
+    }
+
+    private interface Invocation {
+        Object invoke(Method method, Object[] args) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Invocation invocation) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return invocation.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
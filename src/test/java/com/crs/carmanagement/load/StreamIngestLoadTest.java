@@ -0,0 +1,282 @@
+package com.crs.carmanagement.load;
+
+import com.crs.carmanagement.dto.response.StreamIngestAck;
+import com.crs.carmanagement.ingest.StreamIngestHandler;
+import com.crs.carmanagement.ingest.StreamIngestServer;
+import com.crs.carmanagement.load.LoadHarnessTest.Fleet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the two ways a device can push fixes, under load.stream.connections concurrent
+ * devices: one MVC PUT per fix (closed-loop clients) against one NDJSON stream of
+ * load.stream.fixes-per-connection fixes per device on the reactive ingestion port. Reports fixes per second and fixes per CPU
+ * second of the whole process (clients included, they run in the same JVM) to
+ * target/stream-ingest-report.json and fails unless streaming ingests at least
+ * load.stream.min-speedup times more fixes per CPU second.
+ *
+ * Tagged "load": mvn -P load test -Dtest=StreamIngestLoadTest
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.use_sql_comments=false",
+        "simulator.enabled=false",
+        "ingestion.stream.enabled=true",
+        "ingestion.stream.port=0",
+        "logging.level.com.crs.carmanagement=WARN",
+        "logging.level.com.crs.carmanagement.load=INFO",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Import(LoadHarnessTest.LoadHarnessConfig.class)
+@Tag("load")
+@EnabledIf("com.crs.carmanagement.support.EmbeddedPostgresSupport#available")
+@Slf4j
+class StreamIngestLoadTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("load.stream.connections", 200);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration-seconds", 20);
+    private static final int STREAM_FIXES = Integer.getInteger("load.stream.fixes-per-connection", 100);
+    private static final int STREAM_WARMUP_FIXES = Math.max(1, STREAM_FIXES / 5);
+    private static final double MIN_SPEEDUP = Double.parseDouble(System.getProperty("load.stream.min-speedup", "1.0"));
+    private static final String REPORT = System.getProperty("load.stream.report", "target/stream-ingest-report.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final java.net.http.HttpClient putClient = java.net.http.HttpClient.newBuilder()
+            .version(java.net.http.HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StreamIngestServer streamServer;
+
+    @Test
+    void streamingIngestsMoreFixesPerCpuSecondThanPerFixPuts() throws Exception {
+        long[] vehicleIds = jdbcTemplate.queryForList(
+                "SELECT id FROM vehicle WHERE plate_number LIKE 'LOAD-%' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        assertTrue(vehicleIds.length >= CONNECTIONS, "load.vehicles must be at least load.stream.connections");
+        Fleet fleet = new Fleet(vehicleIds);
+        log.info("Stream ingestion load: {} vehicles, {} connections, {} cores, PUT warmup {} s, measure {} s, "
+                        + "{} streamed fixes per connection", vehicleIds.length, CONNECTIONS,
+                Runtime.getRuntime().availableProcessors(), WARMUP_SECONDS, DURATION_SECONDS, STREAM_FIXES);
+
+        put(fleet, WARMUP_SECONDS, 1);
+        stream(fleet, STREAM_WARMUP_FIXES, 2);
+        Map<String, Object> puts = put(fleet, DURATION_SECONDS, 3);
+        Map<String, Object> streams = stream(fleet, STREAM_FIXES, 4);
+
+        double speedup = (double) streams.get("fixesPerCpuSecond") / (double) puts.get("fixesPerCpuSecond");
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("vehicles", vehicleIds.length);
+        report.put("connections", CONNECTIONS);
+        report.put("cores", Runtime.getRuntime().availableProcessors());
+        report.put("durationSeconds", DURATION_SECONDS);
+        report.put("streamFixesPerConnection", STREAM_FIXES);
+        report.put("mvcPut", puts);
+        report.put("ndjsonStream", streams);
+        report.put("fixesPerCpuSecondSpeedup", speedup);
+        File reportFile = new File(REPORT);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        log.info(String.format(Locale.ROOT, "Stream ingestion results (report: %s):%n%-14s %10s %8s %10s %12s%n"
+                        + "%-14s %10d %8d %10.1f %12.1f%n%-14s %10d %8d %10.1f %12.1f%nspeedup per CPU second: %.2fx",
+                reportFile, "path", "fixes", "errors", "fixes/s", "fixes/cpu-s",
+                "mvc-put", puts.get("fixes"), puts.get("errors"), puts.get("fixesPerSecond"),
+                puts.get("fixesPerCpuSecond"),
+                "ndjson-stream", streams.get("fixes"), streams.get("errors"), streams.get("fixesPerSecond"),
+                streams.get("fixesPerCpuSecond"), speedup));
+
+        assertEquals(0L, puts.get("errors"));
+        assertEquals(0L, streams.get("errors"));
+        assertTrue(speedup >= MIN_SPEEDUP, String.format(Locale.ROOT,
+                "Streaming ingested %.2fx the fixes per CPU second of per-fix PUTs, expected at least %.2fx",
+                speedup, MIN_SPEEDUP));
+    }
+
+    /**
+     * Every connection PUTs one fix at a time for its slice of the fleet
+     */
+    private Map<String, Object> put(Fleet fleet, int seconds, long seed) throws InterruptedException {
+        LongAdder fixes = new LongAdder();
+        LongAdder errors = new LongAdder();
+        Measurement measurement = Measurement.start();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONNECTIONS; c++) {
+                int connection = c;
+                clients.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed * 1_000_003 + connection);
+                    Slice slice = new Slice(fleet, connection);
+                    while (System.nanoTime() < deadline) {
+                        int slot = slice.next();
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                        + "/api/v1/vehicles/" + fleet.ids[slot] + "/state"))
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(30))
+                                .PUT(HttpRequest.BodyPublishers.ofString(fleet.nextFix(slot, random)))
+                                .build();
+                        try {
+                            HttpResponse<Void> response = putClient.send(request,
+                                    HttpResponse.BodyHandlers.discarding());
+                            (response.statusCode() / 100 == 2 ? fixes : errors).increment();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (IOException e) {
+                            errors.increment();
+                        }
+                    }
+                });
+            }
+        }
+        return measurement.finish(fixes.sum(), errors.sum());
+    }
+
+    /**
+     * Every connection streams fixesPerConnection fixes for its slice as fast as the server's
+     * demand allows; the phase ends when the last connection is acknowledged. A fixed count
+     * rather than a deadline, since whatever the client and the kernel buffered at the deadline
+     * would otherwise still be drained into the measurement.
+     */
+    private Map<String, Object> stream(Fleet fleet, int fixesPerConnection, long seed) {
+        LongAdder written = new LongAdder();
+        LongAdder errors = new LongAdder();
+        HttpClient client = HttpClient.create()
+                .host("localhost")
+                .port(streamServer.getPort())
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, "application/x-ndjson"));
+        Measurement measurement = Measurement.start();
+
+        Flux.range(0, CONNECTIONS)
+                .flatMap(connection -> {
+                    SplittableRandom random = new SplittableRandom(seed * 1_000_003 + connection);
+                    Slice slice = new Slice(fleet, connection);
+                    Flux<String> lines = Flux.range(0, fixesPerConnection).map(i -> {
+                        int slot = slice.next();
+                        return "{\"vehicleId\":" + fleet.ids[slot] + ",\"state\":" + fleet.nextFix(slot, random)
+                                + "}\n";
+                    });
+                    return client.post()
+                            .uri(StreamIngestHandler.STREAM_PATH)
+                            .send(ByteBufFlux.fromString(lines))
+                            .responseSingle((response, body) -> body.asString())
+                            .doOnNext(body -> {
+                                StreamIngestAck ack = readAck(body);
+                                written.add(ack.getWritten() == null ? 0 : ack.getWritten());
+                                if (ack.getError() != null || ack.getWritten() == null
+                                        || ack.getWritten() != fixesPerConnection) {
+                                    errors.increment();
+                                    log.warn("Stream not fully written: {}", body);
+                                }
+                            })
+                            .onErrorResume(e -> {
+                                errors.increment();
+                                log.warn("Stream connection failed: {}", e.toString());
+                                return Mono.empty();
+                            });
+                }, CONNECTIONS)
+                .blockLast(Duration.ofMinutes(5));
+
+        return measurement.finish(written.sum(), errors.sum());
+    }
+
+    private StreamIngestAck readAck(String body) {
+        try {
+            return objectMapper.readValue(body, StreamIngestAck.class);
+        } catch (IOException e) {
+            return StreamIngestAck.builder().error("Unreadable ack: " + body).build();
+        }
+    }
+
+    /**
+     * Round-robin over the vehicles owned by one connection, so odometers only increase
+     */
+    private static final class Slice {
+
+        private final int first;
+        private final int count;
+        private int next;
+
+        Slice(Fleet fleet, int connection) {
+            this.first = connection;
+            this.count = (fleet.size() - connection + CONNECTIONS - 1) / CONNECTIONS;
+        }
+
+        int next() {
+            int slot = first + CONNECTIONS * next;
+            next = (next + 1) % count;
+            return slot;
+        }
+    }
+
+    /**
+     * Wall and process CPU time of one phase
+     */
+    private record Measurement(long startNanos, long startCpuNanos) {
+
+        static Measurement start() {
+            return new Measurement(System.nanoTime(), cpuNanos());
+        }
+
+        Map<String, Object> finish(long fixes, long errors) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            double cpuSeconds = (cpuNanos() - startCpuNanos) / 1e9;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("fixes", fixes);
+            summary.put("errors", errors);
+            summary.put("seconds", seconds);
+            summary.put("cpuSeconds", cpuSeconds);
+            summary.put("fixesPerSecond", fixes / seconds);
+            summary.put("fixesPerCpuSecond", cpuSeconds > 0 ? fixes / cpuSeconds : 0.0);
+            return summary;
+        }
+
+        private static long cpuNanos() {
+            return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                    .getProcessCpuTime();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.crs.carmanagement.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueWithinTheirBounds() {
+        for (long value = 0; value < 100_000; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(bucket), "value " + value);
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1), "value " + value);
+        }
+    }
+
+    @Test
+    void percentilesAreWithinBucketErrorOfExactValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        SplittableRandom random = new SplittableRandom(42);
+        long[] values = new long[200_000];
+        for (int i = 0; i < values.length; i++) {
+            // Long-tailed, like request latencies: mostly ~1-5 ms, some up to seconds
+            values[i] = (long) (1000 * Math.exp(random.nextDouble() * random.nextDouble() * 8));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimate = histogram.percentile(percentile);
+            assertTrue(estimate >= exact && estimate <= exact * 1.04,
+                    "p" + percentile + " exact " + exact + " estimate " + estimate);
+        }
+        assertEquals(values[values.length - 1], histogram.max());
+        assertEquals(values.length, histogram.count());
+    }
+}
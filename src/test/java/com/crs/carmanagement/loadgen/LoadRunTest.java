@@ -0,0 +1,56 @@
+package com.crs.carmanagement.loadgen;
+
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.LoadTestRequest;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.simulator.SimulatedVehicle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadRunTest {
+
+    @Test
+    void offersTheTargetRateAndKeepsOdometersIncreasing() {
+        List<SimulatedVehicle> fleet = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            fleet.add(new SimulatedVehicle(id, "P" + id, VehicleStatus.IN_USE, 10.77, 106.69, 80, false, 0.0, 0.0, 0L));
+        }
+        Map<Long, Double> odometers = new ConcurrentHashMap<>();
+        FixSender sender = fixes -> {
+            for (VehicleStateUpdate fix : fixes) {
+                odometers.merge(fix.getVehicleId(), fix.getState().getOdometerKm(), (old, next) -> {
+                    assertTrue(next > old);
+                    return next;
+                });
+            }
+            return fixes.size();
+        };
+        LoadTestRequest request = LoadTestRequest.builder()
+                .mode(LoadMode.DIRECT)
+                .ratePerSecond(2000)
+                .vehicleCount(50)
+                .durationSeconds(1)
+                .batchSize(20)
+                .concurrency(1)
+                .build();
+
+        LoadRun run = new LoadRun(request, fleet, sender);
+        run.run();
+        LoadTestReport report = run.report();
+
+        assertEquals(LoadTestReport.Status.COMPLETED, report.getStatus());
+        assertEquals(100, report.getRequestsSent());
+        assertEquals(2000, report.getFixesAccepted());
+        assertEquals(0, report.getRequestsFailed());
+        assertEquals(50, odometers.size());
+        assertTrue(report.getLatency().getP99() < 1000);
+    }
+}
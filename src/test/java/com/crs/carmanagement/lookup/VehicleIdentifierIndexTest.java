@@ -0,0 +1,81 @@
+package com.crs.carmanagement.lookup;
+
+import com.crs.carmanagement.lookup.IdentifierMatch.MatchField;
+import com.crs.carmanagement.lookup.IdentifierMatch.MatchType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VehicleIdentifierIndexTest {
+
+    private final VehicleIdentifierIndex index = new VehicleIdentifierIndex();
+
+    @Test
+    void matchesAreRankedExactPrefixSubstring() {
+        index.rebuild(List.of(
+                new VehicleIdentifier(1L, "51A-12", "VF1AG000000000001"),
+                new VehicleIdentifier(2L, "51A-12345", "VF1AG000000000002"),
+                new VehicleIdentifier(3L, "29B-51A12", "VF1AG000000000003"),
+                new VehicleIdentifier(4L, "30C-99999", "51A12VIN000000004")));
+
+        List<IdentifierMatch> matches = index.search("51a 12", 10);
+
+        assertEquals(List.of(1L, 2L, 4L, 3L), idsOf(matches));
+        assertEquals(MatchType.EXACT, matches.get(0).matchType());
+        assertEquals(MatchType.PREFIX, matches.get(1).matchType());
+        assertEquals(MatchType.PREFIX, matches.get(2).matchType());
+        assertEquals(MatchField.VIN, matches.get(2).matchedField());
+        assertEquals(MatchType.SUBSTRING, matches.get(3).matchType());
+    }
+
+    @Test
+    void removedVehiclesAreNotReturned() {
+        index.update(new VehicleIdentifier(1L, "51A-10001", "VF1AG000000000001"));
+        index.update(new VehicleIdentifier(2L, "51A-10002", "VF1AG000000000002"));
+        index.remove(1L);
+
+        assertEquals(List.of(2L), idsOf(index.search("A1000", 10)));
+        assertEquals(List.of(2L), idsOf(index.search("51A", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void substringSearchAgreesWithFullScanOnLargeFleet() {
+        List<VehicleIdentifier> fleet = new ArrayList<>();
+        for (long id = 1; id <= 200_000; id++) {
+            fleet.add(new VehicleIdentifier(id,
+                    String.format("%02dA-%05d", 29 + id % 50, id),
+                    String.format("VF1AG%012d", id * 7919)));
+        }
+        index.rebuild(fleet);
+        // Churn so lookups also run over removed slots and a compaction
+        for (long id = 1; id <= 60_000; id += 2) {
+            index.remove(id);
+        }
+
+        for (String query : List.of("12345", "A-0777", "00797", "79B")) {
+            String normalized = VehicleIdentifierIndex.normalize(query);
+            Set<Long> expected = fleet.stream()
+                    .filter(v -> v.vehicleId() > 60_000 || v.vehicleId() % 2 == 0)
+                    .filter(v -> VehicleIdentifierIndex.normalize(v.plateNumber()).contains(normalized)
+                            || VehicleIdentifierIndex.normalize(v.vin()).contains(normalized))
+                    .map(VehicleIdentifier::vehicleId)
+                    .collect(Collectors.toSet());
+
+            List<IdentifierMatch> matches = index.search(query, 100_000);
+
+            assertEquals(expected, Set.copyOf(idsOf(matches)), "query " + query);
+            assertTrue(index.search(query, 10).size() <= 10);
+        }
+    }
+
+    private static List<Long> idsOf(List<IdentifierMatch> matches) {
+        return matches.stream().map(match -> match.identifier().vehicleId()).toList();
+    }
+}
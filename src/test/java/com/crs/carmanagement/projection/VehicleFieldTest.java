@@ -0,0 +1,25 @@
+package com.crs.carmanagement.projection;
+
+import com.crs.carmanagement.exception.BusinessValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VehicleFieldTest {
+
+    @Test
+    void parseKeepsRequestedOrderWithoutDuplicates() {
+        assertEquals(List.of(VehicleField.STATUS, VehicleField.LATITUDE, VehicleField.PLATE_NUMBER),
+                VehicleField.parse(" status, latitude,PLATENUMBER,status,"));
+        assertEquals(VehicleField.DEFAULT_FIELDS, VehicleField.parse(null));
+        assertEquals(VehicleField.DEFAULT_FIELDS, VehicleField.parse(" , "));
+    }
+
+    @Test
+    void parseRejectsUnknownFields() {
+        assertThrows(BusinessValidationException.class, () -> VehicleField.parse("id,engineNumber"));
+    }
+}
@@ -0,0 +1,324 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.exception.BusinessValidationException;
+import com.crs.carmanagement.service.FleetHubOccupancyService;
+import com.crs.carmanagement.service.impl.FleetHubOccupancyServiceImpl;
+import com.crs.carmanagement.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent reserve / release / move against two small hubs near capacity, each in
+ * its own committed transaction. The conditional UPDATEs must never take a hub over
+ * capacity or below zero, must not lose an increment, and reconcile must put the
+ * vehicle count back afterwards - also when it runs alongside the writers.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(FleetHubOccupancyServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIf("com.crs.carmanagement.support.EmbeddedPostgresSupport#available")
+class FleetHubOccupancyConcurrencyTest {
+
+    private static final int CAPACITY = 5;
+    private static final int WORKERS = 8;
+    private static final int OPERATIONS_PER_WORKER = 150;
+
+    @Autowired
+    private FleetHubOccupancyService occupancyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long hubA;
+    private long hubB;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean
+        DataSource dataSource() throws IOException {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+    }
+
+    @BeforeEach
+    void seedHubs() {
+        clear();
+        jdbcTemplate.update("INSERT INTO vehicle_model (model_id, model_name, brand, active, created_at) " +
+                "VALUES ('VF8', 'VF 8', 'VinFast', true, now())");
+        // Hub A starts one slot short of full with three real vehicles, hub B empty
+        jdbcTemplate.update("INSERT INTO fleet_hub (name, location, capacity, current_occupancy, " +
+                "has_charging_station, created_at) VALUES ('Hub A', 'District 1', ?, ?, true, now())",
+                CAPACITY, CAPACITY - 1);
+        jdbcTemplate.update("INSERT INTO fleet_hub (name, location, capacity, current_occupancy, " +
+                "has_charging_station, created_at) VALUES ('Hub B', 'District 7', ?, 0, true, now())", CAPACITY);
+        hubA = jdbcTemplate.queryForObject("SELECT id FROM fleet_hub WHERE name = 'Hub A'", Long.class);
+        hubB = jdbcTemplate.queryForObject("SELECT id FROM fleet_hub WHERE name = 'Hub B'", Long.class);
+        jdbcTemplate.update("INSERT INTO vehicle (model_id, plate_number, vin, color, manufacture_year, status, " +
+                "odometer_km, fleet_hub_id, is_virtual, created_at) " +
+                "SELECT (SELECT id FROM vehicle_model), 'O' || g, lpad(g::text, 17, '0'), 'White', 2024, " +
+                "'AVAILABLE', 0, ?, true, now() FROM generate_series(1, 3) g", hubA);
+    }
+
+    @AfterEach
+    void clear() {
+        // Rows are committed; leave the shared database empty for the next test class
+        jdbcTemplate.update("DELETE FROM vehicle");
+        jdbcTemplate.update("DELETE FROM fleet_hub");
+        jdbcTemplate.update("DELETE FROM vehicle_model");
+    }
+
+    @Test
+    void concurrentChangesStayWithinCapacityAndLoseNothing() throws Exception {
+        int initialA = occupancy(hubA);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger violations = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS + 1);
+        try {
+            Future<?> sampler = executor.submit(() -> {
+                while (running.get()) {
+                    for (long hubId : new long[] { hubA, hubB }) {
+                        int occupancy = occupancy(hubId);
+                        if (occupancy < 0 || occupancy > CAPACITY) {
+                            violations.incrementAndGet();
+                        }
+                    }
+                }
+            });
+
+            // Every worker only releases or moves slots it reserved itself, so the expected
+            // final occupancy is known exactly
+            List<Future<int[]>> workers = new ArrayList<>();
+            for (int w = 0; w < WORKERS; w++) {
+                long seed = w;
+                workers.add(executor.submit(() -> work(new SplittableRandom(seed), rejected)));
+            }
+            int heldA = 0;
+            int heldB = 0;
+            for (Future<int[]> worker : workers) {
+                int[] held = worker.get(2, TimeUnit.MINUTES);
+                heldA += held[0];
+                heldB += held[1];
+            }
+            running.set(false);
+            sampler.get(30, TimeUnit.SECONDS);
+
+            assertEquals(0, violations.get(), "occupancy left [0, capacity] while sampled");
+            assertTrue(rejected.get() > 0, "hubs never reached capacity");
+            assertEquals(initialA + heldA, occupancy(hubA));
+            assertEquals(heldB, occupancy(hubB));
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        // Occupancy now counts reservations without vehicles; reconcile recounts the vehicle table
+        occupancyService.reconcile();
+        assertEquals(3, occupancy(hubA));
+        assertEquals(0, occupancy(hubB));
+    }
+
+    @Test
+    void reconcileAlongsideWritersNeverUndercountsVehicles() throws Exception {
+        // Vehicles move between hubs together with their slot, and a drifter reserves slots
+        // without vehicles for reconcile to clean up. Occupancy may therefore exceed the
+        // vehicle count, but a hub must never hold more vehicles than slots: that only
+        // happens when reconcile writes a count older than a change committed meanwhile.
+        jdbcTemplate.update("INSERT INTO vehicle (model_id, plate_number, vin, color, manufacture_year, status, " +
+                "odometer_km, is_virtual, created_at) " +
+                "SELECT (SELECT id FROM vehicle_model), 'M' || g, lpad((100 + g)::text, 17, '0'), 'White', 2024, " +
+                "'AVAILABLE', 0, true, now() FROM generate_series(1, ?) g", WORKERS * 2);
+        List<Long> movers = jdbcTemplate.queryForList(
+                "SELECT id FROM vehicle WHERE fleet_hub_id IS NULL ORDER BY id", Long.class);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger violations = new AtomicInteger();
+        AtomicInteger corrected = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WORKERS + 3);
+        try {
+            Future<?> sampler = executor.submit(() -> {
+                while (running.get()) {
+                    // One statement, so occupancy and vehicle count come from the same snapshot
+                    violations.addAndGet(jdbcTemplate.queryForObject("SELECT count(*) FROM fleet_hub h " +
+                            "WHERE h.current_occupancy > h.capacity OR h.current_occupancy < " +
+                            "(SELECT count(*) FROM vehicle v WHERE v.fleet_hub_id = h.id)", Integer.class));
+                }
+            });
+            Future<?> drifter = executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(WORKERS);
+                while (running.get()) {
+                    occupancyService.tryReserve(random.nextBoolean() ? hubA : hubB, 1);
+                    LockSupport.parkNanos(2_000_000);
+                }
+            });
+            Future<?> reconciler = executor.submit(() -> {
+                while (running.get()) {
+                    corrected.addAndGet(occupancyService.reconcile());
+                }
+            });
+
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < WORKERS; w++) {
+                long seed = w;
+                List<Long> owned = movers.subList(w * 2, w * 2 + 2);
+                workers.add(executor.submit(() -> moveVehicles(new SplittableRandom(seed), owned, rejected)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+            running.set(false);
+            sampler.get(30, TimeUnit.SECONDS);
+            drifter.get(30, TimeUnit.SECONDS);
+            reconciler.get(30, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, violations.get(), "a hub went over capacity or below its vehicle count");
+        assertTrue(rejected.get() > 0, "hubs never reached capacity");
+        assertTrue(corrected.get() > 0, "reconcile never had drift to correct");
+
+        occupancyService.reconcile();
+        assertEquals(vehicleCount(hubA), occupancy(hubA));
+        assertEquals(vehicleCount(hubB), occupancy(hubB));
+    }
+
+    /**
+     * Random hub assignments of the worker's own vehicles, each with its occupancy change
+     * in one transaction
+     */
+    private void moveVehicles(SplittableRandom random, List<Long> owned, AtomicInteger rejected) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Map<Long, Long> hubOf = new HashMap<>();
+        for (int i = 0; i < OPERATIONS_PER_WORKER; i++) {
+            Long vehicleId = owned.get(random.nextInt(owned.size()));
+            Long from = hubOf.get(vehicleId);
+            Long to = switch (random.nextInt(3)) {
+                case 0 -> hubA;
+                case 1 -> hubB;
+                default -> null;
+            };
+            if (Objects.equals(from, to)) {
+                continue;
+            }
+            try {
+                transaction.executeWithoutResult(status -> {
+                    jdbcTemplate.update("UPDATE vehicle SET fleet_hub_id = ? WHERE id = ?", to, vehicleId);
+                    if (to == null) {
+                        occupancyService.release(from, 1);
+                    } else if (from == null) {
+                        occupancyService.reserve(to, 1);
+                    } else {
+                        occupancyService.move(from, to);
+                    }
+                    // Commit a little later, so reconcile regularly has to wait for the hub lock
+                    LockSupport.parkNanos(1_000_000);
+                });
+                hubOf.put(vehicleId, to);
+            } catch (BusinessValidationException e) {
+                // Destination full: the vehicle stays where it was
+                rejected.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Random reserve / release / move calls; returns the slots still held in hub A and hub B
+     */
+    private int[] work(SplittableRandom random, AtomicInteger rejected) {
+        int heldA = 0;
+        int heldB = 0;
+        for (int i = 0; i < OPERATIONS_PER_WORKER; i++) {
+            boolean toA = random.nextBoolean();
+            long hubId = toA ? hubA : hubB;
+            try {
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        occupancyService.reserve(hubId, 1);
+                        if (toA) {
+                            heldA++;
+                        } else {
+                            heldB++;
+                        }
+                    }
+                    case 1 -> {
+                        if (toA && heldA > 0) {
+                            occupancyService.release(hubA, 1);
+                            heldA--;
+                        } else if (!toA && heldB > 0) {
+                            occupancyService.release(hubB, 1);
+                            heldB--;
+                        }
+                    }
+                    default -> {
+                        if (toA && heldB > 0) {
+                            occupancyService.move(hubB, hubA);
+                            heldB--;
+                            heldA++;
+                        } else if (!toA && heldA > 0) {
+                            occupancyService.move(hubA, hubB);
+                            heldA--;
+                            heldB++;
+                        }
+                    }
+                }
+            } catch (BusinessValidationException e) {
+                // Destination full: the whole call rolled back
+                rejected.incrementAndGet();
+            }
+        }
+        return new int[] { heldA, heldB };
+    }
+
+    private int vehicleCount(long hubId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM vehicle WHERE fleet_hub_id = ?", Integer.class, hubId);
+    }
+
+    private int occupancy(long hubId) {
+        return jdbcTemplate.queryForObject("SELECT current_occupancy FROM fleet_hub WHERE id = ?", Integer.class, hubId);
+    }
+}
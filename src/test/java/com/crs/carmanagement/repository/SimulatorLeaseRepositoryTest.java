@@ -0,0 +1,143 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.simulator.PartitionAssignment;
+import com.crs.carmanagement.simulator.SimulatorClusterCoordinator;
+import com.crs.carmanagement.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several simulator nodes coordinating through the lease tables of one database:
+ * partitions are split disjointly and fairly, and move to the remaining nodes when
+ * a node leaves or stops renewing.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SimulatorLeaseRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIf("com.crs.carmanagement.support.EmbeddedPostgresSupport#available")
+class SimulatorLeaseRepositoryTest {
+
+    private static final int PARTITIONS = 16;
+    private static final long LEASE_TTL_MS = 1000;
+
+    @Autowired
+    private SimulatorLeaseRepository leaseRepository;
+
+    @Autowired
+    private VehicleStateRepository vehicleStateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean
+        DataSource dataSource() throws IOException {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+    }
+
+    @BeforeEach
+    void resetCluster() {
+        jdbcTemplate.update("DELETE FROM simulator_node");
+        jdbcTemplate.update("DELETE FROM simulator_partition_lease");
+        leaseRepository.createPartitions(PARTITIONS);
+    }
+
+    @Test
+    void nodesSplitPartitionsAndTakeOverWhenOneLeaves() {
+        SimulatorClusterCoordinator a = node("a");
+        SimulatorClusterCoordinator b = node("b");
+        SimulatorClusterCoordinator c = node("c");
+
+        rounds(a, b, c);
+        assertPartitioned(List.of(6, 5, 5), a, b, c);
+
+        leaseRepository.leave("c");
+        rounds(a, b);
+        assertPartitioned(List.of(8, 8), a, b);
+    }
+
+    @Test
+    void leasesOfASilentNodeExpire() throws InterruptedException {
+        SimulatorClusterCoordinator a = node("a");
+        SimulatorClusterCoordinator b = node("b");
+        rounds(a, b);
+        assertPartitioned(List.of(8, 8), a, b);
+
+        // b stops renewing (crashed); its local assignment runs out before its leases
+        Thread.sleep(LEASE_TTL_MS + 200);
+        assertFalse(b.assignment().isValid(System.nanoTime()));
+        rounds(a);
+
+        assertEquals(PARTITIONS, a.assignment().owned().size());
+        assertTrue(a.assignment().isAll());
+    }
+
+    @Test
+    void partitionQueryBindsOwnedPartitions() {
+        assertTrue(vehicleStateRepository.findAllSimulatedInPartitions(PARTITIONS, List.of(1L, 2L)).isEmpty());
+    }
+
+    private SimulatorClusterCoordinator node(String nodeId) {
+        SimulatorConfig config = new SimulatorConfig();
+        config.getCluster().setEnabled(true);
+        config.getCluster().setNodeId(nodeId);
+        config.getCluster().setPartitions(PARTITIONS);
+        config.getCluster().setLeaseTtlMs(LEASE_TTL_MS);
+        config.getCluster().setRenewIntervalMs(LEASE_TTL_MS / 4);
+        return new SimulatorClusterCoordinator(leaseRepository, config);
+    }
+
+    /**
+     * Coordination rounds until the nodes agree (joiners claim after the others release)
+     */
+    private static void rounds(SimulatorClusterCoordinator... nodes) {
+        for (int round = 0; round < 3; round++) {
+            for (SimulatorClusterCoordinator node : nodes) {
+                node.rebalance();
+            }
+        }
+    }
+
+    private static void assertPartitioned(List<Integer> sizes, SimulatorClusterCoordinator... nodes) {
+        Set<Integer> all = new HashSet<>();
+        for (int i = 0; i < nodes.length; i++) {
+            PartitionAssignment assignment = nodes[i].assignment();
+            assertEquals(sizes.get(i), assignment.owned().size());
+            assertTrue(assignment.isValid(System.nanoTime()));
+            for (int partition : assignment.owned()) {
+                assertTrue(all.add(partition), "partition " + partition + " owned twice");
+            }
+        }
+        assertEquals(PARTITIONS, all.size());
+    }
+}
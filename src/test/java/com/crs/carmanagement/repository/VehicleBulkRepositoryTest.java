@@ -0,0 +1,221 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.alert.AlertRuleEngine;
+import com.crs.carmanagement.dto.request.BulkUpdateVehicleRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleRequest;
+import com.crs.carmanagement.dto.response.BulkUpdateResponse;
+import com.crs.carmanagement.enums.EventType;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.fleet.FleetAggregates;
+import com.crs.carmanagement.geofence.GeofenceEngine;
+import com.crs.carmanagement.lookup.VehicleIdentifierIndex;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.crs.carmanagement.service.impl.FleetHubOccupancyServiceImpl;
+import com.crs.carmanagement.service.impl.VehicleServiceImpl;
+import com.crs.carmanagement.spatial.VehicleSpatialIndex;
+import com.crs.carmanagement.support.EmbeddedPostgresSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the set-based bulk vehicle update against PostgreSQL: the returned previous
+ * values, the per-vehicle change events and the hub occupancy it adjusts.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(VehicleBulkRepository.class)
+@EnabledIf("com.crs.carmanagement.support.EmbeddedPostgresSupport#available")
+class VehicleBulkRepositoryTest {
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private VehicleBulkRepository vehicleBulkRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleModelRepository vehicleModelRepository;
+
+    @Autowired
+    private VehicleStateRepository vehicleStateRepository;
+
+    @Autowired
+    private FleetHubRepository fleetHubRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final VehicleEventLogService eventLogService = mock(VehicleEventLogService.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private VehicleServiceImpl vehicleService;
+    private long hubA;
+    private long hubB;
+    private List<Long> vehicleIds;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean
+        DataSource dataSource() throws IOException {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+    }
+
+    @BeforeEach
+    void seedFleet() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("INSERT INTO vehicle_model (model_id, model_name, brand, active, created_at) " +
+                "VALUES ('VF8', 'VF 8', 'VinFast', true, now())");
+        jdbcTemplate.execute("INSERT INTO fleet_hub (name, location, capacity, current_occupancy, " +
+                "has_charging_station, created_at) VALUES ('Hub A', 'District 1', 10, 3, true, now())");
+        jdbcTemplate.execute("INSERT INTO fleet_hub (name, location, capacity, current_occupancy, " +
+                "has_charging_station, created_at) VALUES ('Hub B', 'District 7', 10, 0, true, now())");
+        hubA = jdbcTemplate.queryForObject("SELECT id FROM fleet_hub WHERE name = 'Hub A'", Long.class);
+        hubB = jdbcTemplate.queryForObject("SELECT id FROM fleet_hub WHERE name = 'Hub B'", Long.class);
+        // Vehicle 1 is booked and driven, vehicle 3 is already in maintenance
+        jdbcTemplate.update("INSERT INTO vehicle (model_id, plate_number, vin, color, manufacture_year, status, " +
+                "odometer_km, fleet_hub_id, current_booking_id, current_driver_id, is_virtual, created_at) " +
+                "SELECT (SELECT id FROM vehicle_model), 'B' || g, lpad(g::text, 17, '0'), 'White', 2024, " +
+                "CASE WHEN g = 3 THEN 'MAINTENANCE' ELSE 'AVAILABLE' END, 0, ?, " +
+                "CASE WHEN g = 1 THEN 'BK-1' END, CASE WHEN g = 1 THEN 'DR-1' END, true, now() " +
+                "FROM generate_series(1, 3) g", hubA);
+        vehicleIds = jdbcTemplate.queryForList("SELECT id FROM vehicle ORDER BY id", Long.class);
+
+        vehicleService = new VehicleServiceImpl(vehicleRepository, vehicleModelRepository, vehicleStateRepository,
+                vehicleBulkRepository, mock(VehicleProjectionRepository.class), fleetHubRepository, eventLogService,
+                mock(VehicleSpatialIndex.class), mock(VehicleIdentifierIndex.class), mock(GeofenceEngine.class),
+                mock(AlertRuleEngine.class), mock(FleetAggregates.class),
+                new FleetHubOccupancyServiceImpl(fleetHubRepository));
+    }
+
+    @Test
+    void updateReturnsPreviousValuesOfChangedRowsOnly() {
+        List<VehicleBulkRepository.UpdatedVehicle> updated = vehicleBulkRepository.updateVehicles(byIds(
+                UpdateVehicleRequest.builder().status(VehicleStatus.MAINTENANCE).build(),
+                vehicleIds.get(0), vehicleIds.get(1), vehicleIds.get(2), MISSING_ID));
+
+        assertEquals(List.of(vehicleIds.get(0), vehicleIds.get(1)),
+                updated.stream().map(VehicleBulkRepository.UpdatedVehicle::id).toList());
+        assertEquals(VehicleStatus.AVAILABLE, updated.get(0).status());
+        assertEquals("BK-1", updated.get(0).currentBookingId());
+        assertEquals(hubA, updated.get(0).fleetHubId());
+        assertEquals(3, countWithStatus(VehicleStatus.MAINTENANCE));
+    }
+
+    @Test
+    void statusOnlyPatchLeavesOtherColumnsAndOccupancyAlone() {
+        BulkUpdateResponse response = vehicleService.bulkUpdateVehicles(byIds(
+                UpdateVehicleRequest.builder().status(VehicleStatus.MAINTENANCE).build(),
+                vehicleIds.get(0), vehicleIds.get(1), vehicleIds.get(2), MISSING_ID));
+
+        assertEquals(2, response.getUpdated());
+        assertEquals(List.of(vehicleIds.get(0), vehicleIds.get(1)), response.getVehicleIds());
+        assertEquals(Map.of("status", 2), response.getChangedFields());
+
+        // Unchanged and nonexistent vehicles get no event
+        Map<Long, Object> events = loggedEvents();
+        assertEquals(2, events.size());
+        assertEquals(Map.of("status", Map.of("old", VehicleStatus.AVAILABLE, "new", VehicleStatus.MAINTENANCE)),
+                events.get(vehicleIds.get(0)));
+
+        assertEquals("BK-1", jdbcTemplate.queryForObject(
+                "SELECT current_booking_id FROM vehicle WHERE id = ?", String.class, vehicleIds.get(0)));
+        assertEquals(3, occupancy(hubA));
+        assertEquals(0, occupancy(hubB));
+    }
+
+    @Test
+    void clearsBookingAndDriverIds() {
+        BulkUpdateVehicleRequest request = byIds(new UpdateVehicleRequest(), vehicleIds.get(0), vehicleIds.get(1));
+        request.setClearCurrentBookingId(true);
+        request.setClearCurrentDriverId(true);
+
+        BulkUpdateResponse response = vehicleService.bulkUpdateVehicles(request);
+
+        // Vehicle 2 had neither, so it is not touched
+        assertEquals(List.of(vehicleIds.get(0)), response.getVehicleIds());
+        Map<Long, Object> events = loggedEvents();
+        assertEquals(List.of(vehicleIds.get(0)), List.copyOf(events.keySet()));
+        Map<?, ?> changes = (Map<?, ?>) events.get(vehicleIds.get(0));
+        assertTrue(changes.containsKey("currentBookingId"));
+        assertTrue(changes.containsKey("currentDriverId"));
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT current_booking_id, current_driver_id FROM vehicle WHERE id = ?", vehicleIds.get(0));
+        assertNull(row.get("current_booking_id"));
+        assertNull(row.get("current_driver_id"));
+    }
+
+    @Test
+    void hubMoveAdjustsOccupancyOfBothHubs() {
+        jdbcTemplate.update("UPDATE vehicle SET fleet_hub_id = ? WHERE id = ?", hubB, vehicleIds.get(2));
+        jdbcTemplate.update("UPDATE fleet_hub SET current_occupancy = 2 WHERE id = ?", hubA);
+        jdbcTemplate.update("UPDATE fleet_hub SET current_occupancy = 1 WHERE id = ?", hubB);
+
+        BulkUpdateResponse response = vehicleService.bulkUpdateVehicles(byIds(
+                UpdateVehicleRequest.builder().fleetHubId(hubB).build(),
+                vehicleIds.get(0), vehicleIds.get(1), vehicleIds.get(2), MISSING_ID));
+
+        // Vehicle 3 is already in hub B
+        assertEquals(List.of(vehicleIds.get(0), vehicleIds.get(1)), response.getVehicleIds());
+        assertEquals(0, occupancy(hubA));
+        assertEquals(3, occupancy(hubB));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM vehicle WHERE fleet_hub_id = ?", Integer.class, hubB));
+
+        Map<Long, Object> events = loggedEvents();
+        assertEquals(2, events.size());
+        Map<?, ?> hubChange = (Map<?, ?>) ((Map<?, ?>) events.get(vehicleIds.get(1))).get("fleetHubId");
+        assertEquals(hubA, hubChange.get("old"));
+        assertEquals(hubB, hubChange.get("new"));
+    }
+
+    private static BulkUpdateVehicleRequest byIds(UpdateVehicleRequest patch, Long... ids) {
+        return BulkUpdateVehicleRequest.builder()
+                .vehicleIds(List.of(ids))
+                .patch(patch)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Object> loggedEvents() {
+        ArgumentCaptor<Map<Long, Object>> events = ArgumentCaptor.forClass(Map.class);
+        verify(eventLogService).logEvents(eq(EventType.VEHICLE_UPDATED), events.capture());
+        return events.getValue();
+    }
+
+    private int occupancy(long hubId) {
+        return jdbcTemplate.queryForObject("SELECT current_occupancy FROM fleet_hub WHERE id = ?", Integer.class, hubId);
+    }
+
+    private int countWithStatus(VehicleStatus status) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM vehicle WHERE status = ?", Integer.class, status.name());
+    }
+}
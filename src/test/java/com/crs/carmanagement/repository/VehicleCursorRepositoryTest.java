@@ -0,0 +1,150 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.exception.ServiceUnavailableException;
+import com.crs.carmanagement.service.impl.VehicleStreamServiceImpl;
+import com.crs.carmanagement.support.EmbeddedPostgresSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams vehicle listings through the JDBC cursor and checks the JSON document
+ * has the same shape as the buffered endpoints.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(VehicleCursorRepository.class)
+@EnabledIf("com.crs.carmanagement.support.EmbeddedPostgresSupport#available")
+class VehicleCursorRepositoryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Autowired
+    private VehicleCursorRepository vehicleCursorRepository;
+
+    @Autowired
+    private FleetHubRepository fleetHubRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean
+        DataSource dataSource() throws IOException {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+    }
+
+    @BeforeEach
+    void seedFleet() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("INSERT INTO vehicle_model (model_id, model_name, brand, active, created_at) " +
+                "VALUES ('VF8', 'VF 8', 'VinFast', true, now())");
+        jdbcTemplate.execute("INSERT INTO fleet_hub (name, location, capacity, current_occupancy, " +
+                "has_charging_station, created_at) VALUES ('Hub 1', 'District 1', 10000, 0, true, now())");
+        jdbcTemplate.execute("INSERT INTO vehicle (model_id, plate_number, vin, color, manufacture_year, status, " +
+                "odometer_km, fleet_hub_id, is_virtual, created_at) " +
+                "SELECT (SELECT id FROM vehicle_model), 'P' || g, lpad(g::text, 17, '0'), 'White', 2024, " +
+                "CASE WHEN g % 2 = 0 THEN 'AVAILABLE' ELSE 'IN_USE' END, 0, (SELECT id FROM fleet_hub), true, now() " +
+                "FROM generate_series(1, 2500) g");
+        // Every vehicle but the last has a state row
+        jdbcTemplate.execute("INSERT INTO vehicle_state (vehicle_id, latitude, longitude, battery_level, " +
+                "is_charging, speed_kmh, odometer_km, last_updated_at, data_source, message_sequence, created_at) " +
+                "SELECT id, 10.77, 106.69, 80, false, 0, 0, now(), 'SYSTEM', 0, now() FROM vehicle " +
+                "WHERE id < (SELECT max(id) FROM vehicle)");
+    }
+
+    @Test
+    void streamsEveryMatchingVehicleAcrossFetchBatches() throws IOException {
+        JsonNode response = stream(service(4).streamVehiclesByStatus(VehicleStatus.AVAILABLE));
+
+        assertTrue(response.get("success").asBoolean());
+        assertEquals(1250, response.get("data").size());
+        assertEquals("Found 1250 vehicles with status AVAILABLE", response.get("message").asText());
+
+        JsonNode first = response.get("data").get(0);
+        assertEquals("P2", first.get("plateNumber").asText());
+        assertEquals("AVAILABLE", first.get("status").asText());
+        assertEquals("VinFast", first.get("model").get("brand").asText());
+        assertEquals("Hub 1", first.get("fleetHubName").asText());
+        assertEquals(80, first.get("currentState").get("batteryLevel").asInt());
+
+        JsonNode last = response.get("data").get(1249);
+        assertTrue(last.get("currentState").isNull());
+    }
+
+    @Test
+    void hubStreamCoversWholeHub() throws IOException {
+        Long hubId = jdbcTemplate.queryForObject("SELECT id FROM fleet_hub", Long.class);
+
+        JsonNode response = stream(service(4).streamVehiclesByFleetHub(hubId));
+
+        assertEquals(2500, response.get("data").size());
+    }
+
+    @Test
+    void rejectsStreamsBeyondTheLimitUntilOneFinishes() throws IOException {
+        VehicleStreamServiceImpl service = service(1);
+        StreamingResponseBody second = service.streamVehiclesByStatus(VehicleStatus.IN_USE);
+        ServiceUnavailableException[] rejected = new ServiceUnavailableException[1];
+
+        // The second stream starts while the first one is writing its first rows
+        service.streamVehiclesByStatus(VehicleStatus.AVAILABLE).writeTo(new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                if (rejected[0] == null) {
+                    rejected[0] = assertThrows(ServiceUnavailableException.class,
+                            () -> second.writeTo(new ByteArrayOutputStream()));
+                }
+                super.write(bytes, offset, length);
+            }
+        });
+
+        assertNotNull(rejected[0]);
+        assertEquals(1250, stream(second).get("data").size());
+    }
+
+    private VehicleStreamServiceImpl service(int maxConcurrent) {
+        return new VehicleStreamServiceImpl(vehicleCursorRepository, fleetHubRepository, objectMapper,
+                transactionManager, maxConcurrent, 300);
+    }
+
+    private JsonNode stream(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        body.writeTo(output);
+        return objectMapper.readTree(output.toByteArray());
+    }
+}
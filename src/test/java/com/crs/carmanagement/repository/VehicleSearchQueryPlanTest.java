@@ -0,0 +1,208 @@
+package com.crs.carmanagement.repository;
+
+import com.crs.carmanagement.alert.AlertRuleEngine;
+import com.crs.carmanagement.dto.request.VehicleSearchCriteria;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.fleet.FleetAggregates;
+import com.crs.carmanagement.geofence.GeofenceEngine;
+import com.crs.carmanagement.lookup.VehicleIdentifierIndex;
+import com.crs.carmanagement.projection.VehicleField;
+import com.crs.carmanagement.service.VehicleEventLogService;
+import com.crs.carmanagement.service.impl.FleetHubOccupancyServiceImpl;
+import com.crs.carmanagement.service.impl.VehicleServiceImpl;
+import com.crs.carmanagement.spatial.VehicleSpatialIndex;
+import com.crs.carmanagement.support.EmbeddedPostgresSupport;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that the SQL generated by VehicleSpecifications for common search
+ * combinations is driven by the composite / partial indexes, and that sparse
+ * fieldset projections only join the tables of the requested fields.
+ * Runs against an embedded PostgreSQL (skipped when it cannot be started).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        // Render criteria values as literals so the captured SQL can be EXPLAINed as-is
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.crs.carmanagement.repository.VehicleSearchQueryPlanTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ VehicleProjectionRepository.class, VehicleBulkRepository.class })
+@EnabledIf("com.crs.carmanagement.support.EmbeddedPostgresSupport#available")
+class VehicleSearchQueryPlanTest {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private VehicleProjectionRepository vehicleProjectionRepository;
+
+    @Autowired
+    private VehicleModelRepository vehicleModelRepository;
+
+    @Autowired
+    private VehicleStateRepository vehicleStateRepository;
+
+    @Autowired
+    private VehicleBulkRepository vehicleBulkRepository;
+
+    @Autowired
+    private FleetHubRepository fleetHubRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private VehicleServiceImpl vehicleService;
+
+    @TestConfiguration
+    static class EmbeddedPostgresConfig {
+
+        @Bean
+        DataSource dataSource() throws IOException {
+            return EmbeddedPostgresSupport.dataSource();
+        }
+    }
+
+    @BeforeEach
+    void seedFleet() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Same data (and so the same statistics and plans) on every run; the inserts run on
+        // the test transaction's connection, where the seed applies
+        jdbcTemplate.execute("SELECT setseed(0.42)");
+        jdbcTemplate.execute("INSERT INTO vehicle_model (model_id, model_name, brand, active, created_at) " +
+                "SELECT 'M' || g, 'Model ' || g, 'Brand', true, now() FROM generate_series(1, 50) g");
+        jdbcTemplate.execute("INSERT INTO fleet_hub (name, location, capacity, current_occupancy, " +
+                "has_charging_station, created_at) " +
+                "SELECT 'Hub ' || g, 'Location ' || g, 100000, 0, true, now() FROM generate_series(1, 20) g");
+        jdbcTemplate.execute("INSERT INTO vehicle (model_id, plate_number, vin, color, manufacture_year, status, " +
+                "odometer_km, fleet_hub_id, is_virtual, created_at) " +
+                "SELECT (SELECT min(id) FROM vehicle_model) + floor(random() * 50)::int, 'P' || g, " +
+                "lpad(g::text, 17, '0'), 'White', 2024, " +
+                "(ARRAY['AVAILABLE','IN_USE','MAINTENANCE','DAMAGED','CHARGING'])[1 + floor(random() * 5)::int], " +
+                "0, (SELECT min(id) FROM fleet_hub) + floor(random() * 20)::int, true, now() " +
+                "FROM generate_series(1, 50000) g");
+        jdbcTemplate.execute("INSERT INTO vehicle_state (vehicle_id, latitude, longitude, battery_level, " +
+                "is_charging, speed_kmh, odometer_km, last_updated_at, data_source, message_sequence, created_at) " +
+                "SELECT id, 10.77, 106.69, floor(random() * 101)::int, random() < 0.05, 0, 0, " +
+                "now() - random() * interval '30 days', 'SYSTEM', 0, now() FROM vehicle");
+        jdbcTemplate.execute("ANALYZE vehicle");
+        jdbcTemplate.execute("ANALYZE vehicle_state");
+
+        vehicleService = new VehicleServiceImpl(vehicleRepository, vehicleModelRepository, vehicleStateRepository,
+                vehicleBulkRepository, vehicleProjectionRepository, fleetHubRepository,
+                mock(VehicleEventLogService.class), mock(VehicleSpatialIndex.class),
+                mock(VehicleIdentifierIndex.class), mock(GeofenceEngine.class), mock(AlertRuleEngine.class),
+                mock(FleetAggregates.class), new FleetHubOccupancyServiceImpl(fleetHubRepository));
+    }
+
+    @Test
+    void commonSearchCombinationsAreIndexDriven() {
+        Long hubId = jdbcTemplate.queryForObject("SELECT min(id) + 3 FROM fleet_hub", Long.class);
+        Long modelId = jdbcTemplate.queryForObject("SELECT min(id) + 1 FROM vehicle_model", Long.class);
+
+        assertUsesIndex(VehicleSearchCriteria.builder()
+                .fleetHubId(hubId).status(VehicleStatus.IN_USE).build(), "idx_vehicle_hub_status_id");
+        assertUsesIndex(VehicleSearchCriteria.builder()
+                .fleetHubId(hubId).status(VehicleStatus.AVAILABLE).build(), "idx_vehicle_available_hub_id");
+        assertUsesIndex(VehicleSearchCriteria.builder()
+                .modelId(modelId).status(VehicleStatus.AVAILABLE).build(), "idx_vehicle_model_status_id");
+        assertUsesIndex(VehicleSearchCriteria.builder()
+                .fleetHubId(hubId).status(VehicleStatus.AVAILABLE).minBattery(60).build(),
+                "idx_vehicle_available_hub_id");
+        assertUsesIndex(VehicleSearchCriteria.builder()
+                .isCharging(true).build(), "idx_vehicle_state_charging");
+        assertUsesIndex(VehicleSearchCriteria.builder()
+                .lastSeenWithinMinutes(10).build(), "idx_last_updated");
+    }
+
+    @Test
+    void projectionJoinsOnlyRequestedTables() {
+        Long hubId = jdbcTemplate.queryForObject("SELECT min(id) FROM fleet_hub", Long.class);
+        VehicleSearchCriteria criteria = VehicleSearchCriteria.builder().fleetHubId(hubId).build();
+        PageRequest pageable = PageRequest.of(0, 5, Sort.by("id"));
+
+        CapturingInspector.statements.clear();
+        Page<Object[]> slim = vehicleProjectionRepository.findAll(VehicleSpecifications.matching(criteria),
+                List.of(VehicleField.ID, VehicleField.PLATE_NUMBER, VehicleField.STATUS), pageable);
+        assertEquals(5, slim.getContent().size());
+        assertEquals(3, slim.getContent().get(0).length);
+        String slimSql = CapturingInspector.statements.get(0);
+        assertFalse(slimSql.contains("vehicle_model"), slimSql);
+        assertFalse(slimSql.contains("vehicle_state"), slimSql);
+        assertFalse(slimSql.contains("fleet_hub "), slimSql);
+
+        CapturingInspector.statements.clear();
+        Page<Object[]> map = vehicleProjectionRepository.findAll(VehicleSpecifications.matching(criteria),
+                List.of(VehicleField.ID, VehicleField.LATITUDE, VehicleField.BATTERY_LEVEL), pageable);
+        String mapSql = CapturingInspector.statements.get(0);
+        assertTrue(mapSql.contains("vehicle_state"), mapSql);
+        assertFalse(mapSql.contains("vehicle_model"), mapSql);
+        assertEquals(10.77, map.getContent().get(0)[1]);
+        assertEquals(slim.getTotalElements(), map.getTotalElements());
+    }
+
+    /**
+     * EXPLAIN the page query of a searchVehicles call with the API's default paging
+     * (first page of 10, ordered by id), with its paging parameters filled in
+     */
+    private void assertUsesIndex(VehicleSearchCriteria criteria, String index) {
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("id"));
+        CapturingInspector.statements.clear();
+        vehicleService.searchVehicles(criteria, pageable);
+        String captured = CapturingInspector.statements.stream()
+                .filter(statement -> statement.contains(" from vehicle ") && statement.contains(" order by "))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(captured, "search SQL was not captured: " + CapturingInspector.statements);
+        String sql = captured
+                .replace("offset ? rows", "offset " + pageable.getOffset() + " rows")
+                .replace("fetch first ? rows", "fetch first " + pageable.getPageSize() + " rows");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        assertTrue(plan.contains(index),
+                () -> "Expected " + index + " to drive the search for " + criteria + ":\n" + plan);
+    }
+
+    /**
+     * Remembers the SQL statements Hibernate prepared
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.dto.request.AcceleratedRunRequest;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.dto.response.AcceleratedRunReport;
+import com.crs.carmanagement.dto.response.LoadTestReport;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStateService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AcceleratedRunTest {
+
+    @Test
+    void simulatesAFullDayInOrderedBatches() {
+        List<SimulatedVehicle> fleet = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            VehicleStatus status = id % 2 == 0 ? VehicleStatus.AVAILABLE : VehicleStatus.IN_USE;
+            fleet.add(new SimulatedVehicle(id, "P" + id, status, 10.77, 106.69, 80, false, 0.0, 0.0, 0L));
+        }
+
+        // Per-vehicle odometer must never go backwards across the persisted batches
+        Map<Long, Double> odometers = new HashMap<>();
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        AtomicLong largestBatch = new AtomicLong();
+        VehicleStateService stateService = mock(VehicleStateService.class);
+        when(stateService.updateVehicleStates(anyMap())).thenAnswer(call -> {
+            Map<Long, UpdateVehicleStateRequest> batch = call.getArgument(0);
+            largestBatch.accumulateAndGet(batch.size(), Math::max);
+            batch.forEach((vehicleId, delta) -> {
+                if (delta.getOdometerKm() != null) {
+                    Double previous = odometers.put(vehicleId, delta.getOdometerKm());
+                    outOfOrder.compareAndSet(false, previous != null && previous > delta.getOdometerKm());
+                }
+            });
+            return batch.size();
+        });
+
+        AcceleratedRunRequest request = AcceleratedRunRequest.builder()
+                .simulatedHours(24.0)
+                .timeScale(0.0)
+                .batchSize(20)
+                .build();
+        AcceleratedRun run = new AcceleratedRun(request, fleet, 42L, 5000, 30000, 60000, stateService,
+                mock(VehicleService.class));
+        run.run();
+
+        AcceleratedRunReport report = run.report();
+        assertEquals(LoadTestReport.Status.COMPLETED, report.getStatus());
+        assertEquals(24.0, report.getVirtualHours());
+        assertEquals(100.0, report.getProgressPercent());
+        assertTrue(report.getTripsStarted() > 0);
+        assertTrue(report.getChargeSessions() > 0);
+        assertEquals(0, report.getWriteErrors());
+        assertTrue(report.getStatesPersisted() > 0);
+        assertTrue(largestBatch.get() <= 20);
+        assertFalse(outOfOrder.get());
+    }
+}
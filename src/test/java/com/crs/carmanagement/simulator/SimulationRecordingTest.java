@@ -0,0 +1,138 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.dto.request.BatchVehicleStateRequest.VehicleStateUpdate;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStateService;
+import com.crs.carmanagement.simulator.SimulationRecordingReader.StatusFrame;
+import com.crs.carmanagement.simulator.SimulationRecordingReader.TickFrame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SimulationRecordingTest {
+
+    // MAGIC, VERSION, seeded, seed, shards, update interval, created at
+    private static final int HEADER_BYTES = 4 + 2 + 1 + 8 + 4 + 8 + 8;
+
+    @TempDir
+    Path recordingDir;
+
+    @Test
+    void recordingRoundTripsDeltasAndStatusChanges() throws IOException {
+        Path file = recordingDir.resolve("roundtrip.simrec");
+        UpdateVehicleStateRequest moving = UpdateVehicleStateRequest.builder()
+                .latitude(10.7712345).longitude(106.6987654).speedKmh(42.5).batteryLevel(77)
+                .isCharging(false).odometerKm(1234.5678).messageSequence(9L).build();
+        UpdateVehicleStateRequest heartbeat = UpdateVehicleStateRequest.builder().messageSequence(3L).build();
+        UpdateVehicleStateRequest moved = UpdateVehicleStateRequest.builder()
+                .odometerKm(1234.8678).messageSequence(10L).build();
+
+        try (SimulationRecorder recorder = new SimulationRecorder(file, 42L, 4, 5000)) {
+            recorder.writeTick(1, 5000, List.of(new VehicleStateUpdate(7L, moving), new VehicleStateUpdate(8L, heartbeat)));
+            recorder.writeStatusChange(1, VehicleStatus.CHARGING, List.of(7L));
+            recorder.writeTick(2, 10000, List.of(new VehicleStateUpdate(7L, moved)));
+        }
+
+        try (SimulationRecordingReader reader = new SimulationRecordingReader(file)) {
+            assertEquals(42L, reader.header().seed());
+            assertEquals(4, reader.header().shards());
+
+            TickFrame tick = assertInstanceOf(TickFrame.class, reader.next());
+            assertEquals(5000, tick.clockMs());
+            UpdateVehicleStateRequest replayed = tick.updates().get(0).getState();
+            assertEquals(7L, tick.updates().get(0).getVehicleId());
+            assertEquals(moving.getLatitude(), replayed.getLatitude());
+            // No earlier reading of vehicle 7, so its first fix carries no odometer
+            assertNull(replayed.getOdometerKm());
+            assertNull(replayed.getOdometerIncrementKm());
+            assertEquals(77, replayed.getBatteryLevel());
+            assertFalse(replayed.getIsCharging());
+            assertEquals(9L, replayed.getMessageSequence());
+            UpdateVehicleStateRequest empty = tick.updates().get(1).getState();
+            assertNull(empty.getLatitude());
+            assertNull(empty.getIsCharging());
+
+            StatusFrame status = assertInstanceOf(StatusFrame.class, reader.next());
+            assertEquals(VehicleStatus.CHARGING, status.status());
+            assertEquals(List.of(7L), status.vehicleIds());
+
+            // Later readings are replayed as increments over the previous one
+            UpdateVehicleStateRequest next = assertInstanceOf(TickFrame.class, reader.next()).updates().get(0).getState();
+            assertNull(next.getOdometerKm());
+            assertEquals(0.3, next.getOdometerIncrementKm(), 1e-9);
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void seededRunsRecordIdenticalStreams() throws IOException {
+        byte[] first = recordSeededRun("first.simrec");
+        byte[] second = recordSeededRun("second.simrec");
+
+        // Everything after the header (which holds the creation time) must match
+        assertTrue(first.length > HEADER_BYTES + 1000);
+        assertArrayEquals(Arrays.copyOfRange(first, HEADER_BYTES, first.length),
+                Arrays.copyOfRange(second, HEADER_BYTES, second.length));
+
+        // The loaded world is the base of the odometer increments from the first tick on
+        try (SimulationRecordingReader reader = new SimulationRecordingReader(recordingDir.resolve("first.simrec"))) {
+            List<VehicleStateUpdate> updates = assertInstanceOf(TickFrame.class, reader.next()).updates();
+            assertTrue(updates.stream().anyMatch(u -> u.getState().getOdometerIncrementKm() != null));
+            assertTrue(updates.stream().allMatch(u -> u.getState().getOdometerKm() == null));
+        }
+    }
+
+    private byte[] recordSeededRun(String fileName) throws IOException {
+        List<SimulatedVehicle> fleet = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            VehicleStatus status = VehicleStatus.values()[(int) (id % 3)];
+            fleet.add(new SimulatedVehicle(id, "P" + id, status, 10.77, 106.69, (int) (id % 100), false, 0.0, 0.0, 0L));
+        }
+        VehicleStateRepository repository = mock(VehicleStateRepository.class);
+        when(repository.findAllSimulated()).thenReturn(fleet);
+        VehicleStateService stateService = mock(VehicleStateService.class);
+        when(stateService.updateVehicleStates(anyMap())).thenAnswer(call -> ((Map<?, ?>) call.getArgument(0)).size());
+
+        SimulatorConfig config = new SimulatorConfig();
+        config.setSeed(42L);
+        config.setShards(4);
+        config.setBatchSize(100);
+        config.setUpdateIntervalMs(5000);
+        config.setStatusChangeIntervalMs(10000);
+        config.setRecordingDir(recordingDir.toString());
+
+        VirtualCarSimulator simulator = new VirtualCarSimulator(repository, stateService, mock(VehicleService.class),
+                config);
+        try {
+            simulator.startRecording(fileName);
+            for (int tick = 0; tick < 20; tick++) {
+                simulator.simulateVehicles();
+            }
+            assertEquals(20, simulator.stopRecording().getTicks());
+        } finally {
+            simulator.shutdown();
+        }
+        return Files.readAllBytes(recordingDir.resolve(fileName));
+    }
+}
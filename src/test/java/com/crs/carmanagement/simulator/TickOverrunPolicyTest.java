@@ -0,0 +1,26 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.simulator.TickOverrunPolicy.NextTick;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TickOverrunPolicyTest {
+
+    private static final long INTERVAL = 5000;
+
+    @Test
+    void onTimeTicksStayOnTheGrid() {
+        for (TickOverrunPolicy policy : TickOverrunPolicy.values()) {
+            assertEquals(new NextTick(15000, 0), policy.next(10000, 14000, INTERVAL, 3), policy.name());
+        }
+    }
+
+    @Test
+    void overrunningTickRecoversPerPolicy() {
+        // Planned at 10000, finished at 37000: slots 15000, 20000, 25000, 30000, 35000 are due
+        assertEquals(new NextTick(40000, 5), TickOverrunPolicy.SKIP.next(10000, 37000, INTERVAL, 3));
+        assertEquals(new NextTick(25000, 2), TickOverrunPolicy.CATCH_UP.next(10000, 37000, INTERVAL, 3));
+        assertEquals(new NextTick(37000, 0), TickOverrunPolicy.STRETCH.next(10000, 37000, INTERVAL, 3));
+    }
+}
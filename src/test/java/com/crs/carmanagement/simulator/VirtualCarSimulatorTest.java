@@ -0,0 +1,129 @@
+package com.crs.carmanagement.simulator;
+
+import com.crs.carmanagement.config.SimulatorConfig;
+import com.crs.carmanagement.dto.request.UpdateVehicleStateRequest;
+import com.crs.carmanagement.enums.VehicleStatus;
+import com.crs.carmanagement.repository.VehicleStateRepository;
+import com.crs.carmanagement.service.VehicleService;
+import com.crs.carmanagement.service.VehicleStateService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VirtualCarSimulatorTest {
+
+    @Test
+    void worldKeepsEveryVehicleOnItsIdShard() {
+        List<SimulatedVehicle> fleet = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            fleet.add(snapshot(id));
+        }
+
+        SimulationWorld world = SimulationWorld.load(fleet, 8, 0);
+
+        assertEquals(8, world.shardCount());
+        assertEquals(100_000, world.size());
+        for (int shard = 0; shard < world.shardCount(); shard++) {
+            assertEquals(12_500, world.shard(shard).size());
+            for (VirtualVehicle vehicle : world.shard(shard)) {
+                assertEquals(shard, vehicle.getVehicleId() % 8);
+                assertSame(vehicle, world.get(vehicle.getVehicleId()));
+            }
+        }
+    }
+
+    @Test
+    void deltasCarryOnlyChangedFields() {
+        VirtualVehicle vehicle = new VirtualVehicle(snapshot(1L), 0);
+
+        // Nothing changed yet and the heartbeat is not due
+        assertNull(vehicle.takeDelta(1_000, 60_000));
+
+        vehicle.setBatteryLevel(80);
+        vehicle.setSpeedKmh(0.0);
+        assertNull(vehicle.takeDelta(2_000, 60_000));
+
+        vehicle.setPosition(10.78, 106.69);
+        vehicle.setBatteryLevel(79);
+        UpdateVehicleStateRequest delta = vehicle.takeDelta(3_000, 60_000);
+        assertEquals(10.78, delta.getLatitude());
+        assertEquals(106.69, delta.getLongitude());
+        assertEquals(79, delta.getBatteryLevel());
+        assertNull(delta.getSpeedKmh());
+        assertNull(delta.getOdometerKm());
+        assertNull(delta.getIsCharging());
+
+        // Unchanged vehicles only send an empty heartbeat once the interval has passed
+        assertNull(vehicle.takeDelta(62_000, 60_000));
+        UpdateVehicleStateRequest heartbeat = vehicle.takeDelta(63_000, 60_000);
+        assertNull(heartbeat.getLatitude());
+        assertNull(heartbeat.getBatteryLevel());
+    }
+
+    @Test
+    void whitelistSelectsVehiclesOnlyWhenNotEmpty() {
+        SimulatorConfig config = new SimulatorConfig();
+        config.setVehicleIds(List.of());
+        assertTrue(config.shouldSimulate(42L));
+
+        config.setVehicleIds(List.of(1L, 2L));
+        assertTrue(config.addVehicle(3L));
+        assertFalse(config.addVehicle(3L));
+        assertTrue(config.removeVehicle(1L));
+
+        assertFalse(config.shouldSimulate(1L));
+        assertTrue(config.shouldSimulate(3L));
+
+        config.setEnabled(false);
+        assertFalse(config.shouldSimulate(3L));
+    }
+
+    @Test
+    void clusterNodeOnlyLoadsAndWritesItsLeasedPartitions() {
+        VehicleStateRepository repository = mock(VehicleStateRepository.class);
+        when(repository.findAllSimulatedInPartitions(4, List.of(1L))).thenReturn(List.of(snapshot(1L), snapshot(5L)));
+        VehicleStateService stateService = mock(VehicleStateService.class);
+        when(stateService.updateVehicleStates(anyMap())).thenAnswer(call -> ((Map<?, ?>) call.getArgument(0)).size());
+
+        long valid = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        AtomicReference<PartitionAssignment> assignment =
+                new AtomicReference<>(new PartitionAssignment(4, Set.of(1), 1, valid));
+        SimulatorConfig config = new SimulatorConfig();
+        config.setVehicleIds(List.of());
+        VirtualCarSimulator simulator = new VirtualCarSimulator(repository, stateService, mock(VehicleService.class),
+                config, assignment::get);
+        try {
+            assertEquals(2, simulator.simulateVehicles());
+            assertEquals(2, simulator.getWorldSize());
+
+            // Leases no longer renewed: the node stops writing
+            assignment.set(new PartitionAssignment(4, Set.of(1), 1, System.nanoTime()));
+            clearInvocations(stateService);
+            assertEquals(0, simulator.simulateVehicles());
+            verify(stateService, never()).updateVehicleStates(anyMap());
+        } finally {
+            simulator.shutdown();
+        }
+    }
+
+    private static SimulatedVehicle snapshot(long id) {
+        return new SimulatedVehicle(id, "P" + id, VehicleStatus.IN_USE, 10.77, 106.69, 80, false, 0.0, 0.0, 0L);
+    }
+}
@@ -0,0 +1,173 @@
+package com.crs.carmanagement.spatial;
+
+import com.crs.carmanagement.enums.VehicleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VehicleSpatialIndexTest {
+
+    private static final double CENTER_LAT = 10.7728;
+    private static final double CENTER_LON = 106.6980;
+
+    private VehicleSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleSpatialIndex();
+    }
+
+    @Test
+    void radiusQueryMatchesBruteForce() {
+        List<VehiclePosition> fleet = randomFleet(5_000, 42);
+        index.rebuild(fleet);
+
+        List<NearbyVehicle> hits = index.findWithinRadius(CENTER_LAT, CENTER_LON, 2.0,
+                p -> p.status() == VehicleStatus.AVAILABLE, Integer.MAX_VALUE);
+
+        long expected = fleet.stream()
+                .filter(p -> p.status() == VehicleStatus.AVAILABLE)
+                .filter(p -> GeoUtils.distanceKm(CENTER_LAT, CENTER_LON, p.latitude(), p.longitude()) <= 2.0)
+                .count();
+
+        assertEquals(expected, hits.size());
+        assertTrue(hits.stream().allMatch(h -> h.position().status() == VehicleStatus.AVAILABLE));
+    }
+
+    @Test
+    void nearestReturnsClosestVehiclesInOrder() {
+        List<VehiclePosition> fleet = randomFleet(5_000, 7);
+        index.rebuild(fleet);
+
+        List<NearbyVehicle> hits = index.findNearest(CENTER_LAT, CENTER_LON, 10, p -> true);
+
+        List<Long> expected = fleet.stream()
+                .sorted(Comparator.comparingDouble(
+                        p -> GeoUtils.distanceKm(CENTER_LAT, CENTER_LON, p.latitude(), p.longitude())))
+                .limit(10)
+                .map(VehiclePosition::vehicleId)
+                .toList();
+
+        assertEquals(expected, hits.stream().map(h -> h.position().vehicleId()).toList());
+    }
+
+    @Test
+    void boundingBoxAppliesBatteryFilter() {
+        index.update(position(1L, VehicleStatus.AVAILABLE, 10.77, 106.69, 80));
+        index.update(position(2L, VehicleStatus.AVAILABLE, 10.78, 106.70, 10));
+        index.update(position(3L, VehicleStatus.AVAILABLE, 10.90, 106.90, 90));
+
+        List<NearbyVehicle> hits = index.findWithinBounds(10.75, 106.65, 10.80, 106.75,
+                p -> p.batteryLevel() >= 50, 100);
+
+        assertEquals(List.of(1L), hits.stream().map(h -> h.position().vehicleId()).toList());
+    }
+
+    @Test
+    void movingAndRemovingVehicleUpdatesCells() {
+        index.update(position(1L, VehicleStatus.IN_USE, 10.77, 106.69, 80));
+        index.update(position(1L, VehicleStatus.IN_USE, 10.85, 106.80, 79));
+
+        assertTrue(index.findWithinRadius(10.77, 106.69, 1.0, p -> true, 10).isEmpty());
+        assertEquals(1, index.findWithinRadius(10.85, 106.80, 1.0, p -> true, 10).size());
+
+        index.updateStatus(1L, VehicleStatus.CHARGING);
+        assertEquals(VehicleStatus.CHARGING, index.get(1L).status());
+
+        index.remove(1L);
+        assertNull(index.get(1L));
+        assertTrue(index.findWithinRadius(10.85, 106.80, 1.0, p -> true, 10).isEmpty());
+    }
+
+    @Test
+    void radiusQueryWrapsAtTheDateline() {
+        index.rebuild(randomFleet(5_000, 3));
+        index.update(position(-1L, VehicleStatus.AVAILABLE, 0.0, 179.999, 50));
+
+        List<NearbyVehicle> hits = index.findWithinRadius(0.0, -179.999, 1.0, p -> true, 10);
+
+        assertEquals(List.of(-1L), hits.stream().map(h -> h.position().vehicleId()).toList());
+    }
+
+    @Test
+    void polarAndWorldSizedQueriesFallBackToTheFleet() {
+        List<VehiclePosition> fleet = randomFleet(5_000, 11);
+        index.rebuild(fleet);
+        index.update(position(-1L, VehicleStatus.AVAILABLE, 89.9, 45.0, 50));
+
+        // Near the pole the longitude span is unbounded; the query must still finish
+        List<NearbyVehicle> polar = index.findWithinRadius(90.0, 0.0, 100.0, p -> true, 10);
+        assertEquals(List.of(-1L), polar.stream().map(h -> h.position().vehicleId()).toList());
+
+        List<NearbyVehicle> world = index.findWithinBounds(-90, -180, 90, 180, p -> true, Integer.MAX_VALUE);
+        assertEquals(fleet.size() + 1, world.size());
+    }
+
+    @Test
+    void concurrentMovesThroughOneCellKeepEveryVehicleIndexed() throws Exception {
+        // Stationary vehicles elsewhere keep the query on the cell path instead of the fleet scan
+        index.rebuild(randomFleet(1_000, 5));
+        int movers = 4;
+        AtomicInteger misses = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(movers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long id = -1; id >= -movers; id--) {
+                long vehicleId = id;
+                futures.add(executor.submit(() -> {
+                    // Move in and out of a cell the other movers share, so its member set keeps
+                    // emptying and filling up again. Only this thread moves the vehicle, so
+                    // it must be found in the cell it was just put in.
+                    for (int i = 0; i < 50_000; i++) {
+                        double lon = i % 2 == 0 ? 100.005 : 100.015;
+                        index.update(position(vehicleId, VehicleStatus.IN_USE, 20.005, lon, 50));
+                        boolean found = index.findWithinBounds(20.001, lon - 0.004, 20.009, lon + 0.004,
+                                p -> p.vehicleId() == vehicleId, 1).size() == 1;
+                        if (!found) {
+                            misses.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, misses.get(), "vehicle missing from the cell it was moved into");
+        assertEquals(movers, index.findWithinBounds(20.001, 100.011, 20.009, 100.019, p -> true, 100).size());
+        assertTrue(index.findWithinBounds(20.001, 100.001, 20.009, 100.009, p -> true, 100).isEmpty());
+    }
+
+    private static List<VehiclePosition> randomFleet(int size, long seed) {
+        Random random = new Random(seed);
+        VehicleStatus[] statuses = VehicleStatus.values();
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> position(id,
+                        statuses[random.nextInt(statuses.length)],
+                        10.6 + random.nextDouble() * 0.3,
+                        106.5 + random.nextDouble() * 0.4,
+                        random.nextInt(101)))
+                .toList();
+    }
+
+    private static VehiclePosition position(Long id, VehicleStatus status, double lat, double lon, int battery) {
+        return new VehiclePosition(id, "PLATE-" + id, status, lat, lon, battery, false);
+    }
+}
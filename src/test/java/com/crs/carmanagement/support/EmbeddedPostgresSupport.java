@@ -0,0 +1,51 @@
+package com.crs.carmanagement.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * One embedded PostgreSQL per test JVM for repository tests that depend on
+ * PostgreSQL behaviour (query plans, cursors, partial indexes).
+ * Tests guard themselves with @EnabledIf("...#available") because the server
+ * cannot start everywhere (e.g. as root in some containers).
+ */
+public final class EmbeddedPostgresSupport {
+
+    private static EmbeddedPostgres postgres;
+    private static Boolean available;
+
+    private EmbeddedPostgresSupport() {
+    }
+
+    public static synchronized boolean available() {
+        if (available == null) {
+            try {
+                start();
+                available = true;
+            } catch (Exception e) {
+                available = false;
+            }
+        }
+        return available;
+    }
+
+    public static DataSource dataSource() throws IOException {
+        return start().getPostgresDatabase();
+    }
+
+    private static synchronized EmbeddedPostgres start() throws IOException {
+        if (postgres == null) {
+            postgres = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // JVM is exiting
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,120 @@
+package com.crs.carmanagement.tracing;
+
+import com.crs.carmanagement.config.TracingConfig;
+import com.crs.carmanagement.dto.response.TraceResponse;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TracingDataSourceTest {
+
+    private static final String SELECT_STATE = "select * from vehicle_state where vehicle_id = ?";
+
+    private final TracingConfig config = new TracingConfig();
+    private InMemorySpanCollector collector;
+    private SdkTracerProvider tracerProvider;
+    private ObservationRegistry registry;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        config.getCollector().setRepeatedStatementThreshold(3);
+        collector = new InMemorySpanCollector(config);
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(collector)).build();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> {
+        });
+        registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> mock(PreparedStatement.class));
+        when(connection.createStatement()).thenAnswer(invocation -> mock(Statement.class));
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = TracingDataSource.wrap(target, () -> registry, config.getJdbc());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void statementsBecomeChildSpansOfTheCurrentObservation() throws SQLException {
+        Observation.createNotStarted("vehicle.service", registry).contextualName("get-vehicles").observe(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                // One query per vehicle: the N+1 pattern
+                for (int i = 0; i < 4; i++) {
+                    connection.prepareStatement(SELECT_STATE).executeQuery();
+                }
+                PreparedStatement insert = connection.prepareStatement("insert into vehicle_event_log values (?)");
+                insert.addBatch();
+                insert.addBatch();
+                insert.executeBatch();
+                connection.createStatement().executeUpdate("  UPDATE vehicle SET status = 'AVAILABLE'");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        TraceResponse summary = collector.getTraces(10, 0).get(0);
+        assertEquals("get-vehicles", summary.getRootSpan());
+        assertEquals(7, summary.getSpanCount());
+        assertEquals(6, summary.getJdbcStatements());
+        assertEquals(SELECT_STATE, summary.getMostRepeatedStatement());
+        assertEquals(4, summary.getMostRepeatedCount());
+        assertTrue(summary.getSuspectedNPlusOne());
+
+        List<TraceResponse.Span> spans = collector.getTrace(summary.getTraceId()).orElseThrow().getSpans();
+        assertEquals(0, spans.get(0).getDepth());
+        assertTrue(spans.stream().skip(1).allMatch(span -> span.getDepth() == 1
+                && span.getParentSpanId().equals(spans.get(0).getSpanId())));
+        assertEquals(List.of("SELECT", "SELECT", "SELECT", "SELECT", "INSERT", "UPDATE"),
+                spans.stream().skip(1).map(span -> span.getAttributes().get(TracingDataSource.OPERATION)).toList());
+        TraceResponse.Span batch = spans.get(5);
+        assertEquals("jdbc insert", batch.getName());
+        assertEquals("true", batch.getAttributes().get(TracingDataSource.BATCH));
+        assertEquals("2", batch.getAttributes().get(TracingDataSource.BATCH_SIZE));
+    }
+
+    @Test
+    void statementsOutsideAnObservationAreNotTraced() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement(SELECT_STATE).executeQuery();
+        }
+        assertTrue(collector.getTraces(10, 0).isEmpty());
+        assertSame(dataSource, TracingDataSource.wrap(dataSource, () -> registry, config.getJdbc()));
+    }
+
+    @Test
+    void classifiesStatementsByLeadingKeyword() {
+        assertEquals("SELECT", TracingDataSource.operation("with recent as (select 1) select * from recent"));
+        assertEquals("DELETE", TracingDataSource.operation("\n delete from vehicle_event_log"));
+        assertEquals("SELECT", TracingDataSource.operation("/* <criteria> */ select * from vehicle_state"));
+        assertEquals("UPDATE", TracingDataSource.operation("-- odometer\n/* update */ update vehicle set odometer_km = ?"));
+        assertEquals("OTHER", TracingDataSource.operation("create index if not exists idx on vehicle (status)"));
+        assertFalse(TracingDataSource.operation(null).isEmpty());
+    }
+}
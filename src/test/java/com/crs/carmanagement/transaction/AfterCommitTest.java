@@ -0,0 +1,89 @@
+package com.crs.carmanagement.transaction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AfterCommitTest {
+
+    private final List<String> applied = new ArrayList<>();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void runsAtOnceWithoutTransaction() {
+        AfterCommit.run(() -> applied.add("view"));
+        AfterCommit.onRollback(() -> applied.add("undo"));
+
+        assertEquals(List.of("view"), applied);
+    }
+
+    @Test
+    void appliesViewUpdatesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        AfterCommit.run(() -> applied.add("view"));
+        AfterCommit.onRollback(() -> applied.add("undo"));
+        assertTrue(applied.isEmpty());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of("view"), applied);
+    }
+
+    @Test
+    void dropsViewUpdatesAndUndoesStateOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        AfterCommit.run(() -> applied.add("view"));
+        AfterCommit.onRollback(() -> applied.add("undo"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of("undo"), applied);
+    }
+
+    @Test
+    void undoesInReverseOrder() {
+        TransactionSynchronizationManager.initSynchronization();
+        AfterCommit.onRollback(() -> applied.add("first"));
+        AfterCommit.onRollback(() -> applied.add("second"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of("second", "first"), applied);
+    }
+
+    @Test
+    void failingViewUpdateDoesNotStopTheOthers() {
+        TransactionSynchronizationManager.initSynchronization();
+        AfterCommit.run(() -> {
+            throw new IllegalStateException("index closed");
+        });
+        AfterCommit.run(() -> applied.add("view"));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(List.of("view"), applied);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}